@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.benchmark;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.InlineModelResolver;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of all the models ({@link CodegenConfig#fromModel}) and all the operations
+ * ({@link CodegenConfig#fromOperation}, through {@link DefaultGenerator#processPaths}) of a flattened
+ * specification, as done by the generators before rendering.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodegenBenchmark {
+    @Param({"java", "typescript-axios", "go", "python"})
+    public String generator;
+
+    @Param({Specs.SMALL, Specs.MEDIUM, "synthetic-1000"})
+    public String spec;
+
+    private CodegenConfig config;
+    private OpenAPI openAPI;
+    private Map<String, Schema> schemas;
+    private DefaultGenerator defaultGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ClientOptInput input = new CodegenConfigurator()
+                .setGeneratorName(generator)
+                .setInputSpec(Specs.location(spec))
+                .toClientOptInput();
+        config = input.getConfig();
+        openAPI = input.getOpenAPI();
+        new InlineModelResolver().flatten(openAPI);
+        config.processOpts();
+        config.preprocessOpenAPI(openAPI);
+        schemas = ModelUtils.getSchemas(openAPI);
+        defaultGenerator = new DefaultGenerator();
+        defaultGenerator.opts(input);
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        for (Map.Entry<String, Schema> schema : schemas.entrySet()) {
+            blackhole.consume(config.fromModel(schema.getKey(), schema.getValue(), schemas));
+        }
+    }
+
+    @Benchmark
+    public Map<String, List<CodegenOperation>> fromOperation() {
+        return defaultGenerator.processPaths(openAPI.getPaths());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.benchmark;
+
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.output.InMemoryOutputSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full generation, from parsing the specification to rendering all files. Files are kept in memory, so that
+ * the results do not depend on the file system.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GenerationBenchmark {
+    @Param({"java", "typescript-axios", "go", "python"})
+    public String generator;
+
+    @Param({Specs.SMALL, Specs.MEDIUM, "synthetic-1000"})
+    public String spec;
+
+    private CodegenConfigurator configurator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        File output = Files.createTempDirectory("openapi-generator-benchmark").toFile();
+        output.deleteOnExit();
+        configurator = new CodegenConfigurator()
+                .setGeneratorName(generator)
+                .setInputSpec(Specs.location(spec))
+                .setOutputDir(output.getAbsolutePath());
+    }
+
+    @Benchmark
+    public InMemoryOutputSink generate() {
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        DefaultGenerator defaultGenerator = new DefaultGenerator();
+        defaultGenerator.setOutputSink(sink);
+        defaultGenerator.opts(configurator.toClientOptInput()).generate();
+        return sink;
+    }
+}
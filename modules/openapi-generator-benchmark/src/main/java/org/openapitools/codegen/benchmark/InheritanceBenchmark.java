@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.benchmark;
+
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.openapitools.codegen.DefaultCodegen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of a polymorphic hierarchy: one base schema with a discriminator, extended (allOf) by many subtypes,
+ * which is quadratic in the number of subtypes unless the inheritance relationships are indexed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InheritanceBenchmark {
+    @Param({"100", "4999"})
+    public int subtypes;
+
+    private Map<String, Schema> schemas;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        schemas = new LinkedHashMap<>();
+        schemas.put("Base", new ObjectSchema()
+                .addProperties("kind", new StringSchema())
+                .addRequiredItem("kind")
+                .discriminator(new Discriminator().propertyName("kind")));
+        for (int i = 0; i < subtypes; i++) {
+            schemas.put("Sub" + i, new ComposedSchema()
+                    .addAllOfItem(new Schema().$ref("#/components/schemas/Base"))
+                    .addAllOfItem(new ObjectSchema().addProperties("prop" + i, new StringSchema())));
+        }
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        // a new codegen, as for each generation, so that the index is built by the iteration
+        DefaultCodegen codegen = new DefaultCodegen();
+        for (Map.Entry<String, Schema> schema : schemas.entrySet()) {
+            blackhole.consume(codegen.fromModel(schema.getKey(), schema.getValue(), schemas));
+        }
+    }
+}
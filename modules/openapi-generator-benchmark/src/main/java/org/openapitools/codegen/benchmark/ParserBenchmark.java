@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.benchmark;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.InlineModelResolver;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and resolving a specification, flattening its inline models, and the schema usage analysis of
+ * {@link ModelUtils} run on every generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+    @Param({Specs.SMALL, Specs.MEDIUM, "synthetic-1000"})
+    public String spec;
+
+    private String location;
+    private OpenAPI parsed;
+
+    /**
+     * Flattening modifies the specification, so each invocation gets a freshly parsed one.
+     */
+    @State(Scope.Thread)
+    public static class FlattenInput {
+        private OpenAPI openAPI;
+
+        @Setup(Level.Invocation)
+        public void setUp(ParserBenchmark benchmark) {
+            openAPI = Specs.parse(benchmark.location);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        location = Specs.location(spec);
+        parsed = Specs.parse(location);
+    }
+
+    @Benchmark
+    public OpenAPI parse() {
+        return Specs.parse(location);
+    }
+
+    @Benchmark
+    public OpenAPI flatten(FlattenInput input) {
+        new InlineModelResolver().flatten(input.openAPI);
+        return input.openAPI;
+    }
+
+    @Benchmark
+    public List<String> unusedSchemas() {
+        return ModelUtils.getUnusedSchemas(parsed);
+    }
+
+    @Benchmark
+    public List<String> schemasUsedOnlyInFormParam() {
+        return ModelUtils.getSchemasUsedOnlyInFormParam(parsed);
+    }
+}
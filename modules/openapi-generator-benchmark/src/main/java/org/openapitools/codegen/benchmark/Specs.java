@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.benchmark;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The specifications the benchmarks run on, selected by name with the {@code spec} parameter:
+ * <ul>
+ * <li>{@code small}: the petstore</li>
+ * <li>{@code medium}: the petstore with the fake endpoints used by the samples</li>
+ * <li>{@code synthetic-N}: a {@link SyntheticSpec} with N models and 5N operations</li>
+ * </ul>
+ * They are bundled in the benchmark jar from the resources of the core tests, or generated, so that the benchmarks
+ * run offline.
+ */
+final class Specs {
+    static final String SMALL = "small";
+    static final String MEDIUM = "medium";
+    static final String SYNTHETIC_PREFIX = "synthetic-";
+
+    private static final Map<String, File> FILES = new HashMap<>();
+    private static File directory;
+
+    private Specs() {
+    }
+
+    /**
+     * @param name name of the specification
+     * @return the absolute path of the specification, written to a temporary directory on first use
+     * @throws IOException if the specification cannot be written
+     */
+    static synchronized String location(String name) throws IOException {
+        File file = FILES.get(name);
+        if (file == null) {
+            if (directory == null) {
+                directory = Files.createTempDirectory("openapi-generator-benchmark").toFile();
+                directory.deleteOnExit();
+            }
+            if (SMALL.equals(name)) {
+                file = copyResource("petstore.yaml");
+            } else if (MEDIUM.equals(name)) {
+                file = copyResource("petstore-with-fake-endpoints-models-for-testing.yaml");
+            } else if (name.startsWith(SYNTHETIC_PREFIX)) {
+                int models = Integer.parseInt(name.substring(SYNTHETIC_PREFIX.length()));
+                file = new File(directory, name + ".yaml");
+                FileUtils.writeStringToFile(file, SyntheticSpec.generate(models), StandardCharsets.UTF_8);
+            } else {
+                throw new IllegalArgumentException("Unknown specification: " + name
+                        + " (expected " + SMALL + ", " + MEDIUM + " or " + SYNTHETIC_PREFIX + "<number of models>)");
+            }
+            file.deleteOnExit();
+            FILES.put(name, file);
+        }
+        return file.getAbsolutePath();
+    }
+
+    /**
+     * Parse and resolve a specification the way {@link org.openapitools.codegen.config.CodegenConfigurator} does.
+     *
+     * @param location path of the specification
+     * @return the specification
+     */
+    static OpenAPI parse(String location) {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        OpenAPI openAPI = new OpenAPIParser().readLocation(location, null, options).getOpenAPI();
+        if (openAPI == null) {
+            throw new IllegalStateException("Could not parse " + location);
+        }
+        return openAPI;
+    }
+
+    private static File copyResource(String resource) throws IOException {
+        File file = new File(directory, resource);
+        try (InputStream in = Specs.class.getResourceAsStream("/specs/3_0/" + resource)) {
+            FileUtils.copyInputStreamToFile(in, file);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.benchmark;
+
+import org.openapitools.codegen.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StringUtils#camelize} and {@link StringUtils#underscore}, called for every model, property, operation
+ * and parameter name. Their results are memoized: {@code *Memoized} benchmarks measure names seen before, the
+ * others unique names, which are computed (and cached) on each call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StringUtilsBenchmark {
+    private static final String[] NAMES = {
+            "pet", "Pet", "petId", "pet_id", "pet-id", "PetStatus", "findPetsByStatus", "api_key", "X-Rate-Limit",
+            "order/items", "$special[property.name]", "_links", "HTTPResponseCode", "user_name_2", "123number",
+            "snake_case_property_with_many_words", "camelCasePropertyWithManyWords", "already.dotted.name"
+    };
+
+    private int counter;
+
+    @Benchmark
+    public void camelizeMemoized(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(StringUtils.camelize(name));
+            blackhole.consume(StringUtils.camelize(name, true));
+        }
+    }
+
+    @Benchmark
+    public void underscoreMemoized(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(StringUtils.underscore(name));
+        }
+    }
+
+    @Benchmark
+    public String camelize() {
+        return StringUtils.camelize(nextUniqueName());
+    }
+
+    @Benchmark
+    public String underscore() {
+        return StringUtils.underscore(nextUniqueName());
+    }
+
+    private String nextUniqueName() {
+        return NAMES[counter % NAMES.length] + "_" + counter++;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.swagger.v3.core.util.Yaml;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generates a specification of any size, shaped like a typical CRUD API: each model has scalar, enum, array, map
+ * and inline object properties and references to other models, every tenth model extends the previous one
+ * (allOf), and each model is exposed by five operations. Operations are grouped by ten models per tag.
+ */
+final class SyntheticSpec {
+    static final int OPERATIONS_PER_MODEL = 5;
+    static final int MODELS_PER_TAG = 10;
+
+    private SyntheticSpec() {
+    }
+
+    /**
+     * @param models number of models
+     * @return the specification, in YAML
+     */
+    static String generate(int models) {
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("openapi", "3.0.1");
+        spec.put("info", map("title", "Synthetic API", "description", "A synthetic API with " + models + " models", "version", "1.0.0"));
+        spec.put("servers", Collections.singletonList(map("url", "http://synthetic.example.com/v1")));
+
+        Map<String, Object> paths = new LinkedHashMap<>();
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        for (int i = 0; i < models; i++) {
+            String model = "Model" + i;
+            schemas.put(model, schema(i, models));
+
+            String tag = "group" + (i / MODELS_PER_TAG);
+            Map<String, Object> collection = new LinkedHashMap<>();
+            collection.put("get", operation("list" + model, tag, Arrays.asList(
+                    queryParameter("limit", map("type", "integer", "format", "int32", "minimum", 1, "maximum", 100)),
+                    queryParameter("offset", map("type", "integer", "format", "int32")),
+                    queryParameter("filter", map("type", "string"))),
+                    null, "200", map("type", "array", "items", ref(model))));
+            collection.put("post", operation("create" + model, tag, null, ref(model), "201", ref(model)));
+            paths.put("/model" + i, collection);
+
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("parameters", Collections.singletonList(map("name", "id", "in", "path", "required", true,
+                    "schema", map("type", "integer", "format", "int64"))));
+            item.put("get", operation("get" + model, tag, null, null, "200", ref(model)));
+            item.put("put", operation("update" + model, tag, null, ref(model), "200", ref(model)));
+            item.put("delete", operation("delete" + model, tag, null, null, "204", null));
+            paths.put("/model" + i + "/{id}", item);
+        }
+        spec.put("paths", paths);
+        spec.put("components", map("schemas", schemas));
+
+        try {
+            return Yaml.mapper().writeValueAsString(spec);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not write the synthetic specification", e);
+        }
+    }
+
+    private static Map<String, Object> schema(int i, int models) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("id", map("type", "integer", "format", "int64"));
+        properties.put("name", map("type", "string", "maxLength", 255));
+        properties.put("description", map("type", "string"));
+        properties.put("price", map("type", "number", "format", "double", "minimum", 0));
+        properties.put("createdAt", map("type", "string", "format", "date-time"));
+        properties.put("status", map("type", "string", "enum", Arrays.asList("available", "pending", "sold")));
+        properties.put("labels", map("type", "array", "items", map("type", "string")));
+        properties.put("attributes", map("type", "object", "additionalProperties", map("type", "string")));
+        // flattened into a model of its own by the InlineModelResolver
+        properties.put("details", map("type", "object", "properties",
+                map("code", map("type", "integer", "format", "int32"), "message", map("type", "string"))));
+        if (i > 0) {
+            properties.put("previous", ref("Model" + (i - 1)));
+        }
+        properties.put("related", map("type", "array", "items", ref("Model" + ((i + 1) % models))));
+
+        Map<String, Object> schema = map("type", "object", "required", Arrays.asList("id", "name"), "properties", properties);
+        if (i % 10 == 9) {
+            return map("allOf", Arrays.asList(ref("Model" + (i - 1)), schema));
+        }
+        return schema;
+    }
+
+    private static Map<String, Object> operation(String operationId, String tag, Object parameters, Map<String, Object> requestBody,
+                                                 String status, Map<String, Object> responseSchema) {
+        Map<String, Object> operation = new LinkedHashMap<>();
+        operation.put("tags", Collections.singletonList(tag));
+        operation.put("summary", operationId);
+        operation.put("operationId", operationId);
+        if (parameters != null) {
+            operation.put("parameters", parameters);
+        }
+        if (requestBody != null) {
+            operation.put("requestBody", map("required", true, "content", map("application/json", map("schema", requestBody))));
+        }
+        Map<String, Object> response = map("description", "successful operation");
+        if (responseSchema != null) {
+            response.put("content", map("application/json", map("schema", responseSchema)));
+        }
+        operation.put("responses", map(status, response));
+        return operation;
+    }
+
+    private static Map<String, Object> queryParameter(String name, Map<String, Object> schema) {
+        return map("name", name, "in", "query", "required", false, "schema", schema);
+    }
+
+    private static Map<String, Object> ref(String model) {
+        return map("$ref", "#/components/schemas/" + model);
+    }
+
+    private static Map<String, Object> map(Object... keysAndValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -49,6 +49,8 @@ public class OpenAPIGenerator {
                         .withCommands(
                                 ListGenerators.class,
                                 Generate.class,
+                                Batch.class,
+                                Daemon.class,
                                 Meta.class,
                                 Langs.class,
                                 Help.class,
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import io.airlift.airline.Arguments;
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.MultiTargetGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Generates code for several configuration files in one process, so that the JVM startup, the loading of the
+ * generators and the warm-up of the templates are paid once for all of them.
+ */
+@Command(name = "batch", description = "Generate code for multiple configuration files in a single process.")
+public class Batch implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Batch.class);
+
+    @Arguments(title = "configuration files", required = true,
+            description = "configuration files in the json format of the --config option of the generate command "
+                    + "(with at least generatorName and inputSpec), or directories of such *.json files")
+    private List<String> configFiles = new ArrayList<>();
+
+    @Option(name = {"--threads"}, title = "threads",
+            description = "number of configuration files generated in parallel (1 by default)")
+    private Integer threads;
+
+    @Option(name = {"--fail-fast"}, title = "fail fast",
+            description = "do not start the generation of further configuration files once one failed")
+    private Boolean failFast;
+
+    @Option(name = {"--share-spec"}, title = "share specifications",
+            description = "parse and resolve each specification once for all the configuration files generating it, "
+                    + "rather than once per configuration file")
+    private Boolean shareSpec;
+
+    @Override
+    public void run() {
+        List<File> files = listConfigFiles(configFiles);
+        if (files.isEmpty()) {
+            System.err.println("[error] No configuration file found.");
+            System.exit(1);
+        }
+
+        long start = System.currentTimeMillis();
+        List<Result> results = generate(files, threads == null ? 1 : threads, Boolean.TRUE.equals(failFast),
+                Boolean.TRUE.equals(shareSpec));
+        long duration = System.currentTimeMillis() - start;
+
+        int failures = 0;
+        int skipped = 0;
+        for (Result result : results) {
+            if (result.skipped) {
+                skipped++;
+                System.out.printf(Locale.ROOT, "[SKIPPED] %s%n", result.configFile);
+            } else if (result.error == null) {
+                System.out.printf(Locale.ROOT, "[SUCCESS] %s (%d ms)%n", result.configFile, result.duration);
+            } else {
+                failures++;
+                System.out.printf(Locale.ROOT, "[FAILURE] %s (%d ms): %s%n", result.configFile, result.duration, result.error);
+            }
+        }
+        System.out.printf(Locale.ROOT, "Generated %d of %d configuration file(s) in %d ms: %d failed, %d skipped.%n",
+                results.size() - failures - skipped, results.size(), duration, failures, skipped);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @param paths configuration files or directories
+     * @return the configuration files, the *.json files of a directory sorted by name
+     */
+    static List<File> listConfigFiles(List<String> paths) {
+        List<File> files = new ArrayList<>();
+        for (String path : paths) {
+            File file = new File(path);
+            if (file.isDirectory()) {
+                File[] children = file.listFiles((dir, name) -> name.toLowerCase(Locale.ROOT).endsWith(".json"));
+                if (children != null) {
+                    Arrays.sort(children);
+                    files.addAll(Arrays.asList(children));
+                }
+            } else {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Generate the code of each configuration file, reporting failures rather than stopping at them.
+     *
+     * @param files    configuration files
+     * @param threads  number of configuration files generated in parallel
+     * @param failFast whether to skip the configuration files not started yet once one failed
+     * @param shareSpec whether to parse each specification once for all the configuration files, see
+     *                  {@link MultiTargetGenerator}
+     * @return the results, in the order of the files
+     */
+    static List<Result> generate(List<File> files, int threads, boolean failFast, boolean shareSpec) {
+        if (shareSpec) {
+            return generateSharingSpecifications(files, threads, failFast);
+        }
+
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Result> results = new ArrayList<>();
+        if (threads <= 1 || files.size() == 1) {
+            for (File file : files) {
+                results.add(generate(file, failFast, failed));
+            }
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, files.size()));
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (File file : files) {
+                futures.add(executor.submit(() -> generate(file, failFast, failed)));
+            }
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating code", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Could not generate code", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Result generate(File file, boolean failFast, AtomicBoolean failed) {
+        Result result = new Result(file);
+        if (failFast && failed.get()) {
+            result.skipped = true;
+            return result;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            CodegenConfigurator configurator = CodegenConfigurator.fromFile(file.getPath());
+            if (configurator == null) {
+                result.error = "Unable to read the configuration file";
+            } else {
+                new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+            }
+        } catch (Exception e) {
+            LOGGER.error("Could not generate code for " + file, e);
+            result.error = message(e);
+        }
+        result.duration = System.currentTimeMillis() - start;
+        if (result.error != null) {
+            failed.set(true);
+        }
+        return result;
+    }
+
+    private static List<Result> generateSharingSpecifications(List<File> files, int threads, boolean failFast) {
+        List<Result> results = new ArrayList<>();
+        List<CodegenConfigurator> targets = new ArrayList<>();
+        List<Result> targetResults = new ArrayList<>();
+        boolean failed = false;
+        for (File file : files) {
+            Result result = new Result(file);
+            results.add(result);
+            if (failFast && failed) {
+                result.skipped = true;
+                continue;
+            }
+
+            try {
+                CodegenConfigurator configurator = CodegenConfigurator.fromFile(file.getPath());
+                if (configurator == null) {
+                    result.error = "Unable to read the configuration file";
+                } else {
+                    targets.add(configurator);
+                    targetResults.add(result);
+                }
+            } catch (Exception e) {
+                LOGGER.error("Could not read " + file, e);
+                result.error = message(e);
+            }
+            failed |= result.error != null;
+        }
+
+        List<MultiTargetGenerator.Result> generated = new MultiTargetGenerator(targets)
+                .threads(threads)
+                .failFast(failFast)
+                .generate();
+        for (int i = 0; i < generated.size(); i++) {
+            Result result = targetResults.get(i);
+            result.duration = generated.get(i).getDuration();
+            result.skipped = generated.get(i).isSkipped();
+            if (generated.get(i).getError() != null) {
+                result.error = message(generated.get(i).getError());
+            }
+        }
+        return results;
+    }
+
+    private static String message(Throwable e) {
+        return e.getMessage() == null ? e.toString() : e.getMessage();
+    }
+
+    static final class Result {
+        final File configFile;
+        long duration;
+        boolean skipped;
+        // null if the generation succeeded
+        String error;
+
+        Result(File configFile) {
+            this.configFile = configFile;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import org.openapitools.codegen.daemon.GeneratorDaemon;
+import org.openapitools.codegen.daemon.GeneratorDaemonClient;
+
+import java.io.IOException;
+import java.util.Locale;
+
+@Command(name = "daemon", description = "Run a generator daemon, generating code for the Maven and Gradle plugins "
+        + "configured with its port, without starting a JVM for each generation. The generations use the environment "
+        + "of the daemon, e.g. its *_POST_PROCESS_FILE variables.")
+public class Daemon implements Runnable {
+
+    @Option(name = {"--port"}, title = "port",
+            description = "port to listen to on the loopback interface (" + GeneratorDaemon.DEFAULT_PORT + " by default)")
+    private Integer port;
+
+    @Option(name = {"--threads"}, title = "threads",
+            description = "maximum number of generations running at the same time (number of processors by default)")
+    private Integer threads;
+
+    @Option(name = {"--stop"}, title = "stop", description = "stop the daemon listening to the port")
+    private Boolean stop;
+
+    @Override
+    public void run() {
+        int daemonPort = port == null ? GeneratorDaemon.DEFAULT_PORT : port;
+
+        if (Boolean.TRUE.equals(stop)) {
+            try {
+                new GeneratorDaemonClient(daemonPort).shutdown();
+                System.out.printf(Locale.ROOT, "Stopped the generator daemon listening to port %d.%n", daemonPort);
+            } catch (IOException e) {
+                System.err.printf(Locale.ROOT, "[error] No generator daemon listening to port %d: %s%n", daemonPort, e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        GeneratorDaemon daemon;
+        try {
+            daemon = new GeneratorDaemon(daemonPort, threads == null ? Runtime.getRuntime().availableProcessors() : threads);
+        } catch (IOException e) {
+            System.err.printf(Locale.ROOT, "[error] Unable to listen to port %d: %s%n", daemonPort, e.getMessage());
+            System.exit(1);
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(daemon::stop));
+        System.out.printf(Locale.ROOT, "Generator daemon listening to port %d, with the token in %s. Stop it with 'daemon --stop'.%n",
+                daemon.getPort(), GeneratorDaemon.getTokenFile(daemon.getPort()));
+
+        try {
+            daemon.awaitStop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            daemon.stop();
+        }
+    }
+}
@@ -211,6 +211,27 @@ public class Generate implements Runnable {
     @Option(name = {"--enable-post-process-file"}, title = "enable post-process file", description = CodegenConstants.ENABLE_POST_PROCESS_FILE)
     private Boolean enablePostProcessFile;
 
+    @Option(name = {"--generation-threads"}, title = "generation threads", description = CodegenConstants.GENERATION_THREADS_DESC)
+    private Integer generationThreads;
+
+    @Option(name = {"--batch-post-process-file"}, title = "batch post-process file", description = CodegenConstants.BATCH_POST_PROCESS_FILE_DESC)
+    private Boolean batchPostProcessFile;
+
+    @Option(name = {"--skip-unchanged-files"}, title = "skip unchanged files", description = CodegenConstants.SKIP_UNCHANGED_FILES_DESC)
+    private Boolean skipUnchangedFiles;
+
+    @Option(name = {"--incremental"}, title = "incremental generation", description = CodegenConstants.INCREMENTAL_GENERATION_DESC)
+    private Boolean incrementalGeneration;
+
+    @Option(name = {"--timings"}, title = "timings", description = CodegenConstants.TIMINGS_DESC)
+    private Boolean timings;
+
+    @Option(name = {"--cache-spec"}, title = "cache the parsed specification", description = CodegenConstants.CACHE_SPEC_DESC)
+    private Boolean cacheSpec;
+
+    @Option(name = {"--spec-cache-dir"}, title = "parsed specification cache directory", description = CodegenConstants.SPEC_CACHE_DIR_DESC)
+    private String specCacheDir;
+
     @Override
     public void run() {
         if (logToStderr != null) {
@@ -336,6 +357,34 @@ public class Generate implements Runnable {
             configurator.setEnablePostProcessFile(enablePostProcessFile);
         }
 
+        if (generationThreads != null) {
+            configurator.setGenerationThreads(generationThreads);
+        }
+
+        if (batchPostProcessFile != null) {
+            configurator.setBatchPostProcessFile(batchPostProcessFile);
+        }
+
+        if (skipUnchangedFiles != null) {
+            configurator.setSkipUnchangedFiles(skipUnchangedFiles);
+        }
+
+        if (incrementalGeneration != null) {
+            configurator.setIncrementalGeneration(incrementalGeneration);
+        }
+
+        if (timings != null) {
+            configurator.setTimings(timings);
+        }
+
+        if (cacheSpec != null) {
+            configurator.setCacheSpec(cacheSpec);
+        }
+
+        if (isNotEmpty(specCacheDir)) {
+            configurator.setSpecCacheDir(specCacheDir);
+        }
+
         applySystemPropertiesKvpList(systemProperties, configurator);
         applyInstantiationTypesKvpList(instantiationTypes, configurator);
         applyImportMappingsKvpList(importMappings, configurator);
@@ -347,6 +396,9 @@ public class Generate implements Runnable {
         try {
             final ClientOptInput clientOptInput = configurator.toClientOptInput();
             new DefaultGenerator().opts(clientOptInput).generate();
+            if (Boolean.TRUE.equals(timings)) {
+                System.out.print(clientOptInput.getTimings().toSummary());
+            }
         } catch (GeneratorNotFoundException e) {
             System.err.println(e.getMessage());
             System.err.println("[error] Check the spelling of the generator's name and try again.");
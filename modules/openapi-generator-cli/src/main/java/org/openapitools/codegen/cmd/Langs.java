@@ -17,15 +17,13 @@
 
 package org.openapitools.codegen.cmd;
 
-import ch.lambdaj.collection.LambdaIterable;
 import io.airlift.airline.Command;
-import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConfigLoader;
 
+import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
 
-import static ch.lambdaj.Lambda.on;
-import static ch.lambdaj.collection.LambdaCollections.with;
-import static java.util.ServiceLoader.load;
 
 /**
  * User: lanwen Date: 24.03.15 Time: 20:25
@@ -34,8 +32,9 @@ import static java.util.ServiceLoader.load;
 public class Langs implements Runnable {
     @Override
     public void run() {
-        LambdaIterable<String> langs =
-                with(load(CodegenConfig.class)).extract(on(CodegenConfig.class).getName());
+        List<String> langs = CodegenConfigLoader.getEntries().stream()
+                .map(CodegenConfigLoader.Entry::getName)
+                .collect(Collectors.toList());
         System.out.printf(Locale.ROOT, "Available languages (generators): %s%n", langs);
     }
 }
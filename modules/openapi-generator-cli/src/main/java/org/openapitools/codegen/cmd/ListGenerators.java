@@ -5,7 +5,6 @@ import com.google.common.base.Objects;
 import io.airlift.airline.Command;
 import io.airlift.airline.Option;
 
-import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.CodegenType;
 
@@ -24,13 +23,13 @@ public class ListGenerators implements Runnable {
 
     @Override
     public void run() {
-        List<CodegenConfig> generators = CodegenConfigLoader.getAll();
+        List<CodegenConfigLoader.Entry> generators = CodegenConfigLoader.getEntries();
 
         StringBuilder sb = new StringBuilder();
 
         if (shortened) {
             for (int i = 0; i < generators.size(); i++) {
-                CodegenConfig generator = generators.get(i);
+                CodegenConfigLoader.Entry generator = generators.get(i);
                 if (i != 0) {
                     sb.append(",");
                 }
@@ -53,10 +52,10 @@ public class ListGenerators implements Runnable {
         System.out.printf(Locale.ROOT, "%s%n", sb.toString());
     }
 
-    private void appendForType(StringBuilder sb, CodegenType type, String typeName, List<CodegenConfig> generators) {
-        List<CodegenConfig> list = generators.stream()
+    private void appendForType(StringBuilder sb, CodegenType type, String typeName, List<CodegenConfigLoader.Entry> generators) {
+        List<CodegenConfigLoader.Entry> list = generators.stream()
                 .filter(g -> Objects.equal(type, g.getTag()))
-                .sorted(Comparator.comparing(CodegenConfig::getName))
+                .sorted(Comparator.comparing(CodegenConfigLoader.Entry::getName))
                 .collect(Collectors.toList());
 
         if(list.size() > 0) {
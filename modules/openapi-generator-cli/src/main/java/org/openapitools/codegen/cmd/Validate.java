@@ -23,8 +23,11 @@ import io.airlift.airline.Option;
 import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.config.SpecificationCache;
 import org.openapitools.codegen.utils.ModelUtils;
 
+import java.io.File;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -39,11 +42,19 @@ public class Validate implements Runnable {
     @Option(name = { "--recommend"}, title = "recommend spec improvements")
     private Boolean recommend;
 
+    @Option(name = {"--spec-cache-dir"}, title = "parsed specification cache directory", description = CodegenConstants.SPEC_CACHE_DIR_DESC)
+    private String specCacheDir;
+
     @Override
     public void run() {
         System.out.println("Validating spec (" + spec + ")");
 
-        SwaggerParseResult result = new OpenAPIParser().readLocation(spec, null, null);
+        SwaggerParseResult result;
+        if (specCacheDir != null && !specCacheDir.isEmpty()) {
+            result = SpecificationCache.parse(spec, null, null, new File(specCacheDir));
+        } else {
+            result = new OpenAPIParser().readLocation(spec, null, null);
+        }
         List<String> messageList = result.getMessages();
         Set<String> errors = new HashSet<String>(messageList);
         Set<String> warnings = new HashSet<String>();
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class BatchTest {
+    private static final String SPEC = "openapi: 3.0.1\n"
+            + "info:\n"
+            + "  title: Batch\n"
+            + "  version: 1.0.0\n"
+            + "paths:\n"
+            + "  /ping:\n"
+            + "    get:\n"
+            + "      operationId: ping\n"
+            + "      responses:\n"
+            + "        '200':\n"
+            + "          description: OK\n"
+            + "components:\n"
+            + "  schemas:\n"
+            + "    Pong:\n"
+            + "      type: string\n";
+
+    private File directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("batch").toFile();
+        FileUtils.writeStringToFile(new File(directory, "spec.yaml"), SPEC, StandardCharsets.UTF_8);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testGeneratesEachConfigFile() throws IOException {
+        File configs = new File(directory, "configs");
+        File first = writeConfig(new File(configs, "a.json"), "html", "out-a");
+        File second = writeConfig(new File(configs, "b.json"), "html", "out-b");
+        File broken = writeConfig(new File(configs, "c.json"), "no-such-generator", "out-c");
+        FileUtils.writeStringToFile(new File(configs, "notes.txt"), "not a configuration", StandardCharsets.UTF_8);
+
+        List<File> files = Batch.listConfigFiles(Collections.singletonList(configs.getPath()));
+        Assert.assertEquals(files, Arrays.asList(first, second, broken));
+
+        List<Batch.Result> results = Batch.generate(files, 2, false, false);
+        Assert.assertEquals(results.size(), 3);
+        Assert.assertNull(results.get(0).error);
+        Assert.assertNull(results.get(1).error);
+        Assert.assertNotNull(results.get(2).error);
+        Assert.assertFalse(results.get(2).skipped);
+        Assert.assertTrue(new File(directory, "out-a/index.html").exists());
+        Assert.assertTrue(new File(directory, "out-b/index.html").exists());
+    }
+
+    @Test
+    public void testFailFastSkipsRemainingConfigFiles() throws IOException {
+        File broken = writeConfig(new File(directory, "broken.json"), "no-such-generator", "out-broken");
+        File valid = writeConfig(new File(directory, "valid.json"), "html", "out-valid");
+
+        List<Batch.Result> results = Batch.generate(Arrays.asList(broken, valid), 1, true, false);
+        Assert.assertNotNull(results.get(0).error);
+        Assert.assertTrue(results.get(1).skipped);
+        Assert.assertFalse(new File(directory, "out-valid").exists());
+
+        results = Batch.generate(Arrays.asList(new File(directory, "missing.json"), valid), 1, false, false);
+        Assert.assertNotNull(results.get(0).error);
+        Assert.assertNull(results.get(1).error);
+    }
+
+    @Test
+    public void testSharesSpecifications() throws IOException {
+        File missing = new File(directory, "missing.json");
+        File first = writeConfig(new File(directory, "a.json"), "html", "out-a");
+        File broken = writeConfig(new File(directory, "b.json"), "no-such-generator", "out-b");
+        File second = writeConfig(new File(directory, "c.json"), "html", "out-c");
+
+        List<Batch.Result> results = Batch.generate(Arrays.asList(missing, first, broken, second), 2, false, true);
+        Assert.assertEquals(results.size(), 4);
+        Assert.assertNotNull(results.get(0).error);
+        Assert.assertNull(results.get(1).error);
+        Assert.assertNotNull(results.get(2).error);
+        Assert.assertNull(results.get(3).error);
+        Assert.assertTrue(new File(directory, "out-a/index.html").exists());
+        Assert.assertTrue(new File(directory, "out-c/index.html").exists());
+
+        results = Batch.generate(Arrays.asList(first, missing, second), 1, true, true);
+        Assert.assertNull(results.get(0).error);
+        Assert.assertNotNull(results.get(1).error);
+        Assert.assertTrue(results.get(2).skipped);
+    }
+
+    private File writeConfig(File file, String generatorName, String output) throws IOException {
+        String config = "{\n"
+                + "  \"generatorName\": \"" + generatorName + "\",\n"
+                + "  \"inputSpec\": \"" + new File(directory, "spec.yaml").getAbsolutePath().replace("\\", "\\\\") + "\",\n"
+                + "  \"outputDir\": \"" + new File(directory, output).getAbsolutePath().replace("\\", "\\\\") + "\"\n"
+                + "}\n";
+        FileUtils.writeStringToFile(file, config, StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -75,6 +75,7 @@ class OpenApiGeneratorPlugin : Plugin<Project> {
                     description = "Validates an Open API 2.0 or 3.x specification document."
 
                     inputSpec.set(validate.inputSpec)
+                    specCacheDir.set(validate.specCacheDir)
                 }
 
                 create("openApiGenerate", GenerateTask::class.java) {
@@ -112,6 +113,15 @@ class OpenApiGeneratorPlugin : Plugin<Project> {
                     reservedWordsMappings.set(generate.reservedWordsMappings)
                     ignoreFileOverride.set(generate.ignoreFileOverride)
                     removeOperationIdPrefix.set(generate.removeOperationIdPrefix)
+                    generationThreads.set(generate.generationThreads)
+                    batchPostProcessFile.set(generate.batchPostProcessFile)
+                    skipUnchangedFiles.set(generate.skipUnchangedFiles)
+                    incrementalGeneration.set(generate.incrementalGeneration)
+                    timings.set(generate.timings)
+                    cacheSpec.set(generate.cacheSpec)
+                    specCacheDir.set(generate.specCacheDir)
+                    daemonPort.set(generate.daemonPort)
+                    workerIsolation.set(generate.workerIsolation)
                     apiFilesConstrainedTo.set(generate.apiFilesConstrainedTo)
                     modelFilesConstrainedTo.set(generate.modelFilesConstrainedTo)
                     supportingFilesConstrainedTo.set(generate.supportingFilesConstrainedTo)
@@ -185,6 +185,57 @@ open class OpenApiGeneratorGenerateExtension(project: Project) {
      */
     val removeOperationIdPrefix = project.objects.property<Boolean?>()
 
+    /**
+     * Number of threads used to render and write model and API files. Default is 1 (sequential).
+     */
+    val generationThreads = project.objects.property<Int?>()
+
+    /**
+     * Pass several generated files to each invocation of the post-processing command, rather than one.
+     */
+    val batchPostProcessFile = project.objects.property<Boolean?>()
+
+    /**
+     * Leave existing files untouched when the generated content is identical, keeping their modification time.
+     */
+    val skipUnchangedFiles = project.objects.property<Boolean?>()
+
+    /**
+     * Only render the models and APIs whose inputs changed since the previous generation.
+     */
+    val incrementalGeneration = project.objects.property<Boolean?>()
+
+    /**
+     * Measure the wall time, CPU time and allocated bytes of each phase of the generation, and of each model, API
+     * and template. The report is written to .openapi-generator/timings.json and summarized in the output.
+     */
+    val timings = project.objects.property<Boolean?>()
+
+    /**
+     * Keep the parsed specification in memory, so that the following generations of the same specification in the
+     * Gradle JVM do not parse it again.
+     */
+    val cacheSpec = project.objects.property<Boolean?>()
+
+    /**
+     * Directory where parsed specifications are cached, keyed by a hash of the specification and the files it
+     * references, so that the following builds do not parse an unchanged specification again. Implies [cacheSpec].
+     */
+    val specCacheDir = project.objects.property<String?>()
+
+    /**
+     * Port of a generator daemon (started with the daemon command of the CLI) to generate the code in, rather than
+     * in the Gradle JVM. The code is generated in the Gradle JVM if no daemon answers on the port.
+     */
+    val daemonPort = project.objects.property<Int?>()
+
+    /**
+     * How the code is generated through the Gradle Worker API: "classloader" (the default) in an isolated class loader,
+     * "process" in a separate worker process, or "none" in the class loader of the plugin.
+     * Generation tasks of different projects run in parallel with --parallel.
+     */
+    val workerIsolation = project.objects.property<String?>()
+
     /**
      * Defines which API-related files should be generated. This allows you to create a subset of generated files (or none at all).
      *
@@ -29,4 +29,10 @@ open class OpenApiGeneratorValidateExtension(project: Project) {
      * The input specification to validate. Supports all formats supported by the Parser.
      */
     val inputSpec = project.objects.property<String>()
+
+    /**
+     * Directory where parsed specifications are cached, keyed by a hash of the specification and the files it
+     * references, so that an unchanged specification is not parsed again.
+     */
+    val specCacheDir = project.objects.property<String?>()
 }
\ No newline at end of file
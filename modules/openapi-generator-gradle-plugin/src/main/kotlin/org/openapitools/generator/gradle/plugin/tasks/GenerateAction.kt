@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.generator.gradle.plugin.tasks
+
+import org.gradle.api.GradleException
+import org.gradle.api.logging.Logging
+import org.openapitools.codegen.DefaultGenerator
+import org.openapitools.codegen.config.CodegenConfigurator
+import javax.inject.Inject
+
+/**
+ * The generation of a [GenerateTask], run by the Gradle Worker API.
+ *
+ * The configurator is the only state shared with the task: it is serialized to the worker, which may run in an
+ * isolated class loader or in another process, and carries all the options of the generation.
+ */
+open class GenerateAction @Inject constructor(private val configurator: CodegenConfigurator) : Runnable {
+
+    override fun run() {
+        val logger = Logging.getLogger(GenerateAction::class.java)
+        try {
+            val clientOptInput = configurator.toClientOptInput()
+
+            DefaultGenerator().opts(clientOptInput).generate()
+
+            logger.lifecycle("Successfully generated code to ${configurator.outputDir}")
+
+            if (clientOptInput.timings.isEnabled) {
+                logger.lifecycle(clientOptInput.timings.toSummary())
+            }
+        } catch (e: RuntimeException) {
+            throw GradleException("Code generation failed.", e)
+        }
+    }
+}
@@ -18,16 +18,36 @@ package org.openapitools.generator.gradle.plugin.tasks
 
 import org.gradle.api.DefaultTask
 import org.gradle.api.GradleException
+import org.gradle.api.file.FileCollection
 import org.gradle.api.provider.Property
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputDirectory
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.InputFiles
 import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.Optional
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
 import org.gradle.api.tasks.TaskAction
 import org.gradle.internal.logging.text.StyledTextOutput
 import org.gradle.internal.logging.text.StyledTextOutputFactory
 import org.gradle.kotlin.dsl.listProperty
 import org.gradle.kotlin.dsl.property
+import org.gradle.workers.IsolationMode
+import org.gradle.workers.WorkerExecutor
 import org.openapitools.codegen.CodegenConstants
-import org.openapitools.codegen.DefaultGenerator
+import org.openapitools.codegen.GeneratorNotFoundException
 import org.openapitools.codegen.config.CodegenConfigurator
+import org.openapitools.codegen.daemon.GeneratorDaemonClient
+import org.openapitools.codegen.utils.ImplementationVersion
+import org.openapitools.codegen.utils.SpecificationFiles
+import java.io.File
+import java.io.IOException
+import java.net.URLClassLoader
+import java.util.Locale
+import javax.inject.Inject
 
 
 /**
@@ -37,9 +57,13 @@ import org.openapitools.codegen.config.CodegenConfigurator
  *
  * ./gradlew -q openApiGenerate
  *
+ * The task is up-to-date, or restored from the build cache, when the specification, the files it references, the
+ * templates, the configuration file and the options are unchanged.
+ *
  * @author Jim Schubert
  */
-open class GenerateTask : DefaultTask() {
+@CacheableTask
+open class GenerateTask @Inject constructor(private val workerExecutor: WorkerExecutor) : DefaultTask() {
 
     /**
      * The verbosity of generation
@@ -50,13 +74,15 @@ open class GenerateTask : DefaultTask() {
     /**
      * Whether or not an input specification should be validated upon generation.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val validateSpec = project.objects.property<Boolean>()
 
     /**
      * The name of the generator which will handle codegen. (see "openApiGenerators" task)
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val generatorName = project.objects.property<String>()
 
     /**
@@ -87,7 +113,8 @@ open class GenerateTask : DefaultTask() {
     /**
      * Sets specified system properties.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val systemProperties = project.objects.property<Map<String, String>>()
 
     /**
@@ -101,122 +128,142 @@ open class GenerateTask : DefaultTask() {
     /**
      * Specifies if the existing files should be overwritten during the generation.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val skipOverwrite = project.objects.property<Boolean?>()
 
     /**
      * Package for generated api classes
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val apiPackage = project.objects.property<String>()
 
     /**
      * Package for generated models
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val modelPackage = project.objects.property<String>()
 
     /**
      * Prefix that will be prepended to all model names. Default is the empty string.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val modelNamePrefix = project.objects.property<String>()
 
     /**
      * Suffix that will be appended to all model names. Default is the empty string.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val modelNameSuffix = project.objects.property<String>()
 
     /**
      * Sets instantiation type mappings.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val instantiationTypes = project.objects.property<Map<String, String>>()
 
     /**
      * Sets mappings between OpenAPI spec types and generated code types.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val typeMappings = project.objects.property<Map<String, String>>()
 
     /**
      * Sets additional properties that can be referenced by the mustache templates in the format of name=value,name=value.
      * You can also have multiple occurrences of this option.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val additionalProperties = project.objects.property<Map<String, String>>()
 
     /**
      * Specifies additional language specific primitive types in the format of type1,type2,type3,type3. For example: String,boolean,Boolean,Double.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val languageSpecificPrimitives = project.objects.listProperty<String>()
 
     /**
      * Specifies mappings between a given class and the import that should be used for that class.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val importMappings = project.objects.property<Map<String, String>>()
 
     /**
      * Root package for generated code.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val invokerPackage = project.objects.property<String>()
 
     /**
      * GroupId in generated pom.xml/build.gradle or other build script. Language-specific conversions occur in non-jvm generators.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val groupId = project.objects.property<String>()
 
     /**
      * ArtifactId in generated pom.xml/build.gradle or other build script. Language-specific conversions occur in non-jvm generators.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val id = project.objects.property<String>()
 
     /**
      * Artifact version in generated pom.xml/build.gradle or other build script. Language-specific conversions occur in non-jvm generators.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val version = project.objects.property<String>()
 
     /**
      * Reference the library template (sub-template) of a generator.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val library = project.objects.property<String?>()
 
     /**
      * Git user ID, e.g. openapitools.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val gitUserId = project.objects.property<String?>()
 
     /**
      * Git repo ID, e.g. openapi-generator.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val gitRepoId = project.objects.property<String?>()
 
     /**
      * Release note, default to 'Minor update'.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val releaseNote = project.objects.property<String?>()
 
     /**
      * HTTP user agent, e.g. codegen_csharp_api_client, default to 'OpenAPI-Generator/{packageVersion}}/{language}'
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val httpUserAgent = project.objects.property<String?>()
 
     /**
      * Specifies how a reserved name should be escaped to.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val reservedWordsMappings = project.objects.property<Map<String, String>>()
 
     /**
@@ -228,9 +275,70 @@ open class GenerateTask : DefaultTask() {
     /**
      * Remove prefix of operationId, e.g. config_getId => getId
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val removeOperationIdPrefix = project.objects.property<Boolean?>()
 
+    /**
+     * Number of threads used to render and write model and API files. Default is 1 (sequential).
+     */
+    @get:Internal
+    val generationThreads = project.objects.property<Int?>()
+
+    /**
+     * Pass several generated files to each invocation of the post-processing command, rather than one.
+     */
+    @get:Internal
+    val batchPostProcessFile = project.objects.property<Boolean?>()
+
+    /**
+     * Leave existing files untouched when the generated content is identical, keeping their modification time.
+     */
+    @get:Internal
+    val skipUnchangedFiles = project.objects.property<Boolean?>()
+
+    /**
+     * Only render the models and APIs whose inputs changed since the previous generation.
+     */
+    @get:Internal
+    val incrementalGeneration = project.objects.property<Boolean?>()
+
+    /**
+     * Measure the wall time, CPU time and allocated bytes of each phase of the generation, and of each model, API
+     * and template. The report is written to .openapi-generator/timings.json and summarized in the output.
+     */
+    @get:Input
+    @get:Optional
+    val timings = project.objects.property<Boolean?>()
+
+    /**
+     * Keep the parsed specification in memory, so that the following generations of the same specification in the
+     * Gradle JVM do not parse it again.
+     */
+    @get:Internal
+    val cacheSpec = project.objects.property<Boolean?>()
+
+    /**
+     * Directory where parsed specifications are cached, keyed by a hash of the specification and the files it
+     * references, so that the following builds do not parse an unchanged specification again. Implies [cacheSpec].
+     */
+    @get:Internal
+    val specCacheDir = project.objects.property<String?>()
+
+    /**
+     * Port of a generator daemon (started with the daemon command of the CLI) to generate the code in, rather than
+     * in the Gradle JVM. The code is generated in the Gradle JVM if no daemon answers on the port.
+     */
+    @get:Internal
+    val daemonPort = project.objects.property<Int?>()
+
+    /**
+     * How the code is generated through the Gradle Worker API: "classloader" (the default) in an isolated class loader,
+     * "process" in a separate worker process, or "none" in the class loader of the plugin.
+     */
+    @get:Internal
+    val workerIsolation = project.objects.property<String?>()
+
     /**
      * Defines which API-related files should be generated. This allows you to create a subset of generated files (or none at all).
      *
@@ -240,7 +348,8 @@ open class GenerateTask : DefaultTask() {
      *   in others being disabled. That is, OpenAPI Generator considers any one of these to define a subset of generation.
      *   For more control over generation of individual files, configure an ignore file and refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val apiFilesConstrainedTo = project.objects.listProperty<String>()
 
     /**
@@ -250,7 +359,8 @@ open class GenerateTask : DefaultTask() {
      *   in others being disabled. That is, OpenAPI Generator considers any one of these to define a subset of generation.
      *   For more control over generation of individual files, configure an ignore file and refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val modelFilesConstrainedTo = project.objects.listProperty<String>()
 
     /**
@@ -263,7 +373,8 @@ open class GenerateTask : DefaultTask() {
      *   in others being disabled. That is, OpenAPI Generator considers any one of these to define a subset of generation.
      *   For more control over generation of individual files, configure an ignore file and refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val supportingFilesConstrainedTo = project.objects.listProperty<String>()
 
     /**
@@ -274,7 +385,8 @@ open class GenerateTask : DefaultTask() {
      * For more control over generation of individual files, configure an ignore file and
      * refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val generateModelTests = project.objects.property<Boolean>()
 
     /**
@@ -285,7 +397,8 @@ open class GenerateTask : DefaultTask() {
      * For more control over generation of individual files, configure an ignore file and
      * refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val generateModelDocumentation = project.objects.property<Boolean>()
 
     /**
@@ -296,7 +409,8 @@ open class GenerateTask : DefaultTask() {
      * For more control over generation of individual files, configure an ignore file and
      * refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val generateApiTests = project.objects.property<Boolean>()
 
     /**
@@ -307,23 +421,107 @@ open class GenerateTask : DefaultTask() {
      * For more control over generation of individual files, configure an ignore file and
      * refer to it via [ignoreFileOverride].
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val generateApiDocumentation = project.objects.property<Boolean>()
 
     /**
      * A special-case setting which configures some generators with XML support. In some cases,
      * this forces json OR xml, so the default here is false.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val withXml = project.objects.property<Boolean>()
 
     /**
      * A dynamic map of options specific to a generator.
      */
-    @get:Internal
+    @get:Input
+    @get:Optional
     val configOptions = project.objects.property<Map<String, String>>()
 
-    private val originalEnvironmentVariables = mutableMapOf<String, String?>()
+    /**
+     * The local specification file and the files it references with `$ref`, as inputs of the task. The paths of
+     * [inputSpec], [templateDir], [configFile], [ignoreFileOverride] and [outputDir] are not inputs themselves,
+     * only the content of the files they point to, so that the outputs can be restored from the build cache of a
+     * build in another directory.
+     */
+    @get:InputFiles
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    val inputSpecFiles: FileCollection
+        get() = project.files(SpecificationFiles.of(resolve(inputSpec) { it.inputSpec }
+                ?.let { if (SpecificationFiles.isRemote(it)) it else project.file(it).absolutePath }))
+
+    /**
+     * The location of a specification fetched from a server. Such a task is never up-to-date nor cached, since the
+     * specification may change on the server.
+     */
+    @get:Input
+    @get:Optional
+    val remoteInputSpec: String?
+        get() = resolve(inputSpec) { it.inputSpec }?.takeIf { SpecificationFiles.isRemote(it) }
+
+    @get:InputDirectory
+    @get:Optional
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    val templateDirectory: File?
+        get() = resolve(templateDir) { it.templateDir }?.let { project.file(it) }?.takeIf { it.isDirectory }
+
+    @get:InputFile
+    @get:Optional
+    @get:PathSensitive(PathSensitivity.NONE)
+    val configurationFile: File?
+        get() = configFile.orNull?.takeIf { it.isNotEmpty() }?.let { project.file(it) }
+
+    @get:InputFile
+    @get:Optional
+    @get:PathSensitive(PathSensitivity.NONE)
+    val ignoreFile: File?
+        get() = resolve(ignoreFileOverride) { it.ignoreFileOverride }?.let { project.file(it) }?.takeIf { it.isFile }
+
+    @get:OutputDirectory
+    @get:Optional
+    val outputDirectory: File?
+        get() = resolve(outputDir) { it.outputDir }?.let { project.file(it) }
+
+    init {
+        outputs.upToDateWhen { remoteInputSpec == null }
+        outputs.cacheIf("the specification is read from a local file") { remoteInputSpec == null }
+    }
+
+    /**
+     * @return the value of the property, or else the one of the configuration file
+     */
+    private fun resolve(property: Property<out String?>, fromConfigFile: (CodegenConfigurator) -> String?): String? {
+        val value = property.orNull
+        if (!value.isNullOrEmpty()) {
+            return value
+        }
+        val file = configurationFile ?: return null
+        return CodegenConfigurator.fromFile(file.absolutePath)?.let(fromConfigFile)?.takeIf { it.isNotEmpty() }
+    }
+
+    /**
+     * Resolves the locations read from the configuration file against the project directory, like those of the
+     * task, since the worker may not share the working directory.
+     */
+    private fun resolveLocations(configurator: CodegenConfigurator) {
+        configurator.inputSpec?.takeIf { it.isNotEmpty() && !SpecificationFiles.isRemote(it) }?.let {
+            configurator.inputSpec = project.file(it).absolutePath
+        }
+        configurator.outputDir?.takeIf { it.isNotEmpty() }?.let {
+            configurator.outputDir = project.file(it).absolutePath
+        }
+        configurator.templateDir?.takeIf { it.isNotEmpty() }?.let {
+            configurator.templateDir = project.file(it).absolutePath
+        }
+        configurator.ignoreFileOverride?.takeIf { it.isNotEmpty() }?.let {
+            configurator.ignoreFileOverride = project.file(it).absolutePath
+        }
+        configurator.specCacheDir?.takeIf { it.isNotEmpty() }?.let {
+            configurator.specCacheDir = project.file(it).absolutePath
+        }
+    }
 
     private fun <T : Any?> Property<T>.ifNotEmpty(block: Property<T>.(T) -> Unit) {
         if (isPresent) {
@@ -345,210 +543,277 @@ open class GenerateTask : DefaultTask() {
     @Suppress("unused")
     @TaskAction
     fun doWork() {
-        val configurator: CodegenConfigurator = if (configFile.isPresent) {
-            CodegenConfigurator.fromFile(configFile.get())
-        } else CodegenConfigurator()
+        val configurator: CodegenConfigurator = configurationFile?.let { file ->
+            CodegenConfigurator.fromFile(file.absolutePath)?.also { resolveLocations(it) }
+        } ?: CodegenConfigurator()
 
-        try {
-            if (systemProperties.isPresent) {
-                systemProperties.get().forEach { (key, value) ->
-                    // System.setProperty returns the original value for a key, or null.
-                    // Cache the original value or null…we will late put the properties back in their original state.
-                    originalEnvironmentVariables[key] = System.setProperty(key, value)
-                    configurator.addSystemProperty(key, value)
-                }
-            }
+        // generation options are passed to this generation only, so that tasks can run in parallel
+        if (supportingFilesConstrainedTo.isPresent && supportingFilesConstrainedTo.get().isNotEmpty()) {
+            configurator.addSystemProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesConstrainedTo.get().joinToString(","))
+        }
 
-            if (supportingFilesConstrainedTo.isPresent && supportingFilesConstrainedTo.get().isNotEmpty()) {
-                System.setProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesConstrainedTo.get().joinToString(","))
-            } else {
-                System.clearProperty(CodegenConstants.SUPPORTING_FILES)
-            }
+        if (modelFilesConstrainedTo.isPresent && modelFilesConstrainedTo.get().isNotEmpty()) {
+            configurator.addSystemProperty(CodegenConstants.MODELS, modelFilesConstrainedTo.get().joinToString(","))
+        }
 
-            if (modelFilesConstrainedTo.isPresent && modelFilesConstrainedTo.get().isNotEmpty()) {
-                System.setProperty(CodegenConstants.MODELS, modelFilesConstrainedTo.get().joinToString(","))
-            } else {
-                System.clearProperty(CodegenConstants.MODELS)
-            }
+        if (apiFilesConstrainedTo.isPresent && apiFilesConstrainedTo.get().isNotEmpty()) {
+            configurator.addSystemProperty(CodegenConstants.APIS, apiFilesConstrainedTo.get().joinToString(","))
+        }
 
-            if (apiFilesConstrainedTo.isPresent && apiFilesConstrainedTo.get().isNotEmpty()) {
-                System.setProperty(CodegenConstants.APIS, apiFilesConstrainedTo.get().joinToString(","))
-            } else {
-                System.clearProperty(CodegenConstants.APIS)
-            }
+        configurator.addSystemProperty(CodegenConstants.API_DOCS, generateApiDocumentation.get().toString())
+        configurator.addSystemProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.get().toString())
+        configurator.addSystemProperty(CodegenConstants.MODEL_TESTS, generateModelTests.get().toString())
+        configurator.addSystemProperty(CodegenConstants.API_TESTS, generateApiTests.get().toString())
+        configurator.addSystemProperty(CodegenConstants.WITH_XML, withXml.get().toString())
 
-            System.setProperty(CodegenConstants.API_DOCS, generateApiDocumentation.get().toString())
-            System.setProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.get().toString())
-            System.setProperty(CodegenConstants.MODEL_TESTS, generateModelTests.get().toString())
-            System.setProperty(CodegenConstants.API_TESTS, generateApiTests.get().toString())
-            System.setProperty(CodegenConstants.WITH_XML, withXml.get().toString())
+        // now override with any specified parameters
+        verbose.ifNotEmpty { value ->
+            configurator.isVerbose = value
+        }
 
-            // now override with any specified parameters
-            verbose.ifNotEmpty { value ->
-                configurator.isVerbose = value
-            }
+        validateSpec.ifNotEmpty { value ->
+            configurator.isValidateSpec = value
+        }
 
-            validateSpec.ifNotEmpty { value ->
-                configurator.isValidateSpec = value
-            }
+        skipOverwrite.ifNotEmpty { value ->
+            configurator.isSkipOverwrite = value ?: false
+        }
 
-            skipOverwrite.ifNotEmpty { value ->
-                configurator.isSkipOverwrite = value ?: false
-            }
+        // locations are resolved against the project directory, since the worker may not share the working directory
+        inputSpec.ifNotEmpty { value ->
+            configurator.inputSpec = if (SpecificationFiles.isRemote(value)) value else project.file(value).absolutePath
+        }
 
-            inputSpec.ifNotEmpty { value ->
-                configurator.inputSpec = value
-            }
+        generatorName.ifNotEmpty { value ->
+            configurator.generatorName = value
+        }
 
-            generatorName.ifNotEmpty { value ->
-                configurator.generatorName = value
-            }
+        outputDir.ifNotEmpty { value ->
+            configurator.outputDir = project.file(value).absolutePath
+        }
 
-            outputDir.ifNotEmpty { value ->
-                configurator.outputDir = value
-            }
+        auth.ifNotEmpty { value ->
+            configurator.auth = value
+        }
 
-            auth.ifNotEmpty { value ->
-                configurator.auth = value
-            }
+        templateDir.ifNotEmpty { value ->
+            configurator.templateDir = project.file(value).absolutePath
+        }
 
-            templateDir.ifNotEmpty { value ->
-                configurator.templateDir = value
-            }
+        apiPackage.ifNotEmpty { value ->
+            configurator.apiPackage = value
+        }
 
-            apiPackage.ifNotEmpty { value ->
-                configurator.apiPackage = value
-            }
+        modelPackage.ifNotEmpty { value ->
+            configurator.modelPackage = value
+        }
 
-            modelPackage.ifNotEmpty { value ->
-                configurator.modelPackage = value
-            }
+        modelNamePrefix.ifNotEmpty { value ->
+            configurator.modelNamePrefix = value
+        }
 
-            modelNamePrefix.ifNotEmpty { value ->
-                configurator.modelNamePrefix = value
-            }
+        modelNameSuffix.ifNotEmpty { value ->
+            configurator.modelNameSuffix = value
+        }
 
-            modelNameSuffix.ifNotEmpty { value ->
-                configurator.modelNameSuffix = value
-            }
+        invokerPackage.ifNotEmpty { value ->
+            configurator.invokerPackage = value
+        }
 
-            invokerPackage.ifNotEmpty { value ->
-                configurator.invokerPackage = value
-            }
+        groupId.ifNotEmpty { value ->
+            configurator.groupId = value
+        }
 
-            groupId.ifNotEmpty { value ->
-                configurator.groupId = value
-            }
+        id.ifNotEmpty { value ->
+            configurator.artifactId = value
+        }
 
-            id.ifNotEmpty { value ->
-                configurator.artifactId = value
-            }
+        version.ifNotEmpty { value ->
+            configurator.artifactVersion = value
+        }
 
-            version.ifNotEmpty { value ->
-                configurator.artifactVersion = value
-            }
+        library.ifNotEmpty { value ->
+            configurator.library = value
+        }
 
-            library.ifNotEmpty { value ->
-                configurator.library = value
-            }
+        gitUserId.ifNotEmpty { value ->
+            configurator.gitUserId = value
+        }
 
-            gitUserId.ifNotEmpty { value ->
-                configurator.gitUserId = value
-            }
+        gitRepoId.ifNotEmpty { value ->
+            configurator.gitRepoId = value
+        }
 
-            gitRepoId.ifNotEmpty { value ->
-                configurator.gitRepoId = value
-            }
+        releaseNote.ifNotEmpty { value ->
+            configurator.releaseNote = value
+        }
 
-            releaseNote.ifNotEmpty { value ->
-                configurator.releaseNote = value
-            }
+        httpUserAgent.ifNotEmpty { value ->
+            configurator.httpUserAgent = value
+        }
 
-            httpUserAgent.ifNotEmpty { value ->
-                configurator.httpUserAgent = value
-            }
+        ignoreFileOverride.ifNotEmpty { value ->
+            configurator.ignoreFileOverride = project.file(value).absolutePath
+        }
 
-            ignoreFileOverride.ifNotEmpty { value ->
-                configurator.ignoreFileOverride = value
-            }
+        removeOperationIdPrefix.ifNotEmpty { value ->
+            configurator.removeOperationIdPrefix = value!!
+        }
+
+        generationThreads.ifNotEmpty { value ->
+            configurator.generationThreads = value!!
+        }
 
-            removeOperationIdPrefix.ifNotEmpty { value ->
-                configurator.removeOperationIdPrefix = value!!
+        batchPostProcessFile.ifNotEmpty { value ->
+            configurator.batchPostProcessFile = value!!
+        }
+
+        skipUnchangedFiles.ifNotEmpty { value ->
+            configurator.skipUnchangedFiles = value!!
+        }
+
+        incrementalGeneration.ifNotEmpty { value ->
+            configurator.incrementalGeneration = value!!
+        }
+
+        timings.ifNotEmpty { value ->
+            configurator.timings = value!!
+        }
+
+        cacheSpec.ifNotEmpty { value ->
+            configurator.cacheSpec = value!!
+        }
+
+        specCacheDir.ifNotEmpty { value ->
+            configurator.specCacheDir = project.file(value).absolutePath
+        }
+
+        if (systemProperties.isPresent) {
+            systemProperties.get().forEach { entry ->
+                configurator.addSystemProperty(entry.key, entry.value)
             }
+        }
 
-            if (systemProperties.isPresent) {
-                systemProperties.get().forEach { entry ->
-                    configurator.addSystemProperty(entry.key, entry.value)
-                }
+        if (instantiationTypes.isPresent) {
+            instantiationTypes.get().forEach { entry ->
+                configurator.addInstantiationType(entry.key, entry.value)
             }
+        }
 
-            if (instantiationTypes.isPresent) {
-                instantiationTypes.get().forEach { entry ->
-                    configurator.addInstantiationType(entry.key, entry.value)
-                }
+        if (importMappings.isPresent) {
+            importMappings.get().forEach { entry ->
+                configurator.addImportMapping(entry.key, entry.value)
             }
+        }
 
-            if (importMappings.isPresent) {
-                importMappings.get().forEach { entry ->
-                    configurator.addImportMapping(entry.key, entry.value)
-                }
+        if (typeMappings.isPresent) {
+            typeMappings.get().forEach { entry ->
+                configurator.addTypeMapping(entry.key, entry.value)
             }
+        }
 
-            if (typeMappings.isPresent) {
-                typeMappings.get().forEach { entry ->
-                    configurator.addTypeMapping(entry.key, entry.value)
-                }
+        if (additionalProperties.isPresent) {
+            additionalProperties.get().forEach { entry ->
+                configurator.addAdditionalProperty(entry.key, entry.value)
             }
+        }
 
-            if (additionalProperties.isPresent) {
-                additionalProperties.get().forEach { entry ->
-                    configurator.addAdditionalProperty(entry.key, entry.value)
-                }
+        if (languageSpecificPrimitives.isPresent) {
+            languageSpecificPrimitives.get().forEach {
+                configurator.addLanguageSpecificPrimitive(it)
             }
+        }
 
-            if (languageSpecificPrimitives.isPresent) {
-                languageSpecificPrimitives.get().forEach {
-                    configurator.addLanguageSpecificPrimitive(it)
-                }
+        if (reservedWordsMappings.isPresent) {
+            reservedWordsMappings.get().forEach { entry ->
+                configurator.addAdditionalReservedWordMapping(entry.key, entry.value)
             }
+        }
 
-            if (reservedWordsMappings.isPresent) {
-                reservedWordsMappings.get().forEach { entry ->
-                    configurator.addAdditionalReservedWordMapping(entry.key, entry.value)
-                }
+        // the options of the generator are applied from the dynamic properties, as for configuration files
+        if (configOptions.isPresent) {
+            configOptions.get().forEach { (key, value) ->
+                configurator.addDynamicProperty(key, value)
             }
+        }
 
-            val clientOptInput = configurator.toClientOptInput()
-            val codgenConfig = clientOptInput.config
+        if (daemonPort.isPresent && generateInDaemon(configurator)) {
+            return
+        }
 
-            if (configOptions.isPresent) {
-                val userSpecifiedConfigOptions = configOptions.get()
-                codgenConfig.cliOptions().forEach {
-                    if (userSpecifiedConfigOptions.containsKey(it.opt)) {
-                        clientOptInput.config.additionalProperties()[it.opt] = userSpecifiedConfigOptions[it.opt]
-                    }
-                }
+        // the worker owns its configurator and shares no state with other generations, so that generation tasks
+        // of different projects run in parallel
+        workerExecutor.submit(GenerateAction::class.java) {
+            isolationMode = workerIsolationMode()
+            if (isolationMode != IsolationMode.NONE) {
+                classpath(generatorClasspath())
             }
+            displayName = "Generate ${configurator.generatorName} code to ${configurator.outputDir}"
+            params(configurator)
+        }
+    }
 
-            try {
-                val out = services.get(StyledTextOutputFactory::class.java).create("openapi")
-                out.withStyle(StyledTextOutput.Style.Success)
+    private fun workerIsolationMode(): IsolationMode {
+        val value = workerIsolation.orNull ?: return IsolationMode.CLASSLOADER
+        return when (value.toLowerCase(Locale.ROOT)) {
+            "none" -> IsolationMode.NONE
+            "classloader" -> IsolationMode.CLASSLOADER
+            "process" -> IsolationMode.PROCESS
+            else -> throw GradleException("Unknown workerIsolation '$value', expected one of none, classloader or process.")
+        }
+    }
 
-                DefaultGenerator().opts(clientOptInput).generate()
+    /**
+     * The jars of the class loaders of the plugin below the one of Gradle: the generator and its dependencies, and
+     * the custom generators added to the build script class path.
+     */
+    private fun generatorClasspath(): FileCollection {
+        val files = mutableListOf<File>()
+        val gradleClassLoader = DefaultTask::class.java.classLoader
+        var classLoader: ClassLoader? = GenerateTask::class.java.classLoader
+        while (classLoader != null && classLoader != gradleClassLoader) {
+            (classLoader as? URLClassLoader)?.urLs
+                    ?.filter { it.protocol == "file" }
+                    ?.forEach { files.add(File(it.toURI())) }
+            classLoader = classLoader.parent
+        }
+        return project.files(files)
+    }
 
-                out.println("Successfully generated code to ${configurator.outputDir}")
-            } catch (e: RuntimeException) {
-                throw GradleException("Code generation failed.", e)
-            }
-        } finally {
-            // Reset all modified system properties back to their original state
-            originalEnvironmentVariables.forEach {
-                when {
-                    it.value == null -> System.clearProperty(it.key)
-                    else -> System.setProperty(it.key, it.value)
-                }
-            }
-            originalEnvironmentVariables.clear()
+    /**
+     * Generates the code in the daemon listening to [daemonPort], if any.
+     *
+     * @return false if no daemon answers, it runs another version of the generator or the generator is not on its
+     * class path (e.g. a custom generator of the build script class path), so that the code is to be generated in
+     * this JVM
+     */
+    private fun generateInDaemon(configurator: CodegenConfigurator): Boolean {
+        val daemon = GeneratorDaemonClient(daemonPort.get()!!)
+        val version = daemon.version
+        if (version == null) {
+            logger.warn("No generator daemon listening to port ${daemonPort.get()}, generating the code in the Gradle JVM.")
+            return false
+        }
+        if (version != ImplementationVersion.read()) {
+            logger.warn("The generator daemon listening to port ${daemonPort.get()} runs version $version of the generator, generating the code in the Gradle JVM.")
+            return false
+        }
+
+        try {
+            val out = services.get(StyledTextOutputFactory::class.java).create("openapi")
+            out.withStyle(StyledTextOutput.Style.Success)
+
+            val duration = daemon.generate(configurator)
+
+            out.println("Successfully generated code to ${configurator.outputDir} in the generator daemon ($duration ms)")
+        } catch (e: GeneratorNotFoundException) {
+            logger.warn("The generator daemon listening to port ${daemonPort.get()} does not know the generator ${configurator.generatorName}, generating the code in the Gradle JVM.")
+            return false
+        } catch (e: RuntimeException) {
+            throw GradleException("Code generation failed.", e)
+        } catch (e: IOException) {
+            throw GradleException("Code generation failed.", e)
         }
+        return true
     }
 }
@@ -36,7 +36,7 @@ open class GeneratorsTask : DefaultTask() {
     @Suppress("unused")
     @TaskAction
     fun doWork() {
-        val generators = CodegenConfigLoader.getAll()
+        val generators = CodegenConfigLoader.getEntries()
 
         val out = services.get(StyledTextOutputFactory::class.java).create("openapi")
 
@@ -25,6 +25,7 @@ import org.gradle.api.tasks.options.Option
 import org.gradle.internal.logging.text.StyledTextOutput
 import org.gradle.internal.logging.text.StyledTextOutputFactory
 import org.gradle.kotlin.dsl.property
+import org.openapitools.codegen.config.SpecificationCache
 
 /**
  * A generator which validates an Open API spec. This task outputs a list of validation issues and errors.
@@ -46,6 +47,9 @@ open class ValidateTask : DefaultTask() {
     @get:Internal
     var inputSpec = project.objects.property<String>()
 
+    @get:Internal
+    val specCacheDir = project.objects.property<String?>()
+
     @Suppress("unused")
     @get:Internal
     @set:Option(option = "input", description = "The input specification.")
@@ -59,7 +63,11 @@ open class ValidateTask : DefaultTask() {
     fun doWork() {
         val spec = inputSpec.get()
         logger.quiet("Validating spec $spec")
-        val result = OpenAPIParser().readLocation(spec, null, null)
+        val result = if (specCacheDir.isPresent && !specCacheDir.get().isNullOrEmpty()) {
+            SpecificationCache.parse(spec, null, null, project.file(specCacheDir.get()!!))
+        } else {
+            OpenAPIParser().readLocation(spec, null, null)
+        }
         val messages = result.messages.toSet()
         val out = services.get(StyledTextOutputFactory::class.java).create("openapi")
 
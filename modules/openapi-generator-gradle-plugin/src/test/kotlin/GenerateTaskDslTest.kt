@@ -68,4 +68,75 @@ class GenerateTaskDslTest : TestBase()  {
         assertEquals(TaskOutcome.SUCCESS, result.task(":openApiGenerate")?.outcome,
                 "Expected a successful run, but found ${result.task(":openApiGenerate")?.outcome}")
     }
-}
\ No newline at end of file
+
+    @Test
+    fun `openApiGenerate should be up-to-date until the specification changes`() {
+        // Arrange
+        val projectFiles = mapOf(
+                "spec.yaml" to javaClass.classLoader.getResourceAsStream("specs/petstore-v3.0.yaml")
+        )
+        withProject(defaultBuildGradle, projectFiles)
+        val runner = GradleRunner.create()
+                .withProjectDir(temp)
+                .withArguments("openApiGenerate")
+                .withPluginClasspath()
+
+        // Act
+        val first = runner.build()
+        val second = runner.build()
+        File(temp, "spec.yaml").appendText("\n# changed\n")
+        val third = runner.build()
+
+        // Assert
+        assertEquals(TaskOutcome.SUCCESS, first.task(":openApiGenerate")?.outcome)
+        assertEquals(TaskOutcome.UP_TO_DATE, second.task(":openApiGenerate")?.outcome,
+                "Expected the generation to be skipped when nothing changed")
+        assertEquals(TaskOutcome.SUCCESS, third.task(":openApiGenerate")?.outcome,
+                "Expected a new generation when the specification changed")
+    }
+
+    @Test
+    fun `openApiGenerate should generate the same code in an isolated worker process`() {
+        // Arrange
+        val projectFiles = mapOf(
+                "spec.yaml" to javaClass.classLoader.getResourceAsStream("specs/petstore-v3.0.yaml")
+        )
+        val tasks = listOf("none", "process").joinToString("\n") { isolation ->
+            """
+            task generate_$isolation(type: org.openapitools.generator.gradle.plugin.tasks.GenerateTask) {
+                generatorName = "kotlin"
+                inputSpec = "spec.yaml"
+                outputDir = "build/$isolation"
+                workerIsolation = "$isolation"
+                additionalProperties = [
+                        hideGenerationTimestamp: "true"
+                ]
+            }
+            """.trimIndent()
+        }
+        withProject("""
+            plugins {
+              id 'org.openapi.generator'
+            }
+        """.trimIndent() + "\n" + tasks, projectFiles)
+
+        // Act
+        val result = GradleRunner.create()
+                .withProjectDir(temp)
+                .withArguments("generate_none", "generate_process")
+                .withPluginClasspath()
+                .build()
+
+        // Assert
+        assertEquals(TaskOutcome.SUCCESS, result.task(":generate_none")?.outcome)
+        assertEquals(TaskOutcome.SUCCESS, result.task(":generate_process")?.outcome)
+        val inProcess = read(File(temp, "build/none"))
+        assertTrue(inProcess.containsKey("src/main/kotlin/org/openapitools/client/models/Pet.kt"),
+                "An expected file was not generated when invoking the generation.")
+        assertEquals(inProcess, read(File(temp, "build/process")),
+                "Expected the same code from the worker process as from the Gradle JVM")
+    }
+
+    private fun read(root: File): Map<String, String> =
+            root.walkTopDown().filter { it.isFile }.associate { it.relativeTo(root).invariantSeparatorsPath to it.readText() }
+}
@@ -32,12 +32,16 @@ import static org.openapitools.codegen.config.CodegenConfiguratorUtils.applyRese
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import io.swagger.v3.core.util.Json;
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -48,9 +52,13 @@ import org.apache.maven.project.MavenProject;
 import org.openapitools.codegen.CliOption;
 import org.openapitools.codegen.ClientOptInput;
 import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.GeneratorNotFoundException;
 import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.daemon.GeneratorDaemonClient;
+import org.openapitools.codegen.utils.ImplementationVersion;
 import org.sonatype.plexus.build.incremental.BuildContext;
 import org.sonatype.plexus.build.incremental.DefaultBuildContext;
 import org.slf4j.Logger;
@@ -146,6 +154,67 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(name = "removeOperationIdPrefix", required = false)
     private Boolean removeOperationIdPrefix;
 
+    /**
+     * Number of threads used to render and write model and API files (1, sequential, by default).
+     */
+    @Parameter(name = "generationThreads", required = false)
+    private Integer generationThreads;
+
+    /**
+     * Pass several generated files to each invocation of the post-processing command (*_POST_PROCESS_FILE), which
+     * must then accept them, rather than one (false by default).
+     */
+    @Parameter(name = "batchPostProcessFile", required = false)
+    private Boolean batchPostProcessFile;
+
+    /**
+     * Leave existing files untouched when the generated content is identical, so that their modification
+     * time does not change (false by default).
+     */
+    @Parameter(name = "skipUnchangedFiles", required = false)
+    private Boolean skipUnchangedFiles;
+
+    /**
+     * Only render the models and APIs whose inputs changed since the previous generation (false by default).
+     */
+    @Parameter(name = "incrementalGeneration", required = false)
+    private Boolean incrementalGeneration;
+
+    /**
+     * Measure the phases of the generation, written to .openapi-generator/timings.json and logged (false by default).
+     */
+    @Parameter(name = "timings", property = "openapi.generator.maven.plugin.timings", required = false)
+    private Boolean timings;
+
+    /**
+     * Port of a generator daemon (started with the daemon command of the CLI) to generate the code in, rather than
+     * in the Maven JVM. The code is generated in the Maven JVM if no daemon answers on the port.
+     */
+    @Parameter(name = "daemonPort", property = "openapi.generator.maven.plugin.daemonPort", required = false)
+    private Integer daemonPort;
+
+    /**
+     * Keep the parsed specification in memory, so that the following executions generating code from the same
+     * specification do not parse it again (false by default).
+     */
+    @Parameter(name = "cacheSpec", property = "openapi.generator.maven.plugin.cacheSpec", required = false)
+    private Boolean cacheSpec;
+
+    /**
+     * Directory where parsed specifications are cached, so that the following builds do not parse an unchanged
+     * specification again. Implies cacheSpec.
+     */
+    @Parameter(name = "specCacheDir", property = "openapi.generator.maven.plugin.specCacheDir", required = false)
+    private File specCacheDir;
+
+    /**
+     * Skip the generation when the specification, the files it references, the templates and the configuration did
+     * not change since the last generation, nor the files it generated, according to the fingerprint stored in the build
+     * directory (false by default).
+     */
+    @Parameter(name = "skipIfUnchanged", property = "openapi.generator.maven.plugin.skipIfUnchanged", defaultValue = "false")
+    private boolean skipIfUnchanged;
+
     /**
      * The package to use for generated api objects/classes
      */
@@ -327,9 +396,6 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter
     protected Map<String, String> environmentVariables = new HashMap<String, String>();
 
-    @Parameter
-    protected Map<String, String> originalEnvironmentVariables = new HashMap<String, String>();
-
     @Parameter
     private boolean configHelp = false;
 
@@ -339,6 +405,12 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(readonly = true, required = true, defaultValue = "${project}")
     private MavenProject project;
 
+    /**
+     * The execution of the goal, to keep the fingerprints of several executions apart.
+     */
+    @Parameter(readonly = true, defaultValue = "${mojoExecution}")
+    private MojoExecution mojoExecution;
+
     public void setBuildContext(BuildContext buildContext) {
         this.buildContext = buildContext;
     }
@@ -354,7 +426,8 @@ public class CodeGenMojo extends AbstractMojo {
                 return;
             }
 
-            if (buildContext != null) {
+            // the fingerprint replaces this check, which ignores the other inputs of the generation
+            if (buildContext != null && !skipIfUnchanged) {
                 if (buildContext.isIncremental()) {
                     if (inputSpec != null) {
                         if (inputSpecFile.exists()) {
@@ -391,6 +464,34 @@ public class CodeGenMojo extends AbstractMojo {
                 configurator.setRemoveOperationIdPrefix(removeOperationIdPrefix);
             }
 
+            if (generationThreads != null) {
+                configurator.setGenerationThreads(generationThreads);
+            }
+
+            if (batchPostProcessFile != null) {
+                configurator.setBatchPostProcessFile(batchPostProcessFile);
+            }
+
+            if (skipUnchangedFiles != null) {
+                configurator.setSkipUnchangedFiles(skipUnchangedFiles);
+            }
+
+            if (incrementalGeneration != null) {
+                configurator.setIncrementalGeneration(incrementalGeneration);
+            }
+
+            if (timings != null) {
+                configurator.setTimings(timings);
+            }
+
+            if (cacheSpec != null) {
+                configurator.setCacheSpec(cacheSpec);
+            }
+
+            if (specCacheDir != null) {
+                configurator.setSpecCacheDir(specCacheDir.getAbsolutePath());
+            }
+
             if (isNotEmpty(inputSpec)) {
                 configurator.setInputSpec(inputSpec);
             }
@@ -472,30 +573,24 @@ public class CodeGenMojo extends AbstractMojo {
                 configurator.setTemplateDir(templateDirectory.getAbsolutePath());
             }
 
-            // Set generation options
+            // Set generation options (passed to this generation only, so that executions can run in parallel)
             if (null != generateApis && generateApis) {
-                System.setProperty(CodegenConstants.APIS, "");
-            } else {
-                System.clearProperty(CodegenConstants.APIS);
+                configurator.addSystemProperty(CodegenConstants.APIS, "");
             }
 
             if (null != generateModels && generateModels) {
-                System.setProperty(CodegenConstants.MODELS, modelsToGenerate);
-            } else {
-                System.clearProperty(CodegenConstants.MODELS);
+                configurator.addSystemProperty(CodegenConstants.MODELS, modelsToGenerate);
             }
 
             if (null != generateSupportingFiles && generateSupportingFiles) {
-                System.setProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesToGenerate);
-            } else {
-                System.clearProperty(CodegenConstants.SUPPORTING_FILES);
+                configurator.addSystemProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesToGenerate);
             }
 
-            System.setProperty(CodegenConstants.MODEL_TESTS, generateModelTests.toString());
-            System.setProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.toString());
-            System.setProperty(CodegenConstants.API_TESTS, generateApiTests.toString());
-            System.setProperty(CodegenConstants.API_DOCS, generateApiDocumentation.toString());
-            System.setProperty(CodegenConstants.WITH_XML, withXml.toString());
+            configurator.addSystemProperty(CodegenConstants.MODEL_TESTS, generateModelTests.toString());
+            configurator.addSystemProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.toString());
+            configurator.addSystemProperty(CodegenConstants.API_TESTS, generateApiTests.toString());
+            configurator.addSystemProperty(CodegenConstants.API_DOCS, generateApiDocumentation.toString());
+            configurator.addSystemProperty(CodegenConstants.WITH_XML, withXml.toString());
 
             if (configOptions != null) {
                 // Retained for backwards-compataibility with configOptions -> instantiation-types
@@ -568,29 +663,28 @@ public class CodeGenMojo extends AbstractMojo {
             if (environmentVariables != null) {
 
                 for (String key : environmentVariables.keySet()) {
-                    originalEnvironmentVariables.put(key, System.getProperty(key));
                     String value = environmentVariables.get(key);
                     if (value == null) {
                         // don't put null values
                         value = "";
                     }
-                    System.setProperty(key, value);
                     configurator.addSystemProperty(key, value);
                 }
             }
 
-            final ClientOptInput input = configurator.toClientOptInput();
-            final CodegenConfig config = input.getConfig();
-
-            if (configOptions != null) {
-                for (CliOption langCliOption : config.cliOptions()) {
-                    if (configOptions.containsKey(langCliOption.getOpt())) {
-                        input.getConfig().additionalProperties()
-                                .put(langCliOption.getOpt(), configOptions.get(langCliOption.getOpt()));
-                    }
+            // computed before the daemon or the generator adjust the configuration
+            InputFingerprint fingerprint = null;
+            if (skipIfUnchanged && !configHelp) {
+                fingerprint = InputFingerprint.compute(configurator, configOptions);
+                if (fingerprint != null && fingerprint.matches(getFingerprintFile(), output)) {
+                    getLog().info("Code generation is skipped because its inputs did not change since the last generation.");
+                    return;
                 }
+                // a failed generation must not be skipped next time
+                Files.deleteIfExists(getFingerprintFile().toPath());
             }
 
+            final CodegenConfig config = CodegenConfigLoader.forName(configurator.getGeneratorName());
             if (configHelp) {
                 for (CliOption langCliOption : config.cliOptions()) {
                     System.out.println("\t" + langCliOption.getOpt());
@@ -600,8 +694,32 @@ public class CodeGenMojo extends AbstractMojo {
                 }
                 return;
             }
-            adjustAdditionalProperties(config);
-            new DefaultGenerator().opts(input).generate();
+
+            if (daemonPort != null && generateInDaemon(configurator, config)) {
+                writeFingerprint(fingerprint, null);
+                if (buildContext != null) {
+                    buildContext.refresh(new File(getCompileSourceRoot()));
+                }
+                return;
+            }
+
+            final ClientOptInput input = configurator.toClientOptInput();
+
+            if (configOptions != null) {
+                for (CliOption langCliOption : input.getConfig().cliOptions()) {
+                    if (configOptions.containsKey(langCliOption.getOpt())) {
+                        input.getConfig().additionalProperties()
+                                .put(langCliOption.getOpt(), configOptions.get(langCliOption.getOpt()));
+                    }
+                }
+            }
+
+            adjustAdditionalProperties(input.getConfig());
+            List<File> files = new DefaultGenerator().opts(input).generate();
+            if (input.getTimings().isEnabled()) {
+                getLog().info("Generation timings:" + System.lineSeparator() + input.getTimings().toSummary());
+            }
+            writeFingerprint(fingerprint, files);
 
             if (buildContext != null) {
                 buildContext.refresh(new File(getCompileSourceRoot()));
@@ -619,6 +737,85 @@ public class CodeGenMojo extends AbstractMojo {
         }
     }
     
+    /**
+     * The additional properties the generator gets when generating the code in this JVM: its defaults, the generator
+     * options of the configuration, the additional properties and the configOptions, with their true/false strings
+     * converted. The daemon generates the code from the configurator alone, so they are sent as additional
+     * properties.
+     *
+     * @param configurator the configuration of the generation
+     * @param config       a new codegen config of the generator, whose additional properties are modified
+     * @return the additional properties of the generator
+     */
+    private Map<String, Object> getGeneratorProperties(CodegenConfigurator configurator, CodegenConfig config) {
+        Map<String, Object> properties = config.additionalProperties();
+        for (CliOption langCliOption : config.cliOptions()) {
+            String opt = langCliOption.getOpt();
+            if (configurator.getDynamicProperties().containsKey(opt)) {
+                properties.put(opt, configurator.getDynamicProperties().get(opt));
+            } else if (configurator.getSystemProperties().containsKey(opt)) {
+                properties.put(opt, configurator.getSystemProperties().get(opt));
+            }
+        }
+        properties.putAll(configurator.getAdditionalProperties());
+        if (configOptions != null) {
+            for (CliOption langCliOption : config.cliOptions()) {
+                if (configOptions.containsKey(langCliOption.getOpt())) {
+                    properties.put(langCliOption.getOpt(), configOptions.get(langCliOption.getOpt()));
+                }
+            }
+        }
+        adjustAdditionalProperties(config);
+        return properties;
+    }
+
+    /**
+     * Generate the code in the daemon listening to {@link #daemonPort}, if any.
+     *
+     * @return false if no daemon answers, it runs another version of the generator or the generator is not on its
+     * class path (e.g. a custom generator of the plugin dependencies), so that the code is to be generated in this JVM
+     */
+    private boolean generateInDaemon(CodegenConfigurator configurator, CodegenConfig config) throws IOException {
+        GeneratorDaemonClient daemon = new GeneratorDaemonClient(daemonPort);
+        String version = daemon.getVersion();
+        if (version == null) {
+            getLog().warn("No generator daemon listening to port " + daemonPort + ", generating the code in this JVM.");
+            return false;
+        }
+        if (!version.equals(ImplementationVersion.read())) {
+            getLog().warn("The generator daemon listening to port " + daemonPort + " runs version " + version
+                    + " of the generator, generating the code in this JVM.");
+            return false;
+        }
+
+        CodegenConfigurator daemonConfigurator = Json.mapper().convertValue(configurator, CodegenConfigurator.class);
+        daemonConfigurator.setAdditionalProperties(new HashMap<>(getGeneratorProperties(configurator, config)));
+        long duration;
+        try {
+            duration = daemon.generate(daemonConfigurator);
+        } catch (GeneratorNotFoundException e) {
+            getLog().warn("The generator daemon listening to port " + daemonPort + " does not know the generator "
+                    + configurator.getGeneratorName() + ", generating the code in this JVM.");
+            return false;
+        }
+        getLog().info("Generated the code in the generator daemon in " + duration + " ms.");
+        return true;
+    }
+
+    /**
+     * @return the file holding the fingerprint of the last generation of this execution
+     */
+    private File getFingerprintFile() {
+        String executionId = mojoExecution == null ? "default" : mojoExecution.getExecutionId();
+        return new File(project.getBuild().getDirectory(), "openapi-generator" + File.separator + executionId + ".sha256");
+    }
+
+    private void writeFingerprint(InputFingerprint fingerprint, List<File> files) throws IOException {
+        if (fingerprint != null) {
+            fingerprint.write(getFingerprintFile(), output, files);
+        }
+    }
+
     private String getCompileSourceRoot() {
         final Object sourceFolderObject =
                 configOptions == null ? null : configOptions
@@ -634,17 +831,6 @@ public class CodeGenMojo extends AbstractMojo {
         if (addCompileSourceRoot) {
             project.addCompileSourceRoot(getCompileSourceRoot());
         }
-
-        // Reset all environment variables to their original value. This prevents unexpected
-        // behaviour
-        // when running the plugin multiple consecutive times with different configurations.
-        for (Map.Entry<String, String> entry : originalEnvironmentVariables.entrySet()) {
-            if (entry.getValue() == null) {
-                System.clearProperty(entry.getKey());
-            } else {
-                System.setProperty(entry.getKey(), entry.getValue());
-            }
-        }
     }
     /**
      * This method enables conversion of true/false strings in 
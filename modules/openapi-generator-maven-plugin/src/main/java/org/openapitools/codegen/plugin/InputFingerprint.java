@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.plugin;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.v3.core.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.CodegenConfigLoader;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.utils.ImplementationVersion;
+import org.openapitools.codegen.utils.SpecificationFiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A hash of everything a generation depends on: the generator, the effective configuration, the specification and
+ * the local files it references, the templates and the ignore file. It is stored after each generation with the
+ * paths, sizes and modification times of the generated files, so that the next build skips the generation when
+ * nothing changed, neither the inputs nor the generated files. The generated files are not read again.
+ */
+class InputFingerprint {
+    private final String hash;
+
+    private InputFingerprint(String hash) {
+        this.hash = hash;
+    }
+
+    /**
+     * @param configurator  the configuration of the generation
+     * @param configOptions the options of the generator
+     * @return the fingerprint of the generation, or null if the specification is fetched from a server, since it
+     * may change without notice
+     * @throws IOException if a file cannot be read
+     */
+    static InputFingerprint compute(CodegenConfigurator configurator, Map<?, ?> configOptions) throws IOException {
+        if (SpecificationFiles.isRemote(configurator.getInputSpec())) {
+            return null;
+        }
+
+        Hasher hasher = Hashing.sha256().newHasher();
+        putString(hasher, ImplementationVersion.read());
+        putCodeSource(hasher, DefaultGenerator.class);
+        putCodeSource(hasher, generatorClass(configurator.getGeneratorName()));
+
+        putString(hasher, Json.mapper().writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .writeValueAsString(configurator));
+        Map<String, String> options = new TreeMap<>();
+        if (configOptions != null) {
+            for (Map.Entry<?, ?> option : configOptions.entrySet()) {
+                options.put(String.valueOf(option.getKey()), String.valueOf(option.getValue()));
+            }
+        }
+        putString(hasher, options.toString());
+
+        for (File file : SpecificationFiles.of(configurator.getInputSpec())) {
+            putFile(hasher, file.getPath(), file);
+        }
+
+        // the generator falls back to the embedded templates when the template directory does not exist
+        File templateDir = configurator.getTemplateDir() == null ? null : new File(configurator.getTemplateDir());
+        if (templateDir != null && templateDir.isDirectory()) {
+            List<File> templates = new ArrayList<>(FileUtils.listFiles(templateDir, null, true));
+            templates.sort(null);
+            for (File template : templates) {
+                putFile(hasher, templateDir.toPath().relativize(template.toPath()).toString(), template);
+            }
+        }
+
+        if (configurator.getIgnoreFileOverride() != null) {
+            File ignoreFile = new File(configurator.getIgnoreFileOverride());
+            if (ignoreFile.isFile()) {
+                putFile(hasher, ignoreFile.getPath(), ignoreFile);
+            }
+        }
+
+        return new InputFingerprint(hasher.hash().toString());
+    }
+
+    /**
+     * @param file   the fingerprint of the previous generation
+     * @param output the output directory of the generation
+     * @return true if the fingerprint of the previous generation is this one, and the files it generated did not
+     * change since
+     * @throws IOException if a file cannot be read
+     */
+    boolean matches(File file, File output) throws IOException {
+        if (!file.isFile() || !output.isDirectory()) {
+            return false;
+        }
+        List<String> lines = FileUtils.readLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !hash.equals(lines.get(0))) {
+            return false;
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            String[] stamp = line.split("\t", 3);
+            if (stamp.length != 3 || !line.equals(stamp(output, stamp[2]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param file   the fingerprint to write
+     * @param output the output directory of the generation
+     * @param files  the files generated, or null for all the files of the output directory
+     * @throws IOException if the fingerprint cannot be written
+     */
+    void write(File file, File output, List<File> files) throws IOException {
+        Set<String> paths = new TreeSet<>();
+        if (files == null) {
+            if (output.isDirectory()) {
+                for (File generated : FileUtils.listFiles(output, null, true)) {
+                    paths.add(relativePath(output, generated));
+                }
+            }
+        } else {
+            for (File generated : files) {
+                paths.add(relativePath(output, generated));
+            }
+        }
+        StringBuilder content = new StringBuilder(hash).append('\n');
+        for (String path : paths) {
+            content.append(stamp(output, path)).append('\n');
+        }
+        FileUtils.writeStringToFile(file, content.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static String relativePath(File output, File file) {
+        return output.getAbsoluteFile().toPath().relativize(file.getAbsoluteFile().toPath()).toString();
+    }
+
+    /**
+     * The size and modification time of a generated file, so that a deleted or modified file triggers a new
+     * generation.
+     */
+    private static String stamp(File output, String path) {
+        File file = new File(output, path);
+        return file.isFile() ? file.length() + "\t" + file.lastModified() + "\t" + path : "-1\t-1\t" + path;
+    }
+
+    private static Class<?> generatorClass(String name) {
+        String className = name;
+        for (CodegenConfigLoader.Entry entry : CodegenConfigLoader.getEntries()) {
+            if (entry.getName().equals(name)) {
+                className = entry.getClassName();
+                break;
+            }
+        }
+        try {
+            return Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException e) {
+            // reported by the generation
+            return null;
+        }
+    }
+
+    /**
+     * The jar of a class, so that rebuilding a snapshot of a generator triggers a new generation.
+     */
+    private static void putCodeSource(Hasher hasher, Class<?> type) {
+        CodeSource codeSource = type == null ? null : type.getProtectionDomain().getCodeSource();
+        URL location = codeSource == null ? null : codeSource.getLocation();
+        if (location == null || !"file".equals(location.getProtocol())) {
+            return;
+        }
+        try {
+            File file = new File(location.toURI());
+            putString(hasher, file.getPath());
+            hasher.putLong(file.length()).putLong(file.lastModified());
+        } catch (URISyntaxException e) {
+            putString(hasher, location.toString());
+        }
+    }
+
+    private static void putFile(Hasher hasher, String name, File file) throws IOException {
+        putString(hasher, name);
+        byte[] content = Files.readAllBytes(file.toPath());
+        hasher.putInt(content.length).putBytes(content);
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        hasher.putString(String.valueOf(value), StandardCharsets.UTF_8).putByte((byte) 0);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.plugin;
+
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class InputFingerprintTest {
+    private static final String SPEC = "openapi: 3.0.0\n"
+            + "info:\n  title: test\n  version: 1.0.0\n"
+            + "paths: {}\n"
+            + "components:\n  schemas:\n    Pet:\n      $ref: 'pet.yaml'\n";
+    private static final String PET = "type: object\nproperties:\n  name:\n    type: string\n";
+
+    private File directory;
+    private File spec;
+    private File pet;
+    private File output;
+    private File fingerprintFile;
+    private List<File> generated;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("fingerprint").toFile();
+        spec = new File(directory, "spec/spec.yaml");
+        pet = new File(directory, "spec/pet.yaml");
+        FileUtils.writeStringToFile(spec, SPEC, StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(pet, PET, StandardCharsets.UTF_8);
+        output = new File(directory, "output");
+        FileUtils.writeStringToFile(new File(output, "src/Pet.java"), "class Pet {}", StandardCharsets.UTF_8);
+        generated = Collections.singletonList(new File(output, "src/Pet.java"));
+        fingerprintFile = new File(directory, "fingerprint.sha256");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testUnchanged() throws IOException {
+        compute(Collections.emptyMap()).write(fingerprintFile, output, generated);
+
+        Assert.assertTrue(compute(Collections.emptyMap()).matches(fingerprintFile, output));
+    }
+
+    @Test
+    public void testNoPreviousGeneration() throws IOException {
+        Assert.assertFalse(compute(Collections.emptyMap()).matches(fingerprintFile, output));
+
+        compute(Collections.emptyMap()).write(fingerprintFile, output, generated);
+        Assert.assertFalse(compute(Collections.emptyMap()).matches(fingerprintFile, new File(output, "missing")));
+    }
+
+    @Test
+    public void testSpecificationChanged() throws IOException {
+        compute(Collections.emptyMap()).write(fingerprintFile, output, generated);
+        FileUtils.writeStringToFile(spec, SPEC + "# changed\n", StandardCharsets.UTF_8);
+
+        Assert.assertFalse(compute(Collections.emptyMap()).matches(fingerprintFile, output));
+    }
+
+    @Test
+    public void testReferencedFileChanged() throws IOException {
+        compute(Collections.emptyMap()).write(fingerprintFile, output, generated);
+        FileUtils.writeStringToFile(pet, PET + "# changed\n", StandardCharsets.UTF_8);
+
+        Assert.assertFalse(compute(Collections.emptyMap()).matches(fingerprintFile, output));
+    }
+
+    @Test
+    public void testOptionsChanged() throws IOException {
+        compute(Collections.emptyMap()).write(fingerprintFile, output, generated);
+
+        Assert.assertFalse(compute(Collections.singletonMap("dateLibrary", "java8")).matches(fingerprintFile, output));
+    }
+
+    @Test
+    public void testOutputChanged() throws IOException {
+        compute(Collections.emptyMap()).write(fingerprintFile, output, generated);
+        FileUtils.writeStringToFile(new File(output, "src/Pet.java"), "class Pet { int age; }", StandardCharsets.UTF_8);
+        Assert.assertFalse(compute(Collections.emptyMap()).matches(fingerprintFile, output));
+
+        compute(Collections.emptyMap()).write(fingerprintFile, output, generated);
+        FileUtils.forceDelete(new File(output, "src/Pet.java"));
+        Assert.assertFalse(compute(Collections.emptyMap()).matches(fingerprintFile, output));
+    }
+
+    @Test
+    public void testOtherOutputFilesIgnored() throws IOException {
+        compute(Collections.emptyMap()).write(fingerprintFile, output, generated);
+        FileUtils.writeStringToFile(new File(output, "notes.txt"), "not generated", StandardCharsets.UTF_8);
+
+        Assert.assertTrue(compute(Collections.emptyMap()).matches(fingerprintFile, output));
+    }
+
+    @Test
+    public void testRemoteSpecification() throws IOException {
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec("https://example.com/spec.yaml");
+
+        Assert.assertNull(InputFingerprint.compute(configurator, Collections.emptyMap()));
+    }
+
+    @Test
+    public void testTemplatesChanged() throws IOException {
+        File templateDir = new File(directory, "templates");
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec(spec.getAbsolutePath())
+                .setOutputDir(output.getAbsolutePath())
+                .setTemplateDir(templateDir.getAbsolutePath());
+
+        // a missing template directory, for which the embedded templates are used
+        InputFingerprint.compute(configurator, Collections.emptyMap()).write(fingerprintFile, output, generated);
+        Assert.assertTrue(InputFingerprint.compute(configurator, Collections.emptyMap()).matches(fingerprintFile, output));
+
+        FileUtils.writeStringToFile(new File(templateDir, "model.mustache"), "{{classname}}", StandardCharsets.UTF_8);
+        Assert.assertFalse(InputFingerprint.compute(configurator, Collections.emptyMap()).matches(fingerprintFile, output));
+    }
+
+    private InputFingerprint compute(Map<String, String> configOptions) throws IOException {
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec(spec.getAbsolutePath())
+                .setOutputDir(output.getAbsolutePath());
+        return InputFingerprint.compute(configurator, configOptions);
+    }
+}
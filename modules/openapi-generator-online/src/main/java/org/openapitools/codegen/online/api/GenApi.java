@@ -26,13 +26,13 @@ import io.swagger.annotations.*;
 import org.openapitools.codegen.CliOption;
 import org.openapitools.codegen.online.model.GeneratorInput;
 import org.openapitools.codegen.online.model.ResponseCode;
-import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -58,7 +58,7 @@ public interface GenApi {
     @RequestMapping(value = "/gen/download/{fileId}",
             produces = { "application/octet-stream" },
             method = RequestMethod.GET)
-    default ResponseEntity<Resource> downloadFile(@ApiParam(value = "",required=true) @PathVariable("fileId") String fileId) {
+    default ResponseEntity<StreamingResponseBody> downloadFile(@ApiParam(value = "",required=true) @PathVariable("fileId") String fileId) {
         return getDelegate().downloadFile(fileId);
     }
 
@@ -20,11 +20,11 @@ package org.openapitools.codegen.online.api;
 import org.openapitools.codegen.CliOption;
 import org.openapitools.codegen.online.model.GeneratorInput;
 import org.openapitools.codegen.online.model.ResponseCode;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -61,9 +61,9 @@ public interface GenApiDelegate {
     /**
      * @param fileId The unique id of the file, provided in a {@link ResponseCode} response.
      * @see GenApi#downloadFile
-     * @return A {@link ResponseEntity} of the requested {@link Resource}.
+     * @return A {@link ResponseEntity} streaming the requested zip archive.
      */
-    default ResponseEntity<Resource> downloadFile(String  fileId) {
+    default ResponseEntity<StreamingResponseBody> downloadFile(String  fileId) {
         return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
 
     }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.online.model.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the generated archives waiting to be downloaded.
+ * <p>
+ * The store is bounded by a number of entries and a number of bytes (the size of the archives) and entries expire
+ * after a time to live. When a new entry does not fit, the oldest entries are evicted. The archives of the expired
+ * and evicted entries are deleted, the ones taken are left to the caller. All operations are thread-safe.
+ */
+@Component
+public class ArtifactStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactStore.class);
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlMillis;
+
+    // insertion order is also expiration order, since all entries have the same time to live
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long expirations;
+    private long evictions;
+
+    public ArtifactStore(@Value("${generator.artifacts.max-entries:1000}") int maxEntries,
+                         @Value("${generator.artifacts.max-bytes:536870912}") long maxBytes,
+                         @Value("${generator.artifacts.ttl-seconds:1800}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Store an artifact, evicting the oldest ones if needed.
+     *
+     * @param id        download id
+     * @param generated the artifact
+     * @param size      size of the artifact in bytes
+     */
+    public synchronized void put(String id, Generated generated, long size) {
+        if (size > maxBytes) {
+            delete(generated);
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "The generated code exceeds the storage quota of " + maxBytes + " bytes");
+        }
+        long now = System.currentTimeMillis();
+        expire(now);
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (oldest.hasNext() && (entries.size() >= maxEntries || bytes + size > maxBytes)) {
+            Entry entry = oldest.next();
+            bytes -= entry.size;
+            oldest.remove();
+            evictions++;
+            delete(entry.generated);
+        }
+        entries.put(id, new Entry(generated, size, now + ttlMillis));
+        bytes += size;
+    }
+
+    /**
+     * Remove and return an artifact: a download id can be used just once.
+     *
+     * @param id download id
+     * @return the artifact, or null if it is unknown, already downloaded, expired or evicted
+     */
+    public synchronized Generated take(String id) {
+        expire(System.currentTimeMillis());
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        bytes -= entry.size;
+        return entry.generated;
+    }
+
+    /**
+     * @return entries, bytes, limits, hits, misses, hit rate, expirations and evictions of the store
+     */
+    public synchronized Map<String, Object> getMetrics() {
+        expire(System.currentTimeMillis());
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("entries", entries.size());
+        metrics.put("bytes", bytes);
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("maxBytes", maxBytes);
+        metrics.put("ttlSeconds", ttlMillis / 1000);
+        metrics.put("hits", hits);
+        metrics.put("misses", misses);
+        metrics.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        metrics.put("expirations", expirations);
+        metrics.put("evictions", evictions);
+        return metrics;
+    }
+
+    /**
+     * Remove the expired artifacts and delete their archives.
+     */
+    @Scheduled(fixedDelayString = "${generator.artifacts.sweep-millis:60000}")
+    public synchronized void expire() {
+        expire(System.currentTimeMillis());
+    }
+
+    private void expire(long now) {
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (oldest.hasNext()) {
+            Entry entry = oldest.next();
+            if (entry.expiresAt > now) {
+                break;
+            }
+            bytes -= entry.size;
+            oldest.remove();
+            expirations++;
+            LOGGER.debug("expired artifact {}", entry.generated.getFriendlyName());
+            delete(entry.generated);
+        }
+    }
+
+    private static void delete(Generated generated) {
+        if (generated.getFilename() != null && !FileUtils.deleteQuietly(new File(generated.getFilename()))) {
+            LOGGER.warn("unable to delete file {}", generated.getFilename());
+        }
+    }
+
+    private static final class Entry {
+        private final Generated generated;
+        private final long size;
+        private final long expiresAt;
+
+        Entry(Generated generated, long size, long expiresAt) {
+            this.generated = generated;
+            this.size = size;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
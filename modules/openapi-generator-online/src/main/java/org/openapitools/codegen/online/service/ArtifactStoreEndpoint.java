@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Exposes the metrics of the {@link ArtifactStore} at /actuator/artifacts.
+ */
+@Component
+@Endpoint(id = "artifacts")
+public class ArtifactStoreEndpoint {
+    private final ArtifactStore artifactStore;
+
+    @Autowired
+    public ArtifactStoreEndpoint(ArtifactStore artifactStore) {
+        this.artifactStore = artifactStore;
+    }
+
+    @ReadOperation
+    public Map<String, Object> metrics() {
+        return artifactStore.getMetrics();
+    }
+}
@@ -21,41 +21,37 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.online.api.GenApiDelegate;
 import org.openapitools.codegen.CliOption;
-import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.CodegenType;
 import org.openapitools.codegen.online.model.Generated;
 import org.openapitools.codegen.online.model.GeneratorInput;
 import org.openapitools.codegen.online.model.ResponseCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
 
 @Service
 public class GenApiService implements GenApiDelegate {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenApiService.class);
 
     private static List<String> clients = new ArrayList<>();
     private static List<String> servers = new ArrayList<>();
-    private static Map<String, Generated> fileMap = new HashMap<>();
 
     static {
-        List<CodegenConfig> extensions = CodegenConfigLoader.getAll();
-        for (CodegenConfig config : extensions) {
+        List<CodegenConfigLoader.Entry> extensions = CodegenConfigLoader.getEntries();
+        for (CodegenConfigLoader.Entry config : extensions) {
             if (config.getTag().equals(CodegenType.CLIENT)
                     || config.getTag().equals(CodegenType.DOCUMENTATION)) {
                 clients.add(config.getName());
@@ -69,10 +65,12 @@ public class GenApiService implements GenApiDelegate {
     }
 
     private final NativeWebRequest request;
+    private final ArtifactStore artifactStore;
 
     @Autowired
-    public GenApiService(NativeWebRequest request) {
+    public GenApiService(NativeWebRequest request, ArtifactStore artifactStore) {
         this.request = request;
+        this.artifactStore = artifactStore;
     }
 
     @Override
@@ -81,34 +79,29 @@ public class GenApiService implements GenApiDelegate {
     }
 
     @Override
-    public ResponseEntity<Resource> downloadFile(String fileId) {
-        Generated g = fileMap.get(fileId);
-        System.out.println("looking for fileId " + fileId);
-        System.out.println("got filename " + g.getFilename());
+    public ResponseEntity<StreamingResponseBody> downloadFile(String fileId) {
+        Generated g = artifactStore.take(fileId);
+        if (g == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found or expired");
+        }
 
         File file = new File(g.getFilename());
-        Path path = Paths.get(file.getAbsolutePath());
-        ByteArrayResource resource;
-        try {
-            resource = new ByteArrayResource(Files.readAllBytes(path));
-        } catch (FileNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found", e);
-        } catch (IOException e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "I/O error while reading file", e);
-        }
-        try {
-            FileUtils.deleteDirectory(file.getParentFile());
-        } catch (IOException e) {
-            System.out.println("failed to delete file " + file.getAbsolutePath());
+        if (!file.isFile()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
         }
         return ResponseEntity
                 .ok()
                 .contentType(MediaType.valueOf("application/zip"))
                 .header("Content-Disposition",
                         "attachment; filename=\"" + g.getFriendlyName() + "-generated.zip\"")
-                .header("Accept-Range", "bytes")
-                //.header("Content-Length", bytes.length)
-                .body(resource);
+                .contentLength(file.length())
+                .body(out -> {
+                    try {
+                        Files.copy(file.toPath(), out);
+                    } finally {
+                        FileUtils.deleteQuietly(file);
+                    }
+                });
     }
 
     @Override
@@ -134,8 +127,8 @@ public class GenApiService implements GenApiDelegate {
             Generated g = new Generated();
             g.setFilename(filename);
             g.setFriendlyName(language + "-client");
-            fileMap.put(code, g);
-            System.out.println(code + ", " + filename);
+            artifactStore.put(code, g, new File(filename).length());
+            LOGGER.debug("stored {} as {}", g.getFriendlyName(), code);
             String link = host + "/api/gen/download/" + code;
             return ResponseEntity.ok().body(new ResponseCode(code, link));
         } else {
@@ -181,7 +174,6 @@ public class GenApiService implements GenApiDelegate {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Framework is required");
         }
         String filename = Generator.generateServer(framework, generatorInput);
-        System.out.println("generated name: " + filename);
 
         HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
 
@@ -194,13 +186,12 @@ public class GenApiService implements GenApiDelegate {
             Generated g = new Generated();
             g.setFilename(filename);
             g.setFriendlyName(framework + "-server");
-            fileMap.put(code, g);
-            System.out.println(code + ", " + filename);
+            artifactStore.put(code, g, new File(filename).length());
+            LOGGER.debug("stored {} as {}", g.getFriendlyName(), code);
             String link = host + "/api/gen/download/" + code;
             return ResponseEntity.ok().body(new ResponseCode(code, link));
         } else {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-
 }
@@ -30,17 +30,23 @@ import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.DefaultGenerator;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.output.ZipOutputSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
 
 public class Generator {
     private static Logger LOGGER = LoggerFactory.getLogger(Generator.class);
@@ -75,14 +81,76 @@ public class Generator {
     }
 
     public static String generateClient(String language, GeneratorInput opts) {
-        return generate(language, opts, Type.CLIENT);
+        return generate(prepareClient(language, opts));
     }
 
     public static String generateServer(String language, GeneratorInput opts) {
-        return generate(language, opts, Type.SERVER);
+        return generate(prepareServer(language, opts));
     }
 
-    private static String generate(String language, GeneratorInput opts, Type type) {
+    static ClientOptInput prepareClient(String language, GeneratorInput opts) {
+        return prepare(language, opts, Type.CLIENT);
+    }
+
+    static ClientOptInput prepareServer(String language, GeneratorInput opts) {
+        return prepare(language, opts, Type.SERVER);
+    }
+
+    /**
+     * Generate the code and stream it as a zip archive. Nothing is written to disk: the output folder of the
+     * config is only used to compute the entry names.
+     *
+     * @param clientOptInput the input returned by {@link #prepareClient} or {@link #prepareServer}
+     * @param out            stream receiving the archive, not closed
+     * @throws IOException if the archive cannot be written
+     */
+    static void generateZip(ClientOptInput clientOptInput, OutputStream out) throws IOException {
+        String outputFolder = clientOptInput.getConfig().getOutputDir();
+        try (ZipOutputSink zip = new ZipOutputSink(out, new File(outputFolder).getParent())) {
+            DefaultGenerator generator = new DefaultGenerator();
+            generator.setOutputSink(zip);
+            List<File> files = generator.opts(clientOptInput).generate();
+            if (files.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "A target generation was attempted, but no files were created!");
+            }
+            LOGGER.debug("streamed {} files from {}", files.size(), outputFolder);
+        } catch (ResponseStatusException | IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to build target: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Generate the code into a zip archive in the temporary folder, so that the errors of the generation are reported
+     * to the request asking for it rather than to the download of the archive.
+     *
+     * @param clientOptInput the input returned by {@link #prepareClient} or {@link #prepareServer}
+     * @return the path of the archive
+     */
+    private static String generate(ClientOptInput clientOptInput) {
+        File zip;
+        try {
+            zip = File.createTempFile("codegen-", "-bundle.zip");
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to create the archive", e);
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(zip))) {
+            generateZip(clientOptInput, out);
+        } catch (IOException | RuntimeException e) {
+            if (!zip.delete()) {
+                LOGGER.error("unable to delete file " + zip.getAbsolutePath());
+            }
+            if (e instanceof ResponseStatusException) {
+                throw (ResponseStatusException) e;
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to build target: " + e.getMessage(), e);
+        }
+        return zip.getAbsolutePath();
+    }
+
+    private static ClientOptInput prepare(String language, GeneratorInput opts, Type type) {
         LOGGER.debug(String.format(Locale.ROOT,"generate %s for %s", type.getTypeName(), language));
         if (opts == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No options were supplied");
@@ -130,8 +198,9 @@ public class Generator {
 
         ClientOptInput clientOptInput = new ClientOptInput();
         ClientOpts clientOpts = new ClientOpts();
-        String outputFolder = getTmpFolder().getAbsolutePath() + File.separator + destPath;
-        String outputFilename = outputFolder + "-bundle.zip";
+        // never created, the files are streamed into a zip archive with entries relative to its parent
+        String outputFolder = System.getProperty("java.io.tmpdir") + File.separator + "codegen-" + UUID.randomUUID()
+                + File.separator + destPath;
 
         clientOptInput.opts(clientOpts).openAPI(openapi);
 
@@ -152,47 +221,6 @@ public class Generator {
         LOGGER.debug(Json.pretty(clientOpts));
 
         clientOptInput.setConfig(codegenConfig);
-
-        try {
-            List<File> files = new DefaultGenerator().opts(clientOptInput).generate();
-            if (files.size() > 0) {
-                List<File> filesToAdd = new ArrayList<>();
-                LOGGER.debug("adding to " + outputFolder);
-                filesToAdd.add(new File(outputFolder));
-                ZipUtil zip = new ZipUtil();
-                zip.compressFiles(filesToAdd, outputFilename);
-            } else {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "A target generation was attempted, but no files were created!");
-            }
-            for (File file : files) {
-                try {
-                    file.delete();
-                } catch (Exception e) {
-                    LOGGER.error("unable to delete file " + file.getAbsolutePath(), e);
-                }
-            }
-            try {
-                new File(outputFolder).delete();
-            } catch (Exception e) {
-                LOGGER.error("unable to delete output folder " + outputFolder, e);
-            }
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to build target: " + e.getMessage(), e);
-        }
-        return outputFilename;
-    }
-
-    private static File getTmpFolder() {
-        try {
-            File outputFolder = File.createTempFile("codegen-", "-tmp");
-            outputFolder.delete();
-            outputFolder.mkdir();
-            outputFolder.deleteOnExit();
-            return outputFolder;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+        return clientOptInput;
     }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import org.openapitools.codegen.online.model.Generated;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+public class ArtifactStoreEndpointTest {
+
+    @Test
+    public void testMetrics() {
+        ArtifactStore store = new ArtifactStore(5, 1000, 60);
+        store.put("a", new Generated(), 42);
+        store.take("missing");
+
+        Map<String, Object> metrics = new ArtifactStoreEndpoint(store).metrics();
+        Assert.assertEquals(metrics.get("entries"), 1);
+        Assert.assertEquals(metrics.get("bytes"), 42L);
+        Assert.assertEquals(metrics.get("maxEntries"), 5);
+        Assert.assertEquals(metrics.get("maxBytes"), 1000L);
+        Assert.assertEquals(metrics.get("ttlSeconds"), 60L);
+        Assert.assertEquals(metrics.get("misses"), 1L);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.online.model.Generated;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+public class ArtifactStoreTest {
+    private File directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("artifacts").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testTakeOnce() throws IOException {
+        ArtifactStore store = new ArtifactStore(10, 1000, 60);
+        Generated generated = generated("a");
+        store.put("a", generated, 10);
+
+        Assert.assertSame(store.take("a"), generated);
+        Assert.assertNull(store.take("a"));
+        // the archive of a taken artifact belongs to the caller
+        Assert.assertTrue(new File(generated.getFilename()).exists());
+
+        Map<String, Object> metrics = store.getMetrics();
+        Assert.assertEquals(metrics.get("entries"), 0);
+        Assert.assertEquals(metrics.get("bytes"), 0L);
+        Assert.assertEquals(metrics.get("hits"), 1L);
+        Assert.assertEquals(metrics.get("misses"), 1L);
+        Assert.assertEquals(metrics.get("hitRate"), 0.5);
+    }
+
+    @Test
+    public void testExpiration() throws IOException {
+        ArtifactStore store = new ArtifactStore(10, 1000, 0);
+        Generated generated = generated("a");
+        store.put("a", generated, 10);
+
+        Assert.assertNull(store.take("a"));
+        Assert.assertFalse(new File(generated.getFilename()).exists());
+        Assert.assertEquals(store.getMetrics().get("expirations"), 1L);
+    }
+
+    @Test
+    public void testSweep() throws IOException {
+        ArtifactStore store = new ArtifactStore(10, 1000, 0);
+        Generated generated = generated("a");
+        store.put("a", generated, 10);
+
+        store.expire();
+        Assert.assertFalse(new File(generated.getFilename()).exists());
+        Assert.assertEquals(store.getMetrics().get("entries"), 0);
+        Assert.assertEquals(store.getMetrics().get("bytes"), 0L);
+    }
+
+    @Test
+    public void testEntryBound() throws IOException {
+        ArtifactStore store = new ArtifactStore(2, 1000, 60);
+        Generated first = generated("a");
+        store.put("a", first, 10);
+        store.put("b", generated("b"), 10);
+        store.put("c", generated("c"), 10);
+
+        Assert.assertNull(store.take("a"));
+        Assert.assertFalse(new File(first.getFilename()).exists());
+        Assert.assertNotNull(store.take("b"));
+        Assert.assertNotNull(store.take("c"));
+        Assert.assertEquals(store.getMetrics().get("evictions"), 1L);
+    }
+
+    @Test
+    public void testByteBound() throws IOException {
+        ArtifactStore store = new ArtifactStore(10, 100, 60);
+        Generated first = generated("a");
+        store.put("a", first, 60);
+        store.put("b", generated("b"), 30);
+        store.put("c", generated("c"), 60);
+
+        Map<String, Object> metrics = store.getMetrics();
+        Assert.assertEquals(metrics.get("entries"), 2);
+        Assert.assertEquals(metrics.get("bytes"), 90L);
+        Assert.assertEquals(metrics.get("evictions"), 1L);
+        Assert.assertFalse(new File(first.getFilename()).exists());
+        Assert.assertNull(store.take("a"));
+    }
+
+    @Test
+    public void testTooLarge() throws IOException {
+        ArtifactStore store = new ArtifactStore(10, 100, 60);
+        store.put("a", generated("a"), 50);
+        Generated generated = generated("b");
+        try {
+            store.put("b", generated, 101);
+            Assert.fail("the artifact exceeds the quota");
+        } catch (ResponseStatusException e) {
+            Assert.assertEquals(e.getStatus(), HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        Assert.assertFalse(new File(generated.getFilename()).exists());
+        // the other artifacts are kept
+        Assert.assertNotNull(store.take("a"));
+    }
+
+    private Generated generated(String name) throws IOException {
+        File file = new File(directory, name + ".zip");
+        FileUtils.writeByteArrayToFile(file, new byte[]{1, 2, 3});
+        Generated generated = new Generated();
+        generated.setFilename(file.getAbsolutePath());
+        generated.setFriendlyName(name);
+        return generated;
+    }
+}
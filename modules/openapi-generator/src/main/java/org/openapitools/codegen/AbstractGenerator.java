@@ -17,41 +17,123 @@
 
 package org.openapitools.codegen;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
+import org.openapitools.codegen.output.FileSystemOutputSink;
+import org.openapitools.codegen.output.OutputSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class AbstractGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGenerator.class);
 
-    @SuppressWarnings("static-method")
+    protected OutputSink outputSink = new FileSystemOutputSink();
+    private final AtomicInteger writtenFileCount = new AtomicInteger();
+    private final AtomicInteger unchangedFileCount = new AtomicInteger();
+    private final AtomicInteger skippedFileCount = new AtomicInteger();
+
+    /**
+     * Set where the generated files are written, e.g. to stream them into a zip archive instead of the file system.
+     * Defaults to a {@link FileSystemOutputSink}.
+     *
+     * @param outputSink the output sink
+     */
+    public void setOutputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
+    public OutputSink getOutputSink() {
+        return outputSink;
+    }
+
     public File writeToFile(String filename, String contents) throws IOException {
-        LOGGER.info("writing file " + filename);
-        File output = new File(filename);
+        return writeToFile(filename, contents.getBytes(StandardCharsets.UTF_8));
+    }
 
-        if (output.getParent() != null && !new File(output.getParent()).exists()) {
-            File parent = new File(output.getParent());
-            parent.mkdirs();
+    /**
+     * Write a file through the output sink. When {@link #isSkipUnchangedFiles()} is enabled and the file already
+     * has the given content, it is left untouched so that its modification time does not change.
+     *
+     * @param filename path of the file
+     * @param contents content of the file
+     * @return the file
+     * @throws IOException if the file cannot be written
+     */
+    protected File writeToFile(String filename, byte[] contents) throws IOException {
+        if (isSkipUnchangedFiles() && outputSink.hasContent(filename, contents)) {
+            LOGGER.info("unchanged file " + filename);
+            unchangedFileCount.incrementAndGet();
+        } else {
+            LOGGER.info("writing file " + filename);
+            outputSink.write(filename, contents);
+            writtenFileCount.incrementAndGet();
         }
-        Writer out = new BufferedWriter(new OutputStreamWriter(
-                new FileOutputStream(output), "UTF-8"));
+        return new File(filename);
+    }
+
+    /**
+     * @return true if files with unchanged content are not rewritten. False by default.
+     */
+    protected boolean isSkipUnchangedFiles() {
+        return false;
+    }
+
+    /**
+     * Record a file which was not written, e.g. because it must not be overwritten or is ignored.
+     */
+    protected void countSkippedFile() {
+        skippedFileCount.incrementAndGet();
+    }
+
+    /**
+     * Record a file written without going through {@link #writeToFile(String, byte[])}.
+     */
+    protected void countWrittenFile() {
+        writtenFileCount.incrementAndGet();
+    }
+
+    /**
+     * Record a file kept as it is without being rendered, e.g. because its inputs did not change.
+     */
+    protected void countUnchangedFile() {
+        unchangedFileCount.incrementAndGet();
+    }
+
+    protected void resetFileCounts() {
+        writtenFileCount.set(0);
+        unchangedFileCount.set(0);
+        skippedFileCount.set(0);
+    }
 
-        out.write(contents);
-        out.close();
-        return output;
+    /**
+     * @return the number of files (re)written
+     */
+    public int getWrittenFileCount() {
+        return writtenFileCount.get();
+    }
+
+    /**
+     * @return the number of files left untouched because their content did not change
+     */
+    public int getUnchangedFileCount() {
+        return unchangedFileCount.get();
+    }
+
+    /**
+     * @return the number of files not written because they must not be overwritten or are ignored
+     */
+    public int getSkippedFileCount() {
+        return skippedFileCount.get();
     }
 
     public String readTemplate(String name) {
@@ -19,7 +19,9 @@ package org.openapitools.codegen;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.openapitools.codegen.auth.AuthParser;
 
 public class ClientOptInput {
@@ -27,6 +29,8 @@ public class ClientOptInput {
     private ClientOpts opts;
     private OpenAPI openAPI;
     private List<AuthorizationValue> auths;
+    private Map<String, String> generatorProperties = new HashMap<String, String>();
+    private GenerationTimings timings = GenerationTimings.disabled();
 
     public ClientOptInput openAPI(OpenAPI openAPI) {
         this.setOpenAPI(openAPI);
@@ -43,6 +47,28 @@ public class ClientOptInput {
         return this;
     }
 
+    /**
+     * Generator properties (e.g. "models", "apis", "debugModels") of this generation, see {@link GeneratorProperties}.
+     *
+     * @param generatorProperties generator properties
+     * @return this input
+     */
+    public ClientOptInput generatorProperties(Map<String, String> generatorProperties) {
+        this.setGeneratorProperties(generatorProperties);
+        return this;
+    }
+
+    /**
+     * Timings of this generation, see {@link GenerationTimings}.
+     *
+     * @param timings timings, measuring nothing unless enabled
+     * @return this input
+     */
+    public ClientOptInput timings(GenerationTimings timings) {
+        this.setTimings(timings);
+        return this;
+    }
+
     @Deprecated
     public ClientOptInput auth(String urlEncodedAuthString) {
         this.setAuth(urlEncodedAuthString);
@@ -87,4 +113,20 @@ public class ClientOptInput {
     public void setOpenAPI(OpenAPI openAPI) {
         this.openAPI = openAPI;
     }
+
+    public Map<String, String> getGeneratorProperties() {
+        return generatorProperties;
+    }
+
+    public void setGeneratorProperties(Map<String, String> generatorProperties) {
+        this.generatorProperties = generatorProperties;
+    }
+
+    public GenerationTimings getTimings() {
+        return timings;
+    }
+
+    public void setTimings(GenerationTimings timings) {
+        this.timings = timings == null ? GenerationTimings.disabled() : timings;
+    }
 }
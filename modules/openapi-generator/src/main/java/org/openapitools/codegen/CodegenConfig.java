@@ -146,6 +146,13 @@ public interface CodegenConfig {
 
     void preprocessOpenAPI(OpenAPI openAPI);
 
+    /**
+     * Forget the inheritance index built from the schemas of the specification, to be called once they are modified.
+     * Does nothing by default, for the generators which do not keep such an index.
+     */
+    default void invalidateInheritanceIndex() {
+    }
+
     void processOpenAPI(OpenAPI openAPI);
 
     Compiler processCompiler(Compiler compiler);
@@ -257,8 +264,34 @@ public interface CodegenConfig {
 
     void postProcessFile(File file, String fileType);
 
+    String getPostProcessFileCommand(File file, String fileType);
+
     boolean isEnablePostProcessFile();
 
     public void setEnablePostProcessFile(boolean isEnablePostProcessFile);
 
+    /**
+     * Number of threads rendering the model and API files. With more than one, the templates of those files are
+     * executed concurrently: the lambdas they call (see {@link #processCompiler} and the additional properties),
+     * and the methods of this config those lambdas call, must then be thread safe. The other methods of this config,
+     * including {@link #processCompiler} and {@link #postProcessFile}, are still called from a single thread.
+     *
+     * @return the number of threads, 1 to render the files sequentially
+     */
+    int getGenerationThreads();
+
+    void setGenerationThreads(int generationThreads);
+
+    boolean isBatchPostProcessFile();
+
+    void setBatchPostProcessFile(boolean batchPostProcessFile);
+
+    boolean isSkipUnchangedFiles();
+
+    void setSkipUnchangedFiles(boolean skipUnchangedFiles);
+
+    boolean isIncrementalGeneration();
+
+    void setIncrementalGeneration(boolean incrementalGeneration);
+
 }
@@ -17,13 +17,49 @@
 
 package org.openapitools.codegen;
 
-import static java.util.ServiceLoader.load;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.ServiceLoader;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Loads the generators ({@link CodegenConfig} implementations) registered as services.
+ * <p>
+ * Instantiating a generator builds its type mappings, reserved words and options, so generators are not all
+ * instantiated to find one by name: the registered classes are indexed by name from the
+ * {@value #INDEX} resources, and only the requested generator is instantiated. Generators missing from the
+ * indexes (e.g. registered by an extension jar without an index) are instantiated once to read their name. When no
+ * generator is indexed under a name, or the generator indexed under it has another name (an outdated index), all
+ * generators are instantiated to find it, as a {@link java.util.ServiceLoader} would.
+ * The registry of a class loader is built on first use and kept for the lifetime of the class loader.
+ */
 public class CodegenConfigLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodegenConfigLoader.class);
+
+    /**
+     * Lines of "name class [tag]" of the generators registered in the same jar, see {@link Entry}.
+     */
+    public static final String INDEX = "META-INF/openapi-generator/generators";
+
+    private static final String SERVICES = "META-INF/services/" + CodegenConfig.class.getName();
+
+    private static final Map<ClassLoader, Registry> REGISTRIES = new WeakHashMap<>();
+
     /**
      * Tries to load config class with SPI first, then with class name directly from classpath
      *
@@ -31,32 +67,250 @@ public class CodegenConfigLoader {
      * @return config class
      */
     public static CodegenConfig forName(String name) {
-        ServiceLoader<CodegenConfig> loader = load(CodegenConfig.class);
-
-        StringBuilder availableConfigs = new StringBuilder();
-
-        for (CodegenConfig config : loader) {
-            if (config.getName().equals(name)) {
-                return config;
-            }
+        return forName(name, classLoader());
+    }
 
-            availableConfigs.append(config.getName()).append("\n");
+    static CodegenConfig forName(String name, ClassLoader classLoader) {
+        Registry registry = registry(classLoader);
+        CodegenConfig config = registry.newInstance(name, classLoader);
+        if (config != null) {
+            return config;
         }
 
         // else try to load directly
         try {
             return (CodegenConfig) Class.forName(name).newInstance();
         } catch (Exception e) {
+            // an outdated index may list the generator under another name
+            config = registry.findByInstantiating(name, classLoader);
+            if (config != null) {
+                return config;
+            }
+            StringBuilder availableConfigs = new StringBuilder();
+            for (Entry entry : registry.getEntries()) {
+                availableConfigs.append(entry.getName()).append("\n");
+            }
             throw new GeneratorNotFoundException("Can't load config class with name '".concat(name) + "'\nAvailable:\n" + availableConfigs.toString(), e);
         }
     }
 
+    /**
+     * Instantiate all generators. To list the generators, prefer {@link #getEntries()}, which does not instantiate them.
+     *
+     * @return a new instance of each generator
+     */
     public static List<CodegenConfig> getAll() {
-        ServiceLoader<CodegenConfig> loader = ServiceLoader.load(CodegenConfig.class);
+        ClassLoader classLoader = classLoader();
         List<CodegenConfig> output = new ArrayList<CodegenConfig>();
-        for (CodegenConfig aLoader : loader) {
-            output.add(aLoader);
+        for (Entry entry : registry(classLoader).getEntries()) {
+            output.add(entry.newInstance(classLoader));
         }
         return output;
     }
+
+    /**
+     * @return the name, tag and class of all generators, in the order of the classpath
+     */
+    public static List<Entry> getEntries() {
+        return getEntries(classLoader());
+    }
+
+    static List<Entry> getEntries(ClassLoader classLoader) {
+        return registry(classLoader).getEntries();
+    }
+
+    /**
+     * @param config a generator
+     * @return its line in the {@value #INDEX} resource
+     */
+    public static String toIndexLine(CodegenConfig config) {
+        String line = config.getName() + " " + config.getClass().getName();
+        return config.getTag() == null ? line : line + " " + config.getTag().name();
+    }
+
+    /**
+     * The class loader {@link java.util.ServiceLoader#load(Class)} would use.
+     */
+    private static ClassLoader classLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+    }
+
+    private static Registry registry(ClassLoader classLoader) {
+        synchronized (REGISTRIES) {
+            Registry registry = REGISTRIES.get(classLoader);
+            if (registry == null) {
+                registry = new Registry(classLoader);
+                REGISTRIES.put(classLoader, registry);
+            }
+            return registry;
+        }
+    }
+
+    /**
+     * A generator registered as a service.
+     */
+    public static final class Entry {
+        private final String name;
+        private final String className;
+        private final CodegenType tag;
+
+        Entry(String name, String className, CodegenType tag) {
+            this.name = name;
+            this.className = className;
+            this.tag = tag;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * @return the type of the generator, as returned by {@link CodegenConfig#getTag()}
+         */
+        public CodegenType getTag() {
+            return tag;
+        }
+
+        CodegenConfig newInstance(ClassLoader classLoader) {
+            return instantiate(className, classLoader);
+        }
+    }
+
+    /**
+     * The generators registered with a class loader. Holds no reference to the class loader, which is the key of
+     * the weak map of registries.
+     */
+    private static final class Registry {
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<String, Entry> entriesByName = new ConcurrentHashMap<>();
+
+        Registry(ClassLoader classLoader) {
+            Map<String, Entry> index = readIndex(classLoader);
+            for (String className : readProviders(classLoader)) {
+                Entry entry = index.get(className);
+                if (entry == null) {
+                    LOGGER.debug("Generator {} is not indexed in {}, instantiating it to read its name", className, INDEX);
+                    CodegenConfig config = instantiate(className, classLoader);
+                    entry = new Entry(config.getName(), className, config.getTag());
+                }
+                entries.add(entry);
+                // the first generator of the classpath wins, as with a ServiceLoader
+                entriesByName.putIfAbsent(entry.getName(), entry);
+            }
+        }
+
+        List<Entry> getEntries() {
+            return Collections.unmodifiableList(entries);
+        }
+
+        /**
+         * @return a new instance of the generator with the given name, or null if there is none
+         */
+        CodegenConfig newInstance(String name, ClassLoader classLoader) {
+            Entry entry = entriesByName.get(name);
+            if (entry == null) {
+                return null;
+            }
+            CodegenConfig config = entry.newInstance(classLoader);
+            if (name.equals(config.getName())) {
+                return config;
+            }
+
+            LOGGER.warn("{} is indexed as generator '{}' in {} but is named '{}'", entry.getClassName(), name, INDEX, config.getName());
+            entriesByName.remove(name, entry);
+            return findByInstantiating(name, classLoader);
+        }
+
+        /**
+         * Instantiate the generators until the one with the given name is found, for outdated indexes. The
+         * generator found is then registered under its name.
+         *
+         * @return a new instance of the generator with the given name, or null if there is none
+         */
+        CodegenConfig findByInstantiating(String name, ClassLoader classLoader) {
+            for (Entry candidate : entries) {
+                CodegenConfig candidateConfig = candidate.newInstance(classLoader);
+                if (name.equals(candidateConfig.getName())) {
+                    LOGGER.warn("{} is named '{}' but is indexed as generator '{}' in {}", candidate.getClassName(), name, candidate.getName(), INDEX);
+                    entriesByName.put(name, new Entry(name, candidate.getClassName(), candidateConfig.getTag()));
+                    return candidateConfig;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Read the provider classes the way {@link java.util.ServiceLoader} does: in classpath order, without duplicates.
+         */
+        private static Set<String> readProviders(ClassLoader classLoader) {
+            Set<String> providers = new LinkedHashSet<>();
+            for (String line : readLines(classLoader, SERVICES)) {
+                providers.add(line);
+            }
+            return providers;
+        }
+
+        /**
+         * @return the indexed generators by class name
+         */
+        private static Map<String, Entry> readIndex(ClassLoader classLoader) {
+            Map<String, Entry> index = new LinkedHashMap<>();
+            for (String line : readLines(classLoader, INDEX)) {
+                String[] fields = line.split("\\s+");
+                if (fields.length < 2 || fields.length > 3) {
+                    LOGGER.warn("Ignoring invalid line in {}: {}", INDEX, line);
+                    continue;
+                }
+                CodegenType tag = null;
+                if (fields.length == 3) {
+                    try {
+                        tag = CodegenType.valueOf(fields[2]);
+                    } catch (IllegalArgumentException e) {
+                        LOGGER.warn("Ignoring invalid line in {}: {}", INDEX, line);
+                        continue;
+                    }
+                }
+                index.putIfAbsent(fields[1], new Entry(fields[0], fields[1], tag));
+            }
+            return index;
+        }
+
+        /**
+         * @return the lines of all resources with that name, without comments and blank lines
+         */
+        private static List<String> readLines(ClassLoader classLoader, String resource) {
+            List<String> lines = new ArrayList<>();
+            try {
+                Enumeration<URL> urls = classLoader.getResources(resource);
+                while (urls.hasMoreElements()) {
+                    URL url = urls.nextElement();
+                    try (InputStream in = url.openStream()) {
+                        for (String line : IOUtils.readLines(in, StandardCharsets.UTF_8)) {
+                            int comment = line.indexOf('#');
+                            line = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                            if (!line.isEmpty()) {
+                                lines.add(line);
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new ServiceConfigurationError("Could not read " + resource, e);
+            }
+            return lines;
+        }
+    }
+
+    private static CodegenConfig instantiate(String className, ClassLoader classLoader) {
+        try {
+            return Class.forName(className, true, classLoader).asSubclass(CodegenConfig.class).newInstance();
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e) {
+            throw new ServiceConfigurationError(CodegenConfig.class.getName() + ": Provider " + className + " could not be instantiated", e);
+        }
+    }
 }
@@ -283,4 +283,25 @@ public class CodegenConstants {
     public static final String ENABLE_POST_PROCESS_FILE_DESC = "Enable post-processing file using environment variables.";
 
     public static final String OPEN_API_SPEC_NAME = "openAPISpecName";
-}
\ No newline at end of file
+
+    public static final String GENERATION_THREADS = "generationThreads";
+    public static final String GENERATION_THREADS_DESC = "Number of threads used to render and write model and API files. Default: 1 (sequential).";
+
+    public static final String BATCH_POST_PROCESS_FILE = "batchPostProcessFile";
+    public static final String BATCH_POST_PROCESS_FILE_DESC = "Pass several generated files to each invocation of the post-processing command (*_POST_PROCESS_FILE), rather than one.";
+
+    public static final String SKIP_UNCHANGED_FILES = "skipUnchangedFiles";
+    public static final String SKIP_UNCHANGED_FILES_DESC = "Leave existing files untouched (keeping their modification time) when the generated content is identical.";
+
+    public static final String INCREMENTAL_GENERATION = "incrementalGeneration";
+    public static final String INCREMENTAL_GENERATION_DESC = "Only render the models and APIs whose inputs changed since the previous generation, using fingerprints stored in .openapi-generator/manifest.json.";
+
+    public static final String TIMINGS = "timings";
+    public static final String TIMINGS_DESC = "Measure the wall time, CPU time and allocated bytes of each phase of the generation, and of each model, API and template. The report is written to .openapi-generator/timings.json and summarized in the output.";
+
+    public static final String CACHE_SPEC = "cacheSpec";
+    public static final String CACHE_SPEC_DESC = "Keep the parsed specification in memory, so that the following generations of the same (unchanged) specification in this process do not parse it again.";
+
+    public static final String SPEC_CACHE_DIR = "specCacheDir";
+    public static final String SPEC_CACHE_DIR_DESC = "Directory where parsed specifications are cached, keyed by a hash of the specification and the files it references, so that other processes do not parse an unchanged specification again. The directory keeps the 64 most recently used specifications; specifications referencing remote files are not cached. Implies cacheSpec.";
+}
@@ -17,6 +17,7 @@
 
 package org.openapitools.codegen;
 
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.ExternalDocumentation;
 
 import java.util.ArrayList;
@@ -40,9 +41,12 @@ public class CodegenModel {
     public List<CodegenModel> interfaceModels;
     public List<CodegenModel> children;
 
-    public String name, classname, title, description, classVarName, modelJson, dataType, xmlPrefix, xmlNamespace, xmlName;
+    public String name, classname, title, description, classVarName, dataType, xmlPrefix, xmlNamespace, xmlName;
     public String classFilename; // store the class file name, mainly used for import
     public String unescapedDescription;
+    // serialized into modelJson on first read, see getModelJson()
+    private Object modelJsonSource;
+    private String modelJson;
     public CodegenDiscriminator discriminator;
     public String defaultValue;
     public String arrayModelType;
@@ -110,7 +114,10 @@ public class CodegenModel {
             return false;
         if (classVarName != null ? !classVarName.equals(that.classVarName) : that.classVarName != null)
             return false;
-        if (modelJson != null ? !modelJson.equals(that.modelJson) : that.modelJson != null)
+        // the sources rather than their JSON, which is serialized on first read
+        if (!Objects.equals(modelJsonSource, that.modelJsonSource))
+            return false;
+        if (modelJsonSource == null && !Objects.equals(modelJson, that.modelJson))
             return false;
         if (dataType != null ? !dataType.equals(that.dataType) : that.dataType != null)
             return false;
@@ -178,7 +185,7 @@ public class CodegenModel {
         result = 31 * result + (title != null ? title.hashCode() : 0);
         result = 31 * result + (description != null ? description.hashCode() : 0);
         result = 31 * result + (classVarName != null ? classVarName.hashCode() : 0);
-        result = 31 * result + (modelJson != null ? modelJson.hashCode() : 0);
+        result = 31 * result + (modelJsonSource != null ? modelJsonSource.hashCode() : (modelJson != null ? modelJson.hashCode() : 0));
         result = 31 * result + (dataType != null ? dataType.hashCode() : 0);
         result = 31 * result + (xmlPrefix != null ? xmlPrefix.hashCode() : 0);
         result = 31 * result + (xmlNamespace != null ? xmlNamespace.hashCode() : 0);
@@ -296,12 +303,34 @@ public class CodegenModel {
         this.classVarName = classVarName;
     }
 
+    /**
+     * The JSON of the source set by {@link #setModelJsonSource}, serialized on the first call, so that the
+     * (costly) pretty printing only happens when a template or post-processing hook uses it.
+     *
+     * @return the pretty printed JSON of the model, or the value set by {@link #setModelJson}
+     */
     public String getModelJson() {
+        Object source = modelJsonSource;
+        if (modelJson == null && source != null) {
+            modelJson = Json.pretty(source);
+        }
         return modelJson;
     }
 
     public void setModelJson(String modelJson) {
         this.modelJson = modelJson;
+        this.modelJsonSource = null;
+    }
+
+    /**
+     * Set the object to serialize when the JSON is first read through {@link #getModelJson()},
+     * so that the (costly) pretty printing only happens when a template or post-processing hook uses it.
+     *
+     * @param modelJsonSource the schema of the model
+     */
+    public void setModelJsonSource(Object modelJsonSource) {
+        this.modelJson = null;
+        this.modelJsonSource = modelJsonSource;
     }
 
     public String getDataType() {
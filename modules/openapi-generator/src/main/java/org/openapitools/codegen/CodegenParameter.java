@@ -17,10 +17,13 @@
 
 package org.openapitools.codegen;
 
+import io.swagger.v3.core.util.Json;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class CodegenParameter {
     public boolean isFormParam, isQueryParam, isPathParam, isHeaderParam,
@@ -30,7 +33,9 @@ public class CodegenParameter {
             collectionFormat, description, unescapedDescription, baseType, defaultValue, enumName;
 
     public String example; // example value (x-example)
-    public String jsonSchema;
+    // serialized into jsonSchema on first read, see getJsonSchema()
+    private Object jsonSchemaSource;
+    private String jsonSchema;
     public boolean isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isByteArray, isBinary,
             isBoolean, isDate, isDateTime, isUuid, isEmail, isFreeFormObject;
     public boolean isListContainer, isMapContainer;
@@ -134,6 +139,7 @@ public class CodegenParameter {
         output.uniqueItems = this.uniqueItems;
         output.multipleOf = this.multipleOf;
         output.jsonSchema = this.jsonSchema;
+        output.jsonSchemaSource = this.jsonSchemaSource;
         output.defaultValue = this.defaultValue;
         output.example = this.example;
         output.isEnum = this.isEnum;
@@ -175,6 +181,36 @@ public class CodegenParameter {
         return output;
     }
 
+    /**
+     * The JSON of the source set by {@link #setJsonSchemaSource}, serialized on the first call, so that the
+     * (costly) pretty printing only happens when a template or post-processing hook uses it.
+     *
+     * @return the pretty printed JSON of the parameter, or the value set by {@link #setJsonSchema}
+     */
+    public String getJsonSchema() {
+        Object source = jsonSchemaSource;
+        if (jsonSchema == null && source != null) {
+            jsonSchema = Json.pretty(source);
+        }
+        return jsonSchema;
+    }
+
+    public void setJsonSchema(String jsonSchema) {
+        this.jsonSchema = jsonSchema;
+        this.jsonSchemaSource = null;
+    }
+
+    /**
+     * Set the object to serialize when the JSON is first read through {@link #getJsonSchema()},
+     * so that the (costly) pretty printing only happens when a template or post-processing hook uses it.
+     *
+     * @param jsonSchemaSource the parameter or schema of the parameter
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchema = null;
+        this.jsonSchemaSource = jsonSchemaSource;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -231,7 +267,10 @@ public class CodegenParameter {
             return false;
         if (example != null ? !example.equals(that.example) : that.example != null)
             return false;
-        if (jsonSchema != null ? !jsonSchema.equals(that.jsonSchema) : that.jsonSchema != null)
+        // the sources rather than their JSON, which is serialized on first read
+        if (!Objects.equals(jsonSchemaSource, that.jsonSchemaSource))
+            return false;
+        if (jsonSchemaSource == null && !Objects.equals(jsonSchema, that.jsonSchema))
             return false;
         if (isString != that.isString)
             return false;
@@ -335,7 +374,7 @@ public class CodegenParameter {
         result = 31 * result + (baseType != null ? baseType.hashCode() : 0);
         result = 31 * result + (defaultValue != null ? defaultValue.hashCode() : 0);
         result = 31 * result + (example != null ? example.hashCode() : 0);
-        result = 31 * result + (jsonSchema != null ? jsonSchema.hashCode() : 0);
+        result = 31 * result + (jsonSchemaSource != null ? jsonSchemaSource.hashCode() : (jsonSchema != null ? jsonSchema.hashCode() : 0));
         result = 31 * result + (isString ? 13 : 31);
         result = 31 * result + (isNumeric ? 13 : 31);
         result = 31 * result + (isInteger ? 13 : 31);
@@ -17,6 +17,8 @@
 
 package org.openapitools.codegen;
 
+import io.swagger.v3.core.util.Json;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -50,7 +52,9 @@ public class CodegenProperty implements Cloneable {
      */
     public String example;
 
-    public String jsonSchema;
+    // serialized into jsonSchema on first read, see getJsonSchema()
+    private Object jsonSchemaSource;
+    private String jsonSchema;
     public String minimum;
     public String maximum;
     public boolean exclusiveMinimum;
@@ -265,12 +269,34 @@ public class CodegenProperty implements Cloneable {
         this.example = example;
     }
 
+    /**
+     * The JSON of the source set by {@link #setJsonSchemaSource}, serialized on the first call, so that the
+     * (costly) pretty printing only happens when a template or post-processing hook uses it.
+     *
+     * @return the pretty printed JSON of the property, or the value set by {@link #setJsonSchema}
+     */
     public String getJsonSchema() {
+        Object source = jsonSchemaSource;
+        if (jsonSchema == null && source != null) {
+            jsonSchema = Json.pretty(source);
+        }
         return jsonSchema;
     }
 
     public void setJsonSchema(String jsonSchema) {
         this.jsonSchema = jsonSchema;
+        this.jsonSchemaSource = null;
+    }
+
+    /**
+     * Set the object to serialize when the JSON is first read through {@link #getJsonSchema()},
+     * so that the (costly) pretty printing only happens when a template or post-processing hook uses it.
+     *
+     * @param jsonSchemaSource the schema of the property
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchema = null;
+        this.jsonSchemaSource = jsonSchemaSource;
     }
 
     public String getMinimum() {
@@ -446,7 +472,7 @@ public class CodegenProperty implements Cloneable {
         result = prime * result + ((isNullable ? 13 : 31));
         result = prime * result + ((items == null) ? 0 : items.hashCode());
         result = prime * result + ((mostInnerItems == null) ? 0 : mostInnerItems.hashCode());
-        result = prime * result + ((jsonSchema == null) ? 0 : jsonSchema.hashCode());
+        result = prime * result + ((jsonSchemaSource != null) ? jsonSchemaSource.hashCode() : ((jsonSchema == null) ? 0 : jsonSchema.hashCode()));
         result = prime * result + ((max == null) ? 0 : max.hashCode());
         result = prime * result + ((maxLength == null) ? 0 : maxLength.hashCode());
         result = prime * result + ((maximum == null) ? 0 : maximum.hashCode());
@@ -560,7 +586,11 @@ public class CodegenProperty implements Cloneable {
         if ((this.example == null) ? (other.example != null) : !this.example.equals(other.example)) {
             return false;
         }
-        if ((this.jsonSchema == null) ? (other.jsonSchema != null) : !this.jsonSchema.equals(other.jsonSchema)) {
+        // the sources rather than their JSON, which is serialized on first read
+        if (!Objects.equals(this.jsonSchemaSource, other.jsonSchemaSource)) {
+            return false;
+        }
+        if (this.jsonSchemaSource == null && !Objects.equals(this.jsonSchema, other.jsonSchema)) {
             return false;
         }
         if (this.minimum != other.minimum && (this.minimum == null || !this.minimum.equals(other.minimum))) {
@@ -17,6 +17,8 @@
 
 package org.openapitools.codegen;
 
+import io.swagger.v3.core.util.Json;
+
 import java.util.*;
 
 public class CodegenResponse {
@@ -36,13 +38,45 @@ public class CodegenResponse {
     public boolean isBinary = false;
     public boolean isFile = false;
     public Object schema;
-    public String jsonSchema;
+    // serialized into jsonSchema on first read, see getJsonSchema()
+    private Object jsonSchemaSource;
+    private String jsonSchema;
     public Map<String, Object> vendorExtensions = new HashMap<String, Object>();
 
     public boolean isWildcard() {
         return "0".equals(code) || "default".equals(code);
     }
 
+    /**
+     * The JSON of the source set by {@link #setJsonSchemaSource}, serialized on the first call, so that the
+     * (costly) pretty printing only happens when a template or post-processing hook uses it.
+     *
+     * @return the pretty printed JSON of the response, or the value set by {@link #setJsonSchema}
+     */
+    public String getJsonSchema() {
+        Object source = jsonSchemaSource;
+        if (jsonSchema == null && source != null) {
+            jsonSchema = Json.pretty(source);
+        }
+        return jsonSchema;
+    }
+
+    public void setJsonSchema(String jsonSchema) {
+        this.jsonSchema = jsonSchema;
+        this.jsonSchemaSource = null;
+    }
+
+    /**
+     * Set the object to serialize when the JSON is first read through {@link #getJsonSchema()},
+     * so that the (costly) pretty printing only happens when a template or post-processing hook uses it.
+     *
+     * @param jsonSchemaSource the response
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchema = null;
+        this.jsonSchemaSource = jsonSchemaSource;
+    }
+
     @Override
     public String toString() {
         return "CodegenResponse{" +
@@ -120,7 +154,9 @@ public class CodegenResponse {
                 Objects.equals(baseType, that.baseType) &&
                 Objects.equals(containerType, that.containerType) &&
                 Objects.equals(schema, that.schema) &&
-                Objects.equals(jsonSchema, that.jsonSchema) &&
+                // the sources rather than their JSON, which is serialized on first read
+                Objects.equals(jsonSchemaSource, that.jsonSchemaSource) &&
+                (jsonSchemaSource != null || Objects.equals(jsonSchema, that.jsonSchema)) &&
                 Objects.equals(vendorExtensions, that.vendorExtensions);
     }
 
@@ -129,6 +165,7 @@ public class CodegenResponse {
         return Objects.hash(headers, code, message, hasMore, examples, dataType, baseType, containerType, hasHeaders,
                 isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isByteArray, isBoolean, isDate,
                 isDateTime, isUuid, isEmail, isFreeFormObject, isModel, isDefault, simpleType, primitiveType, isMapContainer,
-                isListContainer, isBinary, isFile, schema, jsonSchema, vendorExtensions);
+                isListContainer, isBinary, isFile, schema,
+                jsonSchemaSource != null ? jsonSchemaSource : jsonSchema, vendorExtensions);
     }
 }
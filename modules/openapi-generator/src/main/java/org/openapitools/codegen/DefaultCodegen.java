@@ -55,7 +55,9 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.openapitools.codegen.CodegenDiscriminator.MappedModel;
 import org.openapitools.codegen.examples.ExampleGenerator;
 import org.openapitools.codegen.serializer.SerializerUtils;
+import org.openapitools.codegen.utils.InheritanceIndex;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.NameSanitizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,6 +77,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -86,6 +89,7 @@ import static org.openapitools.codegen.utils.StringUtils.escape;
 
 public class DefaultCodegen implements CodegenConfig {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultCodegen.class);
+    private static final Pattern STARTS_WITH_DIGIT = Pattern.compile("^\\d.*");
 
     protected String inputSpec;
     protected String outputFolder = "";
@@ -130,12 +134,22 @@ public class DefaultCodegen implements CodegenConfig {
     protected Map<String, String> specialCharReplacements = new HashMap<String, String>();
     // When a model is an alias for a simple type
     protected Map<String, String> typeAliases = null;
+    protected volatile InheritanceIndex inheritanceIndex = null;
+    // removeCharRegEx -> sanitizer used by sanitizeName
+    private final Map<String, NameSanitizer> nameSanitizers = new ConcurrentHashMap<>();
     protected Boolean prependFormOrBodyParameters = false;
     // The extension of the generated documentation files (defaults to markdown .md)
     protected String docExtension;
     protected String ignoreFilePathOverride;
     // flag to indicate whether to use environment variable to post process file
     protected boolean enablePostProcessFile = false;
+    // number of threads used to render model/api files (1 = sequential)
+    protected int generationThreads = 1;
+    // flag to indicate whether files with identical content are left untouched
+    protected boolean batchPostProcessFile = false;
+    protected boolean skipUnchangedFiles = false;
+    // flag to indicate whether only models/apis with changed inputs are rendered
+    protected boolean incrementalGeneration = false;
 
 
     public List<CliOption> cliOptions() {
@@ -203,6 +217,26 @@ public class DefaultCodegen implements CodegenConfig {
             this.setEnablePostProcessFile(Boolean.valueOf(additionalProperties
                     .get(CodegenConstants.ENABLE_POST_PROCESS_FILE).toString()));
         }
+
+        if (additionalProperties.containsKey(CodegenConstants.GENERATION_THREADS)) {
+            this.setGenerationThreads(Integer.parseInt(additionalProperties
+                    .get(CodegenConstants.GENERATION_THREADS).toString()));
+        }
+
+        if (additionalProperties.containsKey(CodegenConstants.BATCH_POST_PROCESS_FILE)) {
+            this.setBatchPostProcessFile(Boolean.valueOf(additionalProperties
+                    .get(CodegenConstants.BATCH_POST_PROCESS_FILE).toString()));
+        }
+
+        if (additionalProperties.containsKey(CodegenConstants.SKIP_UNCHANGED_FILES)) {
+            this.setSkipUnchangedFiles(Boolean.valueOf(additionalProperties
+                    .get(CodegenConstants.SKIP_UNCHANGED_FILES).toString()));
+        }
+
+        if (additionalProperties.containsKey(CodegenConstants.INCREMENTAL_GENERATION)) {
+            this.setIncrementalGeneration(Boolean.valueOf(additionalProperties
+                    .get(CodegenConstants.INCREMENTAL_GENERATION).toString()));
+        }
     }
 
     // override with any special post-processing for all models
@@ -1541,7 +1575,7 @@ public class DefaultCodegen implements CodegenConfig {
         m.classname = toModelName(name);
         m.classVarName = toVarName(name);
         m.classFilename = toModelFilename(name);
-        m.modelJson = Json.pretty(schema);
+        m.setModelJsonSource(schema);
         m.externalDocumentation = schema.getExternalDocs();
         if (schema.getExtensions() != null && !schema.getExtensions().isEmpty()) {
             m.getVendorExtensions().putAll(schema.getExtensions());
@@ -1684,7 +1718,7 @@ public class DefaultCodegen implements CodegenConfig {
                 postProcessModelProperty(m, prop);
             }
         }
-        LOGGER.debug("debugging fromModel return: " + m);
+        LOGGER.debug("debugging fromModel return: {}", m);
 
         return m;
     }
@@ -1703,21 +1737,36 @@ public class DefaultCodegen implements CodegenConfig {
                 discriminator.getMappedModels().add(new MappedModel(e.getKey(), name));
             }
         } else {
-            allDefinitions.forEach((childName, child) -> {
-                if (child instanceof ComposedSchema && ((ComposedSchema) child).getAllOf() != null) {
-                    Set<String> parentSchemas = ((ComposedSchema) child).getAllOf().stream()
-                            .filter(s -> s.get$ref() != null)
-                            .map(s -> ModelUtils.getSimpleRef(s.get$ref()))
-                            .collect(Collectors.toSet());
-                    if (parentSchemas.contains(schemaName)) {
-                        discriminator.getMappedModels().add(new MappedModel(childName, childName));
-                    }
-                }
-            });
+            for (String childName : getInheritanceIndex(allDefinitions).getChildren(schemaName)) {
+                discriminator.getMappedModels().add(new MappedModel(childName, childName));
+            }
         }
         return discriminator;
     }
 
+    /**
+     * Forget the inheritance index, which is otherwise only rebuilt for another map of schemas (or once the map is
+     * resized): to be called once the schemas are modified, e.g. after an allOf is changed.
+     */
+    public void invalidateInheritanceIndex() {
+        inheritanceIndex = null;
+    }
+
+    /**
+     * Get the inheritance index of the given schemas, (re)building it if it was built for other schemas.
+     *
+     * @param allDefinitions a map of all OAS models from the spec
+     * @return the inheritance index
+     */
+    protected InheritanceIndex getInheritanceIndex(Map<String, Schema> allDefinitions) {
+        InheritanceIndex index = inheritanceIndex;
+        if (index == null || !index.isIndexOf(allDefinitions)) {
+            index = new InheritanceIndex(allDefinitions);
+            inheritanceIndex = index;
+        }
+        return index;
+    }
+
     protected void addAdditionPropertiesToCodeGenModel(CodegenModel codegenModel, Schema schema) {
         addParentContainer(codegenModel, codegenModel.name, schema);
     }
@@ -1737,8 +1786,17 @@ public class DefaultCodegen implements CodegenConfig {
         }
 
         if (StringUtils.isNotBlank(schema.get$ref())) {
-            Schema interfaceSchema = allSchemas.get(ModelUtils.getSimpleRef(schema.get$ref()));
-            addProperties(properties, required, interfaceSchema, allSchemas);
+            String ref = ModelUtils.getSimpleRef(schema.get$ref());
+            InheritanceIndex index = getInheritanceIndex(allSchemas);
+            InheritanceIndex.ResolvedProperties resolved = index.getResolvedProperties(ref);
+            if (resolved == null) {
+                Map<String, Schema> refProperties = new LinkedHashMap<String, Schema>();
+                List<String> refRequired = new ArrayList<String>();
+                addProperties(refProperties, refRequired, allSchemas.get(ref), allSchemas);
+                resolved = index.putResolvedProperties(ref, refProperties, refRequired);
+            }
+            properties.putAll(resolved.getProperties());
+            required.addAll(resolved.getRequired());
             return;
         }
         if (schema.getProperties() != null) {
@@ -1774,7 +1832,7 @@ public class DefaultCodegen implements CodegenConfig {
             LOGGER.error("Unexpected missing property for name " + name);
             return null;
         }
-        LOGGER.debug("debugging fromProperty for " + name + " : " + p);
+        LOGGER.debug("debugging fromProperty for {} : {}", name, p);
         CodegenProperty property = CodegenModelFactory.newInstance(CodegenModelType.PROPERTY);
         property.name = toVarName(name);
         property.baseName = name;
@@ -1788,7 +1846,7 @@ public class DefaultCodegen implements CodegenConfig {
         property.example = toExampleValue(p);
         property.defaultValue = toDefaultValue(p);
         property.defaultValueWithParam = toDefaultValueWithParam(name, p);
-        property.jsonSchema = Json.pretty(p);
+        property.setJsonSchemaSource(p);
         if (p.getReadOnly() != null) {
             property.isReadOnly = p.getReadOnly();
         }
@@ -2028,7 +2086,7 @@ public class DefaultCodegen implements CodegenConfig {
             setNonArrayMapProperty(property, type);
         }
 
-        LOGGER.debug("debugging from property return: " + property);
+        LOGGER.debug("debugging from property return: {}", property);
         return property;
     }
 
@@ -2565,7 +2623,7 @@ public class DefaultCodegen implements CodegenConfig {
         // TODO need to revise and test examples in responses
         // ApiResponse does not support examples at the moment
         //r.examples = toExamples(response.getExamples());
-        r.jsonSchema = Json.pretty(response);
+        r.setJsonSchemaSource(response);
         if (response.getExtensions() != null && !response.getExtensions().isEmpty()) {
             r.vendorExtensions.putAll(response.getExtensions());
         }
@@ -2744,11 +2802,11 @@ public class DefaultCodegen implements CodegenConfig {
         if (parameter.getRequired() != null) {
             codegenParameter.required = parameter.getRequired();
         }
-        codegenParameter.jsonSchema = Json.pretty(parameter);
+        codegenParameter.setJsonSchemaSource(parameter);
 
-        if (System.getProperty("debugParser") != null) {
+        if (GeneratorProperties.getProperty("debugParser") != null) {
             LOGGER.info("working on Parameter " + parameter.getName());
-            LOGGER.info("JSON schema: " + codegenParameter.jsonSchema);
+            LOGGER.info("JSON schema: " + codegenParameter.getJsonSchema());
         }
 
         if (parameter.getExtensions() != null && !parameter.getExtensions().isEmpty()) {
@@ -3010,7 +3068,7 @@ public class DefaultCodegen implements CodegenConfig {
         setParameterExampleValue(codegenParameter, parameter);
 
         postProcessParameter(codegenParameter);
-        LOGGER.debug("debugging codegenParameter return: " + codegenParameter);
+        LOGGER.debug("debugging codegenParameter return: {}", codegenParameter);
         return codegenParameter;
     }
 
@@ -3760,11 +3818,6 @@ public class DefaultCodegen implements CodegenConfig {
      * @return sanitized string
      */
     public String sanitizeName(String name, String removeCharRegEx) {
-        // NOTE: performance wise, we should have written with 2 replaceAll to replace desired
-        // character with _ or empty character. Below aims to spell out different cases we've
-        // encountered so far and hopefully make it easier for others to add more special
-        // cases in the future.
-
         // better error handling when map/array type is invalid
         if (name == null) {
             LOGGER.error("String to be sanitized is null. Default to ERROR_UNKNOWN");
@@ -3776,38 +3829,21 @@ public class DefaultCodegen implements CodegenConfig {
             return "value";
         }
 
-        // input[] => input
-        name = name.replaceAll("\\[\\]", ""); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-
-        // input[a][b] => input_a_b
-        name = name.replaceAll("\\[", "_");
-        name = name.replaceAll("\\]", "");
-
-        // input(a)(b) => input_a_b
-        name = name.replaceAll("\\(", "_");
-        name = name.replaceAll("\\)", "");
-
-        // input.name => input_name
-        name = name.replaceAll("\\.", "_");
-
-        // input-name => input_name
-        name = name.replaceAll("-", "_");
-
-        // a|b => a_b
-        name = name.replace("|", "_");
-
-        // input name and age => input_name_and_age
-        name = name.replaceAll(" ", "_");
+        return getNameSanitizer(removeCharRegEx).sanitize(name);
+    }
 
-        // remove everything else other than word, number and _
-        // $php_variable => php_variable
-        if (allowUnicodeIdentifiers) { //could be converted to a single line with ?: operator
-            name = Pattern.compile(removeCharRegEx, Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
-        } else {
-            name = name.replaceAll(removeCharRegEx, "");
+    /**
+     * @param removeCharRegEx a regex containing all char that will be removed
+     * @return the (memoizing) sanitizer for the regex and the current allowUnicodeIdentifiers option
+     */
+    private NameSanitizer getNameSanitizer(String removeCharRegEx) {
+        boolean unicode = Boolean.TRUE.equals(allowUnicodeIdentifiers);
+        NameSanitizer sanitizer = nameSanitizers.get(removeCharRegEx);
+        if (sanitizer == null || sanitizer.isAllowUnicodeIdentifiers() != unicode) {
+            sanitizer = new NameSanitizer(removeCharRegEx, unicode);
+            nameSanitizers.put(removeCharRegEx, sanitizer);
         }
-
-        return name;
+        return sanitizer;
     }
 
     /**
@@ -3820,7 +3856,7 @@ public class DefaultCodegen implements CodegenConfig {
         tag = camelize(sanitizeName(tag));
 
         // tag starts with numbers
-        if (tag.matches("^\\d.*")) {
+        if (STARTS_WITH_DIGIT.matcher(tag).matches()) {
             tag = "Class" + tag;
         }
 
@@ -4295,7 +4331,7 @@ public class DefaultCodegen implements CodegenConfig {
     public List<CodegenParameter> fromRequestBodyToFormParameters(RequestBody
                                                                           body, Map<String, Schema> schemas, Set<String> imports) {
         List<CodegenParameter> parameters = new ArrayList<CodegenParameter>();
-        LOGGER.debug("debugging fromRequestBodyToFormParameters= " + body);
+        LOGGER.debug("debugging fromRequestBodyToFormParameters= {}", body);
         Schema schema = ModelUtils.getSchemaFromRequestBody(body);
         if (StringUtils.isNotBlank(schema.get$ref())) {
             schema = schemas.get(ModelUtils.getSimpleRef(schema.get$ref()));
@@ -4380,7 +4416,7 @@ public class DefaultCodegen implements CodegenConfig {
         codegenParameter.dataFormat = codegenProperty.dataFormat;
         codegenParameter.description = escapeText(codegenProperty.description);
         codegenParameter.unescapedDescription = codegenProperty.getDescription();
-        codegenParameter.jsonSchema = Json.pretty(propertySchema);
+        codegenParameter.setJsonSchemaSource(propertySchema);
         codegenParameter.defaultValue = codegenProperty.getDefaultValue();
 
         if (codegenProperty.getVendorExtensions() != null && !codegenProperty.getVendorExtensions().isEmpty()) {
@@ -4743,6 +4779,24 @@ public class DefaultCodegen implements CodegenConfig {
      */
     public void postProcessFile(File file, String fileType) {
         LOGGER.debug("Post processing file {} ({})", file, fileType);
+        String command = getPostProcessFileCommand(file, fileType);
+        if (command != null) {
+            FilePostProcessor.run(command, file);
+        }
+    }
+
+    /**
+     * Return the external command post-processing the auto-generated file, e.g. "gofmt -w". The file is appended
+     * to the arguments of the command. During a generation, the files sharing a command are post-processed
+     * together once all files are generated (see {@link FilePostProcessor}), instead of calling
+     * {@link #postProcessFile(File, String)}.
+     *
+     * @param file     file to be processed
+     * @param fileType file type, see {@link #postProcessFile(File, String)}
+     * @return the command, or null if the file is not post-processed by an external command
+     */
+    public String getPostProcessFileCommand(File file, String fileType) {
+        return null;
     }
 
     /**
@@ -4763,4 +4817,86 @@ public class DefaultCodegen implements CodegenConfig {
         this.enablePostProcessFile = enablePostProcessFile;
     }
 
+    /**
+     * Number of threads used to render and write model and API files.
+     *
+     * @return the number of threads, 1 if rendering is sequential
+     */
+    public int getGenerationThreads() {
+        return generationThreads;
+    }
+
+    /**
+     * Set the number of threads used to render and write model and API files. Values lower than 1 are treated as 1.
+     *
+     * @param generationThreads number of threads
+     */
+    public void setGenerationThreads(int generationThreads) {
+        this.generationThreads = Math.max(1, generationThreads);
+    }
+
+    /**
+     * Boolean value indicating whether the post-processing commands receive several files at once.
+     *
+     * @return true if the files are post-processed in batches
+     */
+    public boolean isBatchPostProcessFile() {
+        return batchPostProcessFile;
+    }
+
+    /**
+     * Set whether the files sharing a post-processing command (see {@link #getPostProcessFileCommand(File, String)})
+     * are passed to a single invocation of the command, rather than one invocation per file as by default. Only
+     * enable it when the commands (e.g. the scripts set in the *_POST_PROCESS_FILE variables) accept several files.
+     *
+     * @param batchPostProcessFile true to post-process the files in batches
+     */
+    public void setBatchPostProcessFile(boolean batchPostProcessFile) {
+        this.batchPostProcessFile = batchPostProcessFile;
+    }
+
+    /**
+     * Boolean value indicating whether existing files are left untouched when the generated content is identical.
+     *
+     * @return true if unchanged files are not rewritten
+     */
+    public boolean isSkipUnchangedFiles() {
+        return skipUnchangedFiles;
+    }
+
+    /**
+     * Set whether existing files are left untouched (keeping their modification time) when the generated
+     * content is identical, so that incremental builds of the generated code do not recompile them.
+     * <p>
+     * When files are post-processed (see {@link #isEnablePostProcessFile()}), the rendered content is compared with
+     * the one recorded in the generation manifest by the previous generation rather than with the existing file, and
+     * unchanged files are not post-processed again. Changes made to such a file since the previous generation, e.g.
+     * by hand or by another formatter, are then kept until its rendered content changes.
+     *
+     * @param skipUnchangedFiles true to not rewrite unchanged files
+     */
+    public void setSkipUnchangedFiles(boolean skipUnchangedFiles) {
+        this.skipUnchangedFiles = skipUnchangedFiles;
+    }
+
+    /**
+     * Boolean value indicating whether only the models and APIs whose inputs changed are rendered.
+     *
+     * @return true if generation is incremental
+     */
+    public boolean isIncrementalGeneration() {
+        return incrementalGeneration;
+    }
+
+    /**
+     * Set whether only the models and APIs whose inputs changed since the previous generation are rendered,
+     * see {@link GenerationManifest}. The files of the models and APIs removed from the specification are then
+     * deleted, unless matched by the {@code .openapi-generator-ignore} rules.
+     *
+     * @param incrementalGeneration true to enable incremental generation
+     */
+    public void setIncrementalGeneration(boolean incrementalGeneration) {
+        this.incrementalGeneration = incrementalGeneration;
+    }
+
 }
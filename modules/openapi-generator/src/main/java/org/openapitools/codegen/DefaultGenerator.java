@@ -41,13 +41,20 @@ import org.openapitools.codegen.ignore.CodegenIgnoreProcessor;
 //import org.openapitools.codegen.languages.AbstractJavaCodegen;
 import org.openapitools.codegen.utils.ImplementationVersion;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SchemaReferenceGraph;
 import org.openapitools.codegen.utils.URLPathUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.net.*;
+import java.nio.file.Path;
 import java.time.ZonedDateTime;
 
 public class DefaultGenerator extends AbstractGenerator implements Generator {
@@ -56,6 +63,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected ClientOptInput opts;
     protected OpenAPI openAPI;
     protected CodegenIgnoreProcessor ignoreProcessor;
+    protected TemplateCache templateCache = new TemplateCache();
     private Boolean generateApis = null;
     private Boolean generateModels = null;
     private Boolean generateSupportingFiles = null;
@@ -68,6 +76,16 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private String basePathWithoutHost;
     private String contextPath;
     private Map<String, String> generatorPropertyDefaults = new HashMap<>();
+    private GenerationManifest manifest;
+    // the reference graph of the schemas of the generation, once the specification is preprocessed and flattened
+    private SchemaReferenceGraph schemaReferenceGraph;
+    private GenerationManifest previousManifest;
+    // files left untouched by this generation, which are not post-processed again
+    private final Set<String> unchangedFiles = ConcurrentHashMap.newKeySet();
+    private final List<PendingFile> pendingFiles = new ArrayList<>();
+    private GenerationTimings timings = GenerationTimings.disabled();
+    // files to post-process with an external command once all files are written, sized once the config is processed
+    private FilePostProcessor filePostProcessor = new FilePostProcessor(1, false);
 
     @Override
     public Generator opts(ClientOptInput opts) {
@@ -75,6 +93,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         this.openAPI = opts.getOpenAPI();
         this.config = opts.getConfig();
         this.config.additionalProperties().putAll(opts.getOpts().getProperties());
+        this.timings = opts.getTimings();
 
         String ignoreFileLocation = this.config.getIgnoreFilePathOverride();
         if (ignoreFileLocation != null) {
@@ -116,6 +135,26 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         this.generatorPropertyDefaults.put(key, value);
     }
 
+    @Override
+    protected boolean isSkipUnchangedFiles() {
+        return config != null && config.isSkipUnchangedFiles();
+    }
+
+    /**
+     * Share a template cache between generator instances, e.g. when several generations run in one process.
+     *
+     * @param templateCache the template cache to use
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setTemplateCache(TemplateCache templateCache) {
+        this.templateCache = templateCache;
+    }
+
+    @SuppressWarnings("WeakerAccess")
+    public TemplateCache getTemplateCache() {
+        return templateCache;
+    }
+
     private Boolean getGeneratorPropertyDefaultSwitch(final String key, final Boolean defaultValue) {
         String result = null;
         if (this.generatorPropertyDefaults.containsKey(key)) {
@@ -130,9 +169,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private void configureGeneratorProperties() {
         // allows generating only models by specifying a CSV of models to generate, or empty for all
         // NOTE: Boolean.TRUE is required below rather than `true` because of JVM boxing constraints and type inference.
-        generateApis = System.getProperty(CodegenConstants.APIS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
-        generateModels = System.getProperty(CodegenConstants.MODELS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
-        generateSupportingFiles = System.getProperty(CodegenConstants.SUPPORTING_FILES) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
+        generateApis = GeneratorProperties.getProperty(CodegenConstants.APIS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
+        generateModels = GeneratorProperties.getProperty(CodegenConstants.MODELS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
+        generateSupportingFiles = GeneratorProperties.getProperty(CodegenConstants.SUPPORTING_FILES) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
 
         if (generateApis == null && generateModels == null && generateSupportingFiles == null) {
             // no specifics are set, generate everything
@@ -150,10 +189,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
         // model/api tests and documentation options rely on parent generate options (api or model) and no other options.
         // They default to true in all scenarios and can only be marked false explicitly
-        generateModelTests = System.getProperty(CodegenConstants.MODEL_TESTS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
-        generateModelDocumentation = System.getProperty(CodegenConstants.MODEL_DOCS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
-        generateApiTests = System.getProperty(CodegenConstants.API_TESTS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
-        generateApiDocumentation = System.getProperty(CodegenConstants.API_DOCS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
+        generateModelTests = GeneratorProperties.getProperty(CodegenConstants.MODEL_TESTS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
+        generateModelDocumentation = GeneratorProperties.getProperty(CodegenConstants.MODEL_DOCS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
+        generateApiTests = GeneratorProperties.getProperty(CodegenConstants.API_TESTS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
+        generateApiDocumentation = GeneratorProperties.getProperty(CodegenConstants.API_DOCS) != null ? Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
 
 
         // Additional properties added for tests to exclude references in project related files
@@ -170,9 +209,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             config.additionalProperties().put(CodegenConstants.EXCLUDE_TESTS, true);
         }
 
-        if (System.getProperty("debugOpenAPI") != null) {
+        if (GeneratorProperties.getProperty("debugOpenAPI") != null) {
             Json.prettyPrint(openAPI);
-        } else if (System.getProperty("debugSwagger") != null) {
+        } else if (GeneratorProperties.getProperty("debugSwagger") != null) {
             // This exists for backward compatibility
             // We fall to this block only if debugOpenAPI is null. No need to dump this twice.
             LOGGER.info("Please use system property 'debugOpenAPI' instead of 'debugSwagger'.");
@@ -265,54 +304,42 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             String suffix = config.modelTestTemplateFiles().get(templateName);
             String filename = config.modelTestFileFolder() + File.separator + config.toModelTestFilename(modelName) + suffix;
             // do not overwrite test file that already exists
-            if (new File(filename).exists()) {
+            if (outputSink.exists(filename)) {
                 LOGGER.info("File exists. Skipped overwriting " + filename);
+                countSkippedFile();
+                addModelOrApiFile(filename);
                 continue;
             }
-            File written = processTemplateToFile(models, templateName, filename);
-            if (written != null) {
-                files.add(written);
-                if (config.isEnablePostProcessFile()) {
-                    config.postProcessFile(written, "model-test");
-                }
-            }
+            renderFile(files, models, templateName, filename, "model-test", "Could not generate model '" + modelName + "'", false, null);
         }
     }
 
-    private void generateModelDocumentation(List<File> files, Map<String, Object> models, String modelName) throws IOException {
+    private void generateModelDocumentation(List<File> files, Map<String, Object> models, String modelName, boolean upToDate) throws IOException {
         for (String templateName : config.modelDocTemplateFiles().keySet()) {
             String docExtension = config.getDocExtension();
             String suffix = docExtension != null ? docExtension : config.modelDocTemplateFiles().get(templateName);
             String filename = config.modelDocFileFolder() + File.separator + config.toModelDocFilename(modelName) + suffix;
             if (!config.shouldOverwrite(filename)) {
                 LOGGER.info("Skipped overwriting " + filename);
+                countSkippedFile();
+                addModelOrApiFile(filename);
                 continue;
             }
-            File written = processTemplateToFile(models, templateName, filename);
-            if (written != null) {
-                files.add(written);
-                if (config.isEnablePostProcessFile()) {
-                    config.postProcessFile(written, "model-doc");
-                }
-            }
+            renderFile(files, models, templateName, filename, "model-doc", "Could not generate model '" + modelName + "'", upToDate, null);
         }
     }
 
-    private void generateModel(List<File> files, Map<String, Object> models, String modelName) throws IOException {
+    private void generateModel(List<File> files, Map<String, Object> models, String modelName, boolean upToDate) throws IOException {
         for (String templateName : config.modelTemplateFiles().keySet()) {
             String suffix = config.modelTemplateFiles().get(templateName);
             String filename = config.modelFileFolder() + File.separator + config.toModelFilename(modelName) + suffix;
             if (!config.shouldOverwrite(filename)) {
                 LOGGER.info("Skipped overwriting " + filename);
+                countSkippedFile();
+                addModelOrApiFile(filename);
                 continue;
             }
-            File written = processTemplateToFile(models, templateName, filename);
-            if (written != null) {
-                files.add(written);
-                if (config.isEnablePostProcessFile()) {
-                    config.postProcessFile(written, "model");
-                }
-            }
+            renderFile(files, models, templateName, filename, "model", "Could not generate model '" + modelName + "'", upToDate, null);
         }
     }
 
@@ -326,7 +353,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
 
-        String modelNames = System.getProperty("models");
+        String modelNames = GeneratorProperties.getProperty("models");
         Set<String> modelsToGenerate = null;
         if (modelNames != null && !modelNames.isEmpty()) {
             modelsToGenerate = new HashSet<String>(Arrays.asList(modelNames.split(",")));
@@ -399,82 +426,95 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             } */
         });
 
-        Boolean skipFormModel = System.getProperty(CodegenConstants.SKIP_FORM_MODEL) != null ?
-                Boolean.valueOf(System.getProperty(CodegenConstants.SKIP_FORM_MODEL)) :
+        Boolean skipFormModel = GeneratorProperties.getProperty(CodegenConstants.SKIP_FORM_MODEL) != null ?
+                Boolean.valueOf(GeneratorProperties.getProperty(CodegenConstants.SKIP_FORM_MODEL)) :
                 getGeneratorPropertyDefaultSwitch(CodegenConstants.SKIP_FORM_MODEL, false);
 
         // process models only
-        for (String name : modelKeys) {
-            try {
-                //don't generate models that have an import mapping
-                if (config.importMapping().containsKey(name)) {
-                    LOGGER.debug("Model " + name + " not imported due to import mapping");
-                    continue;
-                }
-
-                // don't generate models that are not used as object (e.g. form parameters)
-                if (unusedModels.contains(name)) {
-                    if (Boolean.FALSE.equals(skipFormModel)) {
-                        // if skipFormModel sets to true, still generate the model and log the result
-                        LOGGER.info("Model " + name + " (marked as unused due to form parameters) is generated due to skipFormModel=false (default)");
-                    } else {
-                        LOGGER.info("Model " + name + " not generated since it's marked as unused (due to form parameters) and skipFormModel set to true");
+        try (GenerationTimings.Timer fromModelTimer = timings.phase("fromModel")) {
+            for (String name : modelKeys) {
+                try {
+                    //don't generate models that have an import mapping
+                    if (config.importMapping().containsKey(name)) {
+                        LOGGER.debug("Model " + name + " not imported due to import mapping");
                         continue;
                     }
-                }
 
-                Schema schema = schemas.get(name);
-                Map<String, Schema> schemaMap = new HashMap<>();
-                schemaMap.put(name, schema);
-                Map<String, Object> models = processModels(config, schemaMap, schemas);
-                models.put("classname", config.toModelName(name));
-                models.putAll(config.additionalProperties());
-                allProcessedModels.put(name, models);
-            } catch (Exception e) {
-                throw new RuntimeException("Could not process model '" + name + "'" + ".Please make sure that your schema is correct!", e);
+                    // don't generate models that are not used as object (e.g. form parameters)
+                    if (unusedModels.contains(name)) {
+                        if (Boolean.FALSE.equals(skipFormModel)) {
+                            // if skipFormModel sets to true, still generate the model and log the result
+                            LOGGER.info("Model " + name + " (marked as unused due to form parameters) is generated due to skipFormModel=false (default)");
+                        } else {
+                            LOGGER.info("Model " + name + " not generated since it's marked as unused (due to form parameters) and skipFormModel set to true");
+                            continue;
+                        }
+                    }
+
+                    Schema schema = schemas.get(name);
+                    Map<String, Schema> schemaMap = new HashMap<>();
+                    schemaMap.put(name, schema);
+                    Map<String, Object> models;
+                    try (GenerationTimings.Timer modelTimer = timings.detail(GenerationTimings.MODELS, name)) {
+                        models = processModels(config, schemaMap, schemas);
+                    }
+                    models.put("classname", config.toModelName(name));
+                    models.putAll(config.additionalProperties());
+                    allProcessedModels.put(name, models);
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not process model '" + name + "'" + ".Please make sure that your schema is correct!", e);
+                }
             }
         }
 
         // post process all processed models
-        allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        try (GenerationTimings.Timer postProcessTimer = timings.phase("postProcessAllModels")) {
+            allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        }
 
         // generate files based on processed models
-        for (String modelName : allProcessedModels.keySet()) {
-            Map<String, Object> models = (Map<String, Object>) allProcessedModels.get(modelName);
-            models.put("modelPackage", config.modelPackage());
-            try {
-                //don't generate models that have an import mapping
-                if (config.importMapping().containsKey(modelName)) {
-                    continue;
-                }
+        try (GenerationTimings.Timer renderTimer = timings.phase("renderModels")) {
+            for (String modelName : allProcessedModels.keySet()) {
+                Map<String, Object> models = (Map<String, Object>) allProcessedModels.get(modelName);
+                models.put("modelPackage", config.modelPackage());
+                try {
+                    //don't generate models that have an import mapping
+                    if (config.importMapping().containsKey(modelName)) {
+                        continue;
+                    }
 
-                Map<String, Object> modelTemplate = (Map<String, Object>) ((List<Object>) models.get("models")).get(0);
-                // Special handling of aliases only applies to Java
-                if (modelTemplate != null && modelTemplate.containsKey("model")) {
-                    CodegenModel m = (CodegenModel) modelTemplate.get("model");
-                    if (m.isAlias) {
-                        continue;  // Don't create user-defined classes for aliases
+                    Map<String, Object> modelTemplate = (Map<String, Object>) ((List<Object>) models.get("models")).get(0);
+                    // Special handling of aliases only applies to Java
+                    if (modelTemplate != null && modelTemplate.containsKey("model")) {
+                        CodegenModel m = (CodegenModel) modelTemplate.get("model");
+                        if (m.isAlias) {
+                            continue;  // Don't create user-defined classes for aliases
+                        }
                     }
-                }
 
-                allModels.add(modelTemplate);
+                    allModels.add(modelTemplate);
 
-                // to generate model files
-                generateModel(files, models, modelName);
+                    // models are always processed (supporting files need them), but only rendered if their inputs changed
+                    boolean upToDate = manifest != null && manifest.isModelUnchanged(previousManifest, modelName);
 
-                if (generateModelTests) {
-                    // to generate model test files
-                    generateModelTests(files, models, modelName);
-                }
-                if (generateModelDocumentation) {
-                    // to generate model documentation files
-                    generateModelDocumentation(files, models, modelName);
+                    // to generate model files
+                    generateModel(files, models, modelName, upToDate);
+
+                    if (generateModelTests) {
+                        // to generate model test files
+                        generateModelTests(files, models, modelName);
+                    }
+                    if (generateModelDocumentation) {
+                        // to generate model documentation files
+                        generateModelDocumentation(files, models, modelName, upToDate);
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not generate model '" + modelName + "'", e);
                 }
-            } catch (Exception e) {
-                throw new RuntimeException("Could not generate model '" + modelName + "'", e);
             }
+            renderPendingFiles(files);
         }
-        if (System.getProperty("debugModels") != null) {
+        if (GeneratorProperties.getProperty("debugModels") != null) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
         }
@@ -485,9 +525,15 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (!generateApis) {
             return;
         }
-        Map<String, List<CodegenOperation>> paths = processPaths(this.openAPI.getPaths());
+        Map<String, List<CodegenOperation>> paths;
+        try (GenerationTimings.Timer fromOperationTimer = timings.phase("fromOperation")) {
+            paths = processPaths(this.openAPI.getPaths());
+        }
+        if (manifest != null && config.isIncrementalGeneration()) {
+            manifest.putApis(openAPI, paths);
+        }
         Set<String> apisToGenerate = null;
-        String apiNames = System.getProperty("apis");
+        String apiNames = GeneratorProperties.getProperty("apis");
         if (apiNames != null && !apiNames.isEmpty()) {
             apisToGenerate = new HashSet<String>(Arrays.asList(apiNames.split(",")));
         }
@@ -500,135 +546,126 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
             paths = updatedPaths;
         }
-        for (String tag : paths.keySet()) {
-            try {
-                List<CodegenOperation> ops = paths.get(tag);
-                Collections.sort(ops, new Comparator<CodegenOperation>() {
-                    @Override
-                    public int compare(CodegenOperation one, CodegenOperation another) {
-                        return ObjectUtils.compare(one.operationId, another.operationId);
-                    }
-                });
-                Map<String, Object> operation = processOperations(config, tag, ops, allModels);
-
-                operation.put("basePath", basePath);
-                operation.put("basePathWithoutHost", basePathWithoutHost);
-                operation.put("contextPath", contextPath);
-                operation.put("baseName", tag);
-                operation.put("apiPackage", config.apiPackage());
-                operation.put("modelPackage", config.modelPackage());
-                operation.putAll(config.additionalProperties());
-                operation.put("classname", config.toApiName(tag));
-                operation.put("classVarName", config.toApiVarName(tag));
-                operation.put("importPath", config.toApiImport(tag));
-                operation.put("classFilename", config.toApiFilename(tag));
-
-                if (allModels == null || allModels.isEmpty()) {
-                    operation.put("hasModel", false);
-                } else {
-                    operation.put("hasModel", true);
-                }
-
-                if (!config.vendorExtensions().isEmpty()) {
-                    operation.put("vendorExtensions", config.vendorExtensions());
-                }
-
-                // process top-level x-group-parameters
-                if (config.vendorExtensions().containsKey("x-group-parameters")) {
-                    Boolean isGroupParameters = Boolean.valueOf(config.vendorExtensions().get("x-group-parameters").toString());
-
-                    Map<String, Object> objectMap = (Map<String, Object>) operation.get("operations");
-                    @SuppressWarnings("unchecked")
-                    List<CodegenOperation> operations = (List<CodegenOperation>) objectMap.get("operation");
-                    for (CodegenOperation op : operations) {
-                        op.httpMethod = op.httpMethod.toLowerCase(Locale.ROOT);
-                        if (!op.vendorExtensions.containsKey("x-group-parameters")) {
-                            op.vendorExtensions.put("x-group-parameters", Boolean.TRUE);
+        try (GenerationTimings.Timer renderTimer = timings.phase("renderApis")) {
+            for (String tag : paths.keySet()) {
+                try (GenerationTimings.Timer apiTimer = timings.detail(GenerationTimings.APIS, tag)) {
+                    List<CodegenOperation> ops = paths.get(tag);
+                    Collections.sort(ops, new Comparator<CodegenOperation>() {
+                        @Override
+                        public int compare(CodegenOperation one, CodegenOperation another) {
+                            return ObjectUtils.compare(one.operationId, another.operationId);
                         }
+                    });
+                    Map<String, Object> operation = processOperations(config, tag, ops, allModels);
+
+                    operation.put("basePath", basePath);
+                    operation.put("basePathWithoutHost", basePathWithoutHost);
+                    operation.put("contextPath", contextPath);
+                    operation.put("baseName", tag);
+                    operation.put("apiPackage", config.apiPackage());
+                    operation.put("modelPackage", config.modelPackage());
+                    operation.putAll(config.additionalProperties());
+                    operation.put("classname", config.toApiName(tag));
+                    operation.put("classVarName", config.toApiVarName(tag));
+                    operation.put("importPath", config.toApiImport(tag));
+                    operation.put("classFilename", config.toApiFilename(tag));
+
+                    if (allModels == null || allModels.isEmpty()) {
+                        operation.put("hasModel", false);
+                    } else {
+                        operation.put("hasModel", true);
                     }
-                }
 
-                // Pass sortParamsByRequiredFlag through to the Mustache template...
-                boolean sortParamsByRequiredFlag = true;
-                if (this.config.additionalProperties().containsKey(CodegenConstants.SORT_PARAMS_BY_REQUIRED_FLAG)) {
-                    sortParamsByRequiredFlag = Boolean.valueOf(this.config.additionalProperties().get(CodegenConstants.SORT_PARAMS_BY_REQUIRED_FLAG).toString());
-                }
-                operation.put("sortParamsByRequiredFlag", sortParamsByRequiredFlag);
-
-                /* consumes, produces are no longer defined in OAS3.0
-                processMimeTypes(swagger.getConsumes(), operation, "consumes");
-                processMimeTypes(swagger.getProduces(), operation, "produces");
-                */
-
-                allOperations.add(new HashMap<String, Object>(operation));
-                for (int i = 0; i < allOperations.size(); i++) {
-                    Map<String, Object> oo = (Map<String, Object>) allOperations.get(i);
-                    if (i < (allOperations.size() - 1)) {
-                        oo.put("hasMore", "true");
+                    if (!config.vendorExtensions().isEmpty()) {
+                        operation.put("vendorExtensions", config.vendorExtensions());
                     }
-                }
 
-                for (String templateName : config.apiTemplateFiles().keySet()) {
-                    String filename = config.apiFilename(templateName, tag);
-                    if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
-                        LOGGER.info("Skipped overwriting " + filename);
-                        continue;
+                    // process top-level x-group-parameters
+                    if (config.vendorExtensions().containsKey("x-group-parameters")) {
+                        Boolean isGroupParameters = Boolean.valueOf(config.vendorExtensions().get("x-group-parameters").toString());
+
+                        Map<String, Object> objectMap = (Map<String, Object>) operation.get("operations");
+                        @SuppressWarnings("unchecked")
+                        List<CodegenOperation> operations = (List<CodegenOperation>) objectMap.get("operation");
+                        for (CodegenOperation op : operations) {
+                            op.httpMethod = op.httpMethod.toLowerCase(Locale.ROOT);
+                            if (!op.vendorExtensions.containsKey("x-group-parameters")) {
+                                op.vendorExtensions.put("x-group-parameters", Boolean.TRUE);
+                            }
+                        }
                     }
 
-                    File written = processTemplateToFile(operation, templateName, filename);
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile()) {
-                            config.postProcessFile(written, "api");
+                    // Pass sortParamsByRequiredFlag through to the Mustache template...
+                    boolean sortParamsByRequiredFlag = true;
+                    if (this.config.additionalProperties().containsKey(CodegenConstants.SORT_PARAMS_BY_REQUIRED_FLAG)) {
+                        sortParamsByRequiredFlag = Boolean.valueOf(this.config.additionalProperties().get(CodegenConstants.SORT_PARAMS_BY_REQUIRED_FLAG).toString());
+                    }
+                    operation.put("sortParamsByRequiredFlag", sortParamsByRequiredFlag);
+
+                    /* consumes, produces are no longer defined in OAS3.0
+                    processMimeTypes(swagger.getConsumes(), operation, "consumes");
+                    processMimeTypes(swagger.getProduces(), operation, "produces");
+                    */
+
+                    allOperations.add(new HashMap<String, Object>(operation));
+                    for (int i = 0; i < allOperations.size(); i++) {
+                        Map<String, Object> oo = (Map<String, Object>) allOperations.get(i);
+                        if (i < (allOperations.size() - 1)) {
+                            oo.put("hasMore", "true");
                         }
                     }
-                }
 
-                if (generateApiTests) {
-                    // to generate api test files
-                    for (String templateName : config.apiTestTemplateFiles().keySet()) {
-                        String filename = config.apiTestFilename(templateName, tag);
-                        // do not overwrite test file that already exists
-                        if (new File(filename).exists()) {
-                            LOGGER.info("File exists. Skipped overwriting " + filename);
+                    boolean upToDate = manifest != null && manifest.isApiUnchanged(previousManifest, tag);
+                    for (String templateName : config.apiTemplateFiles().keySet()) {
+                        String filename = config.apiFilename(templateName, tag);
+                        if (!config.shouldOverwrite(filename) && outputSink.exists(filename)) {
+                            LOGGER.info("Skipped overwriting " + filename);
+                            countSkippedFile();
+                            addModelOrApiFile(filename);
                             continue;
                         }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                            if (config.isEnablePostProcessFile()) {
-                                config.postProcessFile(written, "api-test");
-                            }
-                        }
+                        renderFile(files, operation, templateName, filename, "api", "Could not generate api file for '" + tag + "'", upToDate, tag);
                     }
-                }
 
+                    if (generateApiTests) {
+                        // to generate api test files
+                        for (String templateName : config.apiTestTemplateFiles().keySet()) {
+                            String filename = config.apiTestFilename(templateName, tag);
+                            // do not overwrite test file that already exists
+                            if (outputSink.exists(filename)) {
+                                LOGGER.info("File exists. Skipped overwriting " + filename);
+                                countSkippedFile();
+                                addModelOrApiFile(filename);
+                                continue;
+                            }
 
-                if (generateApiDocumentation) {
-                    // to generate api documentation files
-                    for (String templateName : config.apiDocTemplateFiles().keySet()) {
-                        String filename = config.apiDocFilename(templateName, tag);
-                        if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
-                            LOGGER.info("Skipped overwriting " + filename);
-                            continue;
+                            renderFile(files, operation, templateName, filename, "api-test", "Could not generate api file for '" + tag + "'", false, tag);
                         }
+                    }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                            if (config.isEnablePostProcessFile()) {
-                                config.postProcessFile(written, "api-doc");
+
+                    if (generateApiDocumentation) {
+                        // to generate api documentation files
+                        for (String templateName : config.apiDocTemplateFiles().keySet()) {
+                            String filename = config.apiDocFilename(templateName, tag);
+                            if (!config.shouldOverwrite(filename) && outputSink.exists(filename)) {
+                                LOGGER.info("Skipped overwriting " + filename);
+                                countSkippedFile();
+                                addModelOrApiFile(filename);
+                                continue;
                             }
+
+                            renderFile(files, operation, templateName, filename, "api-doc", "Could not generate api file for '" + tag + "'", upToDate, tag);
                         }
                     }
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
                 }
-
-            } catch (Exception e) {
-                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
             }
+            renderPendingFiles(files);
         }
-        if (System.getProperty("debugOperations") != null) {
+        if (GeneratorProperties.getProperty("debugOperations") != null) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allOperations);
         }
@@ -640,10 +677,12 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
         Set<String> supportingFilesToGenerate = null;
-        String supportingFiles = System.getProperty(CodegenConstants.SUPPORTING_FILES);
+        String supportingFiles = GeneratorProperties.getProperty(CodegenConstants.SUPPORTING_FILES);
         if (supportingFiles != null && !supportingFiles.isEmpty()) {
             supportingFilesToGenerate = new HashSet<String>(Arrays.asList(supportingFiles.split(",")));
         }
+        // supporting files may list all models and APIs, so they are up-to-date only if none changed
+        boolean supportingFilesUpToDate = manifest != null && manifest.isUnchanged(previousManifest);
 
         for (SupportingFile support : config.supportingFiles()) {
             try {
@@ -652,12 +691,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     outputFolder += File.separator + support.folder;
                 }
                 File of = new File(outputFolder);
-                if (!of.isDirectory()) {
+                if (outputSink.isFileSystem() && !of.isDirectory()) {
                     of.mkdirs();
                 }
                 String outputFilename = outputFolder + File.separator + support.destinationFilename.replace('/', File.separatorChar);
                 if (!config.shouldOverwrite(outputFilename)) {
                     LOGGER.info("Skipped overwriting " + outputFilename);
+                    countSkippedFile();
                     continue;
                 }
                 String templateFile;
@@ -675,26 +715,16 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 }
 
                 if (ignoreProcessor.allowsFile(new File(outputFilename))) {
+                    if (supportingFilesUpToDate && outputSink.exists(outputFilename)) {
+                        files.add(new File(outputFilename));
+                        keepUpToDateFile(outputFilename);
+                        continue;
+                    }
                     if (templateFile.endsWith("mustache")) {
-                        String template = readTemplate(templateFile);
-                        Mustache.Compiler compiler = Mustache.compiler();
-                        compiler = config.processCompiler(compiler);
-                        Template tmpl = compiler
-                                .withLoader(new Mustache.TemplateLoader() {
-                                    @Override
-                                    public Reader getTemplate(String name) {
-                                        return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                                    }
-                                })
-                                .defaultValue("")
-                                .compile(template);
-
-                        writeToFile(outputFilename, tmpl.execute(bundle));
+                        renderToFile(support.templateFile, templateFile, bundle, outputFilename);
                         File written = new File(outputFilename);
                         files.add(written);
-                        if (config.isEnablePostProcessFile()) {
-                            config.postProcessFile(written, "supporting-mustache");
-                        }
+                        postProcessFile(written, "supporting-mustache");
                     } else {
                         InputStream in = null;
 
@@ -708,12 +738,11 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         }
                         File outputFile = writeInputStreamToFile(outputFilename, in, templateFile);
                         files.add(outputFile);
-                        if (config.isEnablePostProcessFile()) {
-                            config.postProcessFile(outputFile, "supporting-common");
-                        }
+                        postProcessFile(outputFile, "supporting-common");
                     }
                 } else {
                     LOGGER.info("Skipped generation of " + outputFilename + " due to rule in .openapi-generator-ignore");
+                    countSkippedFile();
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate supporting file '" + support + "'", e);
@@ -725,7 +754,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         final String openapiGeneratorIgnore = ".openapi-generator-ignore";
         String ignoreFileNameTarget = config.outputFolder() + File.separator + openapiGeneratorIgnore;
         File ignoreFile = new File(ignoreFileNameTarget);
-        if (generateMetadata && !ignoreFile.exists()) {
+        if (generateMetadata && !outputSink.exists(ignoreFileNameTarget)) {
             String ignoreFileNameSource = File.separator + config.getCommonTemplateDir() + File.separator + openapiGeneratorIgnore;
             String ignoreFileContents = readResourceContents(ignoreFileNameSource);
             try {
@@ -734,9 +763,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 throw new RuntimeException("Could not generate supporting file '" + openapiGeneratorIgnore + "'", e);
             }
             files.add(ignoreFile);
-            if (config.isEnablePostProcessFile()) {
-                config.postProcessFile(ignoreFile, "openapi-generator-ignore");
-            }
+            postProcessFile(ignoreFile, "openapi-generator-ignore");
         }
 
         if (generateMetadata) {
@@ -745,9 +772,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             try {
                 writeToFile(versionMetadata, ImplementationVersion.read());
                 files.add(versionMetadataFile);
-                if (config.isEnablePostProcessFile()) {
-                    config.postProcessFile(ignoreFile, "openapi-generator-version");
-                }
+                postProcessFile(ignoreFile, "openapi-generator-version");
             } catch (IOException e) {
                 throw new RuntimeException("Could not generate supporting file '" + versionMetadata + "'", e);
             }
@@ -776,10 +801,18 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected File writeInputStreamToFile(String filename, InputStream in, String templateFile) throws FileNotFoundException, IOException {
         File outputFile = new File(filename);
         if (in != null) {
-            OutputStream out = new FileOutputStream(outputFile, false);
-            LOGGER.info("writing file " + outputFile);
-            IOUtils.copy(in, out);
-            out.close();
+            try {
+                if (isSkipUnchangedFiles()) {
+                    // supporting files are small, reading them allows comparing with the existing file
+                    writeToFile(filename, IOUtils.toByteArray(in));
+                } else {
+                    LOGGER.info("writing file " + outputFile);
+                    outputSink.write(filename, in);
+                    countWrittenFile();
+                }
+            } finally {
+                in.close();
+            }
         } else {
             LOGGER.error("can't open '" + templateFile + "' for input, can not write '" + filename + "'");
         }
@@ -833,7 +866,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
         config.postProcessSupportingFileData(bundle);
 
-        if (System.getProperty("debugSupportingFiles") != null) {
+        if (GeneratorProperties.getProperty("debugSupportingFiles") != null) {
             LOGGER.info("############ Supporting file info ############");
             Json.prettyPrint(bundle);
         }
@@ -842,7 +875,15 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
     @Override
     public List<File> generate() {
+        if (opts == null) {
+            return generateFiles();
+        }
+        // make the generator properties of this generation visible to the codegen, without touching system properties
+        return GeneratorProperties.runWith(opts.getGeneratorProperties(), this::generateFiles);
+    }
 
+    private List<File> generateFiles() {
+        resetFileCounts();
         if (openAPI == null) {
             throw new RuntimeException("missing OpenAPI input!");
         }
@@ -851,16 +892,26 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             throw new RuntimeException("missing config!");
         }
 
-        configureGeneratorProperties();
-        configureOpenAPIInfo();
+        try (GenerationTimings.Timer configureTimer = timings.phase("configure")) {
+            configureGeneratorProperties();
+            configureOpenAPIInfo();
+        }
+        filePostProcessor = new FilePostProcessor(config.getGenerationThreads(), config.isBatchPostProcessFile());
 
         // resolve inline models
-        InlineModelResolver inlineModelResolver = new InlineModelResolver();
-        inlineModelResolver.flatten(openAPI);
+        try (GenerationTimings.Timer flattenTimer = timings.phase("flatten")) {
+            InlineModelResolver inlineModelResolver = new InlineModelResolver();
+            inlineModelResolver.flatten(openAPI);
+        }
+        // the schemas may have been modified by the preprocessing and the flattening
+        config.invalidateInheritanceIndex();
+        // the specification is no longer modified from here, so its references are analyzed once for the generation
+        schemaReferenceGraph = new SchemaReferenceGraph(openAPI);
+        configureIncrementalGeneration();
 
         List<File> files = new ArrayList<File>();
         // models
-        List<String> filteredSchemas = ModelUtils.getSchemasUsedOnlyInFormParam(openAPI);
+        List<String> filteredSchemas = schemaReferenceGraph.getSchemasUsedOnlyInFormParam();
         List<Object> allModels = new ArrayList<Object>();
         generateModels(files, allModels, filteredSchemas);
         // apis
@@ -868,36 +919,428 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         generateApis(files, allOperations, allModels);
 
         // supporting files
-        Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
-        generateSupportingFiles(files, bundle);
-        config.processOpenAPI(openAPI);
+        try (GenerationTimings.Timer supportingFilesTimer = timings.phase("supportingFiles")) {
+            Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
+            generateSupportingFiles(files, bundle);
+            deleteStaleFiles();
+            writeManifest(files);
+        }
+        try (GenerationTimings.Timer postProcessTimer = timings.phase("postProcessFiles")) {
+            filePostProcessor.run();
+        }
+        try (GenerationTimings.Timer processOpenAPITimer = timings.phase("processOpenAPI")) {
+            config.processOpenAPI(openAPI);
+        }
+        writeTimings(files);
+        LOGGER.info("Template cache: {} hits, {} misses", templateCache.getHitCount(), templateCache.getMissCount());
+        LOGGER.info("Files: {} written, {} unchanged, {} skipped", getWrittenFileCount(), getUnchangedFileCount(), getSkippedFileCount());
         return files;
     }
 
 
+    /**
+     * Compute the fingerprints of this generation and read the ones of the previous generation, if incremental
+     * generation is enabled. Models and APIs whose fingerprints did not change are not rendered again.
+     * <p>
+     * A manifest without fingerprints is also kept when unchanged files are skipped while files are post-processed,
+     * to record the hashes of the rendered files (see {@link #writeToFile(String, byte[])}).
+     */
+    private void configureIncrementalGeneration() {
+        manifest = null;
+        previousManifest = null;
+        unchangedFiles.clear();
+        if (config.isIncrementalGeneration()) {
+            try (GenerationTimings.Timer fingerprintTimer = timings.phase("fingerprints")) {
+                manifest = GenerationManifest.compute(config, openAPI, schemaReferenceGraph,
+                        opts == null ? null : opts.getGeneratorProperties());
+            }
+        } else if (isSkipUnchangedFiles() && isPostProcessingFiles()) {
+            manifest = new GenerationManifest();
+            manifest.setVersion(ImplementationVersion.read());
+        } else {
+            return;
+        }
+        if (outputSink.isFileSystem()) {
+            previousManifest = GenerationManifest.read(new File(config.outputFolder(), GenerationManifest.FILENAME));
+        }
+        if (!config.isIncrementalGeneration()) {
+            return;
+        }
+        if (previousManifest == null) {
+            LOGGER.info("No previous generation manifest found, generating all files");
+        } else if (!manifest.isCompatibleWith(previousManifest)) {
+            LOGGER.info("Generator, options, templates or global parts of the specification changed, generating all files");
+        }
+    }
+
+    /**
+     * Write the report of the {@link GenerationTimings}, if enabled, next to the other metadata.
+     */
+    private void writeTimings(List<File> files) {
+        if (!timings.isEnabled() || !generateMetadata) {
+            return;
+        }
+        String timingsFilename = config.outputFolder() + File.separator + GenerationTimings.FILENAME;
+        try {
+            files.add(writeToFile(timingsFilename, timings.toJson()));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not generate supporting file '" + timingsFilename + "'", e);
+        }
+    }
+
+    /**
+     * Delete the model and API files (including their tests and documentation) of the previous incremental
+     * generation which this generation no longer produces, e.g. the files of the models and APIs removed from the
+     * specification.
+     * <p>
+     * Nothing is deleted when only part of the files is generated (see the {@code models}, {@code apis} and
+     * {@code supportingFiles} generator properties and the tests and documentation switches). Files matched by the
+     * {@code .openapi-generator-ignore} rules or never overwritten (see {@link CodegenConfig#shouldOverwrite(String)})
+     * are kept as well.
+     */
+    private void deleteStaleFiles() {
+        if (!config.isIncrementalGeneration() || previousManifest == null || !outputSink.isFileSystem()
+                || !isGeneratingAllFiles()) {
+            return;
+        }
+        Path root = new File(config.outputFolder()).getAbsoluteFile().toPath().normalize();
+        for (String path : previousManifest.getModelAndApiFiles()) {
+            if (manifest.getModelAndApiFiles().contains(path)) {
+                continue;
+            }
+            File file = root.resolve(path).normalize().toFile();
+            if (!file.toPath().startsWith(root) || !file.isFile()) {
+                continue;
+            }
+            if (!ignoreProcessor.allowsFile(file) || !config.shouldOverwrite(file.getPath())) {
+                LOGGER.info("Kept stale file " + file);
+                continue;
+            }
+            LOGGER.info("Deleting stale file " + file);
+            if (!file.delete()) {
+                LOGGER.warn("Could not delete stale file " + file);
+            }
+        }
+    }
+
+    private boolean isGeneratingAllFiles() {
+        return Boolean.TRUE.equals(generateModels) && Boolean.TRUE.equals(generateApis) && Boolean.TRUE.equals(generateSupportingFiles)
+                && StringUtils.isEmpty(GeneratorProperties.getProperty(CodegenConstants.MODELS))
+                && StringUtils.isEmpty(GeneratorProperties.getProperty(CodegenConstants.APIS))
+                && StringUtils.isEmpty(GeneratorProperties.getProperty(CodegenConstants.SUPPORTING_FILES))
+                && Boolean.TRUE.equals(generateModelTests) && Boolean.TRUE.equals(generateModelDocumentation)
+                && Boolean.TRUE.equals(generateApiTests) && Boolean.TRUE.equals(generateApiDocumentation);
+    }
+
+    private void writeManifest(List<File> files) {
+        if (manifest == null) {
+            return;
+        }
+        String manifestFilename = config.outputFolder() + File.separator + GenerationManifest.FILENAME;
+        try {
+            files.add(writeToFile(manifestFilename, manifest.toJson()));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not generate supporting file '" + manifestFilename + "'", e);
+        }
+    }
+
+    /**
+     * Render a template to a file and post-process it. When more than one generation thread is configured,
+     * the file is only queued here and rendered later by {@link #renderPendingFiles(List)}.
+     * <p>
+     * Files whose inputs did not change since the previous (incremental) generation are kept as they are.
+     *
+     * @param apiTag the tag of the API the file belongs to, to measure its rendering in the {@link GenerationTimings}
+     *               when it is queued, or null
+     */
+    private void renderFile(List<File> files, Map<String, Object> templateData, String templateName, String outputFilename,
+                            String fileType, String errorMessage, boolean upToDate, String apiTag) throws IOException {
+        addModelOrApiFile(outputFilename);
+        File upToDateFile = upToDate ? findUpToDateFile(outputFilename) : null;
+        if (config.getGenerationThreads() > 1) {
+            // up-to-date files are queued too, so that they keep their place in the list of files
+            pendingFiles.add(new PendingFile(templateData, templateName, outputFilename, fileType, errorMessage, upToDateFile,
+                    apiTag));
+            return;
+        }
+        if (upToDateFile != null) {
+            files.add(upToDateFile);
+            return;
+        }
+        File written = processTemplateToFile(templateData, templateName, outputFilename);
+        if (written != null) {
+            files.add(written);
+            postProcessFile(written, fileType);
+        }
+    }
+
+    /**
+     * @return the existing file, if it is not ignored, or null if it must be rendered anyway
+     */
+    private File findUpToDateFile(String outputFilename) {
+        String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
+        if (outputSink.exists(adjustedOutputFilename) && ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
+            LOGGER.debug("up-to-date file {}", adjustedOutputFilename);
+            keepUpToDateFile(adjustedOutputFilename);
+            return new File(adjustedOutputFilename);
+        }
+        return null;
+    }
+
+    /**
+     * Count a file kept as it is without being rendered, and carry its rendered hash over to the manifest.
+     */
+    private void keepUpToDateFile(String filename) {
+        countUnchangedFile();
+        String path = manifestPath(filename);
+        if (path != null && previousManifest != null && previousManifest.getFileHash(path) != null) {
+            manifest.putFile(path, previousManifest.getFileHash(path));
+        }
+    }
+
+    /**
+     * Record a model or API file in the manifest, if any, whether it is rendered, kept or skipped, so that it is not
+     * deleted as stale (see {@link #deleteStaleFiles()}).
+     */
+    private void addModelOrApiFile(String filename) {
+        String path = manifestPath(filename);
+        if (path != null) {
+            manifest.addModelOrApiFile(path);
+        }
+    }
+
+    /**
+     * Record the file in the manifest, if any, with the hash of its rendered content.
+     * <p>
+     * When unchanged files are skipped and files are post-processed, the existing file holds the post-processed
+     * content and cannot be compared with the rendered one: the file is then unchanged if the hash of its rendered
+     * content is the one recorded by the previous generation, and it is not post-processed again. A file modified
+     * since the previous generation (by hand or by another post-processor) is thus not rewritten as long as its
+     * rendered content does not change.
+     */
+    @Override
+    protected File writeToFile(String filename, byte[] contents) throws IOException {
+        String path = manifestPath(filename);
+        if (path == null) {
+            return super.writeToFile(filename, contents);
+        }
+        String hash = GenerationManifest.hash(contents);
+        manifest.putFile(path, hash);
+        if (!isSkipUnchangedFiles() || !isPostProcessingFiles()) {
+            return super.writeToFile(filename, contents);
+        }
+        if (previousManifest != null && hash.equals(previousManifest.getFileHash(path)) && outputSink.exists(filename)) {
+            LOGGER.info("unchanged file " + filename);
+            countUnchangedFile();
+            unchangedFiles.add(new File(filename).getPath());
+        } else {
+            LOGGER.info("writing file " + filename);
+            outputSink.write(filename, contents);
+            countWrittenFile();
+        }
+        return new File(filename);
+    }
+
+    /**
+     * @return the path of the file relative to the output folder, as recorded in the manifest, or null if there is
+     * no manifest or the file is not recorded in it (the manifest itself, files out of the output folder)
+     */
+    private String manifestPath(String filename) {
+        if (manifest == null) {
+            return null;
+        }
+        Path root = new File(config.outputFolder()).getAbsoluteFile().toPath().normalize();
+        Path file = new File(filename).getAbsoluteFile().toPath().normalize();
+        if (!file.startsWith(root)) {
+            return null;
+        }
+        String path = root.relativize(file).toString().replace(File.separatorChar, '/');
+        return path.equals(GenerationManifest.FILENAME.replace(File.separatorChar, '/')) ? null : path;
+    }
+
+    /**
+     * @return true if the written files are post-processed, see {@link #postProcessFile(File, String)}
+     */
+    private boolean isPostProcessingFiles() {
+        return config.isEnablePostProcessFile() && outputSink.isFileSystem();
+    }
+
+    /**
+     * Run the generator's post-processing of a written file, if enabled. Skipped when the files are not
+     * written to the file system, since external tools could not access them, and for the files left untouched
+     * because their rendered content did not change. Files post-processed by an external command are queued, to
+     * run the command once for many files at the end of the generation.
+     */
+    private void postProcessFile(File file, String fileType) {
+        if (isPostProcessingFiles() && !unchangedFiles.contains(file.getPath())) {
+            String command = config.getPostProcessFileCommand(file, fileType);
+            if (command != null) {
+                filePostProcessor.add(command, file);
+            } else {
+                try (GenerationTimings.Timer postProcessTimer = timings.detail(GenerationTimings.ACTIVITIES, "postProcessFile")) {
+                    config.postProcessFile(file, fileType);
+                }
+            }
+        }
+    }
+
+    /**
+     * Render all queued files using a pool of {@link CodegenConfig#getGenerationThreads()} threads.
+     * <p>
+     * Only the execution of the templates and the writing of the files run in the pool: the templates are compiled
+     * beforehand and the files post-processed afterwards, from this thread, since {@link CodegenConfig} is not
+     * required to be thread safe beyond what the templates call. Files are added in the order they were queued, so
+     * the result does not depend on scheduling.
+     */
+    private void renderPendingFiles(List<File> files) {
+        if (pendingFiles.isEmpty()) {
+            return;
+        }
+        List<PendingFile> rendered = new ArrayList<>();
+        for (PendingFile pending : pendingFiles) {
+            if (pending.upToDateFile == null) {
+                getCompiledTemplate(getFullTemplateFile(config, pending.templateName));
+                rendered.add(pending);
+            }
+        }
+
+        List<File> written = new ArrayList<>();
+        if (!rendered.isEmpty()) {
+            int threads = Math.min(config.getGenerationThreads(), rendered.size());
+            LOGGER.info("Rendering {} files using {} threads", rendered.size(), threads);
+            // the properties of this generation, which the pool threads do not see otherwise
+            Map<String, String> generatorProperties = GeneratorProperties.getProperties();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<File>> futures = new ArrayList<>();
+                for (PendingFile pending : rendered) {
+                    futures.add(executor.submit(() -> GeneratorProperties.runWith(generatorProperties, pending::render)));
+                }
+                for (Future<File> future : futures) {
+                    written.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pendingFiles.clear();
+                throw new RuntimeException("Interrupted while rendering files", e);
+            } catch (ExecutionException e) {
+                pendingFiles.clear();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RuntimeException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        int renderedIndex = 0;
+        for (PendingFile pending : pendingFiles) {
+            if (pending.upToDateFile != null) {
+                files.add(pending.upToDateFile);
+                continue;
+            }
+            File file = written.get(renderedIndex++);
+            if (file != null) {
+                files.add(file);
+                postProcessFile(file, pending.fileType);
+            }
+        }
+        pendingFiles.clear();
+    }
+
+    private class PendingFile {
+        private final Map<String, Object> templateData;
+        private final String templateName;
+        private final String outputFilename;
+        private final String fileType;
+        private final String errorMessage;
+        // the existing file, if it is up-to-date and thus not rendered
+        private final File upToDateFile;
+        private final String apiTag;
+
+        PendingFile(Map<String, Object> templateData, String templateName, String outputFilename, String fileType,
+                    String errorMessage, File upToDateFile, String apiTag) {
+            this.templateData = templateData;
+            this.templateName = templateName;
+            this.outputFilename = outputFilename;
+            this.fileType = fileType;
+            this.errorMessage = errorMessage;
+            this.upToDateFile = upToDateFile;
+            this.apiTag = apiTag;
+        }
+
+        File render() {
+            if (apiTag == null) {
+                return renderTemplate();
+            }
+            // the API was processed by the coordinating thread, its rendering is added to the same measurement here
+            try (GenerationTimings.Timer apiTimer = timings.detail(GenerationTimings.APIS, apiTag)) {
+                return renderTemplate();
+            }
+        }
+
+        private File renderTemplate() {
+            try {
+                return processTemplateToFile(templateData, templateName, outputFilename);
+            } catch (Exception e) {
+                throw new RuntimeException(errorMessage, e);
+            }
+        }
+    }
+
     protected File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename) throws IOException {
         String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
         if (ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
             String templateFile = getFullTemplateFile(config, templateName);
-            String template = readTemplate(templateFile);
+            renderToFile(templateName, templateFile, templateData, adjustedOutputFilename);
+            return new File(adjustedOutputFilename);
+        }
+
+        LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .openapi-generator-ignore");
+        countSkippedFile();
+        return null;
+    }
+
+    /**
+     * Execute a template and write the result, measuring both in the {@link GenerationTimings}.
+     */
+    private void renderToFile(String templateName, String templateFile, Map<String, Object> templateData, String outputFilename) throws IOException {
+        String content;
+        try (GenerationTimings.Timer templateTimer = timings.detail(GenerationTimings.TEMPLATES, templateName)) {
+            Template tmpl = getCompiledTemplate(templateFile);
+            try (GenerationTimings.Timer executionTimer = timings.detail(GenerationTimings.ACTIVITIES, "templateExecution")) {
+                content = tmpl.execute(templateData);
+            }
+        }
+        try (GenerationTimings.Timer writeTimer = timings.detail(GenerationTimings.ACTIVITIES, "fileWrite")) {
+            writeToFile(outputFilename, content);
+        }
+    }
+
+    /**
+     * Get the compiled template for the given (resolved) template file. Templates and partials are read
+     * and compiled once and then reused from the {@link TemplateCache}.
+     *
+     * @param templateFile full template file path, as returned by {@link #getFullTemplateFile(CodegenConfig, String)}
+     * @return the compiled template
+     */
+    protected Template getCompiledTemplate(final String templateFile) {
+        return templateCache.getTemplate(config, templateFile, () -> {
+            String template = templateCache.getSource(templateFile, this::readTemplate);
             Mustache.Compiler compiler = Mustache.compiler();
             compiler = config.processCompiler(compiler);
-            Template tmpl = compiler
+            return compiler
                     .withLoader(new Mustache.TemplateLoader() {
                         @Override
                         public Reader getTemplate(String name) {
-                            return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
+                            String partialFile = getFullTemplateFile(config, name + ".mustache");
+                            return new StringReader(templateCache.getSource(partialFile, DefaultGenerator.this::readTemplate));
                         }
                     })
                     .defaultValue("")
                     .compile(template);
-
-            writeToFile(adjustedOutputFilename, tmpl.execute(templateData));
-            return new File(adjustedOutputFilename);
-        }
-
-        LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .openapi-generator-ignore");
-        return null;
+        });
     }
 
     public Map<String, List<CodegenOperation>> processPaths(Paths paths) {
@@ -920,7 +1363,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
 
-        if (System.getProperty("debugOperations") != null) {
+        if (GeneratorProperties.getProperty("debugOperations") != null) {
             LOGGER.info("processOperation: resourcePath= " + resourcePath + "\t;" + httpMethod + " " + operation + "\n");
         }
 
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the external commands post-processing generated files (e.g. "gofmt -w"), see
+ * {@link CodegenConfig#getPostProcessFileCommand(File, String)}.
+ * <p>
+ * Files are collected during the generation and post-processed at its end, by a bounded pool. Each invocation of a
+ * command receives a single file, as the commands expect by default. When batches are enabled (see
+ * {@link CodegenConfig#isBatchPostProcessFile()}), the files of a directory sharing the same command are passed to a
+ * single invocation of the command instead, split so that the command lines stay within the limits of all platforms.
+ */
+public class FilePostProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FilePostProcessor.class);
+    private static final int MAX_FILES_PER_BATCH = 200;
+    // Windows limits a command line to 32767 characters
+    private static final int MAX_ARGUMENTS_LENGTH = 24000;
+
+    private final int threads;
+    private final int maxFilesPerBatch;
+    private final int maxArgumentsLength;
+    // command -> directory -> files, in the order they were added
+    private final Map<String, Map<File, List<File>>> files = new LinkedHashMap<>();
+
+    /**
+     * @param threads maximum number of commands running at the same time
+     * @param batches whether to pass several files to each invocation of a command, rather than one
+     */
+    public FilePostProcessor(int threads, boolean batches) {
+        this(threads, batches ? MAX_FILES_PER_BATCH : 1, MAX_ARGUMENTS_LENGTH);
+    }
+
+    FilePostProcessor(int threads, int maxFilesPerBatch, int maxArgumentsLength) {
+        this.threads = Math.max(1, threads);
+        this.maxFilesPerBatch = maxFilesPerBatch;
+        this.maxArgumentsLength = maxArgumentsLength;
+    }
+
+    /**
+     * Post-process a single file right away.
+     *
+     * @param command command to run, the file is appended to its arguments
+     * @param file    file to post-process
+     */
+    public static void run(String command, File file) {
+        FilePostProcessor postProcessor = new FilePostProcessor(1, false);
+        postProcessor.add(command, file);
+        postProcessor.run();
+    }
+
+    /**
+     * @param command command to run, the file is appended to its arguments
+     * @param file    file to post-process
+     */
+    public synchronized void add(String command, File file) {
+        File directory = file.getAbsoluteFile().getParentFile();
+        files.computeIfAbsent(command, k -> new LinkedHashMap<>())
+                .computeIfAbsent(directory, k -> new ArrayList<>())
+                .add(file);
+    }
+
+    /**
+     * Run the commands on all files added so far.
+     *
+     * @return the number of batches which failed
+     */
+    public int run() {
+        List<Batch> batches = takeBatches();
+        if (batches.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        int failures = 0;
+        int fileCount = 0;
+        if (batches.size() == 1 || threads == 1) {
+            for (Batch batch : batches) {
+                failures += batch.run() ? 0 : 1;
+                fileCount += batch.files.size();
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, batches.size()));
+            try {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (Batch batch : batches) {
+                    results.add(executor.submit(batch::run));
+                    fileCount += batch.files.size();
+                }
+                for (Future<Boolean> result : results) {
+                    failures += result.get() ? 0 : 1;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while post-processing files", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Could not post-process files", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        LOGGER.info("Post-processed {} file(s) in {} batch(es) in {} ms ({} failed)",
+                fileCount, batches.size(), System.currentTimeMillis() - start, failures);
+        return failures;
+    }
+
+    /**
+     * Split the files added so far into batches and forget them.
+     */
+    synchronized List<Batch> takeBatches() {
+        List<Batch> batches = new ArrayList<>();
+        for (Map.Entry<String, Map<File, List<File>>> entry : files.entrySet()) {
+            List<String> command = tokenize(entry.getKey());
+            for (List<File> directoryFiles : entry.getValue().values()) {
+                Batch batch = null;
+                for (File file : directoryFiles) {
+                    String path = file.toString();
+                    if (batch == null || batch.files.size() >= maxFilesPerBatch
+                            || batch.argumentsLength + path.length() + 1 > maxArgumentsLength) {
+                        batch = new Batch(entry.getKey(), command);
+                        batches.add(batch);
+                    }
+                    batch.add(file);
+                }
+            }
+        }
+        files.clear();
+        return batches;
+    }
+
+    /**
+     * Split a command into arguments the way {@link Runtime#exec(String)} does.
+     */
+    private static List<String> tokenize(String command) {
+        List<String> arguments = new ArrayList<>();
+        StringTokenizer tokenizer = new StringTokenizer(command);
+        while (tokenizer.hasMoreTokens()) {
+            arguments.add(tokenizer.nextToken());
+        }
+        return arguments;
+    }
+
+    static final class Batch {
+        private final String command;
+        private final List<String> arguments;
+        private final List<File> files = new ArrayList<>();
+        private int argumentsLength;
+
+        Batch(String command, List<String> commandArguments) {
+            this.command = command;
+            this.arguments = new ArrayList<>(commandArguments);
+            this.argumentsLength = command.length();
+        }
+
+        private void add(File file) {
+            files.add(file);
+            arguments.add(file.toString());
+            argumentsLength += file.toString().length() + 1;
+        }
+
+        List<String> getArguments() {
+            return Collections.unmodifiableList(arguments);
+        }
+
+        List<File> getFiles() {
+            return Collections.unmodifiableList(files);
+        }
+
+        /**
+         * @return true if the command succeeded
+         */
+        boolean run() {
+            long start = System.currentTimeMillis();
+            try {
+                Process p = new ProcessBuilder(arguments).redirectErrorStream(true).start();
+                // the output must be consumed, or the command may block once the pipe buffer is full
+                String output = IOUtils.toString(p.getInputStream(), Charset.defaultCharset());
+                int exitValue = p.waitFor();
+                long duration = System.currentTimeMillis() - start;
+                if (exitValue != 0) {
+                    LOGGER.error("Error running the command ({}) on {} file(s) in {}. Exit value: {}. Output: {}",
+                            command, files.size(), files.get(0).getParent(), exitValue, output);
+                    return false;
+                }
+                LOGGER.info("Successfully executed: {} on {} file(s) in {} ({} ms)",
+                        command, files.size(), files.get(0).getParent(), duration);
+                if (!output.isEmpty()) {
+                    LOGGER.debug("Output of {}: {}", command, output);
+                }
+                return true;
+            } catch (IOException e) {
+                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.error("Interrupted while running the command ({})", command);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,498 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.utils.ImplementationVersion;
+import org.openapitools.codegen.utils.InheritanceIndex;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SchemaReferenceGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Fingerprints of the inputs of a generation, persisted in {@code .openapi-generator/manifest.json} so that the
+ * next generation only renders the models and APIs whose inputs changed.
+ * <p>
+ * The global fingerprint covers everything that may affect all files: the generator and its version, the
+ * effective options, the custom and embedded templates and the parts of the specification other than paths and
+ * schemas.
+ * When it changes, everything is regenerated. Otherwise the fingerprint of a model covers its schema and the
+ * schemas it depends on (references and allOf children), and the fingerprint of an API (tag) covers its
+ * operations and the schemas they depend on.
+ * <p>
+ * The manifest also records the files of the generation, with the hash of their content as rendered (before any
+ * post-processing), so that a file whose post-processed content differs from the rendered one can still be
+ * recognized as unchanged (see {@link CodegenConfig#isSkipUnchangedFiles()}). It lists the files of the models and
+ * APIs as well, so that the files of the models and APIs removed from the specification can be deleted.
+ */
+public class GenerationManifest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+
+    public static final String FILENAME = ".openapi-generator" + File.separator + "manifest.json";
+
+    // values changing on every run, which must not defeat incremental generation
+    private static final Set<String> VOLATILE_PROPERTIES = new TreeSet<>();
+
+    static {
+        VOLATILE_PROPERTIES.add("generatedDate");
+        VOLATILE_PROPERTIES.add("generatedYear");
+    }
+
+    // hashes of the jars holding embedded templates, by path, size and modification time
+    private static final Map<String, String> JAR_HASHES = new ConcurrentHashMap<>();
+
+    private String version;
+    private String global;
+    private Map<String, String> models = new TreeMap<>();
+    private Map<String, String> apis = new TreeMap<>();
+    // file, relative to the output folder -> hash of its rendered content; written to by the render threads
+    private Map<String, String> files = new ConcurrentSkipListMap<>();
+    // files of models and APIs, including their tests and documentation, relative to the output folder
+    private Set<String> modelAndApiFiles = new ConcurrentSkipListSet<>();
+
+    // only used while computing the fingerprints, never serialized
+    private Map<String, Schema> schemas = Collections.emptyMap();
+    private SchemaReferenceGraph graph;
+    private InheritanceIndex inheritanceIndex;
+    private final Map<String, String> schemaHashes = new HashMap<>();
+
+    public GenerationManifest() {
+    }
+
+    /**
+     * Compute the global and model fingerprints of a generation. API fingerprints are added with
+     * {@link #putApis(OpenAPI, Map)} once the operations are grouped by tag.
+     *
+     * @param config              the codegen config, after processing of its options
+     * @param openAPI             the specification, after resolution of inline models
+     * @param graph               the reference graph of the schemas of the specification
+     * @param generatorProperties the generator properties of the generation
+     * @return the manifest
+     */
+    public static GenerationManifest compute(CodegenConfig config, OpenAPI openAPI, SchemaReferenceGraph graph,
+                                             Map<String, String> generatorProperties) {
+        GenerationManifest manifest = new GenerationManifest();
+        manifest.version = ImplementationVersion.read();
+        manifest.global = globalFingerprint(config, openAPI, generatorProperties);
+        manifest.schemas = ModelUtils.getSchemas(openAPI);
+        manifest.graph = graph;
+        manifest.inheritanceIndex = new InheritanceIndex(manifest.schemas);
+        for (String name : manifest.schemas.keySet()) {
+            Hasher hasher = Hashing.sha256().newHasher();
+            manifest.hashSchemas(hasher, Collections.singleton(name));
+            manifest.models.put(name, hasher.hash().toString());
+        }
+        return manifest;
+    }
+
+    /**
+     * Compute the fingerprints of the APIs.
+     *
+     * @param openAPI the specification
+     * @param paths   operations grouped by tag
+     */
+    public void putApis(OpenAPI openAPI, Map<String, List<CodegenOperation>> paths) {
+        Map<Operation, Set<String>> operationSchemas = new IdentityHashMap<>();
+        for (String name : schemas.keySet()) {
+            for (Operation operation : graph.getReferencingOperations(name)) {
+                operationSchemas.computeIfAbsent(operation, k -> new TreeSet<>()).add(name);
+            }
+        }
+
+        for (Map.Entry<String, List<CodegenOperation>> entry : paths.entrySet()) {
+            Hasher hasher = Hashing.sha256().newHasher();
+            Set<String> referenced = new TreeSet<>();
+            boolean resolved = true;
+            for (CodegenOperation co : entry.getValue()) {
+                Operation operation = findOperation(openAPI, co);
+                if (operation == null) {
+                    resolved = false;
+                    break;
+                }
+                putString(hasher, co.path);
+                putString(hasher, co.httpMethod);
+                putString(hasher, toJson(operation));
+                Set<String> used = operationSchemas.get(operation);
+                if (used != null) {
+                    referenced.addAll(used);
+                }
+            }
+            if (resolved) {
+                hashSchemas(hasher, referenced);
+                apis.put(entry.getKey(), hasher.hash().toString());
+            }
+        }
+    }
+
+    /**
+     * @param previous manifest of the previous generation, may be null
+     * @return true if the previous generation used the same generator, options and templates
+     */
+    public boolean isCompatibleWith(GenerationManifest previous) {
+        return previous != null && version != null && version.equals(previous.version)
+                && global != null && global.equals(previous.global);
+    }
+
+    /**
+     * @param previous manifest of the previous generation
+     * @param name     schema name
+     * @return true if the model and the schemas it depends on did not change
+     */
+    public boolean isModelUnchanged(GenerationManifest previous, String name) {
+        return isCompatibleWith(previous) && models.get(name) != null && models.get(name).equals(previous.models.get(name));
+    }
+
+    /**
+     * @param previous manifest of the previous generation
+     * @param tag      API tag
+     * @return true if the operations of the API and the schemas they depend on did not change
+     */
+    public boolean isApiUnchanged(GenerationManifest previous, String tag) {
+        return isCompatibleWith(previous) && apis.get(tag) != null && apis.get(tag).equals(previous.apis.get(tag));
+    }
+
+    /**
+     * @param previous manifest of the previous generation
+     * @return true if no model or API was added, removed or changed, so that supporting files are unchanged too
+     */
+    public boolean isUnchanged(GenerationManifest previous) {
+        return isCompatibleWith(previous) && models.equals(previous.models) && apis.equals(previous.apis);
+    }
+
+    /**
+     * Record a file of the generation.
+     *
+     * @param path path of the file, relative to the output folder
+     * @param hash hash of the rendered content of the file, see {@link #hash(byte[])}
+     */
+    public void putFile(String path, String hash) {
+        files.put(path, hash);
+    }
+
+    /**
+     * Record a file generated for a model or an API, whether it is rendered or not.
+     *
+     * @param path path of the file, relative to the output folder
+     */
+    public void addModelOrApiFile(String path) {
+        modelAndApiFiles.add(path);
+    }
+
+    /**
+     * @param path path of a file, relative to the output folder
+     * @return the hash of the rendered content of the file, or null if it is not part of the generation
+     */
+    public String getFileHash(String path) {
+        return files.get(path);
+    }
+
+    /**
+     * @param contents rendered content of a file
+     * @return the hash recorded for the content
+     */
+    public static String hash(byte[] contents) {
+        return Hashing.sha256().hashBytes(contents).toString();
+    }
+
+    /**
+     * Read the manifest of a previous generation.
+     *
+     * @param file manifest file
+     * @return the manifest, or null if the file does not exist or cannot be read
+     */
+    public static GenerationManifest read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            return Json.mapper().readValue(file, GenerationManifest.class);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read generation manifest {}, all files will be generated: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    public String toJson() {
+        try {
+            return Json.pretty().writeValueAsString(this);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize generation manifest", e);
+        }
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public String getGlobal() {
+        return global;
+    }
+
+    public void setGlobal(String global) {
+        this.global = global;
+    }
+
+    public Map<String, String> getModels() {
+        return models;
+    }
+
+    public void setModels(Map<String, String> models) {
+        this.models = new TreeMap<>(models);
+    }
+
+    public Map<String, String> getApis() {
+        return apis;
+    }
+
+    public void setApis(Map<String, String> apis) {
+        this.apis = new TreeMap<>(apis);
+    }
+
+    public Map<String, String> getFiles() {
+        return files;
+    }
+
+    public void setFiles(Map<String, String> files) {
+        this.files = new ConcurrentSkipListMap<>(files);
+    }
+
+    public Set<String> getModelAndApiFiles() {
+        return modelAndApiFiles;
+    }
+
+    public void setModelAndApiFiles(Set<String> modelAndApiFiles) {
+        this.modelAndApiFiles = new ConcurrentSkipListSet<>(modelAndApiFiles);
+    }
+
+    /**
+     * Hash the given schemas and all schemas they depend on, in name order.
+     */
+    private void hashSchemas(Hasher hasher, Collection<String> names) {
+        Set<String> closure = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>(names);
+        while (!pending.isEmpty()) {
+            String name = pending.pop();
+            if (!closure.add(name)) {
+                continue;
+            }
+            pending.addAll(graph.getReferencedSchemas(name));
+            // parent models list their children (e.g. for discriminators)
+            pending.addAll(inheritanceIndex.getChildren(name));
+        }
+        for (String name : closure) {
+            putString(hasher, name);
+            putString(hasher, schemaHashes.computeIfAbsent(name, k -> {
+                Schema schema = schemas.get(k);
+                return schema == null ? "" : Hashing.sha256().hashString(toJson(schema), StandardCharsets.UTF_8).toString();
+            }));
+        }
+    }
+
+    private static String globalFingerprint(CodegenConfig config, OpenAPI openAPI, Map<String, String> generatorProperties) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        putString(hasher, config.getClass().getName());
+        putString(hasher, config.getLibrary());
+        putString(hasher, config.apiPackage());
+        putString(hasher, config.modelPackage());
+        putString(hasher, toJson(new TreeMap<>(config.typeMapping())));
+        putString(hasher, toJson(new TreeMap<>(config.instantiationTypes())));
+        putString(hasher, toJson(new TreeMap<>(config.importMapping())));
+        putString(hasher, toJson(new TreeMap<>(config.reservedWordsMappings())));
+        putString(hasher, toJson(new TreeSet<>(config.languageSpecificPrimitives())));
+        putString(hasher, toJson(generatorProperties == null ? null : new TreeMap<>(generatorProperties)));
+
+        for (Map.Entry<String, Object> entry : new TreeMap<>(config.additionalProperties()).entrySet()) {
+            if (!VOLATILE_PROPERTIES.contains(entry.getKey())) {
+                putString(hasher, entry.getKey());
+                putString(hasher, describe(entry.getValue()));
+            }
+        }
+
+        File templateDir = new File(config.templateDir());
+        if (templateDir.isDirectory()) {
+            hashDirectory(hasher, templateDir);
+        }
+        // the generator version does not tell snapshot builds apart
+        hashEmbeddedTemplates(hasher, config.embeddedTemplateDir());
+        hashEmbeddedTemplates(hasher, config.getCommonTemplateDir());
+
+        // everything but paths and schemas, which are fingerprinted per API and model
+        putString(hasher, toJson(openAPI.getInfo()));
+        putString(hasher, toJson(openAPI.getServers()));
+        putString(hasher, toJson(openAPI.getSecurity()));
+        putString(hasher, toJson(openAPI.getTags()));
+        putString(hasher, toJson(openAPI.getExternalDocs()));
+        putString(hasher, toJson(openAPI.getExtensions()));
+        Components components = openAPI.getComponents();
+        if (components != null) {
+            putString(hasher, toJson(components.getResponses()));
+            putString(hasher, toJson(components.getParameters()));
+            putString(hasher, toJson(components.getExamples()));
+            putString(hasher, toJson(components.getRequestBodies()));
+            putString(hasher, toJson(components.getHeaders()));
+            putString(hasher, toJson(components.getSecuritySchemes()));
+            putString(hasher, toJson(components.getLinks()));
+            putString(hasher, toJson(components.getCallbacks()));
+            putString(hasher, toJson(components.getExtensions()));
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Hash the embedded templates of the given directory: the files of the directory when the templates are loaded
+     * from one (e.g. from the build output of the generator), or else the whole jar holding them, hashed once per
+     * JVM since it does not change while in use.
+     */
+    private static void hashEmbeddedTemplates(Hasher hasher, String embeddedTemplateDir) {
+        URL url = embeddedTemplateDir == null ? null
+                : GenerationManifest.class.getClassLoader().getResource(embeddedTemplateDir.replace('\\', '/'));
+        if (url == null) {
+            putString(hasher, null);
+            return;
+        }
+        try {
+            if ("file".equals(url.getProtocol())) {
+                hashDirectory(hasher, new File(url.toURI()));
+            } else if ("jar".equals(url.getProtocol())) {
+                File jar = new File(((JarURLConnection) url.openConnection()).getJarFileURL().toURI());
+                String key = jar.getAbsolutePath() + '\n' + jar.length() + '\n' + jar.lastModified();
+                putString(hasher, JAR_HASHES.computeIfAbsent(key, k -> hashJar(jar)));
+            } else {
+                putString(hasher, url.toString());
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new RuntimeException("Could not read embedded templates " + url, e);
+        }
+    }
+
+    private static String hashJar(File jar) {
+        try {
+            return com.google.common.io.Files.asByteSource(jar).hash(Hashing.sha256()).toString();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read embedded templates " + jar, e);
+        }
+    }
+
+    private static void hashDirectory(Hasher hasher, File directory) {
+        List<File> templates = new ArrayList<>(FileUtils.listFiles(directory, null, true));
+        Collections.sort(templates);
+        for (File template : templates) {
+            putString(hasher, directory.toPath().relativize(template.toPath()).toString());
+            try {
+                hasher.putBytes(FileUtils.readFileToByteArray(template));
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read template " + template, e);
+            }
+        }
+    }
+
+    private static Operation findOperation(OpenAPI openAPI, CodegenOperation co) {
+        if (openAPI.getPaths() == null || co.path == null || co.httpMethod == null) {
+            return null;
+        }
+        PathItem pathItem = openAPI.getPaths().get(co.path);
+        if (pathItem == null && co.path.startsWith("/")) {
+            // the codegen prefixes paths with a slash
+            pathItem = openAPI.getPaths().get(co.path.substring(1));
+        }
+        if (pathItem == null) {
+            return null;
+        }
+        try {
+            return pathItem.readOperationsMap().get(PathItem.HttpMethod.valueOf(co.httpMethod.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stable description of an option value. Values which cannot be described (e.g. lambdas) only contribute
+     * their type.
+     */
+    private static String describe(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum) {
+            return String.valueOf(value);
+        }
+        if (value instanceof Map || value instanceof Collection) {
+            try {
+                return Json.mapper().writeValueAsString(value);
+            } catch (JsonProcessingException | RuntimeException e) {
+                // fall back to the type below
+            }
+        }
+        // names of lambda classes differ between runs
+        String type = value.getClass().getName();
+        int lambda = type.indexOf("$$Lambda");
+        return lambda < 0 ? type : type.substring(0, lambda);
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return Json.mapper().writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + value.getClass().getSimpleName() + " for fingerprinting", e);
+        }
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        // length prefix, so that consecutive values cannot be confused
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(value.length());
+            hasher.putString(value, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.swagger.v3.core.util.Json;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wall time, CPU time and allocated bytes of the phases of a generation (parsing, inline model flattening,
+ * model and operation conversion, rendering, post-processing...), and of each model, API (tag) and template.
+ * <p>
+ * Enabled with {@link org.openapitools.codegen.config.CodegenConfigurator#setTimings(boolean)}: the report is
+ * written to {@code .openapi-generator/timings.json} and {@link #toSummary()} is printed by the CLI and the
+ * build plugins. When disabled, nothing is measured.
+ * <p>
+ * CPU time and allocated bytes are those of the thread taking the measurement: with several generation threads,
+ * the rendering phases only account for the coordinating thread, while the templates, rendered on the pool,
+ * are measured on their own threads. An API is then measured once for its processing, on the coordinating thread,
+ * and once for the rendering of each of its files, on the pool. Allocated bytes are only available on JVMs supporting it (HotSpot).
+ */
+public class GenerationTimings {
+    public static final String FILENAME = ".openapi-generator" + File.separator + "timings.json";
+
+    public static final String MODELS = "models";
+    public static final String APIS = "apis";
+    public static final String TEMPLATES = "templates";
+    // template execution, file writing and post-processing, whatever the phase
+    public static final String ACTIVITIES = "activities";
+
+    private static final GenerationTimings DISABLED = new GenerationTimings(false);
+    private static final Timer NOOP = new Timer(null, null);
+    private static final int SUMMARY_ENTRIES = 5;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported();
+    // com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long), looked up reflectively to run on any JVM
+    private static final Method ALLOCATED_BYTES = allocatedBytesMethod();
+
+    private final boolean enabled;
+    private final Map<String, Measurement> phases = new LinkedHashMap<>();
+    private final Map<String, Map<String, Measurement>> details = new ConcurrentHashMap<>();
+
+    public GenerationTimings() {
+        this(true);
+    }
+
+    private GenerationTimings(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return timings measuring nothing
+     */
+    public static GenerationTimings disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start measuring a phase of the generation. Phases are reported in the order they were first started, the
+     * measurements of a phase started several times are added.
+     *
+     * @param name name of the phase
+     * @return the timer to close at the end of the phase
+     */
+    public Timer phase(String name) {
+        if (!enabled) {
+            return NOOP;
+        }
+        synchronized (phases) {
+            return new Timer(phases.computeIfAbsent(name, k -> new Measurement()), phases);
+        }
+    }
+
+    /**
+     * Start measuring the processing of an item (model, API, template...). The measurements of an item processed
+     * several times are added.
+     *
+     * @param category category of the item, e.g. {@link #MODELS}
+     * @param name     name of the item
+     * @return the timer to close at the end of the processing
+     */
+    public Timer detail(String category, String name) {
+        if (!enabled) {
+            return NOOP;
+        }
+        Map<String, Measurement> measurements = details.computeIfAbsent(category, k -> new ConcurrentHashMap<>());
+        return new Timer(measurements.computeIfAbsent(name, k -> new Measurement()), measurements);
+    }
+
+    /**
+     * @return the report, in JSON
+     */
+    public String toJson() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        List<Map<String, Object>> phaseReport = new ArrayList<>();
+        Measurement total = new Measurement();
+        for (Map.Entry<String, Measurement> phase : snapshot(phases)) {
+            phaseReport.add(phase.getValue().toMap(phase.getKey()));
+            total.add(phase.getValue());
+        }
+        report.put("total", total.toMap("total"));
+        report.put("phases", phaseReport);
+        for (String category : new String[]{MODELS, APIS, TEMPLATES, ACTIVITIES}) {
+            List<Map<String, Object>> categoryReport = new ArrayList<>();
+            for (Map.Entry<String, Measurement> detail : sortedDetails(category)) {
+                categoryReport.add(detail.getValue().toMap(detail.getKey()));
+            }
+            report.put(category, categoryReport);
+        }
+        try {
+            return Json.mapper().writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize the generation timings", e);
+        }
+    }
+
+    /**
+     * @return a human readable summary: the phases, and the slowest models, APIs and templates
+     */
+    public String toSummary() {
+        StringBuilder sb = new StringBuilder();
+        String format = "  %-28s %12s %12s %12s%n";
+        sb.append(String.format(Locale.ROOT, format, "Phase", "Wall", "CPU", "Allocated"));
+        Measurement total = new Measurement();
+        for (Map.Entry<String, Measurement> phase : snapshot(phases)) {
+            Measurement m = phase.getValue();
+            sb.append(String.format(Locale.ROOT, format, phase.getKey(), millis(m.wallNanos), millis(m.cpuNanos), bytes(m.allocatedBytes)));
+            total.add(m);
+        }
+        sb.append(String.format(Locale.ROOT, format, "total", millis(total.wallNanos), millis(total.cpuNanos), bytes(total.allocatedBytes)));
+        for (String category : new String[]{MODELS, APIS, TEMPLATES, ACTIVITIES}) {
+            List<Map.Entry<String, Measurement>> sorted = sortedDetails(category);
+            if (sorted.isEmpty()) {
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "Slowest %s:%n", category));
+            for (Map.Entry<String, Measurement> detail : sorted.subList(0, Math.min(SUMMARY_ENTRIES, sorted.size()))) {
+                Measurement m = detail.getValue();
+                sb.append(String.format(Locale.ROOT, format, abbreviate(detail.getKey()) + (m.count > 1 ? " (x" + m.count + ")" : ""),
+                        millis(m.wallNanos), millis(m.cpuNanos), bytes(m.allocatedBytes)));
+            }
+        }
+        return sb.toString();
+    }
+
+    private List<Map.Entry<String, Measurement>> snapshot(Map<String, Measurement> measurements) {
+        synchronized (measurements) {
+            return new ArrayList<>(measurements.entrySet());
+        }
+    }
+
+    /**
+     * @return the items of the category, slowest first
+     */
+    private List<Map.Entry<String, Measurement>> sortedDetails(String category) {
+        Map<String, Measurement> measurements = details.get(category);
+        if (measurements == null) {
+            return new ArrayList<>();
+        }
+        List<Map.Entry<String, Measurement>> sorted = new ArrayList<>(measurements.entrySet());
+        sorted.sort((a, b) -> {
+            int byWall = Long.compare(b.getValue().wallNanos, a.getValue().wallNanos);
+            return byWall != 0 ? byWall : a.getKey().compareTo(b.getKey());
+        });
+        return sorted;
+    }
+
+    private static String abbreviate(String name) {
+        return name.length() <= 28 ? name : "..." + name.substring(name.length() - 25);
+    }
+
+    private static String millis(long nanos) {
+        return nanos < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f ms", nanos / 1e6);
+    }
+
+    private static String bytes(long bytes) {
+        if (bytes < 0) {
+            return "n/a";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static long cpuTime() {
+        return CPU_TIME ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        if (ALLOCATED_BYTES == null) {
+            return -1;
+        }
+        try {
+            return (Long) ALLOCATED_BYTES.invoke(THREADS, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static Method allocatedBytesMethod() {
+        try {
+            Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+            if (!type.isInstance(THREADS)
+                    || !(Boolean) type.getMethod("isThreadAllocatedMemorySupported").invoke(THREADS)
+                    || !(Boolean) type.getMethod("isThreadAllocatedMemoryEnabled").invoke(THREADS)) {
+                return null;
+            }
+            return type.getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Measures from its creation to {@link #close()}, on the current thread.
+     */
+    public static final class Timer implements AutoCloseable {
+        private final Measurement measurement;
+        private final Object lock;
+        private final long wallStart;
+        private final long cpuStart;
+        private final long allocatedStart;
+
+        private Timer(Measurement measurement, Object lock) {
+            this.measurement = measurement;
+            this.lock = lock;
+            this.wallStart = measurement == null ? 0 : System.nanoTime();
+            this.cpuStart = measurement == null ? 0 : cpuTime();
+            this.allocatedStart = measurement == null ? 0 : allocatedBytes();
+        }
+
+        @Override
+        public void close() {
+            if (measurement == null) {
+                return;
+            }
+            long wall = System.nanoTime() - wallStart;
+            long cpu = cpuStart < 0 ? -1 : cpuTime() - cpuStart;
+            long allocated = allocatedStart < 0 ? -1 : allocatedBytes() - allocatedStart;
+            synchronized (lock) {
+                measurement.add(1, wall, cpu, allocated);
+            }
+        }
+    }
+
+    private static final class Measurement {
+        private long count;
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+
+        private void add(long count, long wall, long cpu, long allocated) {
+            this.count += count;
+            this.wallNanos += wall;
+            // unavailable values stay negative
+            this.cpuNanos = cpu < 0 || this.cpuNanos < 0 ? -1 : this.cpuNanos + cpu;
+            this.allocatedBytes = allocated < 0 || this.allocatedBytes < 0 ? -1 : this.allocatedBytes + allocated;
+        }
+
+        private void add(Measurement other) {
+            add(other.count, other.wallNanos, other.cpuNanos, other.allocatedBytes);
+        }
+
+        private Map<String, Object> toMap(String name) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", name);
+            map.put("count", count);
+            map.put("wallTimeMs", wallNanos / 1e6);
+            map.put("cpuTimeMs", cpuNanos < 0 ? null : cpuNanos / 1e6);
+            map.put("allocatedBytes", allocatedBytes < 0 ? null : allocatedBytes);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Generator properties (such as "models", "apis", "supportingFiles" or "debugModels") of the generation
+ * running on the current thread.
+ * <p>
+ * These switches used to be read from and written to the JVM-wide system properties, so two generations
+ * running at the same time in one process could see each other's settings. They are now carried by the
+ * {@link ClientOptInput} of each generation and made visible to the generator and codegen classes
+ * for the duration of the generation only. System properties are still honored as a fallback, so that
+ * {@code java -Dmodels -jar ...} keeps working.
+ * <p>
+ * The properties are not inherited by other threads, which may outlive the generation (e.g. pooled threads): a
+ * generation using other threads passes them the properties of {@link #getProperties()} through
+ * {@link #runWith(Map, Supplier)}.
+ */
+public final class GeneratorProperties {
+    private static final ThreadLocal<Map<String, String>> PROPERTIES = new ThreadLocal<>();
+
+    private GeneratorProperties() {
+    }
+
+    /**
+     * @param key property name
+     * @return the value of the property for the current generation, else the system property, else null
+     */
+    public static String getProperty(String key) {
+        Map<String, String> properties = PROPERTIES.get();
+        if (properties != null) {
+            String value = properties.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return System.getProperty(key);
+    }
+
+    /**
+     * @param key          property name
+     * @param defaultValue value returned if the property is not set
+     * @return the value of the property for the current generation, else the system property, else the default value
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * @return the generator properties visible on the current thread, or null if none
+     */
+    public static Map<String, String> getProperties() {
+        return PROPERTIES.get();
+    }
+
+    /**
+     * Run an action with the given generator properties visible on the current thread (and only those). The
+     * properties previously visible are restored afterwards, so calls can be nested.
+     *
+     * @param properties generator properties, may be null
+     * @param action     the action to run
+     * @param <T>        result type of the action
+     * @return the result of the action
+     */
+    public static <T> T runWith(Map<String, String> properties, Supplier<T> action) {
+        Map<String, String> previous = PROPERTIES.get();
+        if (properties == null) {
+            PROPERTIES.remove();
+        } else {
+            PROPERTIES.set(Collections.unmodifiableMap(new HashMap<>(properties)));
+        }
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PROPERTIES.remove();
+            } else {
+                PROPERTIES.set(previous);
+            }
+        }
+    }
+}
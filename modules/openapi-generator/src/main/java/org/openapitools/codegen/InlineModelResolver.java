@@ -28,8 +28,8 @@ import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.Paths;
-import io.swagger.v3.core.util.Json;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SchemaStructure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,11 +45,27 @@ public class InlineModelResolver {
     private boolean skipMatches;
     static Logger LOGGER = LoggerFactory.getLogger(InlineModelResolver.class);
     Map<String, Schema> addedModels = new HashMap<String, Schema>();
-    Map<String, String> generatedSignature = new HashMap<String, String>();
+    // generated schemas, by structure (comparing them as JSON was too costly for large specifications)
+    Map<SchemaStructure.Key, String> generatedSignature = new HashMap<SchemaStructure.Key, String>();
+    // structural hashes of the schemas met by the current flatten call, see matchGenerated
+    private SchemaStructure schemaStructure = new SchemaStructure();
+    // key -> lowest suffix which may not be taken yet, see uniqueName
+    private final Map<String, Integer> uniqueNameCounts = new HashMap<String, Integer>();
 
     public void flatten(OpenAPI openapi) {
         this.openapi = openapi;
+        this.uniqueNameCounts.clear();
+        this.schemaStructure = new SchemaStructure();
+        try {
+            flattenComponents(openapi);
+        } finally {
+            // the keys reference the generated schemas, which may be modified once the specification is flattened
+            this.generatedSignature.clear();
+            this.schemaStructure = new SchemaStructure();
+        }
+    }
 
+    private void flattenComponents(OpenAPI openapi) {
         if (openapi.getComponents() == null) {
             return; // There's nothing here
         }
@@ -345,15 +361,11 @@ public class InlineModelResolver {
         if (this.skipMatches) {
             return null;
         }
-        String json = Json.pretty(model);
-        if (generatedSignature.containsKey(json)) {
-            return generatedSignature.get(json);
-        }
-        return null;
+        return generatedSignature.get(schemaStructure.key(model));
     }
 
     public void addGenerated(String name, Schema model) {
-        generatedSignature.put(Json.pretty(model), name);
+        generatedSignature.put(schemaStructure.key(model), name);
     }
 
     public String uniqueName(String key) {
@@ -361,23 +373,43 @@ public class InlineModelResolver {
             key = "NULL_UNIQUE_NAME";
             LOGGER.warn("null key found. Default to NULL_UNIQUE_NAME");
         }
-        int count = 0;
-        boolean done = false;
-        key = key.replaceAll("[^a-z_\\.A-Z0-9 ]", ""); // FIXME: a parameter
+        key = removeInvalidCharacters(key); // FIXME: a parameter
         // should not be assigned. Also declare the methods parameters as 'final'.
-        while (!done) {
+        Map<String, Schema> schemas = openapi.getComponents().getSchemas();
+        if (schemas == null) {
+            return key;
+        }
+        // schemas are only added, so the names probed by a previous call are still taken
+        int count = uniqueNameCounts.getOrDefault(key, 0);
+        while (true) {
             String name = key;
             if (count > 0) {
                 name = key + "_" + count;
             }
-            if (openapi.getComponents().getSchemas() == null) {
-                return name;
-            } else if (!openapi.getComponents().getSchemas().containsKey(name)) {
+            if (!schemas.containsKey(name)) {
+                uniqueNameCounts.put(key, count);
                 return name;
             }
             count += 1;
         }
-        return key;
+    }
+
+    /**
+     * Remove all characters but letters, digits, '_', '.' and ' '.
+     */
+    private static String removeInvalidCharacters(String key) {
+        StringBuilder result = null;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '_' || c == '.' || c == ' ';
+            if (!valid && result == null) {
+                result = new StringBuilder(key.length()).append(key, 0, i);
+            } else if (valid && result != null) {
+                result.append(c);
+            }
+        }
+        return result == null ? key : result.toString();
     }
 
     public void flattenProperties(Map<String, Schema> properties, String path) {
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.OpenAPIDeserializer;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Generates several targets (e.g. a client and a server, or clients in several languages) of the same specifications,
+ * parsing and resolving each specification once rather than once per target.
+ * <p>
+ * Each target is generated by its own {@link DefaultGenerator}, into the output directory of its configurator, from
+ * its own copy of the specification since generators modify the specification they are given. Each copy is then
+ * preprocessed and flattened by the generation of its target, so that each target generates the same code as on its
+ * own.
+ */
+public class MultiTargetGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiTargetGenerator.class);
+
+    private final List<CodegenConfigurator> targets;
+    private int threads = 1;
+    private boolean failFast;
+
+    /**
+     * @param targets the configurations of the targets
+     */
+    public MultiTargetGenerator(List<CodegenConfigurator> targets) {
+        this.targets = new ArrayList<>(targets);
+    }
+
+    /**
+     * @param threads number of targets generated in parallel (1 by default)
+     * @return this generator
+     */
+    public MultiTargetGenerator threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * @param failFast whether to skip the targets not started yet once one failed
+     * @return this generator
+     */
+    public MultiTargetGenerator failFast(boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    /**
+     * Generate each target, reporting failures rather than stopping at them.
+     *
+     * @return the results, in the order of the targets
+     */
+    public List<Result> generate() {
+        Map<String, SharedSpecification> specifications = new ConcurrentHashMap<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Result> results = new ArrayList<>();
+        if (threads <= 1 || targets.size() <= 1) {
+            for (CodegenConfigurator target : targets) {
+                results.add(generate(target, specifications, failed));
+            }
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, targets.size()));
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (CodegenConfigurator target : targets) {
+                futures.add(executor.submit(() -> generate(target, specifications, failed)));
+            }
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating code", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Could not generate code", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Result generate(CodegenConfigurator target, Map<String, SharedSpecification> specifications,
+                            AtomicBoolean failed) {
+        Result result = new Result(target);
+        if (failFast && failed.get()) {
+            result.skipped = true;
+            return result;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            SharedSpecification specification = specifications.computeIfAbsent(key(target),
+                    k -> new SharedSpecification());
+            ClientOptInput input = target.toClientOptInput(specification.copy(target));
+            result.files = new DefaultGenerator().opts(input).generate();
+        } catch (Throwable e) {
+            // reported like any other failure, rather than aborting the other targets
+            LOGGER.error("Could not generate code to " + target.getOutputDir(), e);
+            result.error = e;
+            failed.set(true);
+        }
+        result.duration = System.currentTimeMillis() - start;
+        return result;
+    }
+
+    /**
+     * @return the key of the specification of a target: everything the result of the parser depends on, the
+     * authorizations included since they may change what is fetched from the server
+     */
+    private static String key(CodegenConfigurator target) {
+        ParseOptions options = target.toParseOptions();
+        return target.getInputSpec() + '\n' + target.getAuth() + '\n' + options.isResolve() + '\n'
+                + options.isResolveFully() + '\n' + options.isFlatten();
+    }
+
+    /**
+     * A specification parsed by the first target needing it, kept in its JSON form to give each target its own copy,
+     * read by the parser like the entries of the {@link org.openapitools.codegen.config.SpecificationCache}.
+     */
+    private static final class SharedSpecification {
+        private JsonNode json;
+        private List<String> messages;
+        private RuntimeException error;
+
+        SwaggerParseResult copy(CodegenConfigurator target) {
+            synchronized (this) {
+                if (messages == null && error == null) {
+                    try {
+                        SwaggerParseResult result = target.parseSpecification();
+                        json = result.getOpenAPI() == null ? null : toJson(result.getOpenAPI());
+                        messages = result.getMessages() == null ? new ArrayList<>() : result.getMessages();
+                    } catch (RuntimeException e) {
+                        error = e;
+                    }
+                }
+                if (error != null) {
+                    throw error;
+                }
+            }
+
+            SwaggerParseResult copy = json == null ? new SwaggerParseResult()
+                    : new OpenAPIDeserializer().deserialize(json.deepCopy());
+            copy.setMessages(new ArrayList<>(messages));
+            return copy;
+        }
+
+        private static JsonNode toJson(OpenAPI openAPI) {
+            // written out rather than converted to a tree, which would normalize decimals (e.g. 100 to 1E+2)
+            try {
+                return Json.mapper().readTree(Json.mapper().writeValueAsBytes(openAPI));
+            } catch (IOException e) {
+                throw new RuntimeException("Could not serialize the specification", e);
+            }
+        }
+    }
+
+    public static final class Result {
+        private final CodegenConfigurator target;
+        private List<File> files = Collections.emptyList();
+        private long duration;
+        private boolean skipped;
+        private Throwable error;
+
+        Result(CodegenConfigurator target) {
+            this.target = target;
+        }
+
+        public CodegenConfigurator getTarget() {
+            return target;
+        }
+
+        /**
+         * @return the files generated for the target
+         */
+        public List<File> getFiles() {
+            return files;
+        }
+
+        /**
+         * @return the duration of the generation of the target in milliseconds, including the parsing of the
+         * specification for the first target using it
+         */
+        public long getDuration() {
+            return duration;
+        }
+
+        /**
+         * @return true if the target was not generated because another one failed first
+         */
+        public boolean isSkipped() {
+            return skipped;
+        }
+
+        /**
+         * @return the failure of the generation, or null if the target was generated
+         */
+        public Throwable getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.samskivert.mustache.Template;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Holds template sources and compiled Mustache templates so that each template (and partial) is read
+ * and compiled only once per generation, no matter how many files are rendered from it.
+ * <p>
+ * Compiled templates are keyed by the resolved template path, the library and the identity of the
+ * {@link CodegenConfig} (which customizes the compiler via {@link CodegenConfig#processCompiler}), or its class
+ * when the cache is shared by several generations (see {@link #TemplateCache(boolean)}).
+ * Template sources are keyed by resolved path only.
+ */
+public class TemplateCache {
+    private final ConcurrentMap<String, String> sources = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, Template> templates = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final boolean keyedByConfigClass;
+
+    public TemplateCache() {
+        this(false);
+    }
+
+    /**
+     * @param keyedByConfigClass true to reuse the templates compiled for a config for the other instances of its
+     *                           class, e.g. in a cache shared by the generations of a generator and template
+     *                           directory. The generators customize the compiler regardless of their options, but
+     *                           the templates then keep the first config and generator using them alive.
+     */
+    public TemplateCache(boolean keyedByConfigClass) {
+        this.keyedByConfigClass = keyedByConfigClass;
+    }
+
+    /**
+     * Get the source of a template, reading it on first access.
+     *
+     * @param templateFile resolved template file path
+     * @param reader       function used to read the template when not cached yet
+     * @return the template source
+     */
+    public String getSource(String templateFile, Function<String, String> reader) {
+        String source = sources.get(templateFile);
+        if (source != null) {
+            hits.incrementAndGet();
+            return source;
+        }
+        misses.incrementAndGet();
+        source = reader.apply(templateFile);
+        String previous = sources.putIfAbsent(templateFile, source);
+        return previous != null ? previous : source;
+    }
+
+    /**
+     * Get the compiled template, compiling it on first access.
+     *
+     * @param config       the codegen config the template is compiled for
+     * @param templateFile resolved template file path
+     * @param compiler     supplier compiling the template when not cached yet
+     * @return the compiled template
+     */
+    public Template getTemplate(CodegenConfig config, String templateFile, Supplier<Template> compiler) {
+        Key key = new Key(keyedByConfigClass ? config.getClass() : config, config.getLibrary(), templateFile);
+        Template template = templates.get(key);
+        if (template != null) {
+            hits.incrementAndGet();
+            return template;
+        }
+        misses.incrementAndGet();
+        template = compiler.get();
+        Template previous = templates.putIfAbsent(key, template);
+        return previous != null ? previous : template;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Drop all cached sources and templates, e.g. when templates on disk may have changed.
+     */
+    public void clear() {
+        sources.clear();
+        templates.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "TemplateCache{" +
+                "templates=" + templates.size() +
+                ", sources=" + sources.size() +
+                ", hits=" + hits.get() +
+                ", misses=" + misses.get() +
+                '}';
+    }
+
+    private static final class Key {
+        // the config, or its class
+        private final Object config;
+        private final String library;
+        private final String templateFile;
+
+        Key(Object config, String library, String templateFile) {
+            this.config = config;
+            this.library = library;
+            this.templateFile = templateFile;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            // compiler customizations depend on the config instance, so compare by identity
+            return config == key.config &&
+                    Objects.equals(library, key.library) &&
+                    Objects.equals(templateFile, key.templateFile);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(config), library, templateFile);
+        }
+    }
+}
@@ -32,6 +32,8 @@ import org.openapitools.codegen.ClientOpts;
 import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.GenerationTimings;
+import org.openapitools.codegen.GeneratorProperties;
 import org.openapitools.codegen.SpecValidationException;
 import org.openapitools.codegen.auth.AuthParser;
 import org.openapitools.codegen.languages.CSharpNancyFXServerCodegen;
@@ -97,6 +99,13 @@ public class CodegenConfigurator implements Serializable {
     private boolean removeOperationIdPrefix;
     private boolean validateSpec;
     private boolean enablePostProcessFile;
+    private int generationThreads = 1;
+    private boolean batchPostProcessFile;
+    private boolean skipUnchangedFiles;
+    private boolean incrementalGeneration;
+    private boolean timings;
+    private boolean cacheSpec;
+    private String specCacheDir;
     private String templateDir;
     private String auth;
     private String apiPackage;
@@ -220,6 +229,69 @@ public class CodegenConfigurator implements Serializable {
         return this;
     }
 
+    public int getGenerationThreads() {
+        return generationThreads;
+    }
+
+    public CodegenConfigurator setGenerationThreads(int generationThreads) {
+        this.generationThreads = generationThreads;
+        return this;
+    }
+
+    public boolean getBatchPostProcessFile() {
+        return batchPostProcessFile;
+    }
+
+    public CodegenConfigurator setBatchPostProcessFile(boolean batchPostProcessFile) {
+        this.batchPostProcessFile = batchPostProcessFile;
+        return this;
+    }
+
+    public boolean getSkipUnchangedFiles() {
+        return skipUnchangedFiles;
+    }
+
+    public CodegenConfigurator setSkipUnchangedFiles(boolean skipUnchangedFiles) {
+        this.skipUnchangedFiles = skipUnchangedFiles;
+        return this;
+    }
+
+    public boolean getIncrementalGeneration() {
+        return incrementalGeneration;
+    }
+
+    public CodegenConfigurator setIncrementalGeneration(boolean incrementalGeneration) {
+        this.incrementalGeneration = incrementalGeneration;
+        return this;
+    }
+
+    public boolean getTimings() {
+        return timings;
+    }
+
+    public CodegenConfigurator setTimings(boolean timings) {
+        this.timings = timings;
+        return this;
+    }
+
+    public boolean getCacheSpec() {
+        return cacheSpec;
+    }
+
+    public CodegenConfigurator setCacheSpec(boolean cacheSpec) {
+        this.cacheSpec = cacheSpec;
+        return this;
+    }
+
+    public String getSpecCacheDir() {
+        return specCacheDir;
+    }
+
+    public CodegenConfigurator setSpecCacheDir(String specCacheDir) {
+        this.specCacheDir = specCacheDir;
+        return this;
+    }
+
     public String getModelNameSuffix() {
         return modelNameSuffix;
     }
@@ -499,14 +571,31 @@ public class CodegenConfigurator implements Serializable {
     }
 
     public ClientOptInput toClientOptInput() {
+        return toClientOptInput(null);
+    }
+
+    /**
+     * Configure a generation of a specification parsed beforehand, e.g. by {@link #parseSpecification()} once for
+     * several generations (see {@link org.openapitools.codegen.MultiTargetGenerator}).
+     *
+     * @param parseResult the parsed specification, which the generation modifies, or null to parse the input spec
+     * @return the input of the generation
+     */
+    public ClientOptInput toClientOptInput(SwaggerParseResult parseResult) {
 
         Validate.notEmpty(generatorName, "language/generatorName must be specified");
         Validate.notEmpty(inputSpec, "input spec must be specified");
 
-        setVerboseFlags();
-        setSystemProperties();
+        final Map<String, String> generatorProperties = new HashMap<String, String>(systemProperties);
+        setVerboseFlags(generatorProperties);
 
-        CodegenConfig config = CodegenConfigLoader.forName(generatorName);
+        GenerationTimings generationTimings = timings ? new GenerationTimings() : GenerationTimings.disabled();
+
+        // some generators read generator properties in their constructor
+        CodegenConfig config;
+        try (GenerationTimings.Timer ignored = generationTimings.phase("loadGenerator")) {
+            config = GeneratorProperties.runWith(generatorProperties, () -> CodegenConfigLoader.forName(generatorName));
+        }
 
         config.setInputSpec(inputSpec);
         config.setOutputDir(outputDir);
@@ -514,6 +603,10 @@ public class CodegenConfigurator implements Serializable {
         config.setIgnoreFilePathOverride(ignoreFileOverride);
         config.setRemoveOperationIdPrefix(removeOperationIdPrefix);
         config.setEnablePostProcessFile(enablePostProcessFile);
+        config.setGenerationThreads(generationThreads);
+        config.setBatchPostProcessFile(batchPostProcessFile);
+        config.setSkipUnchangedFiles(skipUnchangedFiles);
+        config.setIncrementalGeneration(incrementalGeneration);
 
         config.instantiationTypes().putAll(instantiationTypes);
         config.typeMapping().putAll(typeMappings);
@@ -544,12 +637,16 @@ public class CodegenConfigurator implements Serializable {
         config.additionalProperties().putAll(additionalProperties);
 
         ClientOptInput input = new ClientOptInput()
-                .config(config);
-
-        final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
-        ParseOptions options = new ParseOptions();
-        options.setResolve(true);
-        SwaggerParseResult result = new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+                .config(config)
+                .generatorProperties(generatorProperties)
+                .timings(generationTimings);
+
+        SwaggerParseResult result = parseResult;
+        if (result == null) {
+            try (GenerationTimings.Timer ignored = generationTimings.phase("parse")) {
+                result = parseSpecification();
+            }
+        }
 
         Set<String> validationMessages = new HashSet<>(result.getMessages());
         OpenAPI specification = result.getOpenAPI();
@@ -596,6 +693,33 @@ public class CodegenConfigurator implements Serializable {
         return input;
     }
 
+    /**
+     * Parse and resolve the input spec, through the {@link SpecificationCache} if enabled.
+     *
+     * @return the result of the parser, not validated yet
+     */
+    public SwaggerParseResult parseSpecification() {
+        Validate.notEmpty(inputSpec, "input spec must be specified");
+
+        final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
+        ParseOptions options = toParseOptions();
+        if (isNotEmpty(specCacheDir)) {
+            return SpecificationCache.parse(inputSpec, authorizationValues, options, new File(specCacheDir));
+        } else if (cacheSpec) {
+            return SpecificationCache.parse(inputSpec, authorizationValues, options, null);
+        }
+        return new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+    }
+
+    /**
+     * @return the options the input spec is parsed with
+     */
+    public ParseOptions toParseOptions() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        return options;
+    }
+
     @JsonAnySetter
     public CodegenConfigurator addDynamicProperty(String name, Object value) {
         dynamicProperties.put(name, value);
@@ -619,7 +743,7 @@ public class CodegenConfigurator implements Serializable {
         }
     }
 
-    private void setVerboseFlags() {
+    private void setVerboseFlags(Map<String, String> generatorProperties) {
         if (!verbose) {
             return;
         }
@@ -629,16 +753,10 @@ public class CodegenConfigurator implements Serializable {
                 "\n - [debugOperations] prints operations passed to the template engine" +
                 "\n - [debugSupportingFiles] prints additional data passed to the template engine");
 
-        System.setProperty("debugOpenAPI", "");
-        System.setProperty("debugModels", "");
-        System.setProperty("debugOperations", "");
-        System.setProperty("debugSupportingFiles", "");
-    }
-
-    private void setSystemProperties() {
-        for (Map.Entry<String, String> entry : systemProperties.entrySet()) {
-            System.setProperty(entry.getKey(), entry.getValue());
-        }
+        generatorProperties.put("debugOpenAPI", "");
+        generatorProperties.put("debugModels", "");
+        generatorProperties.put("debugOperations", "");
+        generatorProperties.put("debugSupportingFiles", "");
     }
 
     private static String toAbsolutePathStr(String path) {
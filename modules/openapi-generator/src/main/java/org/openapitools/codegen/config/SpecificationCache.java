@@ -0,0 +1,232 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.OpenAPIDeserializer;
+import org.openapitools.codegen.utils.ImplementationVersion;
+import org.openapitools.codegen.utils.SpecificationFiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A cache of parsed and resolved specifications, so that the generations (and validations) of a same specification
+ * parse it once.
+ * <p>
+ * Entries are keyed by a hash of the specification file, the local files it references and the parse options. They
+ * hold the resolved specification in its JSON form along with the messages of the parser, in memory and, when a
+ * directory is given, in a file of that directory shared by the following processes. Each lookup deserializes a new
+ * {@link io.swagger.v3.oas.models.OpenAPI} from the JSON form, since generators modify the specification they are
+ * given. Specifications fetched from a server, or referencing files on a server, are not cached: the content of the
+ * remote files, and the authorizations to fetch them, are not part of the key.
+ * <p>
+ * The directory keeps the {@value #DISK_ENTRIES} most recently used entries, older ones are deleted when a new entry is
+ * written.
+ */
+public class SpecificationCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecificationCache.class);
+
+    private static final int MEMORY_ENTRIES = 16;
+
+    static final int DISK_ENTRIES = 64;
+
+    private static final Map<String, JsonNode> MEMORY = new LinkedHashMap<String, JsonNode>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonNode> eldest) {
+            return size() > MEMORY_ENTRIES;
+        }
+    };
+
+    /**
+     * Parse a specification, or read it from the cache.
+     *
+     * @param inputSpec           the location of the specification
+     * @param authorizationValues the authorizations to fetch remote specifications
+     * @param options             the parse options
+     * @param directory           the directory of the cache files, or null to only cache in memory
+     * @return the result of the parser
+     */
+    public static SwaggerParseResult parse(String inputSpec, List<AuthorizationValue> authorizationValues,
+                                           ParseOptions options, File directory) {
+        Set<String> remoteReferences = new LinkedHashSet<>();
+        Set<File> files = SpecificationFiles.of(inputSpec, remoteReferences);
+        if (files.isEmpty() || !remoteReferences.isEmpty()) {
+            return new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+        }
+
+        String key;
+        try {
+            key = key(files, options);
+        } catch (IOException e) {
+            LOGGER.debug("Could not hash {}, parsing it without the cache", inputSpec, e);
+            return new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+        }
+
+        JsonNode cached = read(key, directory);
+        if (cached != null) {
+            LOGGER.debug("Read the parsed specification {} from the cache", inputSpec);
+            return toResult(cached);
+        }
+
+        SwaggerParseResult result = new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+        if (result.getOpenAPI() != null) {
+            try {
+                write(key, toCacheEntry(result), directory);
+            } catch (IOException e) {
+                LOGGER.warn("Could not cache the parsed specification {}", inputSpec, e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Empty the in-memory cache.
+     */
+    public static void clear() {
+        synchronized (MEMORY) {
+            MEMORY.clear();
+        }
+    }
+
+    private static String key(Set<File> files, ParseOptions options) throws IOException {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(ImplementationVersion.read(), StandardCharsets.UTF_8);
+        if (options != null) {
+            hasher.putBoolean(options.isResolve()).putBoolean(options.isResolveFully()).putBoolean(options.isFlatten());
+        }
+        for (File file : files) {
+            byte[] content = Files.readAllBytes(file.toPath());
+            hasher.putString(file.getPath(), StandardCharsets.UTF_8).putInt(content.length).putBytes(content);
+        }
+        return hasher.hash().toString();
+    }
+
+    private static JsonNode read(String key, File directory) {
+        synchronized (MEMORY) {
+            JsonNode entry = MEMORY.get(key);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        if (directory == null) {
+            return null;
+        }
+        File file = new File(directory, key + ".json");
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            JsonNode entry = Json.mapper().readTree(file);
+            // the last modification time orders the entries by use, to delete the least recently used ones
+            if (!file.setLastModified(System.currentTimeMillis())) {
+                LOGGER.debug("Could not touch the cached specification {}", file);
+            }
+            synchronized (MEMORY) {
+                MEMORY.put(key, entry);
+            }
+            return entry;
+        } catch (IOException e) {
+            LOGGER.warn("Could not read the cached specification {}, parsing it again", file, e);
+            return null;
+        }
+    }
+
+    private static void write(String key, JsonNode entry, File directory) {
+        synchronized (MEMORY) {
+            MEMORY.put(key, entry);
+        }
+        if (directory == null) {
+            return;
+        }
+        File file = new File(directory, key + ".json");
+        try {
+            Files.createDirectories(directory.toPath());
+            // written aside and moved, so that concurrent builds never read a partial file
+            File temporary = File.createTempFile(key, ".tmp", directory);
+            Json.mapper().writeValue(temporary, entry);
+            try {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not write the parsed specification to {}", file, e);
+        }
+        prune(directory);
+    }
+
+    /**
+     * Delete the least recently used entries of the directory beyond {@link #DISK_ENTRIES}.
+     */
+    static void prune(File directory) {
+        File[] entries = directory.listFiles((dir, name) -> name.endsWith(".json"));
+        if (entries == null || entries.length <= DISK_ENTRIES) {
+            return;
+        }
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified).reversed());
+        for (int i = DISK_ENTRIES; i < entries.length; i++) {
+            try {
+                Files.deleteIfExists(entries[i].toPath());
+            } catch (IOException e) {
+                LOGGER.debug("Could not delete the cached specification {}", entries[i], e);
+            }
+        }
+    }
+
+    private static JsonNode toCacheEntry(SwaggerParseResult result) throws IOException {
+        ObjectNode entry = Json.mapper().createObjectNode();
+        ArrayNode messages = entry.putArray("messages");
+        if (result.getMessages() != null) {
+            result.getMessages().forEach(messages::add);
+        }
+        // written out rather than converted to a tree, which would normalize decimals (e.g. 100 to 1E+2)
+        entry.set("openAPI", Json.mapper().readTree(Json.mapper().writeValueAsBytes(result.getOpenAPI())));
+        return entry;
+    }
+
+    private static SwaggerParseResult toResult(JsonNode entry) {
+        SwaggerParseResult result = new OpenAPIDeserializer().deserialize(entry.get("openAPI").deepCopy());
+        List<String> messages = new ArrayList<>();
+        entry.get("messages").forEach(message -> messages.add(message.asText()));
+        result.setMessages(messages);
+        return result;
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.daemon;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.io.BaseEncoding;
+import io.swagger.v3.core.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.GeneratorNotFoundException;
+import org.openapitools.codegen.TemplateCache;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.utils.ImplementationVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A long-running generator accepting generation requests on the loopback interface, so that build tools
+ * generating code repeatedly avoid the JVM startup and benefit from the generators, templates and compiled code
+ * kept warm in this process.
+ * <p>
+ * The protocol, used by {@link GeneratorDaemonClient}: a client connects, writes a JSON request and closes its
+ * output; the daemon answers with a JSON response and closes the connection. Each request holds the {@code token}
+ * the daemon wrote to its token file (see {@link #getTokenFile(int)}), readable by the user running the daemon only,
+ * so that other users of the machine cannot use the daemon. The requests are:
+ * <ul>
+ * <li>{@code {"command": "status"}}: answers {@code {"status": "running", "version": ..., "generations": ...}}</li>
+ * <li>{@code {"command": "generate", "configuration": ...}} with a {@link CodegenConfigurator} in JSON (the format
+ * of the configuration files): generates the code and answers {@code {"status": "success", "duration": ...}},
+ * or {@code {"status": "failure", "error": ...}}. When the generator is not on the class path of the daemon (e.g. a
+ * custom generator of the build), the failure also holds {@code "reason": "generatorNotFound"}, so that the client
+ * can generate the code itself.</li>
+ * <li>{@code {"command": "shutdown"}}: stops the daemon</li>
+ * </ul>
+ * The daemon only listens on the loopback interface. Paths in the requests are resolved against the working
+ * directory of the daemon, so clients should send absolute paths. The generations see the environment of the daemon,
+ * not the one of the client: the post-processing commands of the generated files ({@code *_POST_PROCESS_FILE}
+ * variables) are the ones set when the daemon was started. A request must be sent within
+ * {@value #READ_TIMEOUT} ms and hold at most {@value #MAX_REQUEST_SIZE} bytes, or it is rejected before its
+ * configuration is read.
+ * <p>
+ * The templates are read and compiled once per generator and template directory, and read again when the files of
+ * the template directory change.
+ */
+public class GeneratorDaemon {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneratorDaemon.class);
+
+    public static final int DEFAULT_PORT = 7923;
+
+    /**
+     * Reason of the failure of a generation whose generator is not on the class path of the daemon.
+     */
+    static final String GENERATOR_NOT_FOUND = "generatorNotFound";
+
+    /**
+     * Maximum size of a request, in bytes. Larger requests are rejected without being parsed.
+     */
+    static final int MAX_REQUEST_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Time a connection may stay idle while its request is read, in milliseconds, so that idle connections do not
+     * hold the threads of the daemon.
+     */
+    static final int READ_TIMEOUT = 10000;
+
+    /**
+     * Time {@link #stop()} waits for the generations in progress to complete, in seconds, before interrupting them.
+     */
+    static final int STOP_TIMEOUT = 60;
+
+    private final ServerSocket serverSocket;
+    private final File tokenFile;
+    private final byte[] token;
+    private final ExecutorService executor;
+    private final ConcurrentMap<String, CachedTemplates> templateCaches = new ConcurrentHashMap<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final AtomicLong generations = new AtomicLong();
+
+    /**
+     * Start a daemon, writing its token to the default token file of its port.
+     *
+     * @param port    port to listen to on the loopback interface, 0 for any free port
+     * @param threads maximum number of requests processed at the same time
+     * @throws IOException if the port cannot be bound or the token file cannot be written
+     */
+    public GeneratorDaemon(int port, int threads) throws IOException {
+        this(port, threads, null);
+    }
+
+    /**
+     * Start a daemon.
+     *
+     * @param port      port to listen to on the loopback interface, 0 for any free port
+     * @param threads   maximum number of requests processed at the same time
+     * @param tokenFile file to write the token of the daemon to, or null for the default one of its port
+     * @throws IOException if the port cannot be bound or the token file cannot be written
+     */
+    public GeneratorDaemon(int port, int threads, File tokenFile) throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.tokenFile = tokenFile == null ? getTokenFile(serverSocket.getLocalPort()) : tokenFile;
+        try {
+            token = writeToken(this.tokenFile);
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+        executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        Thread acceptor = new Thread(this::accept, "generator-daemon");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        LOGGER.info("Generator daemon listening on {}", serverSocket.getLocalSocketAddress());
+    }
+
+    /**
+     * @param port port of a daemon
+     * @return the default token file of the daemon listening to the port
+     */
+    public static File getTokenFile(int port) {
+        return new File(System.getProperty("user.home"),
+                ".openapi-generator" + File.separator + "daemon-" + port + ".token");
+    }
+
+    /**
+     * @return the port the daemon listens to
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Wait until the daemon is stopped, by {@link #stop()} or a shutdown request.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    /**
+     * Stop accepting requests and stop the daemon once the requests in progress are answered, interrupting them after
+     * {@value #STOP_TIMEOUT} seconds.
+     */
+    public synchronized void stop() {
+        if (stopped.getCount() > 0) {
+            LOGGER.info("Stopping the generator daemon");
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to close the socket of the generator daemon: {}", e.getMessage());
+            }
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(STOP_TIMEOUT, TimeUnit.SECONDS)) {
+                    LOGGER.warn("Interrupting the generations still in progress");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            if (!tokenFile.delete()) {
+                LOGGER.warn("Unable to delete the token file {} of the generator daemon", tokenFile);
+            }
+            stopped.countDown();
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> handle(socket));
+            } catch (SocketException | RejectedExecutionException e) {
+                // stopped
+                return;
+            } catch (IOException e) {
+                LOGGER.error("Unable to accept a connection", e);
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (Socket s = socket) {
+            Map<String, Object> response;
+            boolean shutdown = false;
+            try {
+                s.setSoTimeout(READ_TIMEOUT);
+                byte[] bytes = IOUtils.toByteArray(new BoundedInputStream(s.getInputStream(), MAX_REQUEST_SIZE + 1L));
+                if (bytes.length > MAX_REQUEST_SIZE) {
+                    throw new IOException("the request exceeds " + MAX_REQUEST_SIZE + " bytes");
+                }
+                JsonNode request = Json.mapper().readTree(new String(bytes, StandardCharsets.UTF_8));
+                String command = request == null ? null : request.path("command").asText();
+                if (request == null || !isAuthorized(request.path("token").asText())) {
+                    LOGGER.warn("Rejected a request without the token of the daemon");
+                    response = failure("Invalid token, see " + tokenFile);
+                } else if ("status".equals(command)) {
+                    response = status();
+                } else if ("generate".equals(command)) {
+                    response = generate(request.path("configuration"));
+                } else if ("shutdown".equals(command)) {
+                    response = new LinkedHashMap<>();
+                    response.put("status", "stopping");
+                    shutdown = true;
+                } else {
+                    response = failure("Unknown command: " + command);
+                }
+            } catch (IOException e) {
+                response = failure("Unable to read the request: " + e.getMessage());
+            } catch (Throwable e) {
+                // answered anyway, so that the client does not wait for the end of the connection
+                LOGGER.error("Unable to process a request", e);
+                response = failure(e.toString());
+            }
+
+            OutputStream out = s.getOutputStream();
+            out.write(Json.mapper().writeValueAsString(response).getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            if (shutdown) {
+                // not from a thread of the executor being shut down
+                new Thread(this::stop, "generator-daemon-shutdown").start();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to answer a request: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "running");
+        response.put("version", ImplementationVersion.read());
+        response.put("generations", generations.get());
+        return response;
+    }
+
+    private Map<String, Object> generate(JsonNode configuration) {
+        CodegenConfigurator configurator;
+        try {
+            configurator = Json.mapper().treeToValue(configuration, CodegenConfigurator.class);
+        } catch (IOException | RuntimeException e) {
+            return failure("Unable to read the configuration: " + e.getMessage());
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            DefaultGenerator generator = new DefaultGenerator();
+            generator.setTemplateCache(getTemplateCache(configurator));
+            generator.opts(configurator.toClientOptInput()).generate();
+        } catch (GeneratorNotFoundException e) {
+            LOGGER.info("Generator {} is not available in the daemon", configurator.getGeneratorName());
+            Map<String, Object> response = failure(e.getMessage());
+            response.put("reason", GENERATOR_NOT_FOUND);
+            return response;
+        } catch (Throwable e) {
+            LOGGER.error("Could not generate code to " + configurator.getOutputDir(), e);
+            return failure(e.getMessage() == null ? e.toString() : e.getMessage());
+        }
+        long duration = System.currentTimeMillis() - start;
+        generations.incrementAndGet();
+        LOGGER.info("Generated {} code to {} in {} ms", configurator.getGeneratorName(), configurator.getOutputDir(), duration);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("duration", duration);
+        return response;
+    }
+
+    private boolean isAuthorized(String requestToken) {
+        // constant time comparison
+        return MessageDigest.isEqual(token, requestToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the template cache of the generator and template directory of the generation, a new one if the
+     * files of the template directory changed since the previous generation
+     */
+    private TemplateCache getTemplateCache(CodegenConfigurator configurator) {
+        String templateDir = configurator.getTemplateDir();
+        String key = configurator.getGeneratorName() + '\n' + (templateDir == null ? "" : new File(templateDir).getAbsolutePath());
+        String stamp = templateDir == null ? "" : stamp(new File(templateDir));
+        return templateCaches.compute(key, (k, cached) -> cached != null && cached.stamp.equals(stamp)
+                ? cached : new CachedTemplates(stamp)).cache;
+    }
+
+    /**
+     * @return the paths, sizes and modification times of the files of a template directory
+     */
+    private static String stamp(File templateDir) {
+        if (!templateDir.isDirectory()) {
+            return "";
+        }
+        StringBuilder stamp = new StringBuilder();
+        for (File file : new TreeSet<>(FileUtils.listFiles(templateDir, null, true))) {
+            stamp.append(file.getPath()).append('\n').append(file.length()).append('\n').append(file.lastModified()).append('\n');
+        }
+        return stamp.toString();
+    }
+
+    /**
+     * Write a random token to a file readable by the current user only.
+     *
+     * @return the token
+     */
+    private static byte[] writeToken(File tokenFile) throws IOException {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        byte[] token = BaseEncoding.base16().lowerCase().encode(random).getBytes(StandardCharsets.UTF_8);
+
+        Path path = tokenFile.toPath();
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.deleteIfExists(path);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(
+                    EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)));
+        } else {
+            Files.createFile(path);
+            File file = path.toFile();
+            if (!file.setReadable(false, false) || !file.setReadable(true, true)
+                    || !file.setWritable(false, false) || !file.setWritable(true, true)) {
+                throw new IOException("Unable to restrict the permissions of " + tokenFile);
+            }
+        }
+        Files.write(path, token);
+        return token;
+    }
+
+    private static final class CachedTemplates {
+        private final TemplateCache cache = new TemplateCache(true);
+        private final String stamp;
+
+        CachedTemplates(String stamp) {
+            this.stamp = stamp;
+        }
+    }
+
+    private static Map<String, Object> failure(String error) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "failure");
+        response.put("error", error);
+        return response;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.daemon;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import org.apache.commons.io.IOUtils;
+import org.openapitools.codegen.GeneratorNotFoundException;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.utils.ImplementationVersion;
+import org.openapitools.codegen.utils.SpecificationFiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * Sends generation requests to a {@link GeneratorDaemon} running on this machine, authenticated with the token the
+ * daemon wrote to its token file.
+ */
+public class GeneratorDaemonClient {
+    private static final int CONNECT_TIMEOUT = 2000;
+
+    private final int port;
+    private final File tokenFile;
+
+    /**
+     * @param port port of the daemon on the loopback interface, whose token is read from the default token file
+     *             (see {@link GeneratorDaemon#getTokenFile(int)})
+     */
+    public GeneratorDaemonClient(int port) {
+        this(port, GeneratorDaemon.getTokenFile(port));
+    }
+
+    /**
+     * @param port      port of the daemon on the loopback interface
+     * @param tokenFile token file of the daemon
+     */
+    public GeneratorDaemonClient(int port, File tokenFile) {
+        this.port = port;
+        this.tokenFile = tokenFile;
+    }
+
+    /**
+     * @return true if a daemon answers on the port
+     */
+    public boolean isRunning() {
+        return getVersion() != null;
+    }
+
+    /**
+     * @return true if a daemon answers on the port and runs the same version of the generator as this JVM, so that
+     * it generates the same code
+     */
+    public boolean isCompatible() {
+        String version = getVersion();
+        return version != null && version.equals(ImplementationVersion.read());
+    }
+
+    /**
+     * @return the version of the generator the daemon runs, or null if no daemon answers on the port
+     */
+    public String getVersion() {
+        try {
+            JsonNode status = request(command("status"));
+            return "running".equals(status.path("status").asText()) ? status.path("version").asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Generate code in the daemon. The local paths of the configuration (input spec, output, template and spec cache
+     * directories, ignore file override) are made absolute in the request, against the working directory of this
+     * JVM, since the daemon may run in another directory; the given configuration is left as it is.
+     * <p>
+     * The generation runs with the environment of the daemon: the {@code *_POST_PROCESS_FILE} variables of this JVM
+     * are not applied.
+     *
+     * @param configurator the configuration of the generation
+     * @return the duration of the generation in the daemon, in milliseconds
+     * @throws IOException if the daemon cannot be reached
+     * @throws IllegalStateException if the daemon runs another version of the generator, see {@link #isCompatible()}
+     * @throws GeneratorNotFoundException if the generator is not on the class path of the daemon, e.g. a custom
+     * generator of the build, so that the code is to be generated by the caller
+     */
+    public long generate(CodegenConfigurator configurator) throws IOException {
+        JsonNode status = request(command("status"));
+        String version = status.path("version").asText(null);
+        if (!"running".equals(status.path("status").asText())) {
+            throw new IOException("The generator daemon is not available: " + status.path("error").asText());
+        }
+        if (version == null || !version.equals(ImplementationVersion.read())) {
+            throw new IllegalStateException("The generator daemon runs version " + version
+                    + " of the generator, not " + ImplementationVersion.read());
+        }
+
+        // a copy, with the paths of the request
+        CodegenConfigurator configuration = Json.mapper().convertValue(configurator, CodegenConfigurator.class);
+        String inputSpec = configuration.getInputSpec();
+        if (isNotEmpty(inputSpec) && !SpecificationFiles.isRemote(inputSpec)) {
+            configuration.setInputSpec(absolutePath(inputSpec));
+        }
+        if (isNotEmpty(configuration.getOutputDir())) {
+            configuration.setOutputDir(absolutePath(configuration.getOutputDir()));
+        }
+        if (isNotEmpty(configuration.getTemplateDir())) {
+            configuration.setTemplateDir(absolutePath(configuration.getTemplateDir()));
+        }
+        if (isNotEmpty(configuration.getIgnoreFileOverride())) {
+            configuration.setIgnoreFileOverride(absolutePath(configuration.getIgnoreFileOverride()));
+        }
+        if (isNotEmpty(configuration.getSpecCacheDir())) {
+            configuration.setSpecCacheDir(absolutePath(configuration.getSpecCacheDir()));
+        }
+
+        ObjectNode request = command("generate");
+        request.set("configuration", Json.mapper().valueToTree(configuration));
+        JsonNode response = request(request);
+        if (GeneratorDaemon.GENERATOR_NOT_FOUND.equals(response.path("reason").asText())) {
+            throw new GeneratorNotFoundException(response.path("error").asText());
+        }
+        if (!"success".equals(response.path("status").asText())) {
+            throw new RuntimeException("Code generation failed in the generator daemon: " + response.path("error").asText());
+        }
+        return response.path("duration").asLong();
+    }
+
+    /**
+     * Stop the daemon.
+     *
+     * @throws IOException if the daemon cannot be reached
+     */
+    public void shutdown() throws IOException {
+        request(command("shutdown"));
+    }
+
+    private JsonNode request(ObjectNode request) throws IOException {
+        if (!tokenFile.isFile()) {
+            throw new IOException("No token file " + tokenFile);
+        }
+        request.put("token", new String(Files.readAllBytes(tokenFile.toPath()), StandardCharsets.UTF_8).trim());
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT);
+            OutputStream out = socket.getOutputStream();
+            out.write(Json.mapper().writeValueAsString(request).getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            // the end of the request
+            socket.shutdownOutput();
+            String response = IOUtils.toString(socket.getInputStream(), StandardCharsets.UTF_8);
+            if (response.isEmpty()) {
+                throw new IOException("Empty response from the generator daemon");
+            }
+            return Json.mapper().readTree(response);
+        }
+    }
+
+    private static String absolutePath(String path) {
+        return new File(path).getAbsolutePath();
+    }
+
+    private static ObjectNode command(String command) {
+        ObjectNode request = Json.mapper().createObjectNode();
+        request.put("command", command);
+        return request;
+    }
+}
@@ -20,12 +20,17 @@ package org.openapitools.codegen.ignore;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Files;
 import org.openapitools.codegen.ignore.rules.DirectoryRule;
+import org.openapitools.codegen.ignore.rules.EverythingRule;
 import org.openapitools.codegen.ignore.rules.Rule;
+import org.openapitools.codegen.ignore.rules.RuleMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -39,10 +44,17 @@ public class CodegenIgnoreProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(CodegenIgnoreProcessor.class);
 
     private File ignoreFile = null;
+    private URI baseDirectory = null;
 
     private List<Rule> exclusionRules = new ArrayList<>();
     private List<Rule> inclusionRules = new ArrayList<>();
 
+    // the rules compiled for allowsFile, see compileRules()
+    private RuleMatcher exclusions;
+    private RuleMatcher directoryExclusions;
+    private RuleMatcher inclusions;
+    private RuleMatcher directoryInclusions;
+
     /**
      * Loads the default ignore file (.openapi-generator-ignore) from the specified path.
      *
@@ -83,6 +95,7 @@ public class CodegenIgnoreProcessor {
             try {
                 loadCodegenRules(targetIgnoreFile);
                 this.ignoreFile = targetIgnoreFile;
+                this.baseDirectory = targetIgnoreFile.getParentFile().toURI();
             } catch (IOException e) {
                 LOGGER.error(String.format(Locale.ROOT, "Could not process %s.", targetIgnoreFile.getName()), e.getMessage());
             }
@@ -130,6 +143,39 @@ public class CodegenIgnoreProcessor {
                 }
             }
         }
+        compileRules();
+    }
+
+    /**
+     * Compiles the rules into the matchers evaluated by {@link #allowsFile(File)}.
+     * <p>
+     * A file is excluded if any exclusion rule matches it. It is included back if any inclusion rule matches it,
+     * unless a directory exclusion rule matches it too: then only a directory inclusion rule includes it back.
+     * An {@link EverythingRule} terminates the evaluation of the exclusion rules: it and the rules following it
+     * do not count.
+     */
+    private void compileRules() {
+        List<Rule> evaluatedExclusionRules = new ArrayList<>();
+        List<Rule> directoryExclusionRules = new ArrayList<>();
+        for (Rule rule : exclusionRules) {
+            if (rule instanceof EverythingRule) {
+                break;
+            }
+            evaluatedExclusionRules.add(rule);
+            if (rule instanceof DirectoryRule) {
+                directoryExclusionRules.add(rule);
+            }
+        }
+        List<Rule> directoryInclusionRules = new ArrayList<>();
+        for (Rule rule : inclusionRules) {
+            if (rule instanceof DirectoryRule) {
+                directoryInclusionRules.add(rule);
+            }
+        }
+        exclusions = new RuleMatcher(evaluatedExclusionRules);
+        directoryExclusions = new RuleMatcher(directoryExclusionRules);
+        inclusions = new RuleMatcher(inclusionRules);
+        directoryInclusions = new RuleMatcher(directoryInclusionRules);
     }
 
     /**
@@ -140,68 +186,29 @@ public class CodegenIgnoreProcessor {
      * @return {@code false} if file matches any pattern in the ignore file (disallowed), otherwise {@code true} (allowed).
      */
     public boolean allowsFile(final File targetFile) {
-        if(this.ignoreFile == null) return true;
+        if(this.ignoreFile == null || exclusions.isEmpty()) return true;
 
-        File file = new File(this.ignoreFile.getParentFile().toURI().relativize(targetFile.toURI()).getPath());
-        Boolean directoryExcluded = false;
-        Boolean exclude = false;
-        if(exclusionRules.size() == 0 && inclusionRules.size() == 0) {
+        String relativePath = new File(this.baseDirectory.relativize(targetFile.toURI()).getPath()).getPath();
+        Path path = FileSystems.getDefault().getPath(relativePath);
+        if (!exclusions.matches(relativePath, path)) {
             return true;
         }
 
-        // NOTE: We *must* process all exclusion rules
-        for (int i = 0; i < exclusionRules.size(); i++) {
-            Rule current = exclusionRules.get(i);
-            Rule.Operation op = current.evaluate(file.getPath());
-
-            switch (op){
-                case EXCLUDE:
-                    exclude = true;
-
-                    // Include rule can't override rules that exclude a file by some parent directory.
-                    if(current instanceof DirectoryRule) {
-                        directoryExcluded = true;
-                    }
-                    break;
-                case INCLUDE:
-                    // This won't happen here.
-                    break;
-                case NOOP:
-                    break;
-                case EXCLUDE_AND_TERMINATE:
-                    i = exclusionRules.size();
-                    break;
-            }
-        }
-
-        if(exclude) {
-            // Only need to process inclusion rules if we've been excluded
-            for (int i = 0; exclude && i < inclusionRules.size(); i++) {
-                Rule current = inclusionRules.get(i);
-                Rule.Operation op = current.evaluate(file.getPath());
-
-                // At this point exclude=true means the file should be ignored.
-                // op == INCLUDE means we have to flip that flag.
-                if(op.equals(Rule.Operation.INCLUDE)) {
-                    if(current instanceof DirectoryRule && directoryExcluded) {
-                        // e.g
-                        // baz/
-                        // !foo/bar/baz/
-                        // NOTE: Possibly surprising side effect:
-                        // foo/bar/baz/
-                        // !bar/
-                        exclude = false;
-                    } else if (!directoryExcluded) {
-                        // e.g.
-                        // **/*.log
-                        // !ISSUE_1234.log
-                        exclude = false;
-                    }
-                }
-            }
+        // Include rule can't override rules that exclude a file by some parent directory.
+        // e.g
+        // baz/
+        // !foo/bar/baz/
+        // NOTE: Possibly surprising side effect:
+        // foo/bar/baz/
+        // !bar/
+        if (directoryExclusions.matches(relativePath, path)) {
+            return directoryInclusions.matches(relativePath, path);
         }
 
-        return Boolean.FALSE.equals(exclude);
+        // e.g.
+        // **/*.log
+        // !ISSUE_1234.log
+        return inclusions.matches(relativePath, path);
     }
 
     /**
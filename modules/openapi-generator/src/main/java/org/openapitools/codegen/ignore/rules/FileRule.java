@@ -18,6 +18,7 @@
 package org.openapitools.codegen.ignore.rules;
 
 import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.List;
 
@@ -32,6 +33,16 @@ public class FileRule extends Rule {
 
     @Override
     public Boolean matches(String relativePath) {
-        return matcher.matches(FileSystems.getDefault().getPath(relativePath));
+        return matches(FileSystems.getDefault().getPath(relativePath));
+    }
+
+    /**
+     * Same as {@link #matches(String)}, for a path already parsed by the default file system.
+     *
+     * @param relativePath The path relative to the ignore file.
+     * @return {@code true} if the path matches the rule.
+     */
+    public Boolean matches(Path relativePath) {
+        return matcher.matches(relativePath);
     }
 }
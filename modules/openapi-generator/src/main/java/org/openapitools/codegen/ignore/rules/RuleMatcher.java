@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.ignore.rules;
+
+import java.nio.file.FileSystems;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A list of rules compiled to tell whether any of them matches a path.
+ * <p>
+ * Rules matching a literal file (e.g. {@code src/Foo.java}) or the contents of a literal directory
+ * (e.g. {@code docs/}) are looked up in hash sets, by the path and by each of its parent directories. Only the
+ * remaining rules (globs) are evaluated one by one, against a path parsed once per lookup. {@link Path} equality
+ * follows the case sensitivity of the file system, as its glob matcher does.
+ */
+public class RuleMatcher {
+    private static final String GLOB_META_CHARS = "\\*?[]{}";
+
+    private final Set<Path> files = new HashSet<>();
+    private final Set<Path> directories = new HashSet<>();
+    private final List<Rule> others = new ArrayList<>();
+
+    public RuleMatcher(Collection<? extends Rule> rules) {
+        for (Rule rule : rules) {
+            if (rule instanceof InvalidRule) {
+                // never matches
+                continue;
+            }
+            if (rule instanceof DirectoryRule) {
+                String pattern = rule.getPattern();
+                // "foo/" matches the paths under foo, but not foo itself
+                Path directory = literalPath(pattern.substring(0, pattern.length() - 1));
+                if (directory != null) {
+                    directories.add(directory);
+                    continue;
+                }
+            } else if (rule instanceof FileRule) {
+                Path file = literalPath(rule.getPattern());
+                if (file != null) {
+                    files.add(file);
+                    continue;
+                }
+            }
+            others.add(rule);
+        }
+    }
+
+    /**
+     * @return the path matched by the pattern if it has no glob syntax, otherwise {@code null}
+     */
+    private static Path literalPath(String pattern) {
+        if (pattern.isEmpty() || pattern.startsWith("/") || pattern.endsWith("/") || pattern.contains("//")) {
+            return null;
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            if (GLOB_META_CHARS.indexOf(pattern.charAt(i)) != -1) {
+                return null;
+            }
+        }
+        try {
+            Path path = FileSystems.getDefault().getPath(pattern);
+            // the glob is compared to the string of the path, which the file system may have rewritten
+            return path.toString().equals(pattern.replace("/", FileSystems.getDefault().getSeparator())) ? path : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    public boolean isEmpty() {
+        return files.isEmpty() && directories.isEmpty() && others.isEmpty();
+    }
+
+    /**
+     * @param relativePath The path relative to the ignore file, as passed to {@link Rule#matches(String)}.
+     * @param path         The same path, parsed by the default file system.
+     * @return {@code true} if any of the rules matches the path.
+     */
+    public boolean matches(String relativePath, Path path) {
+        if (files.contains(path)) {
+            return true;
+        }
+        if (!directories.isEmpty() && path.getRoot() == null) {
+            for (int i = 1; i < path.getNameCount(); i++) {
+                if (directories.contains(path.subpath(0, i))) {
+                    return true;
+                }
+            }
+        }
+        for (Rule rule : others) {
+            Boolean matches = rule instanceof FileRule ? ((FileRule) rule).matches(path) : rule.matches(relativePath);
+            if (Boolean.TRUE.equals(matches)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
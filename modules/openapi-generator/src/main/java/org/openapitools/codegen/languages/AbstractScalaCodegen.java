@@ -305,31 +305,21 @@ public abstract class AbstractScalaCodegen extends DefaultCodegen {
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
 
         String scalaPostProcessFile = System.getenv("SCALA_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(scalaPostProcessFile)) {
-            return; // skip if SCALA_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if SCALA_POST_PROCESS_FILE env variable is not defined
         }
 
         // only process files with scala extension
         if ("scala".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = scalaPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return scalaPostProcessFile;
         }
+        return null;
     }
 
 }
@@ -683,32 +683,21 @@ public class ElmClientCodegen extends DefaultCodegen implements CodegenConfig {
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
 
         String elmPostProcessFile = System.getenv("ELM_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(elmPostProcessFile)) {
-            return; // skip if ELM_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if ELM_POST_PROCESS_FILE env variable is not defined
         }
 
         // only process files with elm extension
         if ("elm".equals(FilenameUtils.getExtension(file.toString()))) {
             // e.g. elm-format -w yourcode.elm
-            String command = elmPostProcessFile + " " + file.toString();
-
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit code: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: " + command);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return elmPostProcessFile;
         }
+        return null;
     }
 }
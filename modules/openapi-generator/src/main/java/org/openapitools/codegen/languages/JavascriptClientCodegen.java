@@ -1172,30 +1172,20 @@ public class JavascriptClientCodegen extends DefaultCodegen implements CodegenCo
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
+    public String getPostProcessFileCommand(File file, String fileType) {
         if (file == null) {
-            return;
+            return null;
         }
 
         String jsPostProcessFile = System.getenv("JS_POST_PROCESS_FILE");
         if (StringUtils.isEmpty(jsPostProcessFile)) {
-            return; // skip if JS_POST_PROCESS_FILE env variable is not defined
+            return null; // skip if JS_POST_PROCESS_FILE env variable is not defined
         }
 
         // only process files with js extension
         if ("js".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = jsPostProcessFile + " " + file.toString();
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                p.waitFor();
-                int exitValue = p.exitValue();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit code: {}", command, exitValue);
-                }
-                LOGGER.info("Successfully executed: " + command);
-            } catch (Exception e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-            }
+            return jsPostProcessFile;
         }
+        return null;
     }
 }
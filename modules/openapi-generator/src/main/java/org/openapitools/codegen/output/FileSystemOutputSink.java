@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.output;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Writes files to the file system, creating parent directories as needed. This is the default sink.
+ */
+public class FileSystemOutputSink implements OutputSink {
+
+    @Override
+    public boolean exists(String filename) {
+        return new File(filename).exists();
+    }
+
+    @Override
+    public void write(String filename, byte[] contents) throws IOException {
+        try (OutputStream out = open(filename)) {
+            out.write(contents);
+        }
+    }
+
+    @Override
+    public void write(String filename, InputStream contents) throws IOException {
+        try (OutputStream out = open(filename)) {
+            IOUtils.copy(contents, out);
+        }
+    }
+
+    @Override
+    public boolean hasContent(String filename, byte[] contents) throws IOException {
+        File file = new File(filename);
+        // comparing the length first avoids reading files which obviously changed
+        return file.isFile() && file.length() == contents.length
+                && Arrays.equals(Files.readAllBytes(file.toPath()), contents);
+    }
+
+    @Override
+    public boolean isFileSystem() {
+        return true;
+    }
+
+    private OutputStream open(String filename) throws IOException {
+        File output = new File(filename);
+        if (output.getParentFile() != null && !output.getParentFile().exists()) {
+            output.getParentFile().mkdirs();
+        }
+        return new FileOutputStream(output, false);
+    }
+}
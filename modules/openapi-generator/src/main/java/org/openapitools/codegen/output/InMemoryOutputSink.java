@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.output;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the written files in memory, keyed by path (with '/' separators), in the order they were first written.
+ */
+public class InMemoryOutputSink implements OutputSink {
+    private final Map<String, byte[]> files = new LinkedHashMap<>();
+
+    @Override
+    public synchronized boolean exists(String filename) {
+        return files.containsKey(normalize(filename));
+    }
+
+    @Override
+    public synchronized void write(String filename, byte[] contents) {
+        files.put(normalize(filename), contents.clone());
+    }
+
+    @Override
+    public void write(String filename, InputStream contents) throws IOException {
+        byte[] bytes = IOUtils.toByteArray(contents);
+        synchronized (this) {
+            files.put(normalize(filename), bytes);
+        }
+    }
+
+    @Override
+    public synchronized boolean hasContent(String filename, byte[] contents) {
+        return Arrays.equals(files.get(normalize(filename)), contents);
+    }
+
+    /**
+     * @return the written files (path to content)
+     */
+    public synchronized Map<String, byte[]> getFiles() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(files));
+    }
+
+    /**
+     * @param filename path of the file
+     * @return the content of the file decoded as UTF-8, or null if it was not written
+     */
+    public synchronized String getContents(String filename) {
+        byte[] contents = files.get(normalize(filename));
+        return contents == null ? null : new String(contents, StandardCharsets.UTF_8);
+    }
+
+    private static String normalize(String filename) {
+        return filename.replace(File.separatorChar, '/');
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Destination of the files written by a generator. Paths are the ones computed by the generator (i.e. they
+ * include the output directory), each sink decides how to store them.
+ * <p>
+ * Implementations must be safe for concurrent writes of different files, since files may be rendered
+ * in parallel (see {@link org.openapitools.codegen.CodegenConfig#getGenerationThreads()}).
+ */
+public interface OutputSink extends Closeable {
+
+    /**
+     * @param filename path of the file
+     * @return true if the file already exists in this sink
+     */
+    boolean exists(String filename);
+
+    /**
+     * Write a file, replacing any previous content.
+     *
+     * @param filename path of the file
+     * @param contents content of the file
+     * @throws IOException if the file cannot be written
+     */
+    void write(String filename, byte[] contents) throws IOException;
+
+    /**
+     * Write a file from a stream, replacing any previous content. The stream is not closed.
+     *
+     * @param filename path of the file
+     * @param contents content of the file
+     * @throws IOException if the file cannot be written
+     */
+    void write(String filename, InputStream contents) throws IOException;
+
+    /**
+     * Check whether a file already exists with exactly the given content, so that writing it can be skipped.
+     * Returns false by default, i.e. when the sink cannot read back what it wrote.
+     *
+     * @param filename path of the file
+     * @param contents content of the file
+     * @return true if the file exists with the same content
+     * @throws IOException if the existing file cannot be read
+     */
+    default boolean hasContent(String filename, byte[] contents) throws IOException {
+        return false;
+    }
+
+    /**
+     * @return true if files are written to the file system, so that they can be post-processed by external tools
+     */
+    default boolean isFileSystem() {
+        return false;
+    }
+
+    /**
+     * Complete the output once all files are written. Does nothing by default.
+     *
+     * @throws IOException if the output cannot be completed
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.output;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams the written files as entries of a zip archive, without touching the file system.
+ * <p>
+ * Entry names are the file paths relative to the given base directory. A zip entry cannot be replaced,
+ * so when a file is written twice the first content is kept. {@link #close()} finishes the archive but does
+ * not close the underlying stream, which is owned by the caller.
+ */
+public class ZipOutputSink implements OutputSink {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZipOutputSink.class);
+
+    private final ZipOutputStream zip;
+    private final String baseDirectory;
+    private final Set<String> entries = new HashSet<>();
+
+    /**
+     * @param out           stream receiving the archive
+     * @param baseDirectory directory the entry names are relative to, e.g. the parent of the output directory
+     */
+    public ZipOutputSink(OutputStream out, String baseDirectory) {
+        this.zip = new ZipOutputStream(out);
+        String base = baseDirectory == null ? "" : baseDirectory.replace(File.separatorChar, '/');
+        this.baseDirectory = base.isEmpty() || base.endsWith("/") ? base : base + "/";
+    }
+
+    @Override
+    public synchronized boolean exists(String filename) {
+        return entries.contains(toEntryName(filename));
+    }
+
+    @Override
+    public synchronized void write(String filename, byte[] contents) throws IOException {
+        if (putNextEntry(filename)) {
+            zip.write(contents);
+            zip.closeEntry();
+        }
+    }
+
+    @Override
+    public synchronized void write(String filename, InputStream contents) throws IOException {
+        if (putNextEntry(filename)) {
+            IOUtils.copy(contents, zip);
+            zip.closeEntry();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        zip.finish();
+        zip.flush();
+    }
+
+    private boolean putNextEntry(String filename) throws IOException {
+        String name = toEntryName(filename);
+        if (!entries.add(name)) {
+            LOGGER.warn("Skipped writing {} again, zip entries cannot be replaced", name);
+            return false;
+        }
+        zip.putNextEntry(new ZipEntry(name));
+        return true;
+    }
+
+    private String toEntryName(String filename) {
+        String name = filename.replace(File.separatorChar, '/');
+        if (name.startsWith(baseDirectory)) {
+            name = name.substring(baseDirectory.length());
+        }
+        while (name.startsWith("/")) {
+            name = name.substring(1);
+        }
+        return name;
+    }
+}
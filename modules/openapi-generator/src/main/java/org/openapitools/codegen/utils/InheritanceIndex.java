@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inheritance (allOf) relationships between the schemas of a specification, computed once so that
+ * looking up the children of a schema does not require a scan of all schemas.
+ * <p>
+ * The index also memoizes the properties a schema contributes through its allOf chain, which is
+ * requested again for every schema extending it.
+ * <p>
+ * The index is a snapshot of the given schemas: it must be rebuilt if they are modified, which it cannot detect
+ * beyond a change of the size of the map.
+ */
+public class InheritanceIndex {
+    private final Map<String, Schema> schemas;
+    private final int size;
+    // schema name -> schemas referencing it in their allOf, in schema order
+    private final Map<String, Set<String>> children = new HashMap<>();
+    // filled while the models are converted, possibly from several threads
+    private final Map<String, ResolvedProperties> resolvedProperties = new ConcurrentHashMap<>();
+
+    public InheritanceIndex(Map<String, Schema> schemas) {
+        this.schemas = schemas;
+        this.size = schemas == null ? 0 : schemas.size();
+        if (schemas == null) {
+            return;
+        }
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            Schema schema = entry.getValue();
+            if (!(schema instanceof ComposedSchema) || ((ComposedSchema) schema).getAllOf() == null) {
+                continue;
+            }
+            for (Schema component : ((ComposedSchema) schema).getAllOf()) {
+                if (component.get$ref() != null) {
+                    String ref = ModelUtils.getSimpleRef(component.get$ref());
+                    children.computeIfAbsent(ref, k -> new LinkedHashSet<>()).add(entry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param schemas schemas of a specification
+     * @return true if this index was built from the given schemas, which were not resized since; the schemas may still
+     * have been modified
+     */
+    public boolean isIndexOf(Map<String, Schema> schemas) {
+        return this.schemas == schemas && size == (schemas == null ? 0 : schemas.size());
+    }
+
+    /**
+     * @param name schema name
+     * @return the names of the schemas referencing the schema in their allOf
+     */
+    public Set<String> getChildren(String name) {
+        Set<String> result = children.get(name);
+        return result == null ? Collections.emptySet() : Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * @param name schema name
+     * @return the properties contributed by the schema, or null if they have not been resolved yet
+     */
+    public ResolvedProperties getResolvedProperties(String name) {
+        return resolvedProperties.get(name);
+    }
+
+    /**
+     * Remember the properties contributed by a schema (including the ones of its allOf components).
+     *
+     * @param name       schema name
+     * @param properties properties of the schema
+     * @param required   required properties of the schema
+     * @return the memoized properties
+     */
+    public ResolvedProperties putResolvedProperties(String name, Map<String, Schema> properties, List<String> required) {
+        ResolvedProperties resolved = new ResolvedProperties(properties, required);
+        resolvedProperties.put(name, resolved);
+        return resolved;
+    }
+
+    public static final class ResolvedProperties {
+        private final Map<String, Schema> properties;
+        private final List<String> required;
+
+        ResolvedProperties(Map<String, Schema> properties, List<String> required) {
+            this.properties = Collections.unmodifiableMap(new LinkedHashMap<>(properties));
+            this.required = Collections.unmodifiableList(new ArrayList<>(required));
+        }
+
+        public Map<String, Schema> getProperties() {
+            return properties;
+        }
+
+        public List<String> getRequired() {
+            return required;
+        }
+    }
+}
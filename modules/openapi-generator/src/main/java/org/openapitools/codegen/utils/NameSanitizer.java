@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import java.util.regex.Pattern;
+
+/**
+ * Sanitizer of names (parameter, property, method, etc) for a given regex of characters to remove.
+ * <p>
+ * The regex is compiled once and the sanitized names are memoized, as the same names are sanitized
+ * many times during a generation. The regex "\W" (without unicode identifiers) is applied without
+ * a regex at all.
+ */
+public class NameSanitizer {
+    private static final String NON_WORD_CHARACTER = "\\W";
+    private static final int CACHE_SIZE = 100000;
+
+    private final String removeCharRegEx;
+    private final boolean allowUnicodeIdentifiers;
+    // null if the regex is applied by isAsciiWordCharacter
+    private final Pattern removeCharPattern;
+    private final LoadingCache<String, String> sanitizedNames;
+
+    /**
+     * @param removeCharRegEx         a regex containing all char that will be removed
+     * @param allowUnicodeIdentifiers true if the regex uses unicode character classes
+     */
+    public NameSanitizer(String removeCharRegEx, boolean allowUnicodeIdentifiers) {
+        this.removeCharRegEx = removeCharRegEx;
+        this.allowUnicodeIdentifiers = allowUnicodeIdentifiers;
+        if (!allowUnicodeIdentifiers && NON_WORD_CHARACTER.equals(removeCharRegEx)) {
+            this.removeCharPattern = null;
+        } else {
+            this.removeCharPattern = Pattern.compile(removeCharRegEx, allowUnicodeIdentifiers ? Pattern.UNICODE_CHARACTER_CLASS : 0);
+        }
+        this.sanitizedNames = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build(CacheLoader.from(this::compute));
+    }
+
+    public String getRemoveCharRegEx() {
+        return removeCharRegEx;
+    }
+
+    public boolean isAllowUnicodeIdentifiers() {
+        return allowUnicodeIdentifiers;
+    }
+
+    /**
+     * @param name string to be sanitized, not null
+     * @return sanitized string
+     */
+    public String sanitize(String name) {
+        return sanitizedNames.getUnchecked(name);
+    }
+
+    private String compute(String name) {
+        StringBuilder result = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            switch (c) {
+                case '[':
+                    if (i + 1 < name.length() && name.charAt(i + 1) == ']') {
+                        // input[] => input
+                        i++;
+                    } else {
+                        // input[a][b] => input_a_b
+                        append(result, '_');
+                    }
+                    break;
+                case ']':
+                case ')':
+                    break;
+                case '(':
+                    // input(a)(b) => input_a_b
+                case '.':
+                    // input.name => input_name
+                case '-':
+                    // input-name => input_name
+                case '|':
+                    // a|b => a_b
+                case ' ':
+                    // input name and age => input_name_and_age
+                    append(result, '_');
+                    break;
+                default:
+                    append(result, c);
+            }
+        }
+
+        // remove everything else other than word, number and _
+        // $php_variable => php_variable
+        if (removeCharPattern != null) {
+            return removeCharPattern.matcher(result).replaceAll("");
+        }
+        return result.toString();
+    }
+
+    private void append(StringBuilder result, char c) {
+        if (removeCharPattern != null || isAsciiWordCharacter(c)) {
+            result.append(c);
+        }
+    }
+
+    private static boolean isAsciiWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
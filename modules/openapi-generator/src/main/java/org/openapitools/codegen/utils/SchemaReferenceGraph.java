@@ -0,0 +1,285 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Reference graph of the schemas in the 'components/schemas' section of an OpenAPI specification.
+ * <p>
+ * The graph is built with a single walk over all paths (including callbacks) and all component schemas.
+ * For each schema it records the operations referencing it, the schemas it references and the mime types
+ * under which it is used (directly or through another schema). A {@code null} mime type stands for a usage
+ * as a parameter.
+ * <p>
+ * The usages are found like the former walk of {@link ModelUtils} found them, in the same order: the references of
+ * a schema are followed once, with the mime type of its first usage, so the schemas it references do not get the mime
+ * types of its later usages.
+ * <p>
+ * The graph is a snapshot: it must be rebuilt if the specification is modified (e.g. by the InlineModelResolver).
+ */
+public class SchemaReferenceGraph {
+    private static final Set<String> FORM_MIME_TYPES = new HashSet<>();
+
+    static {
+        FORM_MIME_TYPES.add("application/x-www-form-urlencoded");
+        FORM_MIME_TYPES.add("multipart/form-data");
+    }
+
+    private final Map<String, Schema> schemas;
+    // schema name -> operations referencing the schema, in walk order
+    private final Map<String, List<Operation>> operations = new HashMap<>();
+    // schema name -> schemas referenced by it
+    private final Map<String, Set<String>> references = new HashMap<>();
+    // schema name -> mime types the schema is used with, in discovery order of the schemas
+    private final Map<String, Set<String>> mimeTypes = new LinkedHashMap<>();
+
+    public SchemaReferenceGraph(OpenAPI openAPI) {
+        this.schemas = ModelUtils.getSchemas(openAPI);
+        for (Entry<String, Schema> entry : schemas.entrySet()) {
+            Set<String> refs = new LinkedHashSet<>();
+            collectReferences(entry.getValue(), refs);
+            references.put(entry.getKey(), refs);
+        }
+
+        Set<String> visited = new HashSet<>();
+        if (openAPI.getPaths() != null) {
+            for (PathItem path : openAPI.getPaths().values()) {
+                visitPathItem(openAPI, path, visited);
+            }
+        }
+    }
+
+    /**
+     * @return the schemas used (directly or transitively) by at least one operation, in discovery order
+     */
+    public List<String> getUsedSchemas() {
+        return new ArrayList<>(mimeTypes.keySet());
+    }
+
+    /**
+     * @return the schemas of the 'components/schemas' section not used by any operation
+     */
+    public List<String> getUnusedSchemas() {
+        List<String> unusedSchemas = new ArrayList<>();
+        for (String name : schemas.keySet()) {
+            if (!mimeTypes.containsKey(name)) {
+                unusedSchemas.add(name);
+            }
+        }
+        return unusedSchemas;
+    }
+
+    /**
+     * @return the schemas used only in 'application/x-www-form-urlencoded' or 'multipart/form-data' content
+     */
+    public List<String> getSchemasUsedOnlyInFormParam() {
+        List<String> result = new ArrayList<>();
+        for (Entry<String, Set<String>> entry : mimeTypes.entrySet()) {
+            boolean onlyForm = true;
+            for (String mimeType : entry.getValue()) {
+                if (!isFormMimeType(mimeType)) {
+                    onlyForm = false;
+                    break;
+                }
+            }
+            if (onlyForm) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param name schema name
+     * @return the mime types the schema is used with ({@code null} for parameters), empty if the schema is unused
+     */
+    public Set<String> getMimeTypes(String name) {
+        Set<String> result = mimeTypes.get(name);
+        return result == null ? Collections.emptySet() : Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * @param name schema name
+     * @return the operations directly referencing the schema in a parameter, request body or response
+     */
+    public List<Operation> getReferencingOperations(String name) {
+        List<Operation> result = operations.get(name);
+        return result == null ? Collections.emptyList() : Collections.unmodifiableList(result);
+    }
+
+    /**
+     * @param name schema name
+     * @return the names of the schemas directly referenced by the schema
+     */
+    public Set<String> getReferencedSchemas(String name) {
+        Set<String> result = references.get(name);
+        return result == null ? Collections.emptySet() : Collections.unmodifiableSet(result);
+    }
+
+    private void visitPathItem(OpenAPI openAPI, PathItem pathItem, Set<String> visited) {
+        List<Operation> allOperations = pathItem.readOperations();
+        if (allOperations == null) {
+            return;
+        }
+        for (Operation operation : allOperations) {
+            //Params:
+            if (operation.getParameters() != null) {
+                for (Parameter p : operation.getParameters()) {
+                    Parameter parameter = ModelUtils.getReferencedParameter(openAPI, p);
+                    if (parameter.getSchema() != null) {
+                        addUsage(operation, parameter.getSchema(), null, visited);
+                    }
+                }
+            }
+
+            //RequestBody:
+            RequestBody requestBody = ModelUtils.getReferencedRequestBody(openAPI, operation.getRequestBody());
+            if (requestBody != null && requestBody.getContent() != null) {
+                for (Entry<String, MediaType> e : requestBody.getContent().entrySet()) {
+                    if (e.getValue().getSchema() != null) {
+                        addUsage(operation, e.getValue().getSchema(), e.getKey(), visited);
+                    }
+                }
+            }
+
+            //Responses:
+            if (operation.getResponses() != null) {
+                for (ApiResponse r : operation.getResponses().values()) {
+                    ApiResponse apiResponse = ModelUtils.getReferencedApiResponse(openAPI, r);
+                    if (apiResponse != null && apiResponse.getContent() != null) {
+                        for (Entry<String, MediaType> e : apiResponse.getContent().entrySet()) {
+                            if (e.getValue().getSchema() != null) {
+                                addUsage(operation, e.getValue().getSchema(), e.getKey(), visited);
+                            }
+                        }
+                    }
+                }
+            }
+
+            //Callbacks:
+            if (operation.getCallbacks() != null) {
+                for (Callback c : operation.getCallbacks().values()) {
+                    Callback callback = ModelUtils.getReferencedCallback(openAPI, c);
+                    if (callback != null) {
+                        for (PathItem p : callback.values()) {
+                            visitPathItem(openAPI, p, visited);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void addUsage(Operation operation, Schema schema, String mimeType, Set<String> visited) {
+        Set<String> refs = new LinkedHashSet<>();
+        collectReferences(schema, refs);
+        for (String ref : refs) {
+            List<Operation> referencing = operations.computeIfAbsent(ref, k -> new ArrayList<>());
+            // all usages of an operation are added in a row, so checking the last entry avoids duplicates
+            if (referencing.isEmpty() || referencing.get(referencing.size() - 1) != operation) {
+                referencing.add(operation);
+            }
+            visitReference(ref, mimeType, visited);
+        }
+    }
+
+    /**
+     * Record a usage of a schema, then follow its references if it was not visited yet. Each schema is visited once,
+     * so this is linear in the size of the graph.
+     */
+    private void visitReference(String name, String mimeType, Set<String> visited) {
+        mimeTypes.computeIfAbsent(name, k -> new HashSet<>()).add(mimeType);
+        Set<String> refs = references.get(name);
+        if (refs != null && visited.add(name)) {
+            for (String ref : refs) {
+                visitReference(ref, mimeType, visited);
+            }
+        }
+    }
+
+    /**
+     * Collect the names of the schemas referenced by a schema, without following the references.
+     */
+    private static void collectReferences(Schema schema, Set<String> refs) {
+        if (schema.get$ref() != null) {
+            String ref = ModelUtils.getSimpleRef(schema.get$ref());
+            if (ref != null) {
+                refs.add(ref);
+            }
+        }
+        if (schema instanceof ComposedSchema) {
+            ComposedSchema composedSchema = (ComposedSchema) schema;
+            collectReferences(composedSchema.getOneOf(), refs);
+            collectReferences(composedSchema.getAllOf(), refs);
+            collectReferences(composedSchema.getAnyOf(), refs);
+        } else if (schema instanceof ArraySchema) {
+            Schema itemsSchema = ((ArraySchema) schema).getItems();
+            if (itemsSchema != null) {
+                collectReferences(itemsSchema, refs);
+            }
+        } else if (ModelUtils.isMapSchema(schema)) {
+            Object additionalProperties = schema.getAdditionalProperties();
+            if (additionalProperties instanceof Schema) {
+                collectReferences((Schema) additionalProperties, refs);
+            }
+        }
+        if (schema.getNot() != null) {
+            collectReferences(schema.getNot(), refs);
+        }
+        Map<String, Schema> properties = schema.getProperties();
+        if (properties != null) {
+            for (Schema property : properties.values()) {
+                collectReferences(property, refs);
+            }
+        }
+    }
+
+    private static void collectReferences(List<Schema> schemas, Set<String> refs) {
+        if (schemas != null) {
+            for (Schema s : schemas) {
+                collectReferences(s, refs);
+            }
+        }
+    }
+
+    private static boolean isFormMimeType(String mimeType) {
+        return mimeType != null && FORM_MIME_TYPES.contains(mimeType.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Structural hash and equality of schemas, to find identical schemas without serializing them to JSON.
+ * <p>
+ * Two schemas are equal if all the attributes appearing in their JSON serialization are equal: nested schemas
+ * (properties, items, additionalProperties, not, allOf, anyOf and oneOf) are compared structurally, properties
+ * in order, and the other attributes with {@link Object#equals(Object)}. The name and the Java class of the
+ * schemas are ignored, as in JSON.
+ * <p>
+ * The hashes of the nested schemas are cached by identity, so the schemas must not be modified while they are
+ * hashed by the same instance.
+ */
+public class SchemaStructure {
+    private final Map<Schema, Integer> hashes = new IdentityHashMap<>();
+
+    /**
+     * @param schema schema
+     * @return a key for the schema, equal to the key of any structurally equal schema
+     */
+    public Key key(Schema schema) {
+        return new Key(schema, hash(schema));
+    }
+
+    /**
+     * @param schema schema, may be null
+     * @return the structural hash of the schema
+     */
+    public int hash(Schema schema) {
+        if (schema == null) {
+            return 0;
+        }
+        Integer cached = hashes.get(schema);
+        if (cached != null) {
+            return cached;
+        }
+
+        int hash = Objects.hash(schema.getTitle(), schema.getType(), schema.getFormat(), schema.get$ref(),
+                schema.getDescription(), required(schema), schema.getEnum(), schema.getDefault(), schema.getExample(),
+                schema.getMultipleOf(), schema.getMaximum(), schema.getExclusiveMaximum(), schema.getMinimum(),
+                schema.getExclusiveMinimum(), schema.getMaxLength(), schema.getMinLength(), schema.getPattern(),
+                schema.getMaxItems(), schema.getMinItems(), schema.getUniqueItems(), schema.getMaxProperties(),
+                schema.getMinProperties(), schema.getNullable(), schema.getReadOnly(), schema.getWriteOnly(),
+                schema.getDeprecated(), schema.getDiscriminator(), schema.getExternalDocs(), schema.getXml(),
+                extensions(schema));
+        hash = 31 * hash + hash(schema.getNot());
+        Map<String, Schema> properties = schema.getProperties();
+        if (properties != null) {
+            for (Map.Entry<String, Schema> property : properties.entrySet()) {
+                hash = 31 * hash + property.getKey().hashCode();
+                hash = 31 * hash + hash(property.getValue());
+            }
+        }
+        Object additionalProperties = schema.getAdditionalProperties();
+        if (additionalProperties instanceof Schema) {
+            hash = 31 * hash + hash((Schema) additionalProperties);
+        } else {
+            hash = 31 * hash + Objects.hashCode(additionalProperties);
+        }
+        hash = 31 * hash + hash(items(schema));
+        // null lists hash to 0, so that a composed schema without allOf, anyOf and oneOf hashes like a plain schema
+        if (schema instanceof ComposedSchema) {
+            ComposedSchema composed = (ComposedSchema) schema;
+            hash = 31 * hash + hash(composed.getAllOf());
+            hash = 31 * hash + hash(composed.getAnyOf());
+            hash = 31 * hash + hash(composed.getOneOf());
+        } else {
+            hash = 31 * 31 * 31 * hash;
+        }
+
+        hashes.put(schema, hash);
+        return hash;
+    }
+
+    private int hash(List<Schema> schemas) {
+        if (schemas == null) {
+            return 0;
+        }
+        int hash = 1;
+        for (Schema schema : schemas) {
+            hash = 31 * hash + hash(schema);
+        }
+        return hash;
+    }
+
+    /**
+     * @param a schema, may be null
+     * @param b schema, may be null
+     * @return true if the schemas are structurally equal
+     */
+    public static boolean equals(Schema a, Schema b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+        if (!(Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getType(), b.getType())
+                && Objects.equals(a.getFormat(), b.getFormat())
+                && Objects.equals(a.get$ref(), b.get$ref())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(required(a), required(b))
+                && Objects.equals(a.getEnum(), b.getEnum())
+                && Objects.equals(a.getDefault(), b.getDefault())
+                && Objects.equals(a.getExample(), b.getExample())
+                && Objects.equals(a.getMultipleOf(), b.getMultipleOf())
+                && Objects.equals(a.getMaximum(), b.getMaximum())
+                && Objects.equals(a.getExclusiveMaximum(), b.getExclusiveMaximum())
+                && Objects.equals(a.getMinimum(), b.getMinimum())
+                && Objects.equals(a.getExclusiveMinimum(), b.getExclusiveMinimum())
+                && Objects.equals(a.getMaxLength(), b.getMaxLength())
+                && Objects.equals(a.getMinLength(), b.getMinLength())
+                && Objects.equals(a.getPattern(), b.getPattern())
+                && Objects.equals(a.getMaxItems(), b.getMaxItems())
+                && Objects.equals(a.getMinItems(), b.getMinItems())
+                && Objects.equals(a.getUniqueItems(), b.getUniqueItems())
+                && Objects.equals(a.getMaxProperties(), b.getMaxProperties())
+                && Objects.equals(a.getMinProperties(), b.getMinProperties())
+                && Objects.equals(a.getNullable(), b.getNullable())
+                && Objects.equals(a.getReadOnly(), b.getReadOnly())
+                && Objects.equals(a.getWriteOnly(), b.getWriteOnly())
+                && Objects.equals(a.getDeprecated(), b.getDeprecated())
+                && Objects.equals(a.getDiscriminator(), b.getDiscriminator())
+                && Objects.equals(a.getExternalDocs(), b.getExternalDocs())
+                && Objects.equals(a.getXml(), b.getXml())
+                && Objects.equals(extensions(a), extensions(b)))) {
+            return false;
+        }
+        if (!equals(a.getNot(), b.getNot()) || !equalProperties(a.getProperties(), b.getProperties())) {
+            return false;
+        }
+        Object additionalA = a.getAdditionalProperties();
+        Object additionalB = b.getAdditionalProperties();
+        if (additionalA instanceof Schema && additionalB instanceof Schema) {
+            if (!equals((Schema) additionalA, (Schema) additionalB)) {
+                return false;
+            }
+        } else if (!Objects.equals(additionalA, additionalB)) {
+            return false;
+        }
+        if (!equals(items(a), items(b))) {
+            return false;
+        }
+        if (a instanceof ComposedSchema || b instanceof ComposedSchema) {
+            ComposedSchema composedA = a instanceof ComposedSchema ? (ComposedSchema) a : new ComposedSchema();
+            ComposedSchema composedB = b instanceof ComposedSchema ? (ComposedSchema) b : new ComposedSchema();
+            return equals(composedA.getAllOf(), composedB.getAllOf())
+                    && equals(composedA.getAnyOf(), composedB.getAnyOf())
+                    && equals(composedA.getOneOf(), composedB.getOneOf());
+        }
+        return true;
+    }
+
+    // an empty list of required properties and empty extensions are not serialized
+    private static List<String> required(Schema schema) {
+        List<String> required = schema.getRequired();
+        return required == null || required.isEmpty() ? null : required;
+    }
+
+    private static Map<String, Object> extensions(Schema schema) {
+        Map<String, Object> extensions = schema.getExtensions();
+        return extensions == null || extensions.isEmpty() ? null : extensions;
+    }
+
+    private static Schema items(Schema schema) {
+        return schema instanceof ArraySchema ? ((ArraySchema) schema).getItems() : null;
+    }
+
+    private static boolean equalProperties(Map<String, Schema> a, Map<String, Schema> b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a.size() != b.size()) {
+            return false;
+        }
+        // in order, as in JSON
+        Iterator<Map.Entry<String, Schema>> iteratorB = b.entrySet().iterator();
+        for (Map.Entry<String, Schema> entryA : a.entrySet()) {
+            Map.Entry<String, Schema> entryB = iteratorB.next();
+            if (!entryA.getKey().equals(entryB.getKey()) || !equals(entryA.getValue(), entryB.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(List<Schema> a, List<Schema> b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!equals(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A schema with its structural hash, to be used as a key of hash based collections.
+     */
+    public static final class Key {
+        private final Schema schema;
+        private final int hash;
+
+        private Key(Schema schema, int hash) {
+            this.schema = schema;
+            this.hash = hash;
+        }
+
+        public Schema getSchema() {
+            return schema;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && SchemaStructure.equals(schema, other.schema);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Yaml;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The local files a specification is made of: the specification itself and the files it references with
+ * {@code $ref}, transitively. Build tools declare them as the inputs of a generation, so that changing a referenced
+ * file triggers a new generation.
+ */
+public class SpecificationFiles {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecificationFiles.class);
+
+    private static final Pattern URL = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]+://.*");
+
+    /**
+     * @param inputSpec the location of the specification, as given to the generator
+     * @return true if the specification is fetched from a server rather than read from a local file
+     */
+    public static boolean isRemote(String inputSpec) {
+        return inputSpec != null && URL.matcher(inputSpec).matches() && !inputSpec.startsWith("file:");
+    }
+
+    /**
+     * @param inputSpec the location of the specification, as given to the generator
+     * @return the specification file followed by the local files it references, or an empty set for a remote
+     * specification. Files which do not exist are left out, the parser reports them.
+     */
+    public static Set<File> of(String inputSpec) {
+        return of(inputSpec, new LinkedHashSet<>());
+    }
+
+    /**
+     * @param inputSpec        the location of the specification, as given to the generator
+     * @param remoteReferences filled with the locations of the remote files the local files reference
+     * @return the specification file followed by the local files it references, or an empty set for a remote
+     * specification. Files which do not exist are left out, the parser reports them.
+     */
+    public static Set<File> of(String inputSpec, Set<String> remoteReferences) {
+        Set<File> files = new LinkedHashSet<>();
+        if (inputSpec == null || isRemote(inputSpec)) {
+            return files;
+        }
+
+        Deque<File> pending = new ArrayDeque<>();
+        pending.add(toFile(inputSpec, null));
+        while (!pending.isEmpty()) {
+            File file = pending.poll();
+            if (!file.isFile() || !files.add(file)) {
+                continue;
+            }
+            try {
+                collectReferences(Yaml.mapper().readTree(file), file.getParentFile(), pending, remoteReferences);
+            } catch (IOException e) {
+                LOGGER.debug("Could not read {} to find the files it references", file, e);
+            }
+        }
+        return files;
+    }
+
+    private static void collectReferences(JsonNode node, File directory, Deque<File> pending,
+                                          Set<String> remoteReferences) {
+        if (node == null) {
+            return;
+        }
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if ("$ref".equals(field.getKey()) && field.getValue().isTextual()) {
+                    String ref = field.getValue().textValue();
+                    int fragment = ref.indexOf('#');
+                    String location = fragment >= 0 ? ref.substring(0, fragment) : ref;
+                    if (isRemote(location)) {
+                        remoteReferences.add(location);
+                    } else if (!location.isEmpty()) {
+                        pending.add(toFile(location, directory));
+                    }
+                } else {
+                    collectReferences(field.getValue(), directory, pending, remoteReferences);
+                }
+            }
+        } else if (node.isArray()) {
+            for (JsonNode item : node) {
+                collectReferences(item, directory, pending, remoteReferences);
+            }
+        }
+    }
+
+    private static File toFile(String location, File directory) {
+        File file;
+        if (location.startsWith("file:")) {
+            try {
+                file = new File(URI.create(location));
+            } catch (IllegalArgumentException e) {
+                // not a valid URI, e.g. file:relative/path or unencoded spaces
+                file = new File(location.substring("file:".length()));
+            }
+        } else {
+            file = new File(location);
+            if (!file.isAbsolute() && directory != null) {
+                file = new File(directory, location);
+            }
+        }
+        return file.getAbsoluteFile().toPath().normalize().toFile();
+    }
+}
@@ -1,12 +1,29 @@
 package org.openapitools.codegen.utils;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class StringUtils {
+    // camelize, underscore and dashize are called many times with the same words during a generation, so their
+    // results are memoized. The caches are bounded to keep the memory used by long running processes in check.
+    private static final int CACHE_SIZE = 100000;
+    // the pattern of the class name in the regex implementation of camelize, once the dots were removed
+    private static final Pattern LEGACY_CLASS_NAME = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+
+    private static final LoadingCache<String, String> camelizedWords = newCache(word -> computeCamelize(word, false));
+    private static final LoadingCache<String, String> lowerCamelizedWords = newCache(word -> computeCamelize(word, true));
+    private static final LoadingCache<String, String> underscoredWords = newCache(StringUtils::computeUnderscore);
+
+    private static LoadingCache<String, String> newCache(com.google.common.base.Function<String, String> function) {
+        return CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build(CacheLoader.from(function));
+    }
+
     /**
      * Underscore the given word.
      * Copied from Twitter elephant bird
@@ -16,21 +33,36 @@ public class StringUtils {
      * @return The underscored version of the word
      */
     public static String underscore(String word) {
-        String firstPattern = "([A-Z]+)([A-Z][a-z])";
-        String secondPattern = "([a-z\\d])([A-Z])";
-        String replacementPattern = "$1_$2";
-        // Replace package separator with slash.
-        word = word.replaceAll("\\.", "/"); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-        // Replace $ with two underscores for inner classes.
-        word = word.replaceAll("\\$", "__");
-        // Replace capital letter with _ plus lowercase letter.
-        word = word.replaceAll(firstPattern, replacementPattern);
-        word = word.replaceAll(secondPattern, replacementPattern);
-        word = word.replace('-', '_');
-        // replace space with underscore
-        word = word.replace(' ', '_');
-        word = word.toLowerCase(Locale.ROOT);
-        return word;
+        return underscoredWords.getUnchecked(word);
+    }
+
+    private static String computeUnderscore(String word) {
+        int length = word.length();
+        StringBuilder result = new StringBuilder(length + 8);
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == '.') {
+                // Replace package separator with slash.
+                result.append('/');
+            } else if (c == '$') {
+                // Replace $ with two underscores for inner classes.
+                result.append("__");
+            } else if (c == '-' || c == ' ') {
+                // replace dash and space with underscore
+                result.append('_');
+            } else {
+                // Separate words with an underscore: "aB" -> "a_B", "1B" -> "1_B" and "ABc" -> "A_Bc"
+                if (isUpperCase(c) && i > 0) {
+                    char previous = word.charAt(i - 1);
+                    if (isLowerCase(previous) || isDigit(previous)
+                            || (isUpperCase(previous) && i + 1 < length && isLowerCase(word.charAt(i + 1)))) {
+                        result.append('_');
+                    }
+                }
+                result.append(c);
+            }
+        }
+        return result.toString().toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -40,7 +72,8 @@ public class StringUtils {
      * @return The dashized version of the word, e.g. "my-name"
      */
     public static String dashize(String word) {
-        return underscore(word).replaceAll("[_ ]", "-");
+        // underscore has already replaced the spaces
+        return underscore(word).replace('_', '-');
     }
 
     /**
@@ -63,76 +96,190 @@ public class StringUtils {
      * @return camelized string
      */
     public static String camelize(String word, boolean lowercaseFirstLetter) {
-        // Replace all slashes with dots (package separator)
-        Pattern p = Pattern.compile("\\/(.?)");
-        Matcher m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst("." + m.group(1)/*.toUpperCase()*/); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-            m = p.matcher(word);
+        return (lowercaseFirstLetter ? lowerCamelizedWords : camelizedWords).getUnchecked(word);
+    }
+
+    private static String computeCamelize(String word, boolean lowercaseFirstLetter) {
+        // Remove slashes and dots (package separators) and upper case the first letter of each part
+        StringBuilder result = new StringBuilder(word.length());
+        boolean startOfPart = true;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c == '/' || c == '.') {
+                startOfPart = true;
+            } else {
+                result.append(startOfPart ? Character.toUpperCase(c) : c);
+                startOfPart = false;
+            }
         }
 
-        // case out dots
-        String[] parts = word.split("\\.");
-        StringBuilder f = new StringBuilder();
-        for (String z : parts) {
-            if (z.length() > 0) {
-                f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
+        // Uppercase the class name, i.e. the first word character.
+        int first = 0;
+        while (first < result.length() && !isWordCharacter(result.charAt(first))) {
+            first++;
+        }
+        if (first < result.length()) {
+            if (word.indexOf('\\') >= 0) {
+                upperCaseClassName(result, first);
+            } else {
+                result.setCharAt(first, Character.toUpperCase(result.charAt(first)));
             }
         }
-        word = f.toString();
 
-        m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1)/*.toUpperCase()*/);
-            m = p.matcher(word);
+        // Remove all underscores (underscore_case to camelCase)
+        result = containsLineTerminator(result) ? upperCaseAfterUnderscores(result) : upperCaseAfter(result, '_');
+
+        // Remove all hyphens (hyphen-case to camelCase)
+        result = upperCaseAfter(result, '-');
+
+        if (lowercaseFirstLetter && result.length() > 0) {
+            int i = 0;
+            while (i + 1 < result.length() && !isLetter(result.charAt(i))) {
+                i = i + 1;
+            }
+            i = i + 1;
+            String prefix = result.substring(0, i);
+            result.replace(0, i, prefix.toLowerCase(Locale.ROOT));
         }
 
-        // Uppercase the class name.
-        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
-        m = p.matcher(word);
-        if (m.find()) {
-            String rep = m.group(1) + m.group(2).toUpperCase(Locale.ROOT) + m.group(3);
-            rep = rep.replaceAll("\\$", "\\\\\\$");
-            word = m.replaceAll(rep);
+        // remove all underscore
+        int length = 0;
+        for (int i = 0; i < result.length(); i++) {
+            char c = result.charAt(i);
+            if (c != '_') {
+                result.setCharAt(length++, c);
+            }
         }
+        result.setLength(length);
 
-        // Remove all underscores (underscore_case to camelCase)
-        p = Pattern.compile("(_)(.)");
-        m = p.matcher(word);
-        while (m.find()) {
-            String original = m.group(2);
+        return result.toString();
+    }
+
+    /**
+     * Remove each run of separators followed by a character and upper case this character. A run at the end of
+     * the word or before a line terminator is reduced to a single separator.
+     */
+    private static StringBuilder upperCaseAfter(StringBuilder word, char separator) {
+        if (word.indexOf(String.valueOf(separator)) < 0) {
+            return word;
+        }
+        int length = word.length();
+        StringBuilder result = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            char c = word.charAt(i);
+            if (c != separator) {
+                result.append(c);
+                i++;
+                continue;
+            }
+            while (i < length && word.charAt(i) == separator) {
+                i++;
+            }
+            if (i == length || isLineTerminator(word.charAt(i))) {
+                result.append(separator);
+                continue;
+            }
+            int codePoint = Character.codePointAt(word, i);
+            if (codePoint < 128) {
+                result.append(Character.toUpperCase((char) codePoint));
+            } else {
+                result.append(new String(Character.toChars(codePoint)).toUpperCase(Locale.ROOT));
+            }
+            i += Character.charCount(codePoint);
+        }
+        return result;
+    }
+
+    /**
+     * Upper case the first word character of a word holding a backslash as the regex implementation did. The rest of
+     * the word was a regex replacement with its '$' escaped: a backslash escapes the next character, and a backslash
+     * before a '$' makes a group reference of the '$'. When that replacement failed, the backslashes are only
+     * removed as escapes.
+     */
+    private static void upperCaseClassName(StringBuilder word, int first) {
+        String className = word.substring(first);
+        String replacement = Character.toUpperCase(className.charAt(0)) + className.substring(1).replace("$", "\\$");
+        try {
+            word.replace(first, word.length(), LEGACY_CLASS_NAME.matcher(className).replaceAll(replacement));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            word.setCharAt(first, Character.toUpperCase(word.charAt(first)));
+            unescape(word, first + 1);
+        }
+    }
+
+    /**
+     * Remove the underscores of a word holding a line terminator as the regex implementation did, since no
+     * character matched a line terminator: for each underscore followed by another character, the first underscore
+     * of the word is removed if the character has no upper case, else the pair is replaced with the upper case of
+     * the character.
+     */
+    private static StringBuilder upperCaseAfterUnderscores(StringBuilder word) {
+        int from = 0;
+        while (true) {
+            int i = word.indexOf("_", from);
+            while (i >= 0 && (i + 1 == word.length() || isLineTerminator(word.charAt(i + 1)))) {
+                i = word.indexOf("_", i + 1);
+            }
+            if (i < 0) {
+                return word;
+            }
+            String original = new String(Character.toChars(Character.codePointAt(word, i + 1)));
             String upperCase = original.toUpperCase(Locale.ROOT);
             if (original.equals(upperCase)) {
-                word = word.replaceFirst("_", "");
+                word.deleteCharAt(word.indexOf("_"));
             } else {
-                word = m.replaceFirst(upperCase);
+                word.replace(i, i + 1 + original.length(), upperCase);
             }
-            m = p.matcher(word);
+            // the underscores before the pair are followed by line terminators
+            from = Math.max(i - 1, 0);
         }
+    }
 
-        // Remove all hyphens (hyphen-case to camelCase)
-        p = Pattern.compile("(-)(.)");
-        m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst(m.group(2).toUpperCase(Locale.ROOT));
-            m = p.matcher(word);
+    private static void unescape(StringBuilder word, int start) {
+        int length = start;
+        for (int i = start; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c == '\\' && i + 1 < word.length()) {
+                i++;
+                c = word.charAt(i);
+            }
+            word.setCharAt(length++, c);
         }
+        word.setLength(length);
+    }
 
-        if (lowercaseFirstLetter && word.length() > 0) {
-            int i = 0;
-            char charAt = word.charAt(i);
-            while (i + 1 < word.length() && !((charAt >= 'a' && charAt <= 'z') || (charAt >= 'A' && charAt <= 'Z'))) {
-                i = i + 1;
-                charAt = word.charAt(i);
+    private static boolean isUpperCase(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isLowerCase(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return isLowerCase(c) || isUpperCase(c);
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return isLetter(c) || isDigit(c) || c == '_';
+    }
+
+    private static boolean containsLineTerminator(CharSequence word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (isLineTerminator(word.charAt(i))) {
+                return true;
             }
-            i = i + 1;
-            word = word.substring(0, i).toLowerCase(Locale.ROOT) + word.substring(i);
         }
+        return false;
+    }
 
-        // remove all underscore
-        word = word.replaceAll("_", "");
-
-        return word;
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 
     /**
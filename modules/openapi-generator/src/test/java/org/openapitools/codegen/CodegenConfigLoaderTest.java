@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openapitools.codegen.languages.GoClientCodegen;
+import org.openapitools.codegen.languages.JavaClientCodegen;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+public class CodegenConfigLoaderTest {
+
+    @Test(description = "the index lists the registered generators, in the order of the services file")
+    public void testIndexIsUpToDate() throws Exception {
+        List<String> expected = new ArrayList<>();
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+            expected.add(CodegenConfigLoader.toIndexLine(config));
+        }
+
+        List<String> actual = new ArrayList<>();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(CodegenConfigLoader.INDEX)) {
+            for (String line : IOUtils.readLines(in, StandardCharsets.UTF_8)) {
+                if (!line.startsWith("#")) {
+                    actual.add(line);
+                }
+            }
+        }
+
+        Assert.assertEquals(actual, expected, "src/main/resources/" + CodegenConfigLoader.INDEX
+                + " must be updated along with the generators registered in META-INF/services");
+    }
+
+    @Test
+    public void testForName() {
+        Assert.assertTrue(CodegenConfigLoader.forName("java") instanceof JavaClientCodegen);
+        Assert.assertTrue(CodegenConfigLoader.forName(GoClientCodegen.class.getName()) instanceof GoClientCodegen);
+    }
+
+    @Test
+    public void testForNameNotFound() {
+        try {
+            CodegenConfigLoader.forName("not-a-generator");
+            Assert.fail("Expected a GeneratorNotFoundException");
+        } catch (GeneratorNotFoundException e) {
+            Assert.assertTrue(e.getMessage().contains("not-a-generator"));
+            Assert.assertTrue(e.getMessage().contains("\njava\n"));
+        }
+    }
+
+    @Test
+    public void testGetEntries() {
+        List<CodegenConfigLoader.Entry> entries = CodegenConfigLoader.getEntries();
+        Assert.assertEquals(entries.size(), CodegenConfigLoader.getAll().size());
+
+        CodegenConfigLoader.Entry java = entries.stream().filter(e -> "java".equals(e.getName())).findFirst().get();
+        Assert.assertEquals(java.getClassName(), JavaClientCodegen.class.getName());
+        Assert.assertEquals(java.getTag(), CodegenType.CLIENT);
+    }
+
+    @Test(description = "generators missing from the index, or indexed under another name, are still found")
+    public void testOutdatedIndex() throws Exception {
+        File dir = Files.createTempDirectory("codegen-config-loader").toFile();
+        try {
+            FileUtils.writeStringToFile(new File(dir, "META-INF/services/" + CodegenConfig.class.getName()),
+                    JavaClientCodegen.class.getName() + "\n" + GoClientCodegen.class.getName() + " # not indexed\n",
+                    StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(dir, CodegenConfigLoader.INDEX),
+                    "# renamed generator\nkotlin " + JavaClientCodegen.class.getName() + " CLIENT\n",
+                    StandardCharsets.UTF_8);
+
+            // a parent-less class loader, so that only the resources above are visible
+            ClassLoader parent = getClass().getClassLoader();
+            ClassLoader classLoader = new URLClassLoader(new URL[]{dir.toURI().toURL()}, null) {
+                @Override
+                protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                    return parent.loadClass(name);
+                }
+            };
+
+            List<CodegenConfigLoader.Entry> entries = CodegenConfigLoader.getEntries(classLoader);
+            Assert.assertEquals(entries.size(), 2);
+            Assert.assertEquals(entries.get(1).getName(), "go");
+            Assert.assertEquals(entries.get(1).getTag(), CodegenType.CLIENT);
+
+            Assert.assertTrue(CodegenConfigLoader.forName("go", classLoader) instanceof GoClientCodegen);
+            // found under its actual name, twice to use the corrected registration
+            Assert.assertTrue(CodegenConfigLoader.forName("java", classLoader) instanceof JavaClientCodegen);
+            Assert.assertTrue(CodegenConfigLoader.forName("java", classLoader) instanceof JavaClientCodegen);
+            try {
+                CodegenConfigLoader.forName("kotlin", classLoader);
+                Assert.fail("Expected a GeneratorNotFoundException");
+            } catch (GeneratorNotFoundException e) {
+                // the index is wrong, the class loaded for 'kotlin' is named 'java'
+            }
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+}
@@ -17,13 +17,19 @@
 
 package org.openapitools.codegen;
 
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
 import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
 import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Discriminator;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.ObjectSchema;
 import io.swagger.v3.oas.models.media.Schema;
@@ -42,6 +48,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -438,6 +445,100 @@ public class DefaultCodegenTest {
         Assert.assertEquals(discriminator, test);
     }
 
+    @Test
+    public void testDiscriminatorWithSubtypes() {
+        // one base schema extended by a few subtypes, see InheritanceBenchmark for many
+        final int subtypes = 3;
+        Map<String, Schema> schemas = new LinkedHashMap<>();
+        schemas.put("Base", new ObjectSchema()
+                .addProperties("kind", new StringSchema())
+                .addRequiredItem("kind")
+                .discriminator(new Discriminator().propertyName("kind")));
+        for (int i = 0; i < subtypes; i++) {
+            schemas.put("Sub" + i, new ComposedSchema()
+                    .addAllOfItem(new Schema().$ref("#/components/schemas/Base"))
+                    .addAllOfItem(new ObjectSchema().addProperties("prop" + i, new StringSchema())));
+        }
+        DefaultCodegen codegen = new DefaultCodegen();
+
+        CodegenModel base = codegen.fromModel("Base", schemas.get("Base"), schemas);
+        Assert.assertEquals(base.getDiscriminator().getMappedModels().size(), subtypes);
+        Assert.assertEquals(base.getDiscriminator().getMappedModels().iterator().next(),
+                new CodegenDiscriminator.MappedModel("Sub0", "Sub0"));
+
+        for (int i = 0; i < subtypes; i++) {
+            CodegenModel sub = codegen.fromModel("Sub" + i, schemas.get("Sub" + i), schemas);
+            Assert.assertEquals(sub.parent, "Base");
+            Assert.assertEquals(sub.vars.size(), 2);
+            Assert.assertEquals(sub.vars.get(0).baseName, "kind");
+            Assert.assertTrue(sub.vars.get(0).required);
+            Assert.assertEquals(sub.vars.get(1).baseName, "prop" + i);
+        }
+
+        // a subtype no longer extending the base, which leaves the number of schemas unchanged
+        schemas.put("Sub0", new ObjectSchema().addProperties("prop0", new StringSchema()));
+        codegen.invalidateInheritanceIndex();
+        base = codegen.fromModel("Base", schemas.get("Base"), schemas);
+        Assert.assertEquals(base.getDiscriminator().getMappedModels().size(), subtypes - 1);
+        Assert.assertEquals(base.getDiscriminator().getMappedModels().iterator().next(),
+                new CodegenDiscriminator.MappedModel("Sub1", "Sub1"));
+    }
+
+    @Test
+    public void testJsonSchemaIsSerializedOnRead() {
+        final Schema schema = new ObjectSchema()
+                .addProperties("name", new StringSchema())
+                .description("a model");
+        DefaultCodegen codegen = new DefaultCodegen();
+
+        CodegenModel model = codegen.fromModel("Sample", schema, Collections.singletonMap("Sample", schema));
+        Template template = Mustache.compiler().compile("{{{modelJson}}}|{{#vars}}{{{jsonSchema}}}{{/vars}}");
+        Assert.assertEquals(template.execute(model),
+                Json.pretty(schema) + "|" + Json.pretty(schema.getProperties().get("name")));
+        Assert.assertEquals(model.getModelJson(), Json.pretty(schema));
+
+        // serialized once
+        schema.description("another model");
+        Assert.assertNotEquals(model.getModelJson(), Json.pretty(schema));
+
+        model.setModelJson("{}");
+        Assert.assertEquals(model.getModelJson(), "{}");
+    }
+
+    @Test
+    public void testJsonSchemaIsComparedWithoutSerializing() {
+        CountingSource source = new CountingSource();
+        CodegenModel model = new CodegenModel();
+        model.setModelJsonSource(source);
+        CodegenModel sameModel = new CodegenModel();
+        sameModel.setModelJsonSource(source);
+        CodegenProperty property = new CodegenProperty();
+        property.setJsonSchemaSource(source);
+
+        Assert.assertEquals(model, sameModel);
+        Assert.assertEquals(model.hashCode(), sameModel.hashCode());
+        Assert.assertNotEquals(model, new CodegenModel());
+        Assert.assertNotEquals(property, new CodegenProperty());
+        Assert.assertNotNull(model.toString());
+        Assert.assertNotNull(property.toString());
+        Assert.assertEquals(source.reads, 0);
+
+        // serialized on the first read only
+        String json = model.getModelJson();
+        Assert.assertEquals(model.getModelJson(), json);
+        Assert.assertEquals(source.reads, 1);
+        Assert.assertEquals(json, Json.pretty(source));
+    }
+
+    public static class CountingSource {
+        int reads;
+
+        public String getValue() {
+            reads++;
+            return "value";
+        }
+    }
+
     @Test
     public void testDiscriminatorWithCustomMapping() {
         final OpenAPI openAPI = new OpenAPIParser().readLocation("src/test/resources/3_0/allOf.yaml", null, new ParseOptions()).getOpenAPI();
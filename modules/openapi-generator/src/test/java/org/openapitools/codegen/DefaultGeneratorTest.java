@@ -1,5 +1,7 @@
 package org.openapitools.codegen;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
@@ -10,11 +12,38 @@ import io.swagger.v3.oas.models.parameters.QueryParameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.languages.JavaClientCodegen;
+import org.openapitools.codegen.output.FileSystemOutputSink;
+import org.openapitools.codegen.output.InMemoryOutputSink;
+import org.openapitools.codegen.output.OutputSink;
+import org.openapitools.codegen.output.ZipOutputSink;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 public class DefaultGeneratorTest {
 
@@ -47,4 +76,485 @@ public class DefaultGeneratorTest {
         Assert.assertEquals(defaultList.get(3).path, "/path4");
         Assert.assertEquals(defaultList.get(3).allParams.size(), 1);
     }
+
+    @Test
+    public void testParallelGenerationMatchesSequential() throws Exception {
+        File sequentialOutput = Files.createTempDirectory("sequential").toFile();
+        File parallelOutput = Files.createTempDirectory("parallel").toFile();
+        try {
+            List<File> sequentialFiles = generatePetstore(sequentialOutput, 1);
+            List<File> parallelFiles = generatePetstore(parallelOutput, 4);
+
+            Assert.assertEquals(parallelFiles.size(), sequentialFiles.size());
+            for (int i = 0; i < sequentialFiles.size(); i++) {
+                String expectedPath = sequentialOutput.toPath().relativize(sequentialFiles.get(i).toPath()).toString();
+                String actualPath = parallelOutput.toPath().relativize(parallelFiles.get(i).toPath()).toString();
+                Assert.assertEquals(actualPath, expectedPath);
+                Assert.assertEquals(FileUtils.readFileToString(parallelFiles.get(i), StandardCharsets.UTF_8),
+                        FileUtils.readFileToString(sequentialFiles.get(i), StandardCharsets.UTF_8), expectedPath);
+            }
+        } finally {
+            FileUtils.deleteDirectory(sequentialOutput);
+            FileUtils.deleteDirectory(parallelOutput);
+        }
+    }
+
+    @Test
+    public void testParallelIncrementalGeneration() throws Exception {
+        File output = Files.createTempDirectory("parallel-incremental").toFile();
+        try {
+            File spec = new File(output, "petstore.yaml");
+            FileUtils.copyFile(new File("src/test/resources/3_0/petstore.yaml"), spec);
+            File sequentialOutput = new File(output, "sequential");
+            File parallelOutput = new File(output, "parallel");
+            generateIncrementally(spec, sequentialOutput);
+            // the same generator in both generations, which would otherwise not be incremental
+            new DefaultGenerator().opts(incrementalConfigurator(spec, parallelOutput)
+                    .setGeneratorName(PostProcessRecordingCodegen.class.getName())
+                    .toClientOptInput()).generate();
+
+            // Tag changed: some files are rendered again, the others are up-to-date
+            String content = FileUtils.readFileToString(spec, StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(spec, content.replace("      description: A tag for a pet\n",
+                    "      description: A tag for a pet, changed\n"), StandardCharsets.UTF_8);
+            List<File> sequentialFiles = generateIncrementally(spec, sequentialOutput);
+            ClientOptInput input = incrementalConfigurator(spec, parallelOutput)
+                    .setGeneratorName(PostProcessRecordingCodegen.class.getName())
+                    .setGenerationThreads(4)
+                    .setEnablePostProcessFile(true)
+                    .toClientOptInput();
+            DefaultGenerator generator = new DefaultGenerator();
+            List<File> parallelFiles = generator.opts(input).generate();
+            Assert.assertTrue(generator.getUnchangedFileCount() > 0);
+
+            Assert.assertEquals(parallelFiles.size(), sequentialFiles.size());
+            for (int i = 0; i < sequentialFiles.size(); i++) {
+                Assert.assertEquals(parallelOutput.toPath().relativize(parallelFiles.get(i).toPath()),
+                        sequentialOutput.toPath().relativize(sequentialFiles.get(i).toPath()));
+            }
+            PostProcessRecordingCodegen config = (PostProcessRecordingCodegen) input.getConfig();
+            Assert.assertTrue(config.postProcessedFiles.contains(new File(parallelOutput, "src/main/java/org/openapitools/client/model/Tag.java")));
+            Assert.assertFalse(config.postProcessedFiles.contains(new File(parallelOutput, "src/main/java/org/openapitools/client/model/Order.java")));
+            Assert.assertEquals(config.postProcessingThreads, Collections.singleton(Thread.currentThread()));
+        } finally {
+            FileUtils.deleteDirectory(output);
+        }
+    }
+
+    /**
+     * Records the files it post-processes, and the threads it does it from.
+     */
+    public static class PostProcessRecordingCodegen extends JavaClientCodegen {
+        final List<File> postProcessedFiles = new ArrayList<>();
+        final Set<Thread> postProcessingThreads = new HashSet<>();
+
+        @Override
+        public void postProcessFile(File file, String fileType) {
+            synchronized (this) {
+                postProcessedFiles.add(file);
+                postProcessingThreads.add(Thread.currentThread());
+            }
+        }
+    }
+
+    @Test
+    public void testOutputSinksMatchFileSystem() throws Exception {
+        File fileSystemOutput = Files.createTempDirectory("filesystem").toFile();
+        // never created: in-memory and zip output must not touch the file system
+        File virtualOutput = new File(fileSystemOutput.getParentFile(), "virtual-" + fileSystemOutput.getName() + File.separator + "petstore");
+        try {
+            List<File> files = generatePetstore(fileSystemOutput, 1);
+            Map<String, String> expected = new HashMap<>();
+            for (File file : files) {
+                String path = fileSystemOutput.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+                expected.put(path, FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+            }
+
+            InMemoryOutputSink memory = new InMemoryOutputSink();
+            generatePetstore(virtualOutput, 4, memory);
+            Map<String, String> inMemory = new HashMap<>();
+            String prefix = virtualOutput.getAbsolutePath().replace(File.separatorChar, '/') + "/";
+            for (Map.Entry<String, byte[]> entry : memory.getFiles().entrySet()) {
+                Assert.assertTrue(entry.getKey().startsWith(prefix), entry.getKey());
+                inMemory.put(entry.getKey().substring(prefix.length()), new String(entry.getValue(), StandardCharsets.UTF_8));
+            }
+            Assert.assertEquals(inMemory, expected);
+
+            ByteArrayOutputStream archive = new ByteArrayOutputStream();
+            try (ZipOutputSink zip = new ZipOutputSink(archive, virtualOutput.getParent())) {
+                generatePetstore(virtualOutput, 1, zip);
+            }
+            Map<String, String> zipped = new HashMap<>();
+            try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(archive.toByteArray()))) {
+                for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                    Assert.assertTrue(entry.getName().startsWith("petstore/"), entry.getName());
+                    zipped.put(entry.getName().substring("petstore/".length()), IOUtils.toString(in, StandardCharsets.UTF_8));
+                }
+            }
+            Assert.assertEquals(zipped, expected);
+
+            Assert.assertFalse(virtualOutput.getParentFile().exists());
+        } finally {
+            FileUtils.deleteDirectory(fileSystemOutput);
+            FileUtils.deleteDirectory(virtualOutput.getParentFile());
+        }
+    }
+
+    @Test
+    public void testSkipUnchangedFiles() throws Exception {
+        File output = Files.createTempDirectory("unchanged").toFile();
+        try {
+            DefaultGenerator generator = new DefaultGenerator();
+            List<File> files = generator.opts(petstoreConfigurator(output).setSkipUnchangedFiles(true).toClientOptInput()).generate();
+            Assert.assertEquals(generator.getWrittenFileCount(), files.size());
+            Assert.assertEquals(generator.getUnchangedFileCount(), 0);
+
+            long lastModified = 1000000000000L;
+            for (File file : files) {
+                Assert.assertTrue(file.setLastModified(lastModified), file.getPath());
+            }
+            File pet = new File(output, "src/main/java/org/openapitools/client/model/Pet.java");
+            FileUtils.writeStringToFile(pet, "changed", StandardCharsets.UTF_8);
+
+            generator = new DefaultGenerator();
+            List<File> regenerated = generator.opts(petstoreConfigurator(output).setSkipUnchangedFiles(true).toClientOptInput()).generate();
+            Assert.assertEquals(generator.getWrittenFileCount(), 1);
+            Assert.assertEquals(generator.getUnchangedFileCount(), regenerated.size() - 1);
+            // existing model and api tests are never overwritten
+            Assert.assertTrue(generator.getSkippedFileCount() > 0);
+            for (File file : regenerated) {
+                if (file.equals(pet)) {
+                    Assert.assertNotEquals(file.lastModified(), lastModified);
+                    Assert.assertNotEquals(FileUtils.readFileToString(pet, StandardCharsets.UTF_8), "changed");
+                } else {
+                    Assert.assertEquals(file.lastModified(), lastModified, file.getPath());
+                }
+            }
+        } finally {
+            FileUtils.deleteDirectory(output);
+        }
+    }
+
+    @Test
+    public void testSkipUnchangedPostProcessedFiles() throws Exception {
+        File output = Files.createTempDirectory("unchanged-post-processed").toFile();
+        try {
+            File spec = new File(output, "petstore.yaml");
+            FileUtils.copyFile(new File("src/test/resources/3_0/petstore.yaml"), spec);
+            File out = new File(output, "out");
+            File pet = new File(out, "src/main/java/org/openapitools/client/model/Pet.java");
+            File tag = new File(out, "src/main/java/org/openapitools/client/model/Tag.java");
+
+            FormattingCodegen config = generateFormatted(spec, out);
+            Assert.assertTrue(config.postProcessedFiles.contains(pet));
+            Assert.assertTrue(FileUtils.readFileToString(pet, StandardCharsets.UTF_8).endsWith(FormattingCodegen.FORMATTED));
+
+            // the post-processed files differ from the rendered ones, but are still unchanged
+            config = generateFormatted(spec, out);
+            for (File file : config.postProcessedFiles) {
+                Assert.assertFalse(file.getName().endsWith(".java"), file.getPath());
+            }
+            Assert.assertTrue(FileUtils.readFileToString(pet, StandardCharsets.UTF_8).endsWith(FormattingCodegen.FORMATTED));
+
+            String content = FileUtils.readFileToString(spec, StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(spec, content.replace("      description: A tag for a pet\n",
+                    "      description: A tag for a pet, changed\n"), StandardCharsets.UTF_8);
+            config = generateFormatted(spec, out);
+            Assert.assertTrue(config.postProcessedFiles.contains(tag));
+            Assert.assertFalse(config.postProcessedFiles.contains(pet));
+            Assert.assertTrue(FileUtils.readFileToString(tag, StandardCharsets.UTF_8).contains("A tag for a pet, changed"));
+        } finally {
+            FileUtils.deleteDirectory(output);
+        }
+    }
+
+    private FormattingCodegen generateFormatted(File spec, File output) {
+        ClientOptInput input = new CodegenConfigurator()
+                .setGeneratorName(FormattingCodegen.class.getName())
+                .setInputSpec(spec.getAbsolutePath())
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setSkipUnchangedFiles(true)
+                .setEnablePostProcessFile(true)
+                .setOutputDir(output.getAbsolutePath())
+                .toClientOptInput();
+        new DefaultGenerator().opts(input).generate();
+        return (FormattingCodegen) input.getConfig();
+    }
+
+    /**
+     * Changes the Java files it post-processes, as a formatter would.
+     */
+    public static class FormattingCodegen extends PostProcessRecordingCodegen {
+        static final String FORMATTED = "// formatted\n";
+
+        @Override
+        public void postProcessFile(File file, String fileType) {
+            super.postProcessFile(file, fileType);
+            if (file.getName().endsWith(".java")) {
+                try {
+                    FileUtils.writeStringToFile(file, FORMATTED, StandardCharsets.UTF_8, true);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIncrementalGeneration() throws Exception {
+        File output = Files.createTempDirectory("incremental").toFile();
+        try {
+            File spec = new File(output, "petstore.yaml");
+            FileUtils.copyFile(new File("src/test/resources/3_0/petstore.yaml"), spec);
+            File client = new File(output, "client");
+            File modelFolder = new File(client, "src/main/java/org/openapitools/client/model");
+            File apiFolder = new File(client, "src/main/java/org/openapitools/client/api");
+
+            List<File> files = generateIncrementally(spec, client);
+            Assert.assertTrue(new File(client, GenerationManifest.FILENAME).isFile());
+
+            long lastModified = 1000000000000L;
+            for (File file : files) {
+                Assert.assertTrue(file.setLastModified(lastModified), file.getPath());
+            }
+
+            // nothing changed: no file is rendered again
+            generateIncrementally(spec, client);
+            Assert.assertEquals(new File(modelFolder, "Pet.java").lastModified(), lastModified);
+            Assert.assertEquals(new File(apiFolder, "PetApi.java").lastModified(), lastModified);
+            Assert.assertEquals(new File(client, ".travis.yml").lastModified(), lastModified);
+
+            // Tag changed: Tag and the models/apis using it are rendered again
+            String content = FileUtils.readFileToString(spec, StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(spec, content.replace("      description: A tag for a pet\n",
+                    "      description: A tag for a pet, changed\n"), StandardCharsets.UTF_8);
+            generateIncrementally(spec, client);
+            Assert.assertNotEquals(new File(modelFolder, "Tag.java").lastModified(), lastModified);
+            Assert.assertTrue(FileUtils.readFileToString(new File(modelFolder, "Tag.java"), StandardCharsets.UTF_8).contains("changed"));
+            Assert.assertNotEquals(new File(modelFolder, "Pet.java").lastModified(), lastModified);
+            Assert.assertNotEquals(new File(apiFolder, "PetApi.java").lastModified(), lastModified);
+            Assert.assertNotEquals(new File(client, ".travis.yml").lastModified(), lastModified);
+            Assert.assertEquals(new File(modelFolder, "Order.java").lastModified(), lastModified);
+            Assert.assertEquals(new File(apiFolder, "StoreApi.java").lastModified(), lastModified);
+
+            // deleted files are generated again
+            Assert.assertTrue(new File(modelFolder, "Order.java").delete());
+            generateIncrementally(spec, client);
+            Assert.assertTrue(new File(modelFolder, "Order.java").isFile());
+
+            // option changed: everything is rendered again
+            for (File file : files) {
+                Assert.assertTrue(file.setLastModified(lastModified), file.getPath());
+            }
+            DefaultGenerator generator = new DefaultGenerator();
+            generator.opts(incrementalConfigurator(spec, client)
+                    .addAdditionalProperty(CodegenConstants.SERIALIZABLE_MODEL, true)
+                    .toClientOptInput()).generate();
+            Assert.assertEquals(generator.getUnchangedFileCount(), 0);
+            Assert.assertNotEquals(new File(modelFolder, "Order.java").lastModified(), lastModified);
+        } finally {
+            FileUtils.deleteDirectory(output);
+        }
+    }
+
+    @Test
+    public void testIncrementalGenerationDeletesStaleFiles() throws Exception {
+        File output = Files.createTempDirectory("incremental").toFile();
+        try {
+            File spec = new File(output, "petstore.yaml");
+            String content = FileUtils.readFileToString(new File("src/test/resources/3_0/petstore.yaml"), StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(spec, content + "    Obsolete:\n      type: object\n"
+                    + "      properties:\n        id:\n          type: integer\n", StandardCharsets.UTF_8);
+            File client = new File(output, "client");
+            File model = new File(client, "src/main/java/org/openapitools/client/model/Obsolete.java");
+            File modelDoc = new File(client, "docs/Obsolete.md");
+            File apiTest = new File(client, "src/test/java/org/openapitools/client/api/PetApiTest.java");
+
+            generateIncrementally(spec, client);
+            Assert.assertTrue(model.isFile());
+            Assert.assertTrue(modelDoc.isFile());
+
+            // the files of the removed model are deleted unless ignored, the existing test files are kept
+            FileUtils.writeStringToFile(spec, content, StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(client, ".openapi-generator-ignore"), "docs/Obsolete.md\n", StandardCharsets.UTF_8);
+            generateIncrementally(spec, client);
+            Assert.assertFalse(model.exists());
+            Assert.assertTrue(modelDoc.isFile());
+            Assert.assertTrue(apiTest.isFile());
+            Assert.assertTrue(new File(client, ".openapi-generator-ignore").isFile());
+            Assert.assertTrue(new File(client, "pom.xml").isFile());
+
+            // files kept as they are remain in the manifest
+            generateIncrementally(spec, client);
+            Assert.assertTrue(apiTest.isFile());
+            Assert.assertTrue(GenerationManifest.read(new File(client, GenerationManifest.FILENAME))
+                    .getModelAndApiFiles().contains("src/test/java/org/openapitools/client/api/PetApiTest.java"));
+        } finally {
+            FileUtils.deleteDirectory(output);
+        }
+    }
+
+    @Test
+    public void testTimings() throws Exception {
+        File output = Files.createTempDirectory("timings").toFile();
+        try {
+            ClientOptInput input = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setOutputDir(output.getAbsolutePath())
+                    .setGenerationThreads(2)
+                    .setTimings(true)
+                    .toClientOptInput();
+            List<File> files = new DefaultGenerator().opts(input).generate();
+
+            File report = new File(output, GenerationTimings.FILENAME);
+            Assert.assertTrue(files.contains(report));
+            JsonNode timings = Json.mapper().readTree(report);
+            List<String> phases = new ArrayList<>();
+            for (JsonNode phase : timings.get("phases")) {
+                phases.add(phase.get("name").asText());
+                Assert.assertEquals(phase.get("count").asInt(), 1, phase.toString());
+            }
+            Assert.assertEquals(phases, Arrays.asList("loadGenerator", "parse", "configure", "flatten", "fromModel",
+                    "postProcessAllModels", "renderModels", "fromOperation", "renderApis", "supportingFiles",
+                    "postProcessFiles", "processOpenAPI"));
+            Assert.assertTrue(timings.get("total").get("wallTimeMs").asDouble() > 0);
+            Assert.assertTrue(names(timings.get("models")).contains("Pet"));
+            Assert.assertEquals(names(timings.get("apis")).size(), 3);
+            for (JsonNode api : timings.get("apis")) {
+                // the processing of the tag, then the rendering of each of its files on the pool
+                Assert.assertTrue(api.get("count").asInt() > 1, api.toString());
+            }
+            Assert.assertTrue(names(timings.get("templates")).containsAll(Arrays.asList("model.mustache", "api.mustache", "pom.mustache")));
+            for (JsonNode template : timings.get("templates")) {
+                if ("model.mustache".equals(template.get("name").asText())) {
+                    // once per model, whatever the generation thread rendering it
+                    Assert.assertEquals(template.get("count").asInt(), timings.get("models").size());
+                }
+            }
+            Assert.assertTrue(names(timings.get("activities")).containsAll(Arrays.asList("templateExecution", "fileWrite")));
+
+            String summary = input.getTimings().toSummary();
+            Assert.assertTrue(summary.contains("fromModel"), summary);
+            Assert.assertTrue(summary.contains("Slowest models:"), summary);
+        } finally {
+            FileUtils.deleteDirectory(output);
+        }
+    }
+
+    @Test
+    public void testTimingsDisabledByDefault() throws Exception {
+        File output = Files.createTempDirectory("timings").toFile();
+        try {
+            ClientOptInput input = new CodegenConfigurator()
+                    .setGeneratorName("html")
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setOutputDir(output.getAbsolutePath())
+                    .toClientOptInput();
+            new DefaultGenerator().opts(input).generate();
+            Assert.assertFalse(input.getTimings().isEnabled());
+            Assert.assertFalse(new File(output, GenerationTimings.FILENAME).exists());
+        } finally {
+            FileUtils.deleteDirectory(output);
+        }
+    }
+
+    private static List<String> names(JsonNode measurements) {
+        List<String> names = new ArrayList<>();
+        for (JsonNode measurement : measurements) {
+            names.add(measurement.get("name").asText());
+        }
+        return names;
+    }
+
+    private List<File> generateIncrementally(File spec, File output) {
+        return new DefaultGenerator().opts(incrementalConfigurator(spec, output).toClientOptInput()).generate();
+    }
+
+    private CodegenConfigurator incrementalConfigurator(File spec, File output) {
+        return new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec(spec.getAbsolutePath())
+                .setIncrementalGeneration(true)
+                .setOutputDir(output.getAbsolutePath());
+    }
+
+    @Test
+    public void testConcurrentGenerationsMatchSerial() throws Exception {
+        // generations with different generator properties, which used to be shared through system properties
+        List<Callable<Map<String, String>>> jobs = new ArrayList<>();
+        jobs.add(() -> generateInMemory("java", "3_0/petstore.yaml", Collections.emptyMap()));
+        jobs.add(() -> generateInMemory("java", "3_0/petstore.yaml", Collections.singletonMap(CodegenConstants.MODELS, "Pet,Tag")));
+        jobs.add(() -> generateInMemory("python", "3_0/petstore-with-fake-endpoints-models-for-testing.yaml",
+                Collections.singletonMap(CodegenConstants.APIS, "")));
+        jobs.add(() -> generateInMemory("ruby", "3_0/petstore.yaml", Collections.singletonMap(CodegenConstants.SUPPORTING_FILES, "")));
+        jobs.add(() -> generateInMemory("nodejs-server", "3_0/petstore.yaml", Collections.singletonMap("noservice", "")));
+
+        List<Map<String, String>> expected = new ArrayList<>();
+        for (Callable<Map<String, String>> job : jobs) {
+            expected.add(job.call());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(jobs.size() * 2);
+        try {
+            List<Callable<Map<String, String>>> concurrentJobs = new ArrayList<>(jobs);
+            concurrentJobs.addAll(jobs);
+            List<Future<Map<String, String>>> results = executor.invokeAll(concurrentJobs);
+            for (int i = 0; i < results.size(); i++) {
+                Assert.assertEquals(results.get(i).get(), expected.get(i % jobs.size()), "job " + i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertTrue(expected.get(0).containsKey("src/main/java/org/openapitools/client/model/Order.java"));
+        Assert.assertFalse(expected.get(1).containsKey("src/main/java/org/openapitools/client/model/Order.java"));
+        Assert.assertTrue(expected.get(1).containsKey("src/main/java/org/openapitools/client/model/Pet.java"));
+        Assert.assertFalse(expected.get(4).containsKey("service/PetService.js"));
+        Assert.assertNull(System.getProperty(CodegenConstants.MODELS));
+        Assert.assertNull(System.getProperty("noservice"));
+    }
+
+    private Map<String, String> generateInMemory(String generatorName, String spec, Map<String, String> generatorProperties) {
+        String outputDir = new File(System.getProperty("java.io.tmpdir"), "virtual-" + UUID.randomUUID()).getAbsolutePath();
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName(generatorName)
+                .setInputSpec("src/test/resources/" + spec)
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setOutputDir(outputDir);
+        for (Map.Entry<String, String> entry : generatorProperties.entrySet()) {
+            configurator.addSystemProperty(entry.getKey(), entry.getValue());
+        }
+        InMemoryOutputSink memory = new InMemoryOutputSink();
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setOutputSink(memory);
+        generator.opts(configurator.toClientOptInput()).generate();
+
+        Map<String, String> files = new HashMap<>();
+        String prefix = outputDir.replace(File.separatorChar, '/') + "/";
+        for (Map.Entry<String, byte[]> entry : memory.getFiles().entrySet()) {
+            files.put(entry.getKey().substring(prefix.length()), new String(entry.getValue(), StandardCharsets.UTF_8));
+        }
+        return files;
+    }
+
+    private List<File> generatePetstore(File output, int threads) {
+        return generatePetstore(output, threads, new FileSystemOutputSink());
+    }
+
+    private List<File> generatePetstore(File output, int threads, OutputSink outputSink) {
+        final CodegenConfigurator configurator = petstoreConfigurator(output)
+                .setGenerationThreads(threads);
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setOutputSink(outputSink);
+        return generator.opts(configurator.toClientOptInput()).generate();
+    }
+
+    private CodegenConfigurator petstoreConfigurator(File output) {
+        return new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setOutputDir(output.getAbsolutePath());
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+public class FilePostProcessorTest {
+
+    @Test
+    public void testBatchesByCommandAndDirectory() {
+        FilePostProcessor postProcessor = new FilePostProcessor(4, 3, 1000);
+        File model = new File("out/model");
+        File api = new File("out/api");
+        for (int i = 0; i < 7; i++) {
+            postProcessor.add("fmt -w", new File(model, "Model" + i + ".java"));
+        }
+        postProcessor.add("fmt -w", new File(api, "Api.java"));
+        postProcessor.add("other", new File(model, "Model0.java"));
+
+        List<FilePostProcessor.Batch> batches = postProcessor.takeBatches();
+        Assert.assertEquals(batches.size(), 5);
+        Assert.assertEquals(batches.get(0).getArguments(), Arrays.asList("fmt", "-w",
+                new File(model, "Model0.java").toString(), new File(model, "Model1.java").toString(), new File(model, "Model2.java").toString()));
+        Assert.assertEquals(batches.get(1).getFiles().size(), 3);
+        Assert.assertEquals(batches.get(2).getFiles(), Arrays.asList(new File(model, "Model6.java")));
+        Assert.assertEquals(batches.get(3).getFiles(), Arrays.asList(new File(api, "Api.java")));
+        Assert.assertEquals(batches.get(4).getArguments(), Arrays.asList("other", new File(model, "Model0.java").toString()));
+
+        // taken
+        Assert.assertTrue(postProcessor.takeBatches().isEmpty());
+    }
+
+    @Test
+    public void testBatchesStayWithinArgumentsLength() {
+        FilePostProcessor postProcessor = new FilePostProcessor(1, 100, 30);
+        for (int i = 0; i < 4; i++) {
+            postProcessor.add("fmt", new File("Model" + i + ".java"));
+        }
+        List<FilePostProcessor.Batch> batches = postProcessor.takeBatches();
+        // "fmt" and two " ModelN.java" take 27 characters, a third does not fit into 30
+        Assert.assertEquals(batches.size(), 2);
+        Assert.assertEquals(batches.get(0).getFiles().size(), 2);
+        Assert.assertEquals(batches.get(1).getFiles().size(), 2);
+    }
+
+    @Test
+    public void testRunPassesFilesAsArguments() throws Exception {
+        if (File.separatorChar != '/') {
+            throw new SkipException("requires the touch command");
+        }
+        File directory = Files.createTempDirectory("post-process").toFile();
+        File other = new File(directory, "sub dir");
+        Assert.assertTrue(other.mkdir());
+        List<File> files = Arrays.asList(new File(directory, "a.txt"), new File(directory, "b.txt"), new File(other, "c d.txt"));
+
+        FilePostProcessor postProcessor = new FilePostProcessor(2, 1, 1000);
+        for (File file : files) {
+            postProcessor.add("touch", file);
+        }
+        Assert.assertEquals(postProcessor.run(), 0);
+        for (File file : files) {
+            Assert.assertTrue(file.exists(), file + " not created");
+        }
+
+        postProcessor.add("false", files.get(0));
+        Assert.assertEquals(postProcessor.run(), 1);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class GeneratorPropertiesTest {
+    private static final String KEY = "generatorPropertiesTest";
+
+    @Test
+    public void testRunWith() {
+        Assert.assertNull(GeneratorProperties.getProperty(KEY));
+        String value = GeneratorProperties.runWith(Collections.singletonMap(KEY, "outer"), () -> {
+            String inner = GeneratorProperties.runWith(Collections.singletonMap(KEY, "inner"),
+                    () -> GeneratorProperties.getProperty(KEY));
+            Assert.assertEquals(inner, "inner");
+            return GeneratorProperties.getProperty(KEY);
+        });
+        Assert.assertEquals(value, "outer");
+        Assert.assertNull(GeneratorProperties.getProperty(KEY));
+        Assert.assertNull(GeneratorProperties.getProperties());
+    }
+
+    @Test
+    public void testPropertiesDoNotLeakIntoOtherThreads() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            GeneratorProperties.runWith(Collections.singletonMap(KEY, "value"), () -> {
+                try {
+                    // a pool thread, possibly started during the generation, only sees the properties given to it
+                    Assert.assertNull(executor.submit(() -> GeneratorProperties.getProperty(KEY)).get());
+                    Map<String, String> properties = GeneratorProperties.getProperties();
+                    Assert.assertEquals(executor.submit(() -> GeneratorProperties.runWith(properties,
+                            () -> GeneratorProperties.getProperty(KEY))).get(), "value");
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+                return null;
+            });
+            Assert.assertNull(executor.submit(() -> GeneratorProperties.getProperty(KEY)).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
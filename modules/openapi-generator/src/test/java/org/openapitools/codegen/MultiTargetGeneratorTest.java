@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class MultiTargetGeneratorTest {
+    private static final String SPEC = "src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml";
+    private static final List<String> GENERATORS = Arrays.asList("java", "spring", "html", "python", "go");
+
+    private File directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("multi-target").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test(description = "the targets generate the same code as separate generations")
+    public void testSameGeneration() throws IOException {
+        List<CodegenConfigurator> targets = new ArrayList<>();
+        for (String generator : GENERATORS) {
+            new DefaultGenerator().opts(configurator(generator, "separate").toClientOptInput()).generate();
+            targets.add(configurator(generator, "shared"));
+        }
+
+        List<MultiTargetGenerator.Result> results = new MultiTargetGenerator(targets).threads(3).generate();
+
+        Assert.assertEquals(results.size(), GENERATORS.size());
+        for (int i = 0; i < GENERATORS.size(); i++) {
+            String generator = GENERATORS.get(i);
+            Assert.assertNull(results.get(i).getError(), generator);
+            Assert.assertFalse(results.get(i).getFiles().isEmpty(), generator);
+            Assert.assertEquals(read(new File(directory, "shared/" + generator)),
+                    read(new File(directory, "separate/" + generator)), generator);
+        }
+    }
+
+    @Test
+    public void testFailures() {
+        List<CodegenConfigurator> targets = Arrays.asList(
+                configurator("no-such-generator", "out"),
+                configurator("html", "out"),
+                configurator("html", "out").setInputSpec(new File(directory, "missing.yaml").getAbsolutePath()));
+
+        List<MultiTargetGenerator.Result> results = new MultiTargetGenerator(targets).generate();
+        Assert.assertNotNull(results.get(0).getError());
+        Assert.assertNull(results.get(1).getError());
+        Assert.assertNotNull(results.get(2).getError());
+        Assert.assertTrue(new File(directory, "out/html/index.html").exists());
+
+        results = new MultiTargetGenerator(targets).failFast(true).generate();
+        Assert.assertNotNull(results.get(0).getError());
+        Assert.assertTrue(results.get(1).isSkipped());
+        Assert.assertTrue(results.get(2).isSkipped());
+    }
+
+    private CodegenConfigurator configurator(String generatorName, String output) {
+        return new CodegenConfigurator()
+                .setGeneratorName(generatorName)
+                .setInputSpec(SPEC)
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setOutputDir(new File(directory, output + "/" + generatorName).getAbsolutePath());
+    }
+
+    private static Map<String, String> read(File root) throws IOException {
+        Map<String, String> files = new TreeMap<>();
+        for (File file : FileUtils.listFiles(root, null, true)) {
+            files.put(root.toPath().relativize(file.toPath()).toString(),
+                    FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+        }
+        return files;
+    }
+}
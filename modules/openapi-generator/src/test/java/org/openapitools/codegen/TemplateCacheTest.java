@@ -0,0 +1,93 @@
+package org.openapitools.codegen;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import org.openapitools.codegen.languages.StaticHtmlGenerator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TemplateCacheTest {
+
+    @Test
+    public void testTemplateIsCompiledOnce() {
+        TemplateCache cache = new TemplateCache();
+        CodegenConfig config = new DefaultCodegen();
+        AtomicInteger compilations = new AtomicInteger();
+
+        Template first = cache.getTemplate(config, "model.mustache", () -> {
+            compilations.incrementAndGet();
+            return Mustache.compiler().compile("{{name}}");
+        });
+        Template second = cache.getTemplate(config, "model.mustache", () -> {
+            compilations.incrementAndGet();
+            return Mustache.compiler().compile("{{name}}");
+        });
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(compilations.get(), 1);
+        Assert.assertEquals(cache.getMissCount(), 1);
+        Assert.assertEquals(cache.getHitCount(), 1);
+        Assert.assertEquals(second.execute(Collections.singletonMap("name", "Pet")), "Pet");
+    }
+
+    @Test
+    public void testTemplateIsCompiledPerConfigAndLibrary() {
+        TemplateCache cache = new TemplateCache();
+        CodegenConfig config = new DefaultCodegen();
+        CodegenConfig other = new DefaultCodegen();
+
+        Template first = cache.getTemplate(config, "api.mustache", () -> Mustache.compiler().compile("a"));
+        Template second = cache.getTemplate(other, "api.mustache", () -> Mustache.compiler().compile("a"));
+        Assert.assertNotSame(first, second);
+
+        config.supportedLibraries().put("okhttp-gson", "OkHttp");
+        config.setLibrary("okhttp-gson");
+        Template third = cache.getTemplate(config, "api.mustache", () -> Mustache.compiler().compile("a"));
+        Assert.assertNotSame(first, third);
+        Assert.assertEquals(cache.getMissCount(), 3);
+        Assert.assertEquals(cache.getHitCount(), 0);
+    }
+
+    @Test
+    public void testTemplateIsCompiledPerConfigClass() {
+        TemplateCache cache = new TemplateCache(true);
+
+        Template first = cache.getTemplate(new DefaultCodegen(), "api.mustache", () -> Mustache.compiler().compile("a"));
+        Template second = cache.getTemplate(new DefaultCodegen(), "api.mustache", () -> Mustache.compiler().compile("a"));
+        Assert.assertSame(first, second);
+
+        Template third = cache.getTemplate(new StaticHtmlGenerator(), "api.mustache", () -> Mustache.compiler().compile("a"));
+        Assert.assertNotSame(first, third);
+        Assert.assertEquals(cache.getMissCount(), 2);
+        Assert.assertEquals(cache.getHitCount(), 1);
+    }
+
+    @Test
+    public void testSourceIsReadOnce() {
+        TemplateCache cache = new TemplateCache();
+        AtomicInteger reads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            String source = cache.getSource("partial.mustache", name -> {
+                reads.incrementAndGet();
+                return "content of " + name;
+            });
+            Assert.assertEquals(source, "content of partial.mustache");
+        }
+
+        Assert.assertEquals(reads.get(), 1);
+        Assert.assertEquals(cache.getMissCount(), 1);
+        Assert.assertEquals(cache.getHitCount(), 2);
+
+        cache.clear();
+        cache.getSource("partial.mustache", name -> {
+            reads.incrementAndGet();
+            return name;
+        });
+        Assert.assertEquals(reads.get(), 2);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.output.InMemoryOutputSink;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class SpecificationCacheTest {
+
+    @AfterMethod
+    public void clearCache() {
+        SpecificationCache.clear();
+    }
+
+    @Test(description = "a cached specification generates the same code as a parsed one")
+    public void testSameGeneration() throws Exception {
+        File cacheDir = Files.createTempDirectory("specification-cache").toFile();
+        try {
+            Map<String, String> expected = generate(configurator());
+
+            Map<String, String> parsed = generate(configurator().setSpecCacheDir(cacheDir.getAbsolutePath()));
+            Assert.assertEquals(cacheDir.list().length, 1);
+            Map<String, String> fromMemory = generate(configurator().setCacheSpec(true));
+            SpecificationCache.clear();
+            Map<String, String> fromDisk = generate(configurator().setSpecCacheDir(cacheDir.getAbsolutePath()));
+
+            Assert.assertEquals(parsed, expected);
+            Assert.assertEquals(fromMemory, expected);
+            Assert.assertEquals(fromDisk, expected);
+        } finally {
+            FileUtils.deleteDirectory(cacheDir);
+        }
+    }
+
+    @Test
+    public void testReferencedFileChange() throws Exception {
+        File dir = Files.createTempDirectory("specification-cache").toFile();
+        try {
+            File spec = new File(dir, "api.yaml");
+            FileUtils.writeStringToFile(spec, "openapi: 3.0.1\n"
+                    + "info: {title: test, version: '1'}\n"
+                    + "paths: {}\n"
+                    + "components:\n"
+                    + "  schemas:\n"
+                    + "    Pet:\n"
+                    + "      $ref: 'pet.yaml'\n", StandardCharsets.UTF_8);
+            File pet = new File(dir, "pet.yaml");
+            FileUtils.writeStringToFile(pet, "description: a pet\n", StandardCharsets.UTF_8);
+            ParseOptions options = new ParseOptions();
+            options.setResolve(true);
+
+            OpenAPI first = SpecificationCache.parse(spec.getAbsolutePath(), null, options, null).getOpenAPI();
+            // generators modify the specification, which must not affect the cached one
+            first.getComponents().getSchemas().clear();
+            SwaggerParseResult second = SpecificationCache.parse(spec.getAbsolutePath(), null, options, null);
+            Assert.assertEquals(second.getOpenAPI().getComponents().getSchemas().get("pet").getDescription(), "a pet");
+
+            FileUtils.writeStringToFile(pet, "description: a cat\n", StandardCharsets.UTF_8);
+            SwaggerParseResult third = SpecificationCache.parse(spec.getAbsolutePath(), null, options, null);
+            Assert.assertEquals(third.getOpenAPI().getComponents().getSchemas().get("pet").getDescription(), "a cat");
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Test(description = "specifications referencing remote files are parsed each time")
+    public void testRemoteReference() throws Exception {
+        File dir = Files.createTempDirectory("specification-cache").toFile();
+        try {
+            File spec = new File(dir, "api.yaml");
+            FileUtils.writeStringToFile(spec, "openapi: 3.0.1\n"
+                    + "info: {title: test, version: '1'}\n"
+                    + "paths: {}\n"
+                    + "components:\n"
+                    + "  schemas:\n"
+                    + "    Pet:\n"
+                    + "      $ref: 'http://localhost:1/pet.yaml'\n", StandardCharsets.UTF_8);
+            File cacheDir = new File(dir, "cache");
+            ParseOptions options = new ParseOptions();
+            options.setResolve(true);
+
+            SpecificationCache.parse(spec.getAbsolutePath(), null, options, cacheDir);
+
+            Assert.assertFalse(cacheDir.exists());
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Test(description = "the least recently used entries of the directory are deleted")
+    public void testPrune() throws Exception {
+        File cacheDir = Files.createTempDirectory("specification-cache").toFile();
+        try {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < SpecificationCache.DISK_ENTRIES + 2; i++) {
+                File entry = new File(cacheDir, i + ".json");
+                FileUtils.writeStringToFile(entry, "{}", StandardCharsets.UTF_8);
+                Assert.assertTrue(entry.setLastModified(now - i * 60_000L));
+            }
+
+            SpecificationCache.prune(cacheDir);
+
+            Assert.assertEquals(cacheDir.list().length, SpecificationCache.DISK_ENTRIES);
+            Assert.assertTrue(new File(cacheDir, "0.json").exists());
+            Assert.assertFalse(new File(cacheDir, (SpecificationCache.DISK_ENTRIES + 1) + ".json").exists());
+        } finally {
+            FileUtils.deleteDirectory(cacheDir);
+        }
+    }
+
+    private static CodegenConfigurator configurator() {
+        return new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec("src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml")
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setOutputDir(new File("target/specification-cache-test").getAbsolutePath());
+    }
+
+    private static Map<String, String> generate(CodegenConfigurator configurator) {
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setOutputSink(sink);
+        generator.opts(configurator.toClientOptInput()).generate();
+        Map<String, String> files = new TreeMap<>();
+        for (Map.Entry<String, byte[]> file : sink.getFiles().entrySet()) {
+            files.put(file.getKey(), new String(file.getValue(), StandardCharsets.UTF_8));
+        }
+        return files;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.daemon;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openapitools.codegen.GeneratorNotFoundException;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+
+public class GeneratorDaemonTest {
+
+    @Test
+    public void testGeneratesInDaemon() throws Exception {
+        File output = Files.createTempDirectory("daemon").toFile();
+        File tokenFile = new File(output, "daemon.token");
+        GeneratorDaemon daemon = new GeneratorDaemon(0, 2, tokenFile);
+        try {
+            GeneratorDaemonClient client = new GeneratorDaemonClient(daemon.getPort(), tokenFile);
+            Assert.assertTrue(client.isRunning());
+            Assert.assertTrue(client.isCompatible());
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Assert.assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile.toPath())), "rw-------");
+            }
+
+            // requests without the token are rejected
+            File otherTokenFile = new File(output, "other.token");
+            FileUtils.writeStringToFile(otherTokenFile, "not-the-token", StandardCharsets.UTF_8);
+            Assert.assertFalse(new GeneratorDaemonClient(daemon.getPort(), otherTokenFile).isRunning());
+
+            CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName("html")
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setOutputDir(output.getAbsolutePath())
+                    // a generator option, as set by the configuration files
+                    .addDynamicProperty("infoUrl", "https://daemon.example.com");
+            client.generate(configurator);
+            // the paths are only made absolute in the request
+            Assert.assertEquals(configurator.getInputSpec(), "src/test/resources/3_0/petstore.yaml");
+            String index = FileUtils.readFileToString(new File(output, "index.html"), StandardCharsets.UTF_8);
+            Assert.assertTrue(index.contains("href=\"https://daemon.example.com\""), index);
+
+            // the templates compiled by the first generation are reused, with the options of the second one
+            configurator.addDynamicProperty("infoUrl", "https://other.example.com");
+            client.generate(configurator);
+            index = FileUtils.readFileToString(new File(output, "index.html"), StandardCharsets.UTF_8);
+            Assert.assertTrue(index.contains("href=\"https://other.example.com\""), index);
+
+            try {
+                client.generate(new CodegenConfigurator().setGeneratorName("no-such-generator")
+                        .setInputSpec("src/test/resources/3_0/petstore.yaml"));
+                Assert.fail("the generation should fail");
+            } catch (GeneratorNotFoundException e) {
+                // the caller generates the code itself
+                Assert.assertTrue(e.getMessage().contains("no-such-generator"), e.getMessage());
+            }
+            // still running
+            Assert.assertTrue(client.isRunning());
+
+            client.shutdown();
+            daemon.awaitStop();
+            Assert.assertFalse(client.isRunning());
+            Assert.assertFalse(tokenFile.exists());
+        } finally {
+            daemon.stop();
+            FileUtils.deleteDirectory(output);
+        }
+    }
+
+    @Test
+    public void testRejectsOversizedRequests() throws Exception {
+        File output = Files.createTempDirectory("daemon").toFile();
+        File tokenFile = new File(output, "daemon.token");
+        GeneratorDaemon daemon = new GeneratorDaemon(0, 1, tokenFile);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort())) {
+            byte[] request = new byte[GeneratorDaemon.MAX_REQUEST_SIZE + 1];
+            Arrays.fill(request, (byte) ' ');
+            OutputStream out = socket.getOutputStream();
+            out.write(request);
+            out.flush();
+            String response = IOUtils.toString(socket.getInputStream(), StandardCharsets.UTF_8);
+            Assert.assertTrue(response.contains("\"failure\""), response);
+            Assert.assertTrue(response.contains("exceeds"), response);
+
+            // the only thread of the daemon is available again
+            Assert.assertTrue(new GeneratorDaemonClient(daemon.getPort(), tokenFile).isRunning());
+        } finally {
+            daemon.stop();
+            FileUtils.deleteDirectory(output);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.ignore;
+
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.ignore.rules.DirectoryRule;
+import org.openapitools.codegen.ignore.rules.Rule;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+public class CodegenIgnoreProcessorTest {
+    private static final List<String> FILES = Arrays.asList(
+            "README.md", "docs/README.md", "docs/api/PetApi.md", "build.gradle", "pom.xml", "src/main/java/Pet.java",
+            "src/main/java/model/Pet.java", "src/test/java/PetTest.java", "test.log", "logs/ISSUE_1234.log", "logs/debug.log",
+            "ISSUE_1234.log", "foo/bar/baz/file.txt", "bar/baz/file.txt", "foo/bar", "baz/file.txt", "a.b", "a",
+            "file.txt", ".travis.yml", "git_push.sh", "docs/nested/deep/file.md", "Documentation/git.html",
+            "Documentation/ppc/ppc.html", "tools/perf/Documentation/perf.html", "abc/def/ghi.txt");
+
+    @DataProvider(name = "ignoreFiles")
+    public Object[][] ignoreFiles() {
+        return new Object[][]{
+                {"README.md", Arrays.asList("docs/README.md", "build.gradle"), Arrays.asList("README.md")},
+                {"docs/", Arrays.asList("README.md", "docs"), Arrays.asList("docs/README.md", "docs/api/PetApi.md")},
+                {"**/*.md\n!README.md", Arrays.asList("README.md", "pom.xml"), Arrays.asList("docs/README.md", "docs/api/PetApi.md")},
+                {"*.log\n!ISSUE_1234.log", Arrays.asList("ISSUE_1234.log", "logs/ISSUE_1234.log"), Arrays.asList("test.log")},
+                {"**/*.log\n!logs/ISSUE_1234.log", Arrays.asList("logs/ISSUE_1234.log", "test.log"), Arrays.asList("logs/debug.log")},
+                {"baz/\n!foo/bar/baz/", Arrays.asList("foo/bar/baz/file.txt"), Arrays.asList("baz/file.txt")},
+                {"foo/bar/baz/\n!bar/", Arrays.asList("bar/baz/file.txt"), Arrays.asList("foo/bar/baz/file.txt")},
+                {"src/main/\n!src/main/java/Pet.java", Arrays.asList("src/test/java/PetTest.java"), Arrays.asList("src/main/java/Pet.java", "src/main/java/model/Pet.java")},
+                {"src/**/*.java\n!src/main/java/model/", Arrays.asList("src/main/java/model/Pet.java"), Arrays.asList("src/test/java/PetTest.java")},
+                {"Documentation/*.html", Arrays.asList("Documentation/ppc/ppc.html", "tools/perf/Documentation/perf.html"), Arrays.asList("Documentation/git.html")},
+                {"/*.txt\n/a.*", Arrays.asList("foo/bar/baz/file.txt", "a"), Arrays.asList("file.txt", "a.b")},
+                {"*\n!/a", Arrays.asList("a.b"), Arrays.asList("a")},
+                {"abc/**\n# comment\n\n.\n!.travis.yml", Arrays.asList(".travis.yml", "README.md"), Arrays.asList("abc/def/ghi.txt")},
+                {"**/file.*\n!**/baz/file.txt", Arrays.asList("bar/baz/file.txt", "file.txt"), Arrays.asList("baz/file.txt", "docs/nested/deep/file.md")},
+                {"!docs/\n", FILES, Arrays.asList()},
+        };
+    }
+
+    @Test(dataProvider = "ignoreFiles")
+    public void testAllowsFile(String rules, List<String> allowed, List<String> ignored) throws IOException {
+        File directory = Files.createTempDirectory("ignore").toFile();
+        try {
+            File ignoreFile = new File(directory, ".openapi-generator-ignore");
+            FileUtils.writeStringToFile(ignoreFile, rules, StandardCharsets.UTF_8);
+            CodegenIgnoreProcessor processor = new CodegenIgnoreProcessor(ignoreFile);
+
+            for (String file : allowed) {
+                Assert.assertTrue(processor.allowsFile(new File(directory, file)), file + " should be allowed by " + rules);
+            }
+            for (String file : ignored) {
+                Assert.assertFalse(processor.allowsFile(new File(directory, file)), file + " should be ignored by " + rules);
+            }
+            for (String file : FILES) {
+                Assert.assertEquals(processor.allowsFile(new File(directory, file)),
+                        legacyAllowsFile(processor, directory, new File(directory, file)), file + " with " + rules);
+            }
+        } finally {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void testWithoutIgnoreFile() {
+        CodegenIgnoreProcessor processor = new CodegenIgnoreProcessor(new File("does-not-exist/.openapi-generator-ignore"));
+        Assert.assertTrue(processor.allowsFile(new File("does-not-exist/README.md")));
+        Assert.assertTrue(processor.getExclusionRules().isEmpty());
+    }
+
+    /**
+     * The former implementation of {@link CodegenIgnoreProcessor#allowsFile(File)}, evaluating the rules one by one.
+     */
+    private static boolean legacyAllowsFile(CodegenIgnoreProcessor processor, File directory, File targetFile) {
+        List<Rule> exclusionRules = processor.getExclusionRules();
+        List<Rule> inclusionRules = processor.getInclusionRules();
+        String path = new File(directory.toURI().relativize(targetFile.toURI()).getPath()).getPath();
+        boolean directoryExcluded = false;
+        boolean exclude = false;
+        for (int i = 0; i < exclusionRules.size(); i++) {
+            Rule current = exclusionRules.get(i);
+            Rule.Operation op = current.evaluate(path);
+            if (op == Rule.Operation.EXCLUDE) {
+                exclude = true;
+                if (current instanceof DirectoryRule) {
+                    directoryExcluded = true;
+                }
+            } else if (op == Rule.Operation.EXCLUDE_AND_TERMINATE) {
+                break;
+            }
+        }
+        for (int i = 0; exclude && i < inclusionRules.size(); i++) {
+            Rule current = inclusionRules.get(i);
+            if (current.evaluate(path) == Rule.Operation.INCLUDE
+                    && (!directoryExcluded || current instanceof DirectoryRule)) {
+                exclude = false;
+            }
+        }
+        return !exclude;
+    }
+}
@@ -180,6 +180,16 @@ public class ModelUtilsTest {
         Assert.assertEquals(result2, otherParameter);
     }
 
+    @Test
+    public void testSchemaUsageReflectsModifications() {
+        final OpenAPI openAPI = new OpenAPIParser().readLocation("src/test/resources/3_0/unusedSchemas.yaml", null, new ParseOptions()).getOpenAPI();
+        Assert.assertFalse(ModelUtils.getUnusedSchemas(openAPI).contains("AddedSchema"));
+
+        openAPI.getComponents().addSchemas("AddedSchema", new ObjectSchema());
+        Assert.assertTrue(ModelUtils.getUnusedSchemas(openAPI).contains("AddedSchema"));
+        Assert.assertFalse(ModelUtils.getAllUsedSchemas(openAPI).contains("AddedSchema"));
+    }
+
     /**
      * Issue https://github.com/OpenAPITools/openapi-generator/issues/582.
      * Composed schemas should not get unaliased when generating model properties, in order to properly
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import org.openapitools.codegen.DefaultCodegen;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class NameSanitizerTest {
+    private static final List<String> NAMES = Arrays.asList(
+            "", "_", "name", "input[]", "input[a][b]", "[[]]", "[]]", "[[]", "input(a)(b)", "input.name",
+            "input-name", "a|b", "input name and age", "$php_variable", "$", "$$", "a$b", "x-rate-limit",
+            "Content-Type", "user.address[0].street", "caf\u00e9", "na\u00efve-\u00e9l\u00e8ve", "\u6587\u5b57",
+            "emoji\ud83d\ude00name", "tab\tand\nnewline", "1st", "a+b=c", "-$-");
+
+    @Test
+    public void testMatchesRegexImplementation() {
+        for (String regex : Arrays.asList("\\W", "\\W-[\\$]", "[^a-z]")) {
+            for (boolean unicode : Arrays.asList(false, true)) {
+                NameSanitizer sanitizer = new NameSanitizer(regex, unicode);
+                for (String name : NAMES) {
+                    String expected = legacySanitizeName(name, regex, unicode);
+                    Assert.assertEquals(sanitizer.sanitize(name), expected, name + " with " + regex + ", unicode " + unicode);
+                    // memoized
+                    Assert.assertEquals(sanitizer.sanitize(name), expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSanitizeNameFollowsAllowUnicodeIdentifiers() {
+        DefaultCodegen codegen = new DefaultCodegen();
+        Assert.assertEquals(codegen.sanitizeName("caf\u00e9-bar"), "caf_bar");
+        codegen.setAllowUnicodeIdentifiers(true);
+        Assert.assertEquals(codegen.sanitizeName("caf\u00e9-bar"), "caf\u00e9_bar");
+        codegen.setAllowUnicodeIdentifiers(false);
+        Assert.assertEquals(codegen.sanitizeName("caf\u00e9-bar"), "caf_bar");
+
+        Assert.assertEquals(codegen.sanitizeName("$"), "value");
+        Assert.assertEquals(codegen.sanitizeName(null), "ERROR_UNKNOWN");
+        Assert.assertEquals(codegen.sanitizeTag("1st-tag"), "Class1stTag");
+    }
+
+    /**
+     * The former implementation of DefaultCodegen#sanitizeName, as a reference.
+     */
+    private static String legacySanitizeName(String name, String removeCharRegEx, boolean allowUnicodeIdentifiers) {
+        name = name.replaceAll("\\[\\]", "");
+        name = name.replaceAll("\\[", "_");
+        name = name.replaceAll("\\]", "");
+        name = name.replaceAll("\\(", "_");
+        name = name.replaceAll("\\)", "");
+        name = name.replaceAll("\\.", "_");
+        name = name.replaceAll("-", "_");
+        name = name.replace("|", "_");
+        name = name.replaceAll(" ", "_");
+        if (allowUnicodeIdentifiers) {
+            name = Pattern.compile(removeCharRegEx, Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
+        } else {
+            name = name.replaceAll(removeCharRegEx, "");
+        }
+        return name;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.parser.core.models.ParseOptions;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class SchemaReferenceGraphTest {
+
+    private static SchemaReferenceGraph graph() {
+        final OpenAPI openAPI = new OpenAPIParser().readLocation("src/test/resources/3_0/unusedSchemas.yaml", null, new ParseOptions()).getOpenAPI();
+        return new SchemaReferenceGraph(openAPI);
+    }
+
+    @Test
+    public void testReferencedSchemas() {
+        SchemaReferenceGraph graph = graph();
+        Assert.assertEquals(graph.getReferencedSchemas("SomeObj14"), Collections.singleton("PropertyObj14"));
+        Assert.assertTrue(graph.getReferencedSchemas("PropertyObj14").isEmpty());
+        Assert.assertTrue(graph.getReferencedSchemas("NotASchema").isEmpty());
+    }
+
+    @Test
+    public void testReferencingOperations() {
+        SchemaReferenceGraph graph = graph();
+        List<Operation> operations = graph.getReferencingOperations("SomeObj14");
+        Assert.assertEquals(operations.size(), 1);
+        Assert.assertEquals(operations.get(0).getOperationId(), "p14");
+        // only referenced through SomeObj14
+        Assert.assertTrue(graph.getReferencingOperations("PropertyObj14").isEmpty());
+        Assert.assertTrue(graph.getReferencingOperations("UnusedObj1").isEmpty());
+    }
+
+    @Test
+    public void testMimeTypes() {
+        SchemaReferenceGraph graph = graph();
+        Assert.assertEquals(graph.getMimeTypes("SomeObj2"), Collections.singleton("application/x-www-form-urlencoded"));
+        Assert.assertEquals(graph.getMimeTypes("SomeObj14"), Collections.singleton("application/json"));
+        // propagated from the referencing schema
+        Assert.assertEquals(graph.getMimeTypes("PropertyObj14"), Collections.singleton("application/json"));
+        Assert.assertTrue(graph.getMimeTypes("UnusedObj1").isEmpty());
+    }
+
+    @Test
+    public void testReferencesAreFollowedWithTheFirstUsage() {
+        OpenAPI openAPI = new OpenAPI()
+                .components(new Components()
+                        .addSchemas("Outer", new ObjectSchema().addProperties("inner", new Schema().$ref("#/components/schemas/Inner")))
+                        .addSchemas("Inner", new ObjectSchema().addProperties("name", new StringSchema())))
+                .paths(new Paths()
+                        .addPathItem("/form", new PathItem().post(new Operation().operationId("form").requestBody(
+                                body("application/x-www-form-urlencoded"))))
+                        .addPathItem("/json", new PathItem().post(new Operation().operationId("json").requestBody(
+                                body("application/json")))));
+        SchemaReferenceGraph graph = new SchemaReferenceGraph(openAPI);
+
+        Assert.assertEquals(graph.getUsedSchemas(), Arrays.asList("Outer", "Inner"));
+        Assert.assertEquals(graph.getMimeTypes("Outer"),
+                new HashSet<>(Arrays.asList("application/x-www-form-urlencoded", "application/json")));
+        // as ModelUtils always did: Inner is only reached through the first usage of Outer
+        Assert.assertEquals(graph.getMimeTypes("Inner"), Collections.singleton("application/x-www-form-urlencoded"));
+        Assert.assertEquals(graph.getSchemasUsedOnlyInFormParam(), Collections.singletonList("Inner"));
+    }
+
+    private static RequestBody body(String mimeType) {
+        return new RequestBody().content(new Content().addMediaType(mimeType,
+                new MediaType().schema(new Schema().$ref("#/components/schemas/Outer"))));
+    }
+
+    @Test
+    public void testUsedAndUnusedSchemasArePartition() {
+        SchemaReferenceGraph graph = graph();
+        List<String> used = graph.getUsedSchemas();
+        List<String> unused = graph.getUnusedSchemas();
+        Assert.assertTrue(used.contains("PropertyObj14"));
+        Assert.assertTrue(unused.contains("UnusedObj1"));
+        for (String name : unused) {
+            Assert.assertFalse(used.contains(name), name);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MapSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SchemaStructureTest {
+
+    @Test
+    public void testEqualsLikeJson() {
+        SchemaStructure structure = new SchemaStructure();
+        Schema a = new ObjectSchema().addProperties("id", new IntegerSchema()).addProperties("name", new StringSchema()).name("A");
+        Schema b = new Schema().type("object").addProperties("id", new IntegerSchema()).addProperties("name", new StringSchema()).name("B");
+        // same JSON, the name and the class do not matter
+        Assert.assertEquals(structure.key(a), structure.key(b));
+        Assert.assertEquals(structure.key(a).hashCode(), structure.key(b).hashCode());
+
+        // the order of the properties does
+        Schema reordered = new ObjectSchema().addProperties("name", new StringSchema()).addProperties("id", new IntegerSchema());
+        Assert.assertNotEquals(structure.key(a), structure.key(reordered));
+
+        Schema nested = new ObjectSchema().addProperties("id", new IntegerSchema()).addProperties("name", new StringSchema().maxLength(3));
+        Assert.assertNotEquals(structure.key(a), structure.key(nested));
+
+        Schema required = new ObjectSchema().addProperties("id", new IntegerSchema()).addProperties("name", new StringSchema());
+        required.setRequired(new ArrayList<>());
+        Assert.assertEquals(structure.key(a), structure.key(required));
+
+        Assert.assertEquals(structure.key(new ArraySchema().items(new StringSchema())), structure.key(new ArraySchema().items(new StringSchema())));
+        Assert.assertNotEquals(structure.key(new ArraySchema().items(new StringSchema())), structure.key(new ArraySchema().items(new IntegerSchema())));
+        Assert.assertNotEquals(structure.key(new MapSchema().additionalProperties(new StringSchema())), structure.key(new MapSchema().additionalProperties(new IntegerSchema())));
+        Assert.assertEquals(structure.key(new ComposedSchema()), structure.key(new Schema()));
+        Assert.assertNotEquals(structure.key(new ComposedSchema().addAllOfItem(new Schema().$ref("A"))), structure.key(new ComposedSchema().addAllOfItem(new Schema().$ref("B"))));
+    }
+
+    @Test
+    public void testMatchesJsonOfSpecSchemas() {
+        for (String spec : Arrays.asList("3_0/petstore-with-fake-endpoints-models-for-testing.yaml", "3_0/allOf.yaml", "3_0/composed-oneof.yaml", "3_0/unusedSchemas.yaml")) {
+            OpenAPI openAPI = new OpenAPIParser().readLocation("src/test/resources" + File.separator + spec, null, new ParseOptions()).getOpenAPI();
+            List<Schema> schemas = new ArrayList<>();
+            for (Schema schema : ModelUtils.getSchemas(openAPI).values()) {
+                collect(schema, schemas);
+            }
+
+            SchemaStructure structure = new SchemaStructure();
+            List<String> json = new ArrayList<>();
+            List<SchemaStructure.Key> keys = new ArrayList<>();
+            for (Schema schema : schemas) {
+                json.add(Json.pretty(schema));
+                keys.add(structure.key(schema));
+            }
+            for (int i = 0; i < schemas.size(); i++) {
+                for (int j = i + 1; j < schemas.size(); j++) {
+                    boolean sameJson = json.get(i).equals(json.get(j));
+                    Assert.assertEquals(keys.get(i).equals(keys.get(j)), sameJson, json.get(i) + " vs " + json.get(j));
+                    if (sameJson) {
+                        Assert.assertEquals(keys.get(i).hashCode(), keys.get(j).hashCode());
+                    }
+                }
+            }
+        }
+    }
+
+    private static void collect(Schema schema, List<Schema> schemas) {
+        if (schema == null) {
+            return;
+        }
+        schemas.add(schema);
+        if (schema.getProperties() != null) {
+            for (Object property : schema.getProperties().values()) {
+                collect((Schema) property, schemas);
+            }
+        }
+        if (schema instanceof ArraySchema) {
+            collect(((ArraySchema) schema).getItems(), schemas);
+        }
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            collect((Schema) schema.getAdditionalProperties(), schemas);
+        }
+        if (schema instanceof ComposedSchema && ((ComposedSchema) schema).getAllOf() != null) {
+            for (Schema component : ((ComposedSchema) schema).getAllOf()) {
+                collect(component, schemas);
+            }
+        }
+    }
+}
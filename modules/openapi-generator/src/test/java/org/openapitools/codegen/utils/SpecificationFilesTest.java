@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SpecificationFilesTest {
+
+    @Test
+    public void testReferencedFiles() throws Exception {
+        File dir = Files.createTempDirectory("specification-files").toFile();
+        try {
+            File spec = write(dir, "api.yaml", "openapi: 3.0.1\n"
+                    + "paths:\n"
+                    + "  /pets:\n"
+                    + "    $ref: 'paths/pets.yaml'\n"
+                    + "components:\n"
+                    + "  schemas:\n"
+                    + "    Pet:\n"
+                    + "      $ref: 'schemas/pet.json#/Pet'\n"
+                    + "    Local:\n"
+                    + "      $ref: '#/components/schemas/Pet'\n"
+                    + "    Remote:\n"
+                    + "      $ref: 'https://example.com/schemas.yaml#/Remote'\n"
+                    + "    Missing:\n"
+                    + "      $ref: 'missing.yaml'\n");
+            File pets = write(dir, "paths/pets.yaml", "get:\n"
+                    + "  responses:\n"
+                    + "    '200':\n"
+                    + "      content:\n"
+                    + "        application/json:\n"
+                    + "          schema:\n"
+                    + "            $ref: '../schemas/pet.json#/Pet'\n");
+            File pet = write(dir, "schemas/pet.json", "{\"Pet\": {\"properties\": {\"tags\": {\"items\": {\"$ref\": \"tag.json\"}}}}}");
+            File tag = write(dir, "schemas/tag.json", "{\"type\": \"string\", \"description\": \"api.yaml is not referenced again\"}");
+
+            List<File> files = new ArrayList<>(SpecificationFiles.of(spec.getAbsolutePath()));
+            Assert.assertEquals(files, Arrays.asList(spec, pets, pet, tag));
+
+            Assert.assertEquals(new ArrayList<>(SpecificationFiles.of(pets.toURI().toString())), Arrays.asList(pets, pet, tag));
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testRemoteSpecification() {
+        Assert.assertTrue(SpecificationFiles.isRemote("https://example.com/api.yaml"));
+        Assert.assertFalse(SpecificationFiles.isRemote("file:///tmp/api.yaml"));
+        Assert.assertFalse(SpecificationFiles.isRemote("src/main/openapi/api.yaml"));
+        Assert.assertFalse(SpecificationFiles.isRemote("C:\\openapi\\api.yaml"));
+        Assert.assertTrue(SpecificationFiles.of("https://example.com/api.yaml").isEmpty());
+    }
+
+    private static File write(File dir, String path, String content) throws Exception {
+        File file = new File(dir, path);
+        FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+        return file.getAbsoluteFile().toPath().normalize().toFile();
+    }
+}
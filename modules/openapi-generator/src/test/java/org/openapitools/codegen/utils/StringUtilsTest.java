@@ -1,8 +1,27 @@
 package org.openapitools.codegen.utils;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static org.openapitools.codegen.utils.StringUtils.*;
 
 public class StringUtilsTest {
@@ -23,6 +42,12 @@ public class StringUtilsTest {
 
         Assert.assertEquals(camelize("123", true), "123");
         Assert.assertEquals(camelize("$123", true), "$123");
+
+        // quirks of the regex implementation
+        Assert.assertEquals(camelize("-_\nA"), "\nA");
+        Assert.assertEquals(camelize("Bz-_\n_ "), "Bz-\n ");
+        Assert.assertEquals(camelize("-_\n_B"), "-\nB");
+        Assert.assertEquals(camelize("a\\$1"), "A\\");
     }
 
     @Test
@@ -31,4 +56,160 @@ public class StringUtilsTest {
         Assert.assertEquals(dashize("some-value"), "some-value");
         Assert.assertEquals(dashize("some_value"), "some-value");
     }
+
+    @Test
+    public void testMatchesRegexImplementation() throws Exception {
+        Set<String> words = new TreeSet<>(Arrays.asList(
+                "", "_", "-", ".", "/", "__", "a__b", "a--b", "a_-b", "a-_b", "-_x", "a_", "a-", "a--", "_a", "-a",
+                "a_1b", "some/path.to_Class", "some..dots", "ABc", "ABCd", "aB1C", "HTTPResponse", "a$B", "$type",
+                "$123", "123", "a b", "a_\nb", "a-\nb", "a\\b", "\u00e9a", "stra\u00dfe", "_stra\u00dfe", "\u0130d",
+                "\u03a3\u03a3", "x_\ud801\udc28", "-_\nA", "Bz-_\n_ ", "-_\n_B", "_\n_B", "a\\$1", "a\\$0b", "a\\$2\\$3"));
+        for (Path spec : findSpecs()) {
+            JsonNode node = (spec.toString().endsWith(".json") ? Json.mapper() : Yaml.mapper()).readTree(spec.toFile());
+            collectWords(node, words);
+        }
+        Assert.assertTrue(words.size() > 1000, "only " + words.size() + " words found");
+
+        int compared = 0;
+        for (String word : words) {
+            compared += compare(word, w -> camelize(w), w -> Legacy.camelize(w, false));
+            compared += compare(word, w -> camelize(w, true), w -> Legacy.camelize(w, true));
+            compared += compare(word, StringUtils::underscore, Legacy::underscore);
+            compared += compare(word, StringUtils::dashize, Legacy::dashize);
+            // twice, to go through the memoized results
+            compared += compare(word, w -> camelize(w, true), w -> Legacy.camelize(w, true));
+        }
+        Assert.assertTrue(compared > words.size() * 4);
+    }
+
+    private static int compare(String word, java.util.function.Function<String, String> actual,
+                               java.util.function.Function<String, String> expected) {
+        String reference;
+        try {
+            reference = expected.apply(word);
+        } catch (RuntimeException e) {
+            // the regex implementation fails on some words, e.g. with a '$' following a '/'
+            return 0;
+        }
+        Assert.assertEquals(actual.apply(word), reference, "for '" + word + "'");
+        return 1;
+    }
+
+    private static List<Path> findSpecs() throws IOException {
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources"))) {
+            return files.filter(f -> f.toString().matches(".*\\.(json|yaml|yml)$"))
+                    .filter(f -> !f.toString().contains(File.separator + "integrationtests" + File.separator))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static void collectWords(JsonNode node, Set<String> words) {
+        if (node == null) {
+            return;
+        }
+        if (node.isTextual()) {
+            words.add(node.textValue());
+        } else if (node.isObject()) {
+            for (Iterator<String> names = node.fieldNames(); names.hasNext(); ) {
+                String name = names.next();
+                words.add(name);
+                collectWords(node.get(name), words);
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                collectWords(element, words);
+            }
+        }
+    }
+
+    /**
+     * The former regex based implementation, as a reference.
+     */
+    private static class Legacy {
+        static String underscore(String word) {
+            String firstPattern = "([A-Z]+)([A-Z][a-z])";
+            String secondPattern = "([a-z\\d])([A-Z])";
+            String replacementPattern = "$1_$2";
+            word = word.replaceAll("\\.", "/");
+            word = word.replaceAll("\\$", "__");
+            word = word.replaceAll(firstPattern, replacementPattern);
+            word = word.replaceAll(secondPattern, replacementPattern);
+            word = word.replace('-', '_');
+            word = word.replace(' ', '_');
+            word = word.toLowerCase(Locale.ROOT);
+            return word;
+        }
+
+        static String dashize(String word) {
+            return underscore(word).replaceAll("[_ ]", "-");
+        }
+
+        static String camelize(String word, boolean lowercaseFirstLetter) {
+            Pattern p = Pattern.compile("\\/(.?)");
+            Matcher m = p.matcher(word);
+            while (m.find()) {
+                word = m.replaceFirst("." + m.group(1));
+                m = p.matcher(word);
+            }
+
+            String[] parts = word.split("\\.");
+            StringBuilder f = new StringBuilder();
+            for (String z : parts) {
+                if (z.length() > 0) {
+                    f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
+                }
+            }
+            word = f.toString();
+
+            m = p.matcher(word);
+            while (m.find()) {
+                word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1));
+                m = p.matcher(word);
+            }
+
+            p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+            m = p.matcher(word);
+            if (m.find()) {
+                String rep = m.group(1) + m.group(2).toUpperCase(Locale.ROOT) + m.group(3);
+                rep = rep.replaceAll("\\$", "\\\\\\$");
+                word = m.replaceAll(rep);
+            }
+
+            p = Pattern.compile("(_)(.)");
+            m = p.matcher(word);
+            while (m.find()) {
+                String original = m.group(2);
+                String upperCase = original.toUpperCase(Locale.ROOT);
+                if (original.equals(upperCase)) {
+                    word = word.replaceFirst("_", "");
+                } else {
+                    word = m.replaceFirst(upperCase);
+                }
+                m = p.matcher(word);
+            }
+
+            p = Pattern.compile("(-)(.)");
+            m = p.matcher(word);
+            while (m.find()) {
+                word = m.replaceFirst(m.group(2).toUpperCase(Locale.ROOT));
+                m = p.matcher(word);
+            }
+
+            if (lowercaseFirstLetter && word.length() > 0) {
+                int i = 0;
+                char charAt = word.charAt(i);
+                while (i + 1 < word.length() && !((charAt >= 'a' && charAt <= 'z') || (charAt >= 'A' && charAt <= 'Z'))) {
+                    i = i + 1;
+                    charAt = word.charAt(i);
+                }
+                i = i + 1;
+                word = word.substring(0, i).toLowerCase(Locale.ROOT) + word.substring(i);
+            }
+
+            word = word.replaceAll("_", "");
+
+            return word;
+        }
+    }
 }